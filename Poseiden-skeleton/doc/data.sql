@@ -22,6 +22,7 @@ CREATE TABLE BidList (
   dealType VARCHAR(125),
   sourceListId VARCHAR(125),
   side VARCHAR(125),
+  version INT NOT NULL DEFAULT 0,
 
   PRIMARY KEY (BidListId)
 )
@@ -48,6 +49,7 @@ CREATE TABLE Trade (
   dealType VARCHAR(125),
   sourceListId VARCHAR(125),
   side VARCHAR(125),
+  version INT NOT NULL DEFAULT 0,
 
   PRIMARY KEY (TradeId)
 )
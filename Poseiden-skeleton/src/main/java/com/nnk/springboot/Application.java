@@ -1,12 +1,50 @@
 package com.nnk.springboot;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 
 @SpringBootApplication
 public class Application {
+	private static final Logger log = LoggerFactory.getLogger(Application.class);
+
+	public static void main(String[] args) throws Exception {
+		ConfigurableApplicationContext context = SpringApplication.run(Application.class, args);
+		if (context.getEnvironment().getProperty("poseidon.startup.benchmark", Boolean.class, false)) {
+			benchmarkStartup(context);
+			System.exit(SpringApplication.exit(context));
+		}
+	}
 
-	public static void main(String[] args) {
-		SpringApplication.run(Application.class, args);
+	/**
+	 * Startup benchmark, run with {@code --poseidon.startup.benchmark=true}: once the context is
+	 * ready, requests {@code poseidon.startup.benchmark-path} (default /login) from the embedded
+	 * server and logs the time elapsed since the JVM started, at ready and at the first served
+	 * request. The application then exits, which also makes this the training run of the CDS
+	 * archive (see STARTUP.md).
+	 *
+	 * @param context the started application
+	 * @throws Exception if the request fails
+	 */
+	static void benchmarkStartup(ConfigurableApplicationContext context) throws Exception {
+		long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+		Environment environment = context.getEnvironment();
+		URI uri = URI.create("http://localhost:" + environment.getProperty("local.server.port")
+				+ environment.getProperty("server.servlet.context-path", "")
+				+ environment.getProperty("poseidon.startup.benchmark-path", "/login"));
+		HttpResponse<Void> response = HttpClient.newHttpClient()
+				.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+		long firstRequestMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+		log.info("Startup: ready after {} ms, first request ({} -> {}) served after {} ms", readyMillis, uri.getPath(),
+				response.statusCode(), firstRequestMillis);
 	}
 }
@@ -0,0 +1,46 @@
+package com.nnk.springboot.analytics;
+
+import java.time.Duration;
+
+/**
+ * Rolling windows maintained by the streaming analytics components.
+ * Every window is split into the same number of buckets, so the bucket width grows with the window.
+ */
+public enum AnalyticsWindow {
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    ONE_HOUR("1h", Duration.ofHours(1)),
+    DAY("day", Duration.ofDays(1));
+
+    /**
+     * Number of buckets per window.
+     */
+    public static final int BUCKETS = 60;
+
+    private final String label;
+    private final Duration length;
+
+    AnalyticsWindow(String label, Duration length) {
+        this.label = label;
+        this.length = length;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return a new, empty ring buffer sized for this window
+     */
+    public RollingWindow newRollingWindow() {
+        return new RollingWindow(length.toMillis(), BUCKETS);
+    }
+
+    /**
+     * @param compression compression of the digests, see {@link TDigest#TDigest(double)}
+     * @return a new, empty quantile ring sized for this window
+     */
+    public RollingDigest newRollingDigest(double compression) {
+        return new RollingDigest(length.toMillis(), BUCKETS, compression);
+    }
+}
@@ -0,0 +1,128 @@
+package com.nnk.springboot.analytics;
+
+/**
+ * Fixed-size ring of time buckets estimating quantiles over a rolling window, with the bucket
+ * layout of {@link RollingWindow}. Each bucket keeps a {@link TDigest} of its own samples, and a
+ * digest of the whole window receives every sample too, so adding a sample and reading a quantile
+ * never merge the buckets. When buckets fall out of the window, the window digest is rebuilt from
+ * the live buckets: at most once per bucket width, and only when an expired bucket held samples.
+ *
+ * <p>Buckets are created on their first sample, dropped when they expire and compacted to their
+ * centroids once a newer bucket starts, so an idle ring holds no digest at all.
+ *
+ * <p>This class is not thread-safe; callers must synchronize access.
+ */
+public final class RollingDigest {
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final double compression;
+    private final TDigest[] buckets;
+
+    private TDigest window;
+    private long headBucket = Long.MIN_VALUE;
+
+    /**
+     * Create a rolling digest of the given length split into equally sized buckets.
+     *
+     * @param windowMillis total window length in milliseconds; must be a multiple of bucketCount
+     * @param bucketCount number of buckets in the ring; must be positive
+     * @param compression compression of every digest, see {@link TDigest#TDigest(double)}
+     * @throws IllegalArgumentException if the arguments are not positive or not compatible
+     */
+    public RollingDigest(long windowMillis, int bucketCount, double compression) {
+        if (bucketCount <= 0 || windowMillis <= 0 || windowMillis % bucketCount != 0) {
+            throw new IllegalArgumentException("Window length must be a positive multiple of the bucket count");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.compression = compression;
+        this.buckets = new TDigest[bucketCount];
+        this.window = new TDigest(compression);
+    }
+
+    /**
+     * Add a sample to the bucket covering the given time. Samples older than the window are ignored.
+     *
+     * @param timeMillis sample time in epoch milliseconds
+     * @param value the sample; NaN values are ignored
+     */
+    public void add(long timeMillis, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        long bucket = timeMillis / bucketMillis;
+        advanceTo(bucket);
+        if (bucket <= headBucket - bucketCount) {
+            return;
+        }
+        int slot = slot(bucket);
+        if (buckets[slot] == null) {
+            buckets[slot] = new TDigest(compression);
+        }
+        buckets[slot].add(value);
+        window.add(value);
+    }
+
+    /**
+     * Expire every bucket that has fallen out of the window at the given time.
+     *
+     * @param timeMillis the current time in epoch milliseconds
+     */
+    public void expire(long timeMillis) {
+        advanceTo(timeMillis / bucketMillis);
+    }
+
+    /**
+     * @return the number of samples in the live buckets
+     */
+    public long size() {
+        return window.size();
+    }
+
+    /**
+     * Estimate the value at the given quantile of the samples in the live buckets.
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimated value, or NaN when the window is empty
+     * @throws IllegalArgumentException if q is outside [0, 1]
+     */
+    public double quantile(double q) {
+        return window.quantile(q);
+    }
+
+    private void advanceTo(long bucket) {
+        if (headBucket == Long.MIN_VALUE) {
+            headBucket = bucket;
+            return;
+        }
+        if (bucket <= headBucket) {
+            return;
+        }
+        TDigest previousHead = buckets[slot(headBucket)];
+        if (previousHead != null) {
+            previousHead.compact();
+        }
+        long steps = Math.min(bucket - headBucket, bucketCount);
+        boolean expired = false;
+        for (long b = bucket - steps + 1; b <= bucket; b++) {
+            int slot = slot(b);
+            if (buckets[slot] != null) {
+                buckets[slot] = null;
+                expired = true;
+            }
+        }
+        headBucket = bucket;
+        if (expired) {
+            window = new TDigest(compression);
+            for (TDigest digest : buckets) {
+                if (digest != null) {
+                    window.add(digest);
+                }
+            }
+        }
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketCount);
+    }
+}
@@ -0,0 +1,140 @@
+package com.nnk.springboot.analytics;
+
+/**
+ * Fixed-size ring of time buckets accumulating price and quantity over a rolling window.
+ * Each bucket keeps primitive sums (notional, volume, price sum, trade count) and the window
+ * keeps running totals across all live buckets, so both adding a trade and reading the
+ * VWAP/TWAP are O(1) (advancing the ring is bounded by the number of buckets).
+ *
+ * <p>The TWAP is computed at bucket resolution: it is the average of the mean price of every
+ * bucket that saw at least one trade, which weights each time slice equally regardless of
+ * how many trades it contains.
+ *
+ * <p>This class is not thread-safe; callers must synchronize access.
+ */
+public final class RollingWindow {
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final double[] notional;
+    private final double[] volume;
+    private final double[] priceSum;
+    private final int[] tradeCount;
+
+    private long headBucket = Long.MIN_VALUE;
+    private double totalNotional;
+    private double totalVolume;
+    private double totalMeanPrice;
+    private int filledBuckets;
+
+    /**
+     * Create a rolling window of the given length split into equally sized buckets.
+     *
+     * @param windowMillis total window length in milliseconds; must be a multiple of bucketCount
+     * @param bucketCount number of buckets in the ring; must be positive
+     * @throws IllegalArgumentException if the arguments are not positive or not compatible
+     */
+    public RollingWindow(long windowMillis, int bucketCount) {
+        if (bucketCount <= 0 || windowMillis <= 0 || windowMillis % bucketCount != 0) {
+            throw new IllegalArgumentException("Window length must be a positive multiple of the bucket count");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.notional = new double[bucketCount];
+        this.volume = new double[bucketCount];
+        this.priceSum = new double[bucketCount];
+        this.tradeCount = new int[bucketCount];
+    }
+
+    /**
+     * Record a trade in the bucket covering the given time. Trades older than the window are ignored.
+     *
+     * @param timeMillis trade time in epoch milliseconds
+     * @param price trade price
+     * @param quantity traded quantity
+     */
+    public void add(long timeMillis, double price, double quantity) {
+        long bucket = timeMillis / bucketMillis;
+        advanceTo(bucket);
+        if (bucket <= headBucket - bucketCount) {
+            return;
+        }
+        int slot = (int) Math.floorMod(bucket, (long) bucketCount);
+        if (tradeCount[slot] > 0) {
+            totalMeanPrice -= priceSum[slot] / tradeCount[slot];
+        } else {
+            filledBuckets++;
+        }
+        notional[slot] += price * quantity;
+        volume[slot] += quantity;
+        priceSum[slot] += price;
+        tradeCount[slot]++;
+        totalMeanPrice += priceSum[slot] / tradeCount[slot];
+        totalNotional += price * quantity;
+        totalVolume += quantity;
+    }
+
+    /**
+     * Expire every bucket that has fallen out of the window at the given time.
+     *
+     * @param timeMillis the current time in epoch milliseconds
+     */
+    public void expire(long timeMillis) {
+        advanceTo(timeMillis / bucketMillis);
+    }
+
+    /**
+     * @return the volume-weighted average price over the live buckets, or NaN when empty
+     */
+    public double vwap() {
+        return totalVolume > 0 ? totalNotional / totalVolume : Double.NaN;
+    }
+
+    /**
+     * @return the time-weighted average price over the live buckets, or NaN when empty
+     */
+    public double twap() {
+        return filledBuckets > 0 ? totalMeanPrice / filledBuckets : Double.NaN;
+    }
+
+    /**
+     * @return the total quantity traded over the live buckets
+     */
+    public double volume() {
+        return totalVolume;
+    }
+
+    private void advanceTo(long bucket) {
+        if (headBucket == Long.MIN_VALUE) {
+            headBucket = bucket;
+            return;
+        }
+        if (bucket <= headBucket) {
+            return;
+        }
+        long steps = Math.min(bucket - headBucket, bucketCount);
+        for (long b = bucket - steps + 1; b <= bucket; b++) {
+            clear((int) Math.floorMod(b, (long) bucketCount));
+        }
+        headBucket = bucket;
+        if (filledBuckets == 0) {
+            // Reset running totals so floating-point drift does not accumulate across idle periods
+            totalNotional = 0;
+            totalVolume = 0;
+            totalMeanPrice = 0;
+        }
+    }
+
+    private void clear(int slot) {
+        if (tradeCount[slot] == 0) {
+            return;
+        }
+        totalNotional -= notional[slot];
+        totalVolume -= volume[slot];
+        totalMeanPrice -= priceSum[slot] / tradeCount[slot];
+        filledBuckets--;
+        notional[slot] = 0;
+        volume[slot] = 0;
+        priceSum[slot] = 0;
+        tradeCount[slot] = 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.analytics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Count and total amount of entities per key. Only the aggregates are kept: adding an entity
+ * adds its delta to its key, so memory grows with the number of keys rather than of entities,
+ * every write is O(1) and reading the totals never scans the entities.
+ *
+ * <p>A counter cannot take back an entity it does not remember; changes other than additions are
+ * applied by replacing every total with ones computed by the database.
+ *
+ * <p>Keys must not be null. All methods are synchronized.
+ *
+ * @param <K> the grouping key
+ */
+public final class SummaryCounter<K> {
+    private final Map<K, Accumulator> accumulators = new HashMap<>();
+    private long count;
+
+    /**
+     * Count of entities under one key and the sum of their amounts.
+     *
+     * @param count the number of entities
+     * @param amount the sum of their amounts
+     */
+    public record Total(long count, double amount) {
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private double amount;
+    }
+
+    /**
+     * Count a new entity under its key.
+     *
+     * @param key the key the entity is counted under; must not be null
+     * @param amount the amount the entity adds to the total of its key
+     */
+    public synchronized void add(K key, double amount) {
+        Accumulator accumulator = accumulators.computeIfAbsent(key, k -> new Accumulator());
+        accumulator.count++;
+        accumulator.amount += amount;
+        count++;
+    }
+
+    /**
+     * Replace every total.
+     *
+     * @param totals the new totals by key; keys must not be null
+     */
+    public synchronized void reset(Map<K, Total> totals) {
+        accumulators.clear();
+        count = 0;
+        totals.forEach((key, total) -> {
+            Accumulator accumulator = new Accumulator();
+            accumulator.count = total.count();
+            accumulator.amount = total.amount();
+            accumulators.put(key, accumulator);
+            count += total.count();
+        });
+    }
+
+    /**
+     * Return the number of entities counted, under any key.
+     *
+     * @return the number of entities
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Return a copy of the totals of every key.
+     *
+     * @return the totals by key
+     */
+    public Map<K, Total> totals() {
+        return totals(key -> true);
+    }
+
+    /**
+     * Return a copy of the totals of the keys accepted by a filter.
+     *
+     * @param filter selects the keys to return
+     * @return the totals by key
+     */
+    public synchronized Map<K, Total> totals(Predicate<? super K> filter) {
+        Map<K, Total> totals = new LinkedHashMap<>();
+        accumulators.forEach((key, accumulator) -> {
+            if (filter.test(key)) {
+                totals.put(key, new Total(accumulator.count, accumulator.amount));
+            }
+        });
+        return totals;
+    }
+}
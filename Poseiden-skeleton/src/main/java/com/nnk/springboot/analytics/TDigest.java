@@ -0,0 +1,221 @@
+package com.nnk.springboot.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for streaming quantile estimation in bounded memory.
+ * Incoming values are buffered and periodically merged into a sorted array of weighted centroids
+ * whose maximum size depends only on the compression factor, so memory does not grow with the
+ * number of samples. Centroids are kept small near the tails (arcsine scale function), which keeps
+ * extreme quantiles such as p99 accurate. Digests can be merged, e.g. to combine the digests of
+ * several time buckets, and a digest that no longer receives samples can be compacted to its
+ * centroids.
+ *
+ * <p>This class is not thread-safe; callers must synchronize access.
+ */
+public final class TDigest {
+    private final double compression;
+    private final int capacity;
+    private double[] means;
+    private double[] weights;
+    private double[] buffer;
+    private int centroidCount;
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Create an empty digest.
+     *
+     * @param compression accuracy/size trade-off; the digest keeps at most about 2 * compression centroids
+     * @throws IllegalArgumentException if compression is lower than 10
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.compression = compression;
+        this.capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.buffer = new double[capacity * 4];
+    }
+
+    /**
+     * Add a sample to the digest.
+     *
+     * @param value the sample; NaN values are ignored
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (buffer == null) {
+            buffer = new double[capacity * 4];
+        } else if (buffered == buffer.length) {
+            merge();
+        }
+        buffer[buffered++] = value;
+        totalWeight++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add every sample of another digest to this one. The other digest is left unchanged.
+     *
+     * @param other the digest to merge into this one
+     */
+    public void add(TDigest other) {
+        other.merge();
+        if (other.centroidCount == 0) {
+            return;
+        }
+        merge();
+        int total = centroidCount + other.centroidCount;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int c = 0;
+        int o = 0;
+        for (int i = 0; i < total; i++) {
+            if (o >= other.centroidCount || (c < centroidCount && means[c] <= other.means[o])) {
+                mergedMeans[i] = means[c];
+                mergedWeights[i] = weights[c++];
+            } else {
+                mergedMeans[i] = other.means[o];
+                mergedWeights[i] = other.weights[o++];
+            }
+        }
+        totalWeight += other.totalWeight;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress(mergedMeans, mergedWeights, total);
+    }
+
+    /**
+     * Merge the buffered samples and release the memory the digest only needs to take new ones.
+     * Samples can still be added afterwards.
+     */
+    public void compact() {
+        merge();
+        buffer = null;
+        means = Arrays.copyOf(means, centroidCount);
+        weights = Arrays.copyOf(weights, centroidCount);
+    }
+
+    /**
+     * @return the number of samples added so far
+     */
+    public long size() {
+        return (long) totalWeight;
+    }
+
+    /**
+     * Estimate the value at the given quantile.
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimated value, or NaN when the digest is empty
+     * @throws IllegalArgumentException if q is outside [0, 1]
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        merge();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        double target = q * totalWeight;
+        double firstCenter = weights[0] / 2;
+        if (target <= firstCenter) {
+            return interpolate(min, means[0], target / firstCenter);
+        }
+        double cumulative = 0;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double center = cumulative + weights[i] / 2;
+            double nextCenter = cumulative + weights[i] + weights[i + 1] / 2;
+            if (target <= nextCenter) {
+                return interpolate(means[i], means[i + 1], (target - center) / (nextCenter - center));
+            }
+            cumulative += weights[i];
+        }
+        double lastCenter = totalWeight - weights[centroidCount - 1] / 2;
+        return interpolate(means[centroidCount - 1], max, (target - lastCenter) / (totalWeight - lastCenter));
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * Math.max(0, Math.min(1, fraction));
+    }
+
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        int total = centroidCount + buffered;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int c = 0;
+        int b = 0;
+        for (int i = 0; i < total; i++) {
+            if (b >= buffered || (c < centroidCount && means[c] <= buffer[b])) {
+                mergedMeans[i] = means[c];
+                mergedWeights[i] = weights[c++];
+            } else {
+                mergedMeans[i] = buffer[b++];
+                mergedWeights[i] = 1;
+            }
+        }
+        buffered = 0;
+        compress(mergedMeans, mergedWeights, total);
+    }
+
+    /**
+     * Replace the centroids by the given ones, sorted by mean, merged as far as the scale function allows.
+     */
+    private void compress(double[] mergedMeans, double[] mergedWeights, int total) {
+        if (means.length < capacity) {
+            means = new double[capacity];
+            weights = new double[capacity];
+        }
+        centroidCount = 0;
+        double cumulative = 0;
+        double currentMean = mergedMeans[0];
+        double currentWeight = mergedWeights[0];
+        double limit = quantileLimit(0);
+        for (int i = 1; i < total; i++) {
+            double proposed = currentWeight + mergedWeights[i];
+            if ((cumulative + proposed) / totalWeight <= limit) {
+                currentMean += (mergedMeans[i] - currentMean) * mergedWeights[i] / proposed;
+                currentWeight = proposed;
+            } else {
+                emit(currentMean, currentWeight);
+                cumulative += currentWeight;
+                limit = quantileLimit(cumulative / totalWeight);
+                currentMean = mergedMeans[i];
+                currentWeight = mergedWeights[i];
+            }
+        }
+        emit(currentMean, currentWeight);
+    }
+
+    private void emit(double mean, double weight) {
+        means[centroidCount] = mean;
+        weights[centroidCount++] = weight;
+    }
+
+    /**
+     * Upper quantile bound of a centroid starting at q, i.e. one unit further on the arcsine k-scale.
+     */
+    private double quantileLimit(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+}
@@ -0,0 +1,36 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.perf.PerfDataProperties;
+import com.nnk.springboot.perf.SyntheticDataGenerator;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Synthetic data for performance testing, with the {@code perf} profile: on startup, empty
+ * tables are filled with millions of generated rows.
+ *
+ * @see PerfDataProperties
+ */
+@Configuration
+@Profile("perf")
+@EnableConfigurationProperties(PerfDataProperties.class)
+public class PerfDataConfig {
+
+    /**
+     * Provides the generator, run at startup before the indexes are loaded.
+     *
+     * @param jdbcTemplate access to the application tables
+     * @param shardRouter the router of the bids and trades
+     * @param properties the volumes and distributions to generate
+     * @return the data generator
+     */
+    @Bean
+    public SyntheticDataGenerator syntheticDataGenerator(JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                                                         PerfDataProperties properties) {
+        return new SyntheticDataGenerator(jdbcTemplate, shardRouter, properties);
+    }
+}
@@ -1,7 +1,16 @@
 package com.nnk.springboot.config;
 
+import com.nnk.springboot.security.SignedTokenAuthenticationFilter;
+import com.nnk.springboot.security.SignedTokenLoginHandler;
+import com.nnk.springboot.security.SignedTokenService;
+import com.nnk.springboot.session.JdbcSessionFilter;
+import com.nnk.springboot.session.JdbcSessionRegistry;
+import com.nnk.springboot.session.JdbcSessionStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -9,10 +18,14 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.web.session.HttpSessionEventPublisher;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 /**
  * Security configuration for the Poseidon application.
@@ -21,8 +34,8 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
  *
  * <p>This configuration implements security best practices including:
  * <ul>
- *   <li>Session-based authentication</li>
- *   <li>Session management with limitation to one session per user</li>
+ *   <li>Session-based authentication, sessions being stored in the database (see {@link SessionConfig})</li>
+ *   <li>Session management with limitation to one session per user, across all nodes</li>
  *   <li>CSRF protection (disabled for H2 console)</li>
  *   <li>Password encoding with BCrypt</li>
  *   <li>Custom error pages</li>
@@ -38,9 +51,12 @@ public class SecurityConfig {
      *
      * <p>Access configuration:
      * <ul>
-     *   <li>Public static resources: /, /login, /css/**, /js/**, /images/**, /user/add, /user/validate</li>
+     *   <li>Public static resources: /, /login, /css/**, /js/**, /images/**, /user/add, /user/validate;
+     *   a visitor can only register as USER (see UserController)</li>
      *   <li>Restricted H2 console access to ADMIN role only</li>
+     *   <li>Rules (/ruleName/**), whose SQL runs against the database, restricted to ADMIN role</li>
      *   <li>All other resources require authentication</li>
+     *   <li>REST API (/api/**) clients authenticate with HTTP Basic and get 401 when they do not</li>
      * </ul>
      *
      * <p>Session management:
@@ -50,7 +66,14 @@ public class SecurityConfig {
      *   <li>Automatic invalidation of previous sessions</li>
      * </ul>
      *
+     * <p>With {@code poseidon.security.token.enabled=true} the application is stateless instead:
+     * a successful form login hands out a signed token (see {@link TokenAuthConfig}), and each
+     * request is authenticated from its token, sent as AUTH_TOKEN cookie or bearer header,
+     * without loading the user or creating a session.
+     *
      * @param http the HttpSecurity object to configure web security
+     * @param sessionRegistry the registry of the sessions of every node
+     * @param tokenService the token service, available in token mode only
      * @return the configured security filter
      * @throws Exception in case of configuration error
      *
@@ -58,7 +81,8 @@ public class SecurityConfig {
      * @see SecurityFilterChain
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SessionRegistry sessionRegistry,
+                                           ObjectProvider<SignedTokenService> tokenService) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
                 // Public static resources (use PathRequest to target common locations)
@@ -67,6 +91,8 @@ public class SecurityConfig {
                 .requestMatchers("/", "/login", "/user/add", "/user/validate").permitAll()
                 // User management - ADMIN only
                 .requestMatchers("/user/**").hasRole("ADMIN")
+                // Rules hold SQL run against the database - ADMIN only
+                .requestMatchers("/ruleName/**").hasRole("ADMIN")
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
@@ -77,6 +103,24 @@ public class SecurityConfig {
                     .includeSubDomains(true)
                 ) // HSTS to enforce HTTPS in production
             )
+            .httpBasic(Customizer.withDefaults()) // Credentials for REST API clients
+            .exceptionHandling(exception -> exception
+                .accessDeniedPage("/403") // Access denied error page
+                // REST API clients get 401 instead of a redirect to the login page
+                .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                    new AntPathRequestMatcher("/api/**"))
+            );
+        SignedTokenService tokens = tokenService.getIfAvailable();
+        if (tokens != null) {
+            configureTokens(http, tokens);
+        } else {
+            configureSessions(http, sessionRegistry);
+        }
+        return http.build();
+    }
+
+    private static void configureSessions(HttpSecurity http, SessionRegistry sessionRegistry) throws Exception {
+        http
             .formLogin(form -> form
                 .loginPage("/login") // Custom login page
                 .defaultSuccessUrl("/home", true) // Redirect after successful login to home page
@@ -87,19 +131,39 @@ public class SecurityConfig {
                 .logoutUrl("/logout") // Explicit URL for logout
                 .logoutSuccessUrl("/login?logout") // Redirect after logout
                 .invalidateHttpSession(true) // Invalidate HTTP session
-                .deleteCookies("JSESSIONID") // Remove session cookie
+                .deleteCookies(JdbcSessionFilter.COOKIE_NAME) // Remove session cookie
                 .permitAll() // Free access to logout
             )
-            .exceptionHandling(exception -> exception
-                .accessDeniedPage("/403") // Access denied error page
-            )
             .sessionManagement(session -> session
                 .maximumSessions(1) // Limit to one session per user
                 .maxSessionsPreventsLogin(false) // Allow new login by invalidating old session
                 .expiredUrl("/login?expired") // Redirect if session expires
-                .sessionRegistry(sessionRegistry()) // Add session registry
+                .sessionRegistry(sessionRegistry) // Add session registry
+            );
+    }
+
+    private static void configureTokens(HttpSecurity http, SignedTokenService tokenService) throws Exception {
+        SignedTokenLoginHandler loginHandler = new SignedTokenLoginHandler(tokenService, "/home");
+        SimpleUrlAuthenticationFailureHandler failureHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        failureHandler.setAllowSessionCreation(false); // No session to hold the login error
+        http
+            .formLogin(form -> form
+                .loginPage("/login") // Custom login page
+                .successHandler(loginHandler) // Token cookie, then redirect to home page
+                .failureHandler(failureHandler) // Redirect on login failure
+                .permitAll() // Free access to login page
+            )
+            .logout(logout -> logout
+                .logoutUrl("/logout") // Explicit URL for logout
+                .addLogoutHandler(loginHandler) // Revoke the token and remove its cookie
+                .logoutSuccessUrl("/login?logout") // Redirect after logout
+                .permitAll() // Free access to logout
+            )
+            .addFilterBefore(new SignedTokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .requestCache(cache -> cache.requestCache(new NullRequestCache())) // No session to save requests in
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Authentication comes from the token
             );
-        return http.build();
     }
 
     /**
@@ -142,32 +206,20 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
-    /**
-     * Bean for publishing HTTP session events.
-     * Necessary for the proper functioning of concurrent session management.
-     * Allows Spring Security to detect session creation and destruction.
-     *
-     * @return the HTTP session event publisher
-     *
-     * @see HttpSessionEventPublisher
-     */
-    @Bean
-    public HttpSessionEventPublisher httpSessionEventPublisher() {
-        return new HttpSessionEventPublisher();
-    }
-
     /**
      * Provides the registry of sessions for managing active sessions.
      * The session registry keeps track of active sessions and
      * manages restrictions such as the maximum number of sessions per user.
+     * It reads the shared session store, so the restrictions hold across nodes.
      *
-     * @return an instance of SessionRegistryImpl for session tracking
+     * @param sessionStore the database session store
+     * @return an instance of JdbcSessionRegistry for session tracking
      *
      * @see SessionRegistry
-     * @see SessionRegistryImpl
+     * @see JdbcSessionRegistry
      */
     @Bean
-    public SessionRegistry sessionRegistry() {
-        return new SessionRegistryImpl();
+    public SessionRegistry sessionRegistry(JdbcSessionStore sessionStore) {
+        return new JdbcSessionRegistry(sessionStore);
     }
 }
@@ -0,0 +1,59 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.session.JdbcSessionFilter;
+import com.nnk.springboot.session.JdbcSessionStore;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * HTTP sessions stored in the database instead of the servlet container, so that any node
+ * behind the load balancer can serve any request without sticky sessions.
+ *
+ * <p>Settings, under {@code poseidon.session}:
+ * <ul>
+ *   <li>timeout-seconds: idle timeout of a session (default 1800)</li>
+ *   <li>flush-interval-ms: interval between two batches of last-access updates (default 1000)</li>
+ *   <li>sweep-interval-ms: interval between two deletions of timed out sessions (default 60000)</li>
+ * </ul>
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Provides the session store, shared by the session filter and the session registry.
+     *
+     * @param jdbcTemplate access to the http_session table
+     * @param flushIntervalMillis the last-access batch interval
+     * @param sweepIntervalMillis the expiry sweep interval
+     * @return the session store
+     */
+    @Bean
+    public JdbcSessionStore jdbcSessionStore(JdbcTemplate jdbcTemplate,
+                                             @Value("${poseidon.session.flush-interval-ms:1000}") long flushIntervalMillis,
+                                             @Value("${poseidon.session.sweep-interval-ms:60000}") long sweepIntervalMillis) {
+        return new JdbcSessionStore(jdbcTemplate, flushIntervalMillis, sweepIntervalMillis);
+    }
+
+    /**
+     * Registers the session filter ahead of the Spring Security filters, for requests and for
+     * error and async dispatches.
+     *
+     * @param store the session store
+     * @param timeoutSeconds the idle timeout of new sessions
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<JdbcSessionFilter> jdbcSessionFilter(JdbcSessionStore store,
+                                                                       @Value("${poseidon.session.timeout-seconds:1800}") int timeoutSeconds) {
+        FilterRegistrationBean<JdbcSessionFilter> registration =
+                new FilterRegistrationBean<>(new JdbcSessionFilter(store, timeoutSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR, DispatcherType.ASYNC);
+        return registration;
+    }
+}
@@ -0,0 +1,102 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.sharding.ShardMap;
+import com.nnk.springboot.sharding.ShardRouter;
+import com.nnk.springboot.sharding.ShardRoutingDataSource;
+import com.nnk.springboot.sharding.ShardSchemaInitializer;
+import com.nnk.springboot.sharding.ShardingProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharding of trades and bids by book.
+ *
+ * <p>With {@code poseidon.sharding.enabled=true}, the application DataSource routes each
+ * connection to the shard bound to the current thread, and TradeService and BidListService
+ * route their work through the {@link ShardRouter}. Otherwise the router holds a single shard
+ * and the auto-configured spring.datasource is used unchanged.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Provides the router used by the sharded services.
+     *
+     * @param properties the sharding configuration
+     * @param transactionManager the transaction manager, used to open a transaction per shard
+     * @return a router over the configured shards, or over the single DataSource when sharding is disabled
+     */
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties,
+                                   ObjectProvider<PlatformTransactionManager> transactionManager) {
+        if (!properties.enabled()) {
+            return ShardRouter.single();
+        }
+        return new ShardRouter(new ShardMap(properties.shards().stream().map(ShardingProperties.Shard::name).toList(),
+                properties.books()), transactionManager.getObject());
+    }
+
+    /**
+     * Beans that only exist when sharding is enabled.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "poseidon.sharding.enabled", havingValue = "true")
+    static class ShardDataSources implements DisposableBean {
+        private final Map<String, DataSource> shards = new LinkedHashMap<>();
+
+        ShardDataSources(ShardingProperties properties) {
+            if (properties.shards().isEmpty()) {
+                throw new IllegalStateException("poseidon.sharding.shards must list at least one shard");
+            }
+            for (ShardingProperties.Shard shard : properties.shards()) {
+                shards.put(shard.name(), DataSourceBuilder.create()
+                        .url(shard.url())
+                        .username(shard.username())
+                        .password(shard.password())
+                        .build());
+            }
+        }
+
+        /**
+         * Provides the application DataSource, routing to the shard bound to the current
+         * thread and to the first shard by default.
+         *
+         * @return the routing DataSource
+         */
+        @Bean
+        public DataSource dataSource() {
+            ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+            dataSource.setTargetDataSources(new LinkedHashMap<>(shards));
+            dataSource.setDefaultTargetDataSource(shards.values().iterator().next());
+            return dataSource;
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "poseidon.sharding.initialize-schema", havingValue = "true")
+        public ShardSchemaInitializer shardSchemaInitializer(ShardingProperties properties,
+                                                             EntityManagerFactory entityManagerFactory) {
+            return new ShardSchemaInitializer(properties, shards, entityManagerFactory);
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            for (DataSource shard : shards.values()) {
+                if (shard instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.session.JdbcSessionStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Startup-optimized boot, with the {@code startup} profile (see application-startup.properties).
+ *
+ * <p>Beans are created lazily, on their first use, except the ones a node needs to serve its
+ * first request: the DataSource, the JPA EntityManagerFactory, whose creation validates the
+ * mappings, and the session store. The search, autocomplete and trade source indexes are
+ * command line runners and are still loaded during the boot.
+ */
+@Configuration
+@Profile("startup")
+public class StartupConfig {
+
+    /**
+     * Keeps the infrastructure needed by the first request out of lazy initialization.
+     *
+     * @return the filter of the beans created eagerly
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                JdbcSessionStore.class);
+    }
+}
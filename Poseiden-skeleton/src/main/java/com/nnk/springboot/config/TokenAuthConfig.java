@@ -0,0 +1,51 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.security.SignedTokenService;
+import com.nnk.springboot.security.TokenDenyList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stateless authentication with signed tokens, enabled by {@code poseidon.security.token.enabled=true}.
+ *
+ * <p>Settings, under {@code poseidon.security.token}:
+ * <ul>
+ *   <li>secret: the HMAC signing secret, identical on every node, at least 32 characters (required)</li>
+ *   <li>ttl-seconds: the lifetime of a token (default 3600)</li>
+ * </ul>
+ *
+ * @see SecurityConfig
+ */
+@Configuration
+@ConditionalOnProperty(name = "poseidon.security.token.enabled", havingValue = "true")
+public class TokenAuthConfig {
+
+    /**
+     * Provides the list of revoked tokens of this node.
+     *
+     * @return the deny list
+     */
+    @Bean
+    public TokenDenyList tokenDenyList() {
+        return new TokenDenyList();
+    }
+
+    /**
+     * Provides the service issuing and verifying the tokens.
+     *
+     * @param secret the signing secret
+     * @param ttlSeconds the token lifetime
+     * @param denyList the revoked tokens
+     * @return the token service
+     */
+    @Bean
+    public SignedTokenService signedTokenService(@Value("${poseidon.security.token.secret}") String secret,
+                                                 @Value("${poseidon.security.token.ttl-seconds:3600}") long ttlSeconds,
+                                                 TokenDenyList denyList) {
+        return new SignedTokenService(secret.getBytes(StandardCharsets.UTF_8), ttlSeconds, denyList);
+    }
+}
@@ -0,0 +1,80 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.service.ApiResource;
+import com.nnk.springboot.service.ApiService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON REST API over BidList, Trade, CurvePoint, Rating and RuleName.
+ * Listings are paginated by cursor ({@code after}, {@code limit}) and every endpoint accepts
+ * {@code fields=a,b,c} to return only those columns.
+ */
+@RestController
+@RequestMapping("/api")
+public class ApiController {
+    private final ApiService apiService;
+
+    public ApiController(ApiService apiService) {
+        this.apiService = apiService;
+    }
+
+    /**
+     * List a resource one page at a time.
+     *
+     * @param resource the resource path segment (bidList, trade, curvePoint, rating, ruleName)
+     * @param after the cursor returned with the previous page
+     * @param limit the page size
+     * @param fields the fields to return; all fields when absent
+     * @return the page and the cursor of the next one
+     */
+    @GetMapping("/{resource}")
+    public ApiPage list(@PathVariable("resource") String resource,
+                        @RequestParam(name = "after", required = false) Integer after,
+                        @RequestParam(name = "limit", required = false) Integer limit,
+                        @RequestParam(name = "fields", required = false) List<String> fields) {
+        return apiService.findPage(resolve(resource), after, limit, fields == null ? List.of() : fields);
+    }
+
+    /**
+     * Read a single row of a resource.
+     *
+     * @param resource the resource path segment
+     * @param id the id of the row
+     * @param fields the fields to return; all fields when absent
+     * @return the row
+     */
+    @GetMapping("/{resource}/{id}")
+    public Map<String, Object> get(@PathVariable("resource") String resource, @PathVariable("id") Integer id,
+                                   @RequestParam(name = "fields", required = false) List<String> fields) {
+        return apiService.findById(resolve(resource), id, fields == null ? List.of() : fields)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No " + resource + " with id " + id));
+    }
+
+    /**
+     * Report invalid parameters (unknown field, non-positive limit) as 400 Bad Request.
+     *
+     * @param e the exception raised by the service
+     * @return the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private static ApiResource resolve(String path) {
+        return ApiResource.fromPath(path)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown resource: " + path));
+    }
+}
@@ -0,0 +1,45 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.service.AutocompleteField;
+import com.nnk.springboot.service.AutocompleteService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * JSON completions for the account, security, book and trader fields of the BidList and
+ * Trade forms, served from memory by AutocompleteService.
+ */
+@RestController
+public class AutocompleteController {
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Return the most used stored values starting with the typed prefix.
+     *
+     * @param field the field path segment (account, security, book, trader)
+     * @param prefix the text typed so far; empty for the most used values
+     * @param limit the maximum number of values, capped at {@value #MAX_LIMIT}
+     * @return the completions, most used first
+     */
+    @GetMapping("/autocomplete/{field}")
+    public List<String> complete(@PathVariable("field") String field,
+                                 @RequestParam(name = "prefix", defaultValue = "") String prefix,
+                                 @RequestParam(name = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        AutocompleteField completed = AutocompleteField.fromPath(field)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown field: " + field));
+        return autocompleteService.complete(completed, prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
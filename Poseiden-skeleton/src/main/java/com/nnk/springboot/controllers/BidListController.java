@@ -1,9 +1,12 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.rules.PreTradeCheckException;
 import com.nnk.springboot.service.BidListService;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -11,7 +14,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -37,7 +43,7 @@ public class BidListController {
     @RequestMapping("/bidList/list")
     public String home(Model model)
     {
-        model.addAttribute("bidLists", bidListService.findAll());
+        model.addAttribute("bidLists", bidListService.findAllSummaries());
         return "bidList/list";
     }
 
@@ -56,14 +62,20 @@ public class BidListController {
      *
      * @param bid the BidList entity to validate and save
      * @param result binding result for validation errors
-     * @return redirect to list on success, or add form on validation error
+     * @param model the model used to report a rejection by the pre-trade checks
+     * @return redirect to list on success, or add form on validation error or rejection
      */
     @PostMapping("/bidList/validate")
-    public String validate(@Valid BidList bid, BindingResult result) {
+    public String validate(@Valid BidList bid, BindingResult result, Model model) {
         if (result.hasErrors()) {
             return "bidList/add";
         }
-        bidListService.save(bid);
+        try {
+            bidListService.save(bid);
+        } catch (PreTradeCheckException e) {
+            model.addAttribute("errorMessage", "Rejected by pre-trade checks: " + e.getMessage());
+            return "bidList/add";
+        }
         return "redirect:/bidList/list";
     }
 
@@ -91,17 +103,32 @@ public class BidListController {
      * @param id the id of the BidList to update
      * @param bidList the updated BidList entity
      * @param result binding result for validation errors
-     * @return redirect to list on success, or update form on validation error
+     * @param request the current request, whose parameter names select the fields to write
+     * @param model the model used to report a missing bid, a rejected value, a failed pre-trade check or a concurrent modification
+     * @return redirect to list on success, or update form on validation error or failure
      */
     @PostMapping("/bidList/update/{id}")
     public String updateBid(@PathVariable("id") Integer id, @Valid BidList bidList,
-                             BindingResult result) {
+                             BindingResult result, HttpServletRequest request, Model model) {
         if (result.hasErrors()) {
             return "bidList/update";
         }
+        String error;
+        try {
+            if (bidListService.patch(id, bidList, request.getParameterMap().keySet())) {
+                return "redirect:/bidList/list";
+            }
+            error = "This bid no longer exists.";
+        } catch (OptimisticLockingFailureException e) {
+            error = "This bid was modified by another user. Reload it and apply your changes again.";
+        } catch (PreTradeCheckException e) {
+            error = "Rejected by pre-trade checks: " + e.getMessage();
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
         bidList.setId(id);
-        bidListService.save(bidList);
-        return "redirect:/bidList/list";
+        model.addAttribute("errorMessage", error);
+        return "bidList/update";
     }
 
     /**
@@ -113,11 +140,46 @@ public class BidListController {
      */
     @GetMapping("/bidList/delete/{id}")
     public String deleteBid(@PathVariable("id") Integer id, Model model) {
-        if (bidListService.existsById(id)) {
-            bidListService.deleteById(id);
-        } else {
+        if (!bidListService.deleteById(id)) {
             model.addAttribute("errorMessage", "Bid not found for deletion.");
         }
         return "redirect:/bidList/list";
     }
+
+    /**
+     * Delete the selected entities with a single DELETE statement.
+     *
+     * @param ids the ids selected on the list page
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/bidList/bulk/delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             RedirectAttributes redirectAttributes) {
+        int deleted = bidListService.deleteByIds(ids);
+        redirectAttributes.addFlashAttribute("bulkMessage", deleted + " bid(s) deleted.");
+        return "redirect:/bidList/list";
+    }
+
+    /**
+     * Set the status of the selected BidLists.
+     * Runs a single UPDATE statement; invalid values are reported on the list page.
+     *
+     * @param ids the ids selected on the list page
+     * @param status the new status; blank clears it
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/bidList/bulk/status")
+    public String bulkUpdateStatus(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             @RequestParam(name = "status", required = false) String status,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = bidListService.updateStatus(ids, status);
+            redirectAttributes.addFlashAttribute("bulkMessage", updated + " bid(s) updated.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return "redirect:/bidList/list";
+    }
 }
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.service.CurvePointService;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,6 +11,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 
@@ -36,7 +39,7 @@ public class CurveController {
      */
     @RequestMapping("/curvePoint/list")
     public String home(Model model) {
-        model.addAttribute("curvePoints", curvePointService.findAll());
+        model.addAttribute("curvePoints", curvePointService.findAllSummaries());
         return "curvePoint/list";
     }
 
@@ -83,7 +86,7 @@ public class CurveController {
     }
 
     /**
-     * Updates an existing CurvePoint entity.
+     * Updates an existing CurvePoint entity; the new version is added to the curve history.
      * @param id the ID of the CurvePoint to update
      * @param curvePoint the updated CurvePoint entity
      * @param result BindingResult for validation errors
@@ -102,18 +105,53 @@ public class CurveController {
 
     /**
      * Deletes a CurvePoint entity by its ID.
-     * Checks if the entity exists before deleting and adds an error message if not found.
+     * Runs a single DELETE statement and adds an error message if nothing was deleted.
      * @param id the ID of the CurvePoint to delete
      * @param model Spring MVC model
      * @return redirects to the curve point list after deletion or if not found
      */
     @GetMapping("/curvePoint/delete/{id}")
     public String deleteBid(@PathVariable("id") Integer id, Model model) {
-        if (curvePointService.existsById(id)) {
-            curvePointService.deleteById(id);
-        } else {
+        if (!curvePointService.deleteById(id)) {
             model.addAttribute("errorMessage", "CurvePoint not found for deletion.");
         }
         return "redirect:/curvePoint/list";
     }
+
+    /**
+     * Delete the selected entities with a single DELETE statement.
+     *
+     * @param ids the ids selected on the list page
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/curvePoint/bulk/delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             RedirectAttributes redirectAttributes) {
+        int deleted = curvePointService.deleteByIds(ids);
+        redirectAttributes.addFlashAttribute("bulkMessage", deleted + " curve point(s) deleted.");
+        return "redirect:/curvePoint/list";
+    }
+
+    /**
+     * Move the selected CurvePoints to another curve.
+     * Runs a single UPDATE statement; invalid values are reported on the list page.
+     *
+     * @param ids the ids selected on the list page
+     * @param curveId the target curve identifier
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/curvePoint/bulk/curve")
+    public String bulkUpdateCurve(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             @RequestParam(name = "curveId", required = false) Integer curveId,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = curvePointService.updateCurveId(ids, curveId);
+            redirectAttributes.addFlashAttribute("bulkMessage", updated + " curve point(s) moved.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return "redirect:/curvePoint/list";
+    }
 }
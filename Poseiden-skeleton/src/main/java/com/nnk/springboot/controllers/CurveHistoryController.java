@@ -0,0 +1,67 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.service.CurveHistoryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JSON access to the as-of-date history of the curves kept by CurveHistoryService.
+ */
+@RestController
+public class CurveHistoryController {
+    private final CurveHistoryService curveHistoryService;
+
+    public CurveHistoryController(CurveHistoryService curveHistoryService) {
+        this.curveHistoryService = curveHistoryService;
+    }
+
+    /**
+     * Return a curve as it was at a date, or its current state when no date is given.
+     * A date without time selects the end of that day.
+     *
+     * @param curveId the curve identifier
+     * @param asOf an ISO date (2024-01-16) or date-time (2024-01-16T09:30); optional
+     * @return the valid version of each term of the curve at that date
+     */
+    @GetMapping(value = "/curvePoint/history/{curveId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CurveHistory.Snapshot asOf(@PathVariable("curveId") int curveId,
+                                      @RequestParam(name = "asOf", required = false) String asOf) {
+        Optional<CurveHistory.Snapshot> snapshot = asOf == null || asOf.isBlank()
+                ? curveHistoryService.latest(curveId)
+                : curveHistoryService.asOf(curveId, parse(asOf));
+        return snapshot.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Curve " + curveId + " has no point at this date"));
+    }
+
+    /**
+     * Return the dates at which a curve changed.
+     *
+     * @param curveId the curve identifier
+     * @return the dates in ascending order; empty for an unknown curve
+     */
+    @GetMapping(value = "/curvePoint/history/{curveId}/versions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<LocalDateTime> versions(@PathVariable("curveId") int curveId) {
+        return curveHistoryService.versions(curveId);
+    }
+
+    private static LocalDateTime parse(String asOf) {
+        try {
+            return asOf.contains("T") ? LocalDateTime.parse(asOf) : LocalDate.parse(asOf).atTime(LocalTime.MAX);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid asOf date: " + asOf);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.DashboardSection;
+import com.nnk.springboot.service.DashboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JSON sections of the home dashboard, served from the counters of DashboardService.
+ * Each section has its own URL so the home page requests them concurrently and renders each
+ * one as soon as it arrives.
+ */
+@RestController
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Return one section of the dashboard.
+     *
+     * @param section the section name (bids, trades, curves, ratings, rules)
+     * @return the current figures of the section
+     */
+    @GetMapping(value = "/dashboard/{section}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DashboardSection section(@PathVariable("section") String section) {
+        return dashboardService.section(section)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown section: " + section));
+    }
+}
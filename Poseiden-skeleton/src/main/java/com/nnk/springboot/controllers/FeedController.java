@@ -0,0 +1,98 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.FeedResult;
+import com.nnk.springboot.feed.FeedFormatException;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.service.FeedService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Binary bulk feed of trades and bid lists for the gateway.
+ * POST decodes and stores a feed; GET streams every row. The wire format is described in
+ * {@link com.nnk.springboot.feed.FeedWriter}.
+ */
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+    /**
+     * Content type of the binary feed.
+     */
+    public static final String FEED_MEDIA_TYPE = "application/x-poseidon-feed";
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    /**
+     * Store the trades of a binary feed; replayed trades overwrite the stored ones.
+     *
+     * @param body the request body
+     * @return the number of batches and trades stored
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/trade", consumes = FEED_MEDIA_TYPE)
+    public FeedResult ingestTrades(InputStream body) throws IOException {
+        return feedService.ingestTrades(body);
+    }
+
+    /**
+     * Insert the bid lists of a binary feed.
+     *
+     * @param body the request body
+     * @return the number of batches and bid lists inserted
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bidList", consumes = FEED_MEDIA_TYPE)
+    public FeedResult ingestBidLists(InputStream body) throws IOException {
+        return feedService.ingestBidLists(body);
+    }
+
+    /**
+     * Stream every trade as a binary feed.
+     *
+     * @param response the response to write to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/trade")
+    public void exportTrades(HttpServletResponse response) throws IOException {
+        response.setContentType(FEED_MEDIA_TYPE);
+        feedService.exportTrades(response.getOutputStream());
+    }
+
+    /**
+     * Stream every bid list as a binary feed.
+     *
+     * @param response the response to write to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/bidList")
+    public void exportBidLists(HttpServletResponse response) throws IOException {
+        response.setContentType(FEED_MEDIA_TYPE);
+        feedService.exportBidLists(response.getOutputStream());
+    }
+
+    /**
+     * Report a malformed feed, an invalid record or one rejected by the pre-trade checks as 400 Bad Request.
+     * Batches before the faulty one have already been stored.
+     *
+     * @param e the decoding or validation error
+     * @return the error message
+     */
+    @ExceptionHandler({FeedFormatException.class, ConstraintViolationException.class, PreTradeCheckException.class})
+    public ResponseEntity<Map<String, String>> handleBadFeed(Exception e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CoalescingStats;
+import com.nnk.springboot.service.QueryCoalescer;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the query coalescing counters of this node as JSON.
+ */
+@RestController
+public class QueryStatsController {
+    private final QueryCoalescer queryCoalescer;
+
+    public QueryStatsController(QueryCoalescer queryCoalescer) {
+        this.queryCoalescer = queryCoalescer;
+    }
+
+    /**
+     * Return, per list query, how many calls ran the query and how many shared the result of an
+     * identical query already running.
+     *
+     * @return the counters of each query, sorted by query name
+     */
+    @GetMapping(value = "/stats/coalescing", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<CoalescingStats> coalescing() {
+        return queryCoalescer.stats();
+    }
+}
@@ -1,6 +1,8 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.risk.RatingScale;
+import com.nnk.springboot.service.RatingOrderService;
 import com.nnk.springboot.service.RatingService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -9,8 +11,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,23 +25,43 @@ import java.util.Optional;
 @Controller
 public class RatingController {
     private final RatingService ratingService;
+    private final RatingOrderService ratingOrderService;
 
     /**
-     * Constructor for dependency injection of RatingService.
+     * Constructor for dependency injection of RatingService and RatingOrderService.
      * @param ratingService the service handling Rating business logic
+     * @param ratingOrderService the service moving ratings in the list order
      */
-    public RatingController(RatingService ratingService) {
+    public RatingController(RatingService ratingService, RatingOrderService ratingOrderService) {
         this.ratingService = ratingService;
+        this.ratingOrderService = ratingOrderService;
     }
 
     /**
-     * Displays the list of all Ratings.
+     * Displays the list of all Ratings, or of the Ratings between two grades best first.
+     * Grades of any agency are accepted and compared on the common rating scale.
+     * @param best the best grade shown, e.g. AA- or Aa3; optional
+     * @param worst the worst grade shown, e.g. BBB- or Baa3; optional
      * @param model Spring MVC model
      * @return the rating/list view
      */
     @RequestMapping("/rating/list")
-    public String home(Model model) {
-        model.addAttribute("ratings", ratingService.findAll());
+    public String home(@RequestParam(name = "best", required = false) String best,
+                       @RequestParam(name = "worst", required = false) String worst, Model model) {
+        if (isBlank(best) && isBlank(worst)) {
+            model.addAttribute("ratings", ratingService.findAllSummaries());
+            return "rating/list";
+        }
+        Integer bestNotch = isBlank(best) ? Integer.valueOf(RatingScale.BEST) : RatingScale.parse(best);
+        Integer worstNotch = isBlank(worst) ? Integer.valueOf(RatingScale.WORST) : RatingScale.parse(worst);
+        if (bestNotch == null || worstNotch == null) {
+            model.addAttribute("filterError", "Unknown grade: " + (bestNotch == null ? best : worst));
+            model.addAttribute("ratings", ratingService.findAllSummaries());
+        } else {
+            model.addAttribute("ratings", ratingService.findSummariesByNotch(bestNotch, worstNotch));
+        }
+        model.addAttribute("best", best);
+        model.addAttribute("worst", worst);
         return "rating/list";
     }
 
@@ -102,18 +127,69 @@ public class RatingController {
 
     /**
      * Deletes a Rating entity by its ID.
-     * Checks if the entity exists before deleting and adds an error message if not found.
+     * Runs a single DELETE statement and adds an error message if nothing was deleted.
      * @param id the ID of the Rating to delete
      * @param model Spring MVC model
      * @return redirects to the rating list after deletion or if not found
      */
     @GetMapping("/rating/delete/{id}")
     public String deleteRating(@PathVariable("id") Integer id, Model model) {
-        if (ratingService.existsById(id)) {
-            ratingService.deleteById(id);
-        } else {
+        if (!ratingService.deleteById(id)) {
             model.addAttribute("errorMessage", "Rating not found for deletion.");
         }
         return "redirect:/rating/list";
     }
+
+    /**
+     * Delete the selected entities with a single DELETE statement.
+     *
+     * @param ids the ids selected on the list page
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/rating/bulk/delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             RedirectAttributes redirectAttributes) {
+        int deleted = ratingService.deleteByIds(ids);
+        redirectAttributes.addFlashAttribute("bulkMessage", deleted + " rating(s) deleted.");
+        return "redirect:/rating/list";
+    }
+
+    /**
+     * Move the selected Ratings, in list order, right after another one.
+     *
+     * @param ids the ids selected on the list page
+     * @param after the ID of the Rating they should follow; absent to move them first
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/rating/bulk/move")
+    public String bulkMove(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                           @RequestParam(name = "after", required = false) Integer after,
+                           RedirectAttributes redirectAttributes) {
+        int moved = ratingOrderService.moveAll(ids, after);
+        redirectAttributes.addFlashAttribute("bulkMessage", moved + " rating(s) reordered.");
+        return "redirect:/rating/list";
+    }
+
+    /**
+     * Move a Rating right after another one in the list order, updating its order number only.
+     *
+     * @param id the ID of the Rating to move
+     * @param after the ID of the Rating it should follow; absent to move it first
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/rating/move/{id}")
+    public String move(@PathVariable("id") Integer id, @RequestParam(name = "after", required = false) Integer after,
+                       RedirectAttributes redirectAttributes) {
+        if (!ratingOrderService.move(id, after)) {
+            redirectAttributes.addFlashAttribute("bulkError", "Rating not found for move.");
+        }
+        return "redirect:/rating/list";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
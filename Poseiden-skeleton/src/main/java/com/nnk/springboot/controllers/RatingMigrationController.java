@@ -0,0 +1,73 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.RatingTransitions;
+import com.nnk.springboot.service.RatingMigrationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * JSON access to the rating snapshots and migration matrices kept by RatingMigrationService.
+ */
+@RestController
+public class RatingMigrationController {
+    private final RatingMigrationService ratingMigrationService;
+
+    public RatingMigrationController(RatingMigrationService ratingMigrationService) {
+        this.ratingMigrationService = ratingMigrationService;
+    }
+
+    /**
+     * @return the dates of the kept snapshots, in ascending order
+     */
+    @GetMapping(value = "/rating/snapshots", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<LocalDateTime> snapshots() {
+        return ratingMigrationService.snapshots();
+    }
+
+    /**
+     * Take a snapshot of the current ratings.
+     *
+     * @return the date of the snapshot
+     */
+    @PostMapping(value = "/rating/snapshots", produces = MediaType.APPLICATION_JSON_VALUE)
+    public LocalDateTime snapshot() {
+        return ratingMigrationService.snapshot();
+    }
+
+    /**
+     * Count the rating migrations between the snapshots valid at two dates. A date without time
+     * selects the end of that day.
+     *
+     * @param from an ISO date (2024-01-16) or date-time (2024-01-16T09:30)
+     * @param to same format; optional, the current ratings when absent
+     * @return the transition matrix
+     */
+    @GetMapping(value = "/rating/transitions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public RatingTransitions transitions(@RequestParam("from") String from,
+                                         @RequestParam(name = "to", required = false) String to) {
+        try {
+            return ratingMigrationService.transitions(parse(from), to == null || to.isBlank() ? null : parse(to));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private static LocalDateTime parse(String date) {
+        try {
+            return date.contains("T") ? LocalDateTime.parse(date) : LocalDate.parse(date).atTime(LocalTime.MAX);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date: " + date);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.RuleResult;
+import com.nnk.springboot.service.RuleExecutionService;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON access to the results of RuleNames run by RuleExecutionService. The query parameters of
+ * a request, other than ids, give the values of the named parameters of the rules.
+ */
+@RestController
+public class RuleExecutionController {
+    private final RuleExecutionService ruleExecutionService;
+
+    public RuleExecutionController(RuleExecutionService ruleExecutionService) {
+        this.ruleExecutionService = ruleExecutionService;
+    }
+
+    /**
+     * Run one rule.
+     *
+     * @param id the id of the rule
+     * @param parameters the values of its named parameters
+     * @return the rows of the rule
+     */
+    @GetMapping(value = "/ruleName/run/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public RuleResult run(@PathVariable("id") int id, @RequestParam Map<String, String> parameters) {
+        try {
+            return ruleExecutionService.run(id, parameters)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown rule: " + id));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (QueryTimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Rule " + id + " timed out");
+        }
+    }
+
+    /**
+     * Run several rules; a rule that cannot run reports its error in its result.
+     *
+     * @param ids the ids of the rules, in display order
+     * @param parameters the values of the named parameters, shared by all rules
+     * @return one result per id, in the same order
+     */
+    @GetMapping(value = "/ruleName/run", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<RuleResult> runAll(@RequestParam("ids") List<Integer> ids, @RequestParam Map<String, String> parameters) {
+        Map<String, String> values = new HashMap<>(parameters);
+        values.remove("ids");
+        return ruleExecutionService.runAll(ids, values);
+    }
+}
@@ -2,6 +2,7 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.service.RuleNameService;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,6 +11,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 
@@ -36,7 +39,7 @@ public class RuleNameController {
      */
     @RequestMapping("/ruleName/list")
     public String home(Model model) {
-        model.addAttribute("ruleNames", ruleNameService.findAll());
+        model.addAttribute("ruleNames", ruleNameService.findAllSummaries());
         return "ruleName/list";
     }
 
@@ -102,18 +105,53 @@ public class RuleNameController {
 
     /**
      * Deletes a RuleName entity by its ID.
-     * Checks if the entity exists before deleting and adds an error message if not found.
+     * Runs a single DELETE statement and adds an error message if nothing was deleted.
      * @param id the ID of the RuleName to delete
      * @param model Spring MVC model
      * @return redirects to the rule name list after deletion or if not found
      */
     @GetMapping("/ruleName/delete/{id}")
     public String deleteRuleName(@PathVariable("id") Integer id, Model model) {
-        if (ruleNameService.existsById(id)) {
-            ruleNameService.deleteById(id);
-        } else {
+        if (!ruleNameService.deleteById(id)) {
             model.addAttribute("errorMessage", "RuleName not found for deletion.");
         }
         return "redirect:/ruleName/list";
     }
+
+    /**
+     * Delete the selected entities with a single DELETE statement.
+     *
+     * @param ids the ids selected on the list page
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/ruleName/bulk/delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             RedirectAttributes redirectAttributes) {
+        int deleted = ruleNameService.deleteByIds(ids);
+        redirectAttributes.addFlashAttribute("bulkMessage", deleted + " rule(s) deleted.");
+        return "redirect:/ruleName/list";
+    }
+
+    /**
+     * Set the template of the selected RuleNames.
+     * Runs a single UPDATE statement; invalid values are reported on the list page.
+     *
+     * @param ids the ids selected on the list page
+     * @param template the new template
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/ruleName/bulk/template")
+    public String bulkUpdateTemplate(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             @RequestParam(name = "template", required = false) String template,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = ruleNameService.updateTemplate(ids, template);
+            redirectAttributes.addFlashAttribute("bulkMessage", updated + " rule(s) updated.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return "redirect:/ruleName/list";
+    }
 }
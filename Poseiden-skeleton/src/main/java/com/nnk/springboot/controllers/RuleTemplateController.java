@@ -0,0 +1,81 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.rules.RuleTemplate;
+import com.nnk.springboot.service.RuleTemplateService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Renders the templates of RuleNames against trades and BidLists (see RuleTemplateService).
+ */
+@RestController
+public class RuleTemplateController {
+    /**
+     * Content type of the batch render: one JSON object per line.
+     */
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final RuleTemplateService ruleTemplateService;
+
+    public RuleTemplateController(RuleTemplateService ruleTemplateService) {
+        this.ruleTemplateService = ruleTemplateService;
+    }
+
+    /**
+     * Render the template of a rule against a trade.
+     *
+     * @param id the id of the rule
+     * @param tradeId the id of the trade
+     * @return the text
+     */
+    @GetMapping(value = "/ruleName/render/{id}/trade/{tradeId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String renderTrade(@PathVariable("id") int id, @PathVariable("tradeId") int tradeId) {
+        return orNotFound(() -> ruleTemplateService.renderTrade(id, tradeId), "Unknown rule or trade");
+    }
+
+    /**
+     * Render the template of a rule against a BidList.
+     *
+     * @param id the id of the rule
+     * @param bidListId the id of the BidList
+     * @return the text
+     */
+    @GetMapping(value = "/ruleName/render/{id}/bidList/{bidListId}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String renderBidList(@PathVariable("id") int id, @PathVariable("bidListId") int bidListId) {
+        return orNotFound(() -> ruleTemplateService.renderBidList(id, bidListId), "Unknown rule or bid list");
+    }
+
+    /**
+     * Stream the template of a rule rendered against every trade, one JSON line per trade.
+     *
+     * @param id the id of the rule
+     * @param response the response to write to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/ruleName/render/{id}/trades")
+    public void renderTrades(@PathVariable("id") int id, HttpServletResponse response) throws IOException {
+        RuleTemplate<Trade> template = orNotFound(() -> ruleTemplateService.tradeTemplate(id), "Unknown rule");
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ruleTemplateService.renderTrades(template, response.getWriter());
+    }
+
+    private static <T> T orNotFound(Supplier<Optional<T>> render, String notFound) {
+        try {
+            return render.get().orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, notFound));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
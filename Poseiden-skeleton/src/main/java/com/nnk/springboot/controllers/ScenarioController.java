@@ -0,0 +1,69 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.Dv01Report;
+import com.nnk.springboot.dto.ScenarioReport;
+import com.nnk.springboot.dto.TradeDv01;
+import com.nnk.springboot.service.ScenarioService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * JSON access to the curve shock scenarios and key-rate DV01 ladders computed by ScenarioService.
+ */
+@RestController
+public class ScenarioController {
+    private final ScenarioService scenarioService;
+
+    public ScenarioController(ScenarioService scenarioService) {
+        this.scenarioService = scenarioService;
+    }
+
+    /**
+     * Revalue the trades under the standard curve shocks.
+     *
+     * @param curveId the curve to shock
+     * @return the scenario by book P&L matrix
+     */
+    @GetMapping(value = "/risk/scenarios", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ScenarioReport scenarios(@RequestParam("curveId") int curveId) {
+        return orNotFound(() -> scenarioService.run(curveId));
+    }
+
+    /**
+     * Bump each curve term by 1bp and report the value change of every book.
+     *
+     * @param curveId the curve to bump
+     * @return the book by term DV01 ladder
+     */
+    @GetMapping(value = "/risk/dv01", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Dv01Report dv01(@RequestParam("curveId") int curveId) {
+        return orNotFound(() -> scenarioService.keyRateDv01(curveId));
+    }
+
+    /**
+     * Bump each curve term by 1bp and report the value change of one trade.
+     *
+     * @param tradeId the trade
+     * @param curveId the curve to bump
+     * @return the DV01 ladder of the trade
+     */
+    @GetMapping(value = "/risk/dv01/trade/{tradeId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public TradeDv01 tradeDv01(@PathVariable("tradeId") int tradeId, @RequestParam("curveId") int curveId) {
+        return orNotFound(() -> scenarioService.keyRateDv01(curveId, tradeId));
+    }
+
+    private static <T> T orNotFound(Supplier<T> report) {
+        try {
+            return report.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+}
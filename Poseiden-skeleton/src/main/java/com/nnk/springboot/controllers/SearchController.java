@@ -0,0 +1,53 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SearchResults;
+import com.nnk.springboot.service.SearchIndexService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Spring MVC controller for the full-text search over bids, trades and rules,
+ * both as a page and as JSON.
+ */
+@Controller
+public class SearchController {
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchController(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * Display the search box and the ranked matches of the query.
+     *
+     * @param q the query; empty shows the search box only
+     * @param model Spring MVC model
+     * @return the search view
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(name = "q", required = false) String q, Model model) {
+        model.addAttribute("results", searchIndexService.search(q, DEFAULT_LIMIT));
+        return "search";
+    }
+
+    /**
+     * Return the ranked ids matching the query as JSON.
+     *
+     * @param q the query
+     * @param limit the maximum number of ids per entity type, capped at {@value #MAX_LIMIT}
+     * @return the ranked ids per entity type
+     */
+    @GetMapping(value = "/search/data", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SearchResults searchData(@RequestParam(name = "q", required = false) String q,
+                                    @RequestParam(name = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return searchIndexService.search(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SpreadReport;
+import com.nnk.springboot.service.SpreadMonitorService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Spring MVC controller exposing the bid/ask spread monitor maintained by SpreadMonitorService,
+ * both as a page and as JSON.
+ */
+@Controller
+public class SpreadMonitorController {
+    private final SpreadMonitorService spreadMonitorService;
+
+    public SpreadMonitorController(SpreadMonitorService spreadMonitorService) {
+        this.spreadMonitorService = spreadMonitorService;
+    }
+
+    /**
+     * Display spread statistics per security and type with the latest widest-spread alerts.
+     *
+     * @param model Spring MVC model
+     * @return the bidList/spreads view
+     */
+    @GetMapping("/bidList/spreads")
+    public String spreads(Model model) {
+        SpreadReport report = spreadMonitorService.report();
+        model.addAttribute("spreads", report.spreads());
+        model.addAttribute("alerts", report.alerts());
+        return "bidList/spreads";
+    }
+
+    /**
+     * Return the spread monitor content as JSON.
+     *
+     * @return spread statistics and alerts
+     */
+    @GetMapping(value = "/bidList/spreads/data", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SpreadReport spreadsData() {
+        return spreadMonitorService.report();
+    }
+}
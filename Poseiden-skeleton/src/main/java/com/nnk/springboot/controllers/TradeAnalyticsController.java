@@ -0,0 +1,47 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.TradePriceSnapshot;
+import com.nnk.springboot.service.TradeAnalyticsService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Spring MVC controller exposing the streaming VWAP/TWAP figures maintained by TradeAnalyticsService,
+ * both as a page and as JSON.
+ */
+@Controller
+public class TradeAnalyticsController {
+    private final TradeAnalyticsService tradeAnalyticsService;
+
+    public TradeAnalyticsController(TradeAnalyticsService tradeAnalyticsService) {
+        this.tradeAnalyticsService = tradeAnalyticsService;
+    }
+
+    /**
+     * Display the rolling price analytics per security.
+     *
+     * @param model Spring MVC model
+     * @return the trade/analytics view
+     */
+    @GetMapping("/trade/analytics")
+    public String analytics(Model model) {
+        model.addAttribute("snapshots", tradeAnalyticsService.snapshot());
+        return "trade/analytics";
+    }
+
+    /**
+     * Return the rolling price analytics per security as JSON.
+     *
+     * @return one snapshot per security and window
+     */
+    @GetMapping(value = "/trade/analytics/data", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<TradePriceSnapshot> analyticsData() {
+        return tradeAnalyticsService.snapshot();
+    }
+}
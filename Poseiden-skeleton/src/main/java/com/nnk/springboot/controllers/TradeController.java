@@ -1,8 +1,11 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.rules.PreTradeCheckException;
 import com.nnk.springboot.service.TradeService;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -10,7 +13,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -36,7 +42,7 @@ public class TradeController {
      */
     @RequestMapping("/trade/list")
     public String home(Model model) {
-        model.addAttribute("trades", tradeService.findAll());
+        model.addAttribute("trades", tradeService.findAllSummaries());
         return "trade/list";
     }
 
@@ -53,14 +59,20 @@ public class TradeController {
      * Validates and saves a new Trade entity.
      * @param trade the Trade entity to validate and save
      * @param result BindingResult for validation errors
+     * @param model the model used to report a rejection by the pre-trade checks
      * @return redirects to the trade list if successful, otherwise returns the add form
      */
     @PostMapping("/trade/validate")
-    public String validate(@Valid Trade trade, BindingResult result) {
+    public String validate(@Valid Trade trade, BindingResult result, Model model) {
         if (result.hasErrors()) {
             return "trade/add";
         }
-        tradeService.save(trade);
+        try {
+            tradeService.save(trade);
+        } catch (PreTradeCheckException e) {
+            model.addAttribute("errorMessage", "Rejected by pre-trade checks: " + e.getMessage());
+            return "trade/add";
+        }
         return "redirect:/trade/list";
     }
 
@@ -87,33 +99,83 @@ public class TradeController {
      * @param id the ID of the Trade to update
      * @param trade the updated Trade entity
      * @param result BindingResult for validation errors
+     * @param request the current request, whose parameter names select the fields to write
+     * @param model the model used to report a missing trade, a rejected value, a failed pre-trade check or a concurrent modification
      * @return redirects to the trade list if successful, otherwise returns the update form
      */
     @PostMapping("/trade/update/{id}")
     public String updateTrade(@PathVariable("id") Integer id, @Valid Trade trade,
-                             BindingResult result) {
+                             BindingResult result, HttpServletRequest request, Model model) {
         if (result.hasErrors()) {
             return "trade/update";
         }
+        String error;
+        try {
+            if (tradeService.patch(id, trade, request.getParameterMap().keySet())) {
+                return "redirect:/trade/list";
+            }
+            error = "This trade no longer exists.";
+        } catch (OptimisticLockingFailureException e) {
+            error = "This trade was modified by another user. Reload it and apply your changes again.";
+        } catch (PreTradeCheckException e) {
+            error = "Rejected by pre-trade checks: " + e.getMessage();
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
         trade.setTradeId(id);
-        tradeService.save(trade);
-        return "redirect:/trade/list";
+        model.addAttribute("errorMessage", error);
+        return "trade/update";
     }
 
     /**
      * Deletes a Trade entity by its ID.
-     * Checks if the entity exists before deleting and adds an error message if not found.
+     * Runs a single DELETE statement and adds an error message if nothing was deleted.
      * @param id the ID of the Trade to delete
      * @param model Spring MVC model
      * @return redirects to the trade list after deletion or if not found
      */
     @GetMapping("/trade/delete/{id}")
     public String deleteTrade(@PathVariable("id") Integer id, Model model) {
-        if (tradeService.existsById(id)) {
-            tradeService.deleteById(id);
-        } else {
+        if (!tradeService.deleteById(id)) {
             model.addAttribute("errorMessage", "Trade not found for deletion.");
         }
         return "redirect:/trade/list";
     }
+
+    /**
+     * Delete the selected entities with a single DELETE statement.
+     *
+     * @param ids the ids selected on the list page
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/trade/bulk/delete")
+    public String bulkDelete(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             RedirectAttributes redirectAttributes) {
+        int deleted = tradeService.deleteByIds(ids);
+        redirectAttributes.addFlashAttribute("bulkMessage", deleted + " trade(s) deleted.");
+        return "redirect:/trade/list";
+    }
+
+    /**
+     * Set the status of the selected Trades.
+     * Runs a single UPDATE statement; invalid values are reported on the list page.
+     *
+     * @param ids the ids selected on the list page
+     * @param status the new status; blank clears it
+     * @param redirectAttributes flash attributes carrying the outcome to the list page
+     * @return redirect to the list
+     */
+    @PostMapping("/trade/bulk/status")
+    public String bulkUpdateStatus(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                             @RequestParam(name = "status", required = false) String status,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = tradeService.updateStatus(ids, status);
+            redirectAttributes.addFlashAttribute("bulkMessage", updated + " trade(s) updated.");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return "redirect:/trade/list";
+    }
 }
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.Optional;
 
@@ -53,17 +54,23 @@ public class UserController {
     /**
      * Validates and saves a new user.
      * Uses saveWithPasswordEncoding to automatically encode the password.
+     * The form is open to visitors so that they can register; only an ADMIN may create
+     * another ADMIN, any other caller always gets the USER role.
      *
      * @param user User entity to validate and save
      * @param result BindingResult for validation errors
      * @param model Spring MVC model to pass attributes to the view
+     * @param request the current request, to check the role of the caller
      * @return redirect to user list on success, or add user view on error
      */
     @PostMapping("/user/validate")
-    public String validate(@Valid User user, BindingResult result, Model model) {
+    public String validate(@Valid User user, BindingResult result, Model model, HttpServletRequest request) {
         if (result.hasErrors()) {
             return "user/add";
         }
+        if (!request.isUserInRole("ADMIN")) {
+            user.setRole("USER");
+        }
 
         try {
             userService.saveWithPasswordEncoding(user);
@@ -6,12 +6,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 import java.sql.Timestamp;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,10 +34,12 @@ public class BidList {
 
     @NotBlank(message = "Account is required")
     @Size(max = 30, message = "Account cannot exceed 30 characters")
+    @Column(nullable = false, length = 30)
     private String account;
 
     @NotBlank(message = "Type is required")
     @Size(max = 30, message = "Type cannot exceed 30 characters")
+    @Column(nullable = false, length = 30)
     private String type;
 
     /**
@@ -102,4 +107,12 @@ public class BidList {
 
     @Size(max = 125, message = "Side cannot exceed 125 characters")
     private String side;
-}
\ No newline at end of file
+
+    /**
+     * Optimistic locking version, incremented on every update.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer version;
+}
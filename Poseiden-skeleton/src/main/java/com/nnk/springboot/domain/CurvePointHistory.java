@@ -0,0 +1,47 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * One stored version of a CurvePoint: the term and value the point had from its as-of date.
+ * A row is written each time a CurvePoint is saved and never updated, so the CurvePoint table
+ * keeps a single row per point while its earlier states stay readable.
+ */
+@Entity
+@Table(name = "curvepoint_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurvePointHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Id of the CurvePoint this row is a version of.
+     */
+    @Column(nullable = false)
+    private Integer curvePointId;
+
+    private Double term;
+
+    @Column(name = "`value`")
+    private Double value;
+
+    private Timestamp asOfDate;
+
+    private Timestamp creationDate;
+}
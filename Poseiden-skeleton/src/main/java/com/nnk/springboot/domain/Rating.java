@@ -1,9 +1,11 @@
 package com.nnk.springboot.domain;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
@@ -15,7 +17,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "rating")
+@Table(name = "rating", indexes = {
+        @Index(name = "ix_rating_notch", columnList = "notch"),
+        @Index(name = "ix_rating_order", columnList = "orderNumber, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,8 +43,17 @@ public class Rating {
     private String fitchRating;
 
     /**
-     * Order number (must be a positive number).
+     * Order number (must be a positive number). Keys are sparse so that a rating moves by
+     * changing its own key only; see the RatingOrderService. Always set once saved: the
+     * RatingService gives a rating saved without one the key after the last one.
      */
     @Positive(message = "Order number must be a positive number.")
+    @Column(nullable = false)
     private Integer orderNumber;
+
+    /**
+     * Position of the agency ratings on the common {@link com.nnk.springboot.risk.RatingScale},
+     * computed on save; null when none of them is a known grade.
+     */
+    private Integer notch;
 }
@@ -5,11 +5,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +22,8 @@ import lombok.NoArgsConstructor;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", uniqueConstraints = @UniqueConstraint(name = "uk_trade_source_account",
+        columnNames = {"sourceListId", "account"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,10 +36,12 @@ public class Trade {
 
     @NotBlank(message = "Account is required")
     @Size(max = 30, message = "Account cannot exceed 30 characters")
+    @Column(nullable = false, length = 30)
     private String account;
 
     @NotBlank(message = "Type is required")
     @Size(max = 30, message = "Type cannot exceed 30 characters")
+    @Column(nullable = false, length = 30)
     private String type;
 
     /**
@@ -94,9 +101,20 @@ public class Trade {
     @Size(max = 125, message = "Deal type cannot exceed 125 characters")
     private String dealType;
 
+    /**
+     * Id of the trade in the upstream source; unique per account when present.
+     */
     @Size(max = 125, message = "Source list ID cannot exceed 125 characters")
     private String sourceListId;
 
     @Size(max = 125, message = "Side cannot exceed 125 characters")
     private String side;
+
+    /**
+     * Optimistic locking version, incremented on every update.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer version;
 }
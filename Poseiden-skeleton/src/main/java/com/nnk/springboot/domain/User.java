@@ -34,7 +34,7 @@ public class User {
      */
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must contain between 3 and 50 characters")
-    @Column(unique = true, nullable = false)
+    @Column(unique = true, nullable = false, length = 125)
     private String username;
 
     /**
@@ -47,6 +47,7 @@ public class User {
         regexp = "^(?=.*[A-Z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>?]).*$",
         message = "Password must contain at least one uppercase letter, one digit and one symbol"
     )
+    @Column(nullable = false, length = 125)
     private String password;
 
     /**
@@ -54,6 +55,7 @@ public class User {
      */
     @NotBlank(message = "Full name is required")
     @Size(max = 100, message = "Full name cannot exceed 100 characters")
+    @Column(nullable = false, length = 125)
     private String fullname;
 
     /**
@@ -61,5 +63,6 @@ public class User {
      */
     @NotBlank(message = "Role is required")
     @Pattern(regexp = "^(ADMIN|USER)$", message = "Role must be ADMIN or USER")
+    @Column(nullable = false, length = 125)
     private String role;
 }
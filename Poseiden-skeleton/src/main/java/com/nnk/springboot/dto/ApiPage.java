@@ -0,0 +1,15 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a REST API listing.
+ * Rows only hold the requested fields; pass {@code nextCursor} as the {@code after} parameter
+ * to read the following page.
+ *
+ * @param data the rows of this page, in id order
+ * @param nextCursor the id to resume after, or null on the last page
+ */
+public record ApiPage(List<Map<String, Object>> data, Integer nextCursor) {
+}
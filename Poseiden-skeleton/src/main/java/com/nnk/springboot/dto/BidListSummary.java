@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only row of the BidList list page, holding only the columns the page displays.
+ *
+ * @param id the bid list id
+ * @param account the account
+ * @param type the bid type
+ * @param bidQuantity the bid quantity
+ */
+public record BidListSummary(Integer id, String account, String type, Double bidQuantity) {
+}
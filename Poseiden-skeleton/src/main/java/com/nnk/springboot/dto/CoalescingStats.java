@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only view of the single-flight counters of one query since startup.
+ *
+ * @param query the query name
+ * @param calls the number of calls
+ * @param executions the number of calls that ran the query
+ * @param coalesced the number of calls that got the result of a query already running
+ */
+public record CoalescingStats(String query, long calls, long executions, long coalesced) {
+}
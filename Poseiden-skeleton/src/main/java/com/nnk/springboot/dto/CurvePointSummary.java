@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only row of the CurvePoint list page, holding only the columns the page displays.
+ *
+ * @param id the curve point id
+ * @param curveId the curve identifier
+ * @param term the term
+ * @param value the value
+ */
+public record CurvePointSummary(Integer id, Integer curveId, Double term, Double value) {
+}
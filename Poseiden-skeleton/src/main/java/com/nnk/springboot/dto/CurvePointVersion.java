@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * One stored version of a curve point, as read when loading the curve history.
+ *
+ * @param id the id of the CurvePointHistory row
+ * @param pointId the id of the CurvePoint
+ * @param curveId the curve identifier of the CurvePoint
+ * @param term the term
+ * @param value the value
+ * @param asOfDate the date from which the version is valid, its creation date when it has none
+ */
+public record CurvePointVersion(Integer id, Integer pointId, Integer curveId, Double term, Double value,
+                                Timestamp asOfDate) {
+}
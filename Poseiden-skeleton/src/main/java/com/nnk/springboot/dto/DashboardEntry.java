@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+/**
+ * One line of a dashboard section.
+ *
+ * @param key the grouping key (status, book, curve id, rating)
+ * @param count the number of entities under this key
+ * @param amount the total amount of these entities (quantity or notional), 0 when not applicable
+ */
+public record DashboardEntry(String key, long count, double amount) {
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * One section of the home dashboard, read from the counters kept by the DashboardService.
+ *
+ * @param name the section name (bids, trades, curves, ratings, rules)
+ * @param count the number of entities of the section
+ * @param entries the lines of the section, sorted by key
+ */
+public record DashboardSection(String name, long count, List<DashboardEntry> entries) {
+}
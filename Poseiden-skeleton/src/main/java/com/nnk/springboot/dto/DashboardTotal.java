@@ -0,0 +1,22 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Count and total amount of the entities under one key, as summed by the database when the
+ * dashboard counters are resynchronized.
+ *
+ * @param key the key the entities are counted under; may be null
+ * @param count the number of entities
+ * @param amount the sum of their amounts; null if none of them has one
+ */
+public record DashboardTotal(String key, Long count, Double amount) {
+
+    /**
+     * Total of entities that are only counted.
+     *
+     * @param key the key the entities are counted under; may be null
+     * @param count the number of entities
+     */
+    public DashboardTotal(String key, Long count) {
+        this(key, count, null);
+    }
+}
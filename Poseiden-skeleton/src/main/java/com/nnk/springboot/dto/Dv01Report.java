@@ -0,0 +1,19 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Key-rate DV01 ladder of every book: the value change for a 1bp bump of each curve term.
+ *
+ * @param curveId the curve whose terms were bumped
+ * @param asOfDate the date of the curve snapshot used
+ * @param terms the bumped terms, in years, one per column of dv01
+ * @param books the books, one per row of dv01
+ * @param dv01 the ladder, book by term
+ * @param total the ladder of all books together
+ * @param elapsedMillis time spent computing the ladder, in milliseconds
+ */
+public record Dv01Report(int curveId, LocalDateTime asOfDate, List<Double> terms, List<String> books,
+                         double[][] dv01, double[] total, long elapsedMillis) {
+}
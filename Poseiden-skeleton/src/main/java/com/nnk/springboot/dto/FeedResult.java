@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Outcome of a binary feed ingestion.
+ *
+ * @param batches the number of batches read
+ * @param records the number of records stored
+ */
+public record FeedResult(int batches, int records) {
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Notch of a Rating on the common rating scale.
+ *
+ * @param id the rating id
+ * @param notch the notch
+ */
+public record RatingNotch(Integer id, Integer notch) {
+}
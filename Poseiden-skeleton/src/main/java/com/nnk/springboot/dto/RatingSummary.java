@@ -0,0 +1,15 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only row of the Rating list page, holding only the columns the page displays.
+ *
+ * @param id the rating id
+ * @param moodysRating the Moody's rating
+ * @param sandPRating the S&amp;P rating
+ * @param fitchRating the Fitch rating
+ * @param orderNumber the display order
+ * @param notch the position on the common rating scale; null when unrated
+ */
+public record RatingSummary(Integer id, String moodysRating, String sandPRating, String fitchRating, Integer orderNumber,
+                            Integer notch) {
+}
@@ -0,0 +1,23 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rating migrations between two snapshots, on the common rating scale.
+ *
+ * @param from the date of the earlier snapshot
+ * @param to the date of the later snapshot
+ * @param grades the label of each notch, one per row and column of the matrices
+ * @param counts the number of ratings that moved from each grade to each grade
+ * @param probabilities the share of each grade that moved to each grade
+ * @param withdrawn per grade before, the ratings deleted or no longer rated
+ * @param added per grade after, the ratings not rated before
+ * @param upgrades the number of ratings that improved
+ * @param downgrades the number of ratings that worsened
+ * @param unchanged the number of ratings that kept their grade
+ */
+public record RatingTransitions(LocalDateTime from, LocalDateTime to, List<String> grades, long[][] counts,
+                                double[][] probabilities, long[] withdrawn, long[] added, long upgrades,
+                                long downgrades, long unchanged) {
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+/**
+ * The name and json of a RuleName, from which a pre-trade check is compiled.
+ *
+ * @param id the rule id
+ * @param name the rule name
+ * @param json the rule json
+ */
+public record RuleNameJson(Integer id, String name, String json) {
+}
@@ -0,0 +1,15 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only row of the RuleName list page, holding only the columns the page displays.
+ *
+ * @param id the rule id
+ * @param name the rule name
+ * @param description the rule description
+ * @param hasJson whether the rule has a JSON definition
+ * @param hasTemplate whether the rule has a template
+ * @param hasSql whether the rule has an SQL string or SQL part
+ */
+public record RuleNameSummary(Integer id, String name, String description,
+                              boolean hasJson, boolean hasTemplate, boolean hasSql) {
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * The template of a RuleName, compiled at startup by the RuleTemplateService.
+ *
+ * @param id the rule id
+ * @param template the rule template
+ */
+public record RuleNameTemplate(Integer id, String template) {
+}
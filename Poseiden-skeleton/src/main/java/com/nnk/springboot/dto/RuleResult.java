@@ -0,0 +1,36 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * The rows returned by a rule, or the reason it could not run.
+ *
+ * @param ruleId the id of the rule
+ * @param name the name of the rule
+ * @param columns the column labels, in select order
+ * @param rows the rows, one value per column; rows of several shards are concatenated
+ * @param truncated true when the rule returned more rows than its limit and the extra ones were dropped
+ * @param cached true when the rows come from the result cache, none of the tables read having changed
+ * @param elapsedMillis the time spent running the query, 0 when cached
+ * @param error why the rule did not run, or null when it did
+ */
+public record RuleResult(int ruleId, String name, List<String> columns, List<List<Object>> rows, boolean truncated,
+                         boolean cached, long elapsedMillis, String error) {
+
+    /**
+     * @param ruleId the id of the rule
+     * @param name the name of the rule; null when the rule does not exist
+     * @param error why the rule did not run
+     * @return a result without rows
+     */
+    public static RuleResult failed(int ruleId, String name, String error) {
+        return new RuleResult(ruleId, name, List.of(), List.of(), false, false, 0, error);
+    }
+
+    /**
+     * @return the same rows, marked as read from the cache
+     */
+    public RuleResult fromCache() {
+        return new RuleResult(ruleId, name, columns, rows, truncated, true, 0, error);
+    }
+}
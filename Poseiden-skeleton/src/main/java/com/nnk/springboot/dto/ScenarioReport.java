@@ -0,0 +1,18 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * P&L of every book under every curve shock scenario.
+ *
+ * @param curveId the curve the trades were revalued on
+ * @param asOfDate the date of the curve snapshot used
+ * @param scenarios the scenario names, one per row of pnl
+ * @param books the books, one per column of pnl
+ * @param pnl the P&L matrix, scenario by book
+ * @param elapsedMillis time spent revaluing, in milliseconds
+ */
+public record ScenarioReport(int curveId, LocalDateTime asOfDate, List<String> scenarios, List<String> books,
+                             double[][] pnl, long elapsedMillis) {
+}
@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Searchable text of one entity, as read when building the search index.
+ *
+ * @param id the id of the entity
+ * @param text the concatenated text of its searchable fields
+ */
+public record SearchDocument(Integer id, String text) {
+}
@@ -0,0 +1,18 @@
+package com.nnk.springboot.dto;
+
+import com.nnk.springboot.index.InvertedIndex;
+
+import java.util.List;
+
+/**
+ * Ranked ids matching a search query, per entity type.
+ *
+ * @param query the query as submitted
+ * @param bidLists matching BidLists, best first
+ * @param trades matching trades, best first
+ * @param ruleNames matching RuleNames, best first
+ * @param elapsedMicros time spent looking up the three indexes, in microseconds
+ */
+public record SearchResults(String query, List<InvertedIndex.Hit> bidLists, List<InvertedIndex.Hit> trades,
+                            List<InvertedIndex.Hit> ruleNames, long elapsedMicros) {
+}
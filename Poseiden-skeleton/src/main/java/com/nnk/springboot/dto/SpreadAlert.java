@@ -0,0 +1,17 @@
+package com.nnk.springboot.dto;
+
+import java.time.Instant;
+
+/**
+ * Raised when a quote's spread exceeds the 99th percentile observed so far for its security and type.
+ *
+ * @param security the quoted security
+ * @param type the bid type
+ * @param bidListId id of the BidList that triggered the alert
+ * @param spread the spread of that quote
+ * @param threshold the 99th percentile spread it was compared against
+ * @param time when the alert was raised
+ */
+public record SpreadAlert(String security, String type, Integer bidListId,
+                          double spread, double threshold, Instant time) {
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+import java.util.List;
+
+/**
+ * Spread monitor content: statistics per security and type, and the most recent widest-spread alerts.
+ *
+ * @param spreads statistics per security and type, widest latest spread first
+ * @param alerts most recent alerts, newest first
+ */
+public record SpreadReport(List<SpreadSnapshot> spreads, List<SpreadAlert> alerts) {
+}
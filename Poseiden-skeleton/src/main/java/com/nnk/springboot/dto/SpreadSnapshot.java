@@ -0,0 +1,23 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only view of the spread and depth statistics of one security and bid type.
+ * Statistics are null when no sample is available.
+ *
+ * @param security the quoted security
+ * @param type the bid type
+ * @param samples number of quotes observed over the last day
+ * @param lastSpread spread (ask - bid) of the latest quote
+ * @param meanSpreadHour mean spread over the last hour
+ * @param meanSpreadDay mean spread over the last day
+ * @param p50Spread estimated median spread over the last day
+ * @param p90Spread estimated 90th percentile spread over the last day
+ * @param p99Spread estimated 99th percentile spread over the last day
+ * @param lastImbalance depth imbalance of the latest quote, between -1 (all ask) and 1 (all bid)
+ * @param meanImbalanceHour mean depth imbalance over the last hour
+ */
+public record SpreadSnapshot(String security, String type, long samples,
+                             Double lastSpread, Double meanSpreadHour, Double meanSpreadDay,
+                             Double p50Spread, Double p90Spread, Double p99Spread,
+                             Double lastImbalance, Double meanImbalanceHour) {
+}
@@ -0,0 +1,20 @@
+package com.nnk.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Key-rate DV01 ladder of a single trade.
+ *
+ * @param curveId the curve whose terms were bumped
+ * @param asOfDate the date of the curve snapshot used
+ * @param tradeId the trade
+ * @param book the book of the trade
+ * @param tenor the tenor of the trade, in years
+ * @param value the signed market value of the trade
+ * @param terms the bumped terms, in years, one per value of dv01
+ * @param dv01 the value change for a 1bp bump of each term
+ */
+public record TradeDv01(int curveId, LocalDateTime asOfDate, int tradeId, String book, double tenor, double value,
+                        List<Double> terms, double[] dv01) {
+}
@@ -0,0 +1,11 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Net market value of the trades of one book on one benchmark.
+ *
+ * @param book the book
+ * @param benchmark the benchmark of the trades
+ * @param value bought quantity times buy price minus sold quantity times sell price, summed over the trades
+ */
+public record TradePosition(String book, String benchmark, Double value) {
+}
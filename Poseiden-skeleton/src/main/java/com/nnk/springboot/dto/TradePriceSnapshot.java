@@ -0,0 +1,19 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only view of the rolling VWAP/TWAP figures of one security over one window.
+ * Price fields are null when no trade on that side fell inside the window.
+ *
+ * @param security the traded security
+ * @param window the window label (1m, 5m, 1h, day)
+ * @param buyVwap volume-weighted average buy price
+ * @param buyTwap time-weighted average buy price
+ * @param buyVolume total bought quantity
+ * @param sellVwap volume-weighted average sell price
+ * @param sellTwap time-weighted average sell price
+ * @param sellVolume total sold quantity
+ */
+public record TradePriceSnapshot(String security, String window,
+                                 Double buyVwap, Double buyTwap, double buyVolume,
+                                 Double sellVwap, Double sellTwap, double sellVolume) {
+}
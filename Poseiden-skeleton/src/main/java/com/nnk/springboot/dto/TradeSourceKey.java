@@ -0,0 +1,10 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Upstream identity of a trade: the source list id together with the account.
+ *
+ * @param sourceListId the id of the trade in the upstream source list
+ * @param account the account of the trade
+ */
+public record TradeSourceKey(String sourceListId, String account) {
+}
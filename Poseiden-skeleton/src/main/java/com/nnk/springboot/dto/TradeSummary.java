@@ -0,0 +1,12 @@
+package com.nnk.springboot.dto;
+
+/**
+ * Read-only row of the Trade list page, holding only the columns the page displays.
+ *
+ * @param tradeId the trade id
+ * @param account the account
+ * @param type the trade type
+ * @param buyQuantity the bought quantity
+ */
+public record TradeSummary(Integer tradeId, String account, String type, Double buyQuantity) {
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.BidList;
+
+/**
+ * Application event published by the BidListService after a BidList has been persisted.
+ *
+ * @param bidList the persisted BidList, as returned by the repository
+ * @param created true when the save inserted a new row, false when it updated an existing one
+ */
+public record BidListSavedEvent(BidList bidList, boolean created) {
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.CurvePoint;
+
+/**
+ * Application event published by the CurvePointService after a CurvePoint has been persisted.
+ *
+ * @param curvePoint the persisted CurvePoint, as returned by the repository
+ * @param created true when the save inserted a new row, false when it updated an existing one
+ */
+public record CurvePointSavedEvent(CurvePoint curvePoint, boolean created) {
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.events;
+
+import java.util.Collection;
+
+/**
+ * Application event published by a service after deleting entities with a bulk DELETE statement.
+ * Deleted entities are never loaded, so listeners only learn their ids.
+ *
+ * @param entityType the class of the deleted entities
+ * @param ids the ids that were requested for deletion; some may not have existed
+ */
+public record EntitiesDeletedEvent(Class<?> entityType, Collection<Integer> ids) {
+}
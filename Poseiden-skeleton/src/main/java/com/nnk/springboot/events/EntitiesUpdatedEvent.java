@@ -0,0 +1,16 @@
+package com.nnk.springboot.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Application event published by a service after updating columns of entities with a bulk or
+ * partial UPDATE statement, without loading them. Listeners interested in other fields can
+ * ignore it; the others reload the entities they need.
+ *
+ * @param entityType the class of the updated entities
+ * @param ids the ids of the updated entities
+ * @param fields the names of the fields that were written
+ */
+public record EntitiesUpdatedEvent(Class<?> entityType, Collection<Integer> ids, Set<String> fields) {
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.Rating;
+
+/**
+ * Application event published by the RatingService after a Rating has been persisted.
+ *
+ * @param rating the persisted Rating, as returned by the repository
+ * @param created true when the save inserted a new row, false when it updated an existing one
+ */
+public record RatingSavedEvent(Rating rating, boolean created) {
+}
@@ -0,0 +1,12 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.RuleName;
+
+/**
+ * Application event published by the RuleNameService after a RuleName has been persisted.
+ *
+ * @param ruleName the persisted RuleName, as returned by the repository
+ * @param created true when the save inserted a new row, false when it updated an existing one
+ */
+public record RuleNameSavedEvent(RuleName ruleName, boolean created) {
+}
@@ -0,0 +1,14 @@
+package com.nnk.springboot.events;
+
+import com.nnk.springboot.domain.Trade;
+
+/**
+ * Application event published by the TradeService after a Trade has been persisted.
+ * Listeners use it to keep in-memory views (analytics, indexes, counters) in sync
+ * with the database without re-querying it.
+ *
+ * @param trade the persisted Trade, as returned by the repository
+ * @param created true when the save inserted a new row, false when it updated an existing one
+ */
+public record TradeSavedEvent(Trade trade, boolean created) {
+}
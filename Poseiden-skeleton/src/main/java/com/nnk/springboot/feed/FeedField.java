@@ -0,0 +1,67 @@
+package com.nnk.springboot.feed;
+
+import java.sql.Timestamp;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One field of a {@link FeedSchema}: its wire encoding and how to read it from and write it to
+ * the entity.
+ *
+ * @param <T> the entity type
+ */
+final class FeedField<T> {
+
+    /**
+     * Wire encoding of a field value.
+     */
+    enum Kind {
+        /** Unsigned varint. */
+        INT,
+        /** 8-byte IEEE 754 double, big-endian. */
+        DOUBLE,
+        /** Zigzag varint of the epoch milliseconds. */
+        TIMESTAMP,
+        /** Varint index into the batch string dictionary. */
+        STRING
+    }
+
+    private final Kind kind;
+    private final Function<T, ?> getter;
+    private final BiConsumer<T, Object> setter;
+
+    @SuppressWarnings("unchecked")
+    private <V> FeedField(Kind kind, Function<T, V> getter, BiConsumer<T, V> setter) {
+        this.kind = kind;
+        this.getter = getter;
+        this.setter = (BiConsumer<T, Object>) setter;
+    }
+
+    static <T> FeedField<T> integer(Function<T, Integer> getter, BiConsumer<T, Integer> setter) {
+        return new FeedField<>(Kind.INT, getter, setter);
+    }
+
+    static <T> FeedField<T> decimal(Function<T, Double> getter, BiConsumer<T, Double> setter) {
+        return new FeedField<>(Kind.DOUBLE, getter, setter);
+    }
+
+    static <T> FeedField<T> timestamp(Function<T, Timestamp> getter, BiConsumer<T, Timestamp> setter) {
+        return new FeedField<>(Kind.TIMESTAMP, getter, setter);
+    }
+
+    static <T> FeedField<T> string(Function<T, String> getter, BiConsumer<T, String> setter) {
+        return new FeedField<>(Kind.STRING, getter, setter);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    Object get(T entity) {
+        return getter.apply(entity);
+    }
+
+    void set(T entity, Object value) {
+        setter.accept(entity, value);
+    }
+}
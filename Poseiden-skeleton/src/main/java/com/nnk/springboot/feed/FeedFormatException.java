@@ -0,0 +1,14 @@
+package com.nnk.springboot.feed;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a binary feed stream is malformed: truncated batch, unknown schema version or
+ * record type, or a value that does not match the schema.
+ */
+public class FeedFormatException extends IOException {
+
+    public FeedFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,181 @@
+package com.nnk.springboot.feed;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes the binary feed format described in {@link FeedWriter} straight from an input stream.
+ * Each batch body is read into a byte buffer and its strings into a dictionary array; both are
+ * reused for the following batches, so decoding a long feed only allocates the entities and
+ * the distinct strings of each batch.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> the entity type
+ */
+public final class FeedReader<T> {
+    /**
+     * Largest batch body accepted, protecting the server from unbounded buffers.
+     */
+    public static final int MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+    private final InputStream in;
+    private final FeedSchema<T> schema;
+    private byte[] buffer = new byte[8192];
+    private String[] dictionary = new String[256];
+    private int position;
+    private int limit;
+
+    public FeedReader(InputStream in, FeedSchema<T> schema) {
+        this.in = in;
+        this.schema = schema;
+    }
+
+    /**
+     * Read the next batch.
+     *
+     * @param into list cleared then filled with the records of the batch
+     * @return false when the stream ended before a new batch
+     * @throws FeedFormatException if the batch length is invalid, or the batch is truncated or does not match the schema
+     * @throws IOException if the stream cannot be read
+     */
+    public boolean readBatch(List<T> into) throws IOException {
+        into.clear();
+        int length = readLength();
+        if (length < 0) {
+            return false;
+        }
+        if (length > MAX_BATCH_BYTES) {
+            throw new FeedFormatException("Batch of " + length + " bytes exceeds " + MAX_BATCH_BYTES);
+        }
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new FeedFormatException("Truncated batch");
+        }
+        position = 0;
+        limit = length;
+
+        int version = readByte();
+        if (version != FeedSchema.VERSION) {
+            throw new FeedFormatException("Unsupported schema version " + version);
+        }
+        int recordType = readByte();
+        if (recordType != schema.getRecordType()) {
+            throw new FeedFormatException("Expected record type " + schema.getRecordType() + " but got " + recordType);
+        }
+        int dictionarySize = readCount();
+        if (dictionary.length < dictionarySize) {
+            dictionary = new String[Math.max(dictionarySize, dictionary.length * 2)];
+        }
+        for (int i = 0; i < dictionarySize; i++) {
+            int byteLength = readCount();
+            require(byteLength);
+            dictionary[i] = new String(buffer, position, byteLength, StandardCharsets.UTF_8);
+            position += byteLength;
+        }
+
+        int count = readCount();
+        List<FeedField<T>> fields = schema.fields();
+        for (int r = 0; r < count; r++) {
+            T record = schema.newRecord();
+            long presence = readVarLong();
+            if (fields.size() < 64 && presence >>> fields.size() != 0) {
+                throw new FeedFormatException("Unknown field in record " + r);
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                if ((presence & (1L << i)) == 0) {
+                    continue;
+                }
+                FeedField<T> field = fields.get(i);
+                switch (field.kind()) {
+                    case INT -> field.set(record, (int) readVarLong());
+                    case DOUBLE -> field.set(record, Double.longBitsToDouble(readLong()));
+                    case TIMESTAMP -> field.set(record, new Timestamp(unzigzag(readVarLong())));
+                    case STRING -> {
+                        int index = readCount();
+                        if (index >= dictionarySize) {
+                            throw new FeedFormatException("Dictionary index " + index + " out of range");
+                        }
+                        field.set(record, dictionary[index]);
+                    }
+                }
+            }
+            into.add(record);
+        }
+        if (position != limit) {
+            throw new FeedFormatException("Trailing bytes in batch");
+        }
+        Arrays.fill(dictionary, 0, dictionarySize, null);
+        return true;
+    }
+
+    private int readLength() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return -1;
+        }
+        int length = first;
+        for (int i = 0; i < 3; i++) {
+            int next = in.read();
+            if (next < 0) {
+                throw new FeedFormatException("Truncated batch length");
+            }
+            length = (length << 8) | next;
+        }
+        if (length < 0) {
+            // High bit set: a corrupted header, not the end of the stream
+            throw new FeedFormatException("Negative batch length " + length);
+        }
+        return length;
+    }
+
+    private int readByte() throws FeedFormatException {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    private long readLong() throws FeedFormatException {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private long readVarLong() throws FeedFormatException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new FeedFormatException("Malformed varint");
+    }
+
+    private int readCount() throws FeedFormatException {
+        long value = readVarLong();
+        if (value > limit) {
+            throw new FeedFormatException("Count " + value + " exceeds batch size");
+        }
+        return (int) value;
+    }
+
+    private void require(int bytes) throws FeedFormatException {
+        if (limit - position < bytes) {
+            throw new FeedFormatException("Truncated batch");
+        }
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nnk.springboot.feed;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Field layout of the records of one entity in the binary feed.
+ * Fields are written in declaration order; adding, removing or reordering fields requires a new
+ * {@link #VERSION}. Ids are written on egress and ignored on ingestion.
+ *
+ * @param <T> the entity type
+ */
+public final class FeedSchema<T> {
+    /**
+     * Schema version written in every batch header.
+     */
+    public static final int VERSION = 1;
+
+    public static final FeedSchema<Trade> TRADE = new FeedSchema<>(1, Trade::new, List.of(
+            FeedField.integer(Trade::getTradeId, Trade::setTradeId),
+            FeedField.string(Trade::getAccount, Trade::setAccount),
+            FeedField.string(Trade::getType, Trade::setType),
+            FeedField.decimal(Trade::getBuyQuantity, Trade::setBuyQuantity),
+            FeedField.decimal(Trade::getSellQuantity, Trade::setSellQuantity),
+            FeedField.decimal(Trade::getBuyPrice, Trade::setBuyPrice),
+            FeedField.decimal(Trade::getSellPrice, Trade::setSellPrice),
+            FeedField.string(Trade::getBenchmark, Trade::setBenchmark),
+            FeedField.timestamp(Trade::getTradeDate, Trade::setTradeDate),
+            FeedField.string(Trade::getSecurity, Trade::setSecurity),
+            FeedField.string(Trade::getStatus, Trade::setStatus),
+            FeedField.string(Trade::getTrader, Trade::setTrader),
+            FeedField.string(Trade::getBook, Trade::setBook),
+            FeedField.string(Trade::getCreationName, Trade::setCreationName),
+            FeedField.timestamp(Trade::getCreationDate, Trade::setCreationDate),
+            FeedField.string(Trade::getRevisionName, Trade::setRevisionName),
+            FeedField.timestamp(Trade::getRevisionDate, Trade::setRevisionDate),
+            FeedField.string(Trade::getDealName, Trade::setDealName),
+            FeedField.string(Trade::getDealType, Trade::setDealType),
+            FeedField.string(Trade::getSourceListId, Trade::setSourceListId),
+            FeedField.string(Trade::getSide, Trade::setSide)));
+
+    public static final FeedSchema<BidList> BID_LIST = new FeedSchema<>(2, BidList::new, List.of(
+            FeedField.integer(BidList::getId, BidList::setId),
+            FeedField.string(BidList::getAccount, BidList::setAccount),
+            FeedField.string(BidList::getType, BidList::setType),
+            FeedField.decimal(BidList::getBidQuantity, BidList::setBidQuantity),
+            FeedField.decimal(BidList::getAskQuantity, BidList::setAskQuantity),
+            FeedField.decimal(BidList::getBid, BidList::setBid),
+            FeedField.decimal(BidList::getAsk, BidList::setAsk),
+            FeedField.string(BidList::getBenchmark, BidList::setBenchmark),
+            FeedField.timestamp(BidList::getBidListDate, BidList::setBidListDate),
+            FeedField.string(BidList::getCommentary, BidList::setCommentary),
+            FeedField.string(BidList::getSecurity, BidList::setSecurity),
+            FeedField.string(BidList::getStatus, BidList::setStatus),
+            FeedField.string(BidList::getTrader, BidList::setTrader),
+            FeedField.string(BidList::getBook, BidList::setBook),
+            FeedField.string(BidList::getCreationName, BidList::setCreationName),
+            FeedField.timestamp(BidList::getCreationDate, BidList::setCreationDate),
+            FeedField.string(BidList::getRevisionName, BidList::setRevisionName),
+            FeedField.timestamp(BidList::getRevisionDate, BidList::setRevisionDate),
+            FeedField.string(BidList::getDealName, BidList::setDealName),
+            FeedField.string(BidList::getDealType, BidList::setDealType),
+            FeedField.string(BidList::getSourceListId, BidList::setSourceListId),
+            FeedField.string(BidList::getSide, BidList::setSide)));
+
+    private final int recordType;
+    private final Supplier<T> factory;
+    private final List<FeedField<T>> fields;
+
+    private FeedSchema(int recordType, Supplier<T> factory, List<FeedField<T>> fields) {
+        this.recordType = recordType;
+        this.factory = factory;
+        this.fields = fields;
+    }
+
+    /**
+     * @return the record type written in the batch header (1 = Trade, 2 = BidList)
+     */
+    public int getRecordType() {
+        return recordType;
+    }
+
+    T newRecord() {
+        return factory.get();
+    }
+
+    List<FeedField<T>> fields() {
+        return fields;
+    }
+}
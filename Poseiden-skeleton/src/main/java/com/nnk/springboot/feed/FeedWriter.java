@@ -0,0 +1,166 @@
+package com.nnk.springboot.feed;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes entities into the binary feed format.
+ *
+ * <p>A feed is a sequence of batches, each framed as:
+ * <pre>
+ * int32      length of the batch body in bytes (big-endian)
+ * byte       schema version ({@link FeedSchema#VERSION})
+ * byte       record type (1 = Trade, 2 = BidList)
+ * varint     dictionary size, then per entry: varint byte length + UTF-8 bytes
+ * varint     record count, then per record:
+ *   varint   presence bitmap, bit i set when field i is not null
+ *   ...      each present field in schema order: INT as varint, DOUBLE as 8 bytes,
+ *            TIMESTAMP as zigzag varint epoch millis, STRING as varint dictionary index
+ * </pre>
+ * Varints are unsigned LEB128. The string dictionary only holds the strings of its batch, so
+ * repeated accounts, books or securities are sent once per batch.
+ *
+ * <p>Buffers are reused from one batch to the next. This class is not thread-safe.
+ *
+ * @param <T> the entity type
+ */
+public final class FeedWriter<T> {
+    private final OutputStream out;
+    private final FeedSchema<T> schema;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> entries = new ArrayList<>();
+    private final ByteSink records = new ByteSink();
+    private final ByteSink header = new ByteSink();
+
+    public FeedWriter(OutputStream out, FeedSchema<T> schema) {
+        this.out = out;
+        this.schema = schema;
+    }
+
+    /**
+     * Encode and write one batch.
+     *
+     * @param batch the records of the batch
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeBatch(List<T> batch) throws IOException {
+        dictionary.clear();
+        entries.clear();
+        records.reset();
+        header.reset();
+        List<FeedField<T>> fields = schema.fields();
+        for (T record : batch) {
+            long presence = 0;
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i).get(record) != null) {
+                    presence |= 1L << i;
+                }
+            }
+            records.writeVarLong(presence);
+            for (int i = 0; i < fields.size(); i++) {
+                FeedField<T> field = fields.get(i);
+                Object value = field.get(record);
+                if (value == null) {
+                    continue;
+                }
+                switch (field.kind()) {
+                    case INT -> records.writeVarLong(((Integer) value) & 0xFFFFFFFFL);
+                    case DOUBLE -> records.writeLong(Double.doubleToRawLongBits((Double) value));
+                    case TIMESTAMP -> records.writeVarLong(zigzag(((Date) value).getTime()));
+                    case STRING -> {
+                        String text = (String) value;
+                        Integer index = dictionary.get(text);
+                        if (index == null) {
+                            index = entries.size();
+                            dictionary.put(text, index);
+                            entries.add(text);
+                        }
+                        records.writeVarLong(index);
+                    }
+                }
+            }
+        }
+
+        header.writeByte(FeedSchema.VERSION);
+        header.writeByte(schema.getRecordType());
+        header.writeVarLong(entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            header.writeVarLong(bytes.length);
+            header.write(bytes, 0, bytes.length);
+        }
+        header.writeVarLong(batch.size());
+
+        int length = header.size() + records.size();
+        out.write(length >>> 24);
+        out.write(length >>> 16);
+        out.write(length >>> 8);
+        out.write(length);
+        out.write(header.bytes(), 0, header.size());
+        out.write(records.bytes(), 0, records.size());
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Growable byte array, reused across batches.
+     */
+    private static final class ByteSink {
+        private byte[] bytes = new byte[8192];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.nnk.springboot.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Distinct values of one field with their number of uses, for prefix completion.
+ * Values are held in a sorted array keyed by their lower-cased form, so the values starting
+ * with a prefix are found by two binary searches regardless of case. Completions are ranked
+ * by use count, so the established spelling of a value comes before its rare variants.
+ *
+ * <p>Readers work on an immutable snapshot of the arrays and take no lock. Writers are
+ * serialized; a new distinct value copies the arrays, a new use of a known value only
+ * increments its counter.
+ */
+public final class CompletionDictionary {
+    private static final Comparator<String> ORDER = Comparator.comparing((String value) -> value.toLowerCase())
+            .thenComparing(Comparator.naturalOrder());
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0], new AtomicIntegerArray(0));
+
+    private record Snapshot(String[] keys, String[] values, AtomicIntegerArray counts) {
+    }
+
+    /**
+     * Replace the content of the dictionary.
+     *
+     * @param counts use count by value; null and blank values are ignored
+     */
+    public synchronized void replaceAll(Map<String, ? extends Number> counts) {
+        List<String> values = new ArrayList<>(counts.size());
+        for (String value : counts.keySet()) {
+            if (value != null && !value.isBlank()) {
+                values.add(value);
+            }
+        }
+        values.sort(ORDER);
+        String[] keys = new String[values.size()];
+        AtomicIntegerArray uses = new AtomicIntegerArray(values.size());
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = values.get(i).toLowerCase();
+            uses.set(i, (int) Math.min(Integer.MAX_VALUE, counts.get(values.get(i)).longValue()));
+        }
+        snapshot = new Snapshot(keys, values.toArray(new String[0]), uses);
+    }
+
+    /**
+     * Record one more use of a value, adding it when it is new.
+     *
+     * @param value the value; null and blank values are ignored
+     */
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    /**
+     * Make sure a value is known without counting a new use.
+     *
+     * @param value the value; null and blank values are ignored
+     */
+    public void ensure(String value) {
+        add(value, 0);
+    }
+
+    private synchronized void add(String value, int uses) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.values(), value, ORDER);
+        if (index >= 0) {
+            current.counts().addAndGet(index, uses);
+            return;
+        }
+        int insertion = -index - 1;
+        int size = current.values().length;
+        String[] keys = new String[size + 1];
+        String[] values = new String[size + 1];
+        AtomicIntegerArray counts = new AtomicIntegerArray(size + 1);
+        System.arraycopy(current.keys(), 0, keys, 0, insertion);
+        System.arraycopy(current.keys(), insertion, keys, insertion + 1, size - insertion);
+        System.arraycopy(current.values(), 0, values, 0, insertion);
+        System.arraycopy(current.values(), insertion, values, insertion + 1, size - insertion);
+        for (int i = 0; i < size; i++) {
+            counts.set(i < insertion ? i : i + 1, current.counts().get(i));
+        }
+        keys[insertion] = value.toLowerCase();
+        values[insertion] = value;
+        counts.set(insertion, Math.max(uses, 1));
+        snapshot = new Snapshot(keys, values, counts);
+    }
+
+    /**
+     * Find the most used values starting with a prefix, ignoring case.
+     * Ties are ordered alphabetically.
+     *
+     * @param prefix the typed prefix; empty matches every value
+     * @param limit the maximum number of values to return; must be positive
+     * @return up to limit values, most used first
+     */
+    public List<String> complete(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Snapshot current = snapshot;
+        String key = prefix == null ? "" : prefix.toLowerCase();
+        int from = lowerBound(current.keys(), key);
+        int to = lowerBound(current.keys(), key + Character.MAX_VALUE);
+        Comparator<Integer> ranking = Comparator.comparingInt((Integer i) -> current.counts().get(i)).reversed()
+                .thenComparingInt(i -> i);
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int i = from; i < to; i++) {
+            worstFirst.add(i);
+            if (worstFirst.size() > limit) {
+                worstFirst.poll();
+            }
+        }
+        List<Integer> best = new ArrayList<>(worstFirst);
+        best.sort(ranking);
+        List<String> completions = new ArrayList<>(best.size());
+        for (int i : best) {
+            completions.add(current.values()[i]);
+        }
+        return completions;
+    }
+
+    /**
+     * @return the number of distinct values
+     */
+    public int size() {
+        return snapshot.values().length;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
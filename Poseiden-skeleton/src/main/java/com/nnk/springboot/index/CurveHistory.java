@@ -0,0 +1,236 @@
+package com.nnk.springboot.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned curves: for every curve, the immutable snapshot of its points at each date a point
+ * version was stored, so the curve as of any date is a floor-entry search.
+ *
+ * <p>A snapshot holds, for each point of the curve, the version with the latest as-of date not
+ * after the snapshot date; versions with the same date are ordered by id. A point whose valid
+ * version has no term is not part of the curve at that date. Each curve is a copy-on-write
+ * timeline: a write builds a new timeline and publishes it with a single map update, so readers
+ * never take a lock and never see a partially written curve. Writers of the same curve are
+ * serialized by the map, writers of different curves do not wait for each other.
+ */
+public final class CurveHistory {
+    private static final Comparator<Point> VERSION_ORDER =
+            Comparator.comparing(Point::asOfDate).thenComparingInt(Point::id);
+    private static final Comparator<Point> CURVE_ORDER =
+            Comparator.comparing(Point::term).thenComparingInt(Point::pointId);
+
+    private final Map<Integer, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> curveOfPoint = new ConcurrentHashMap<>();
+
+    /**
+     * One stored version of a curve point.
+     *
+     * @param id the id of the version
+     * @param pointId the id of the CurvePoint
+     * @param term the term; null if the point has none in this version
+     * @param value the value at this term; may be null
+     * @param asOfDate the date from which this version is valid
+     */
+    public record Point(int id, int pointId, Double term, Double value, LocalDateTime asOfDate) {
+    }
+
+    /**
+     * A curve as of a date: the valid version of each of its points.
+     *
+     * @param curveId the curve identifier
+     * @param asOfDate the date of the last change included in the snapshot
+     * @param points the points, sorted by term
+     */
+    public record Snapshot(int curveId, LocalDateTime asOfDate, List<Point> points) {
+    }
+
+    private record Timeline(Map<Integer, Point> versions, Map<Integer, Point> current,
+                            NavigableMap<LocalDateTime, Snapshot> snapshots) {
+    }
+
+    /**
+     * Store a point version. A version already stored under the same id is replaced. If the point
+     * belonged to another curve, all its versions move to this one.
+     *
+     * @param curveId the curve of the point
+     * @param point the point version
+     */
+    public void put(int curveId, Point point) {
+        List<Point> versions = new ArrayList<>(detach(point.pointId(), curveId));
+        versions.add(point);
+        timelines.compute(curveId, (id, timeline) -> with(id, timeline, versions));
+    }
+
+    /**
+     * Move every version of a point to another curve. Unknown points are ignored.
+     *
+     * @param pointId the id of the CurvePoint
+     * @param curveId the new curve of the point
+     */
+    public void move(int pointId, int curveId) {
+        if (!curveOfPoint.containsKey(pointId)) {
+            return;
+        }
+        List<Point> versions = detach(pointId, curveId);
+        if (!versions.isEmpty()) {
+            timelines.compute(curveId, (id, timeline) -> with(id, timeline, versions));
+        }
+    }
+
+    /**
+     * Forget every version of a point. Unknown points are ignored.
+     *
+     * @param pointId the id of the CurvePoint
+     */
+    public void remove(int pointId) {
+        Integer curveId = curveOfPoint.remove(pointId);
+        if (curveId != null) {
+            timelines.computeIfPresent(curveId, (id, timeline) -> without(id, timeline, pointId, new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Return a curve as it was at a date.
+     *
+     * @param curveId the curve identifier
+     * @param asOf the date
+     * @return the latest snapshot not after the date, or empty if the curve had no point yet
+     */
+    public Optional<Snapshot> asOf(int curveId, LocalDateTime asOf) {
+        Timeline timeline = timelines.get(curveId);
+        return timeline == null ? Optional.empty() : Optional.ofNullable(timeline.snapshots().floorEntry(asOf))
+                .map(Map.Entry::getValue);
+    }
+
+    /**
+     * Return the current state of a curve.
+     *
+     * @param curveId the curve identifier
+     * @return the latest snapshot, or empty if the curve has no point
+     */
+    public Optional<Snapshot> latest(int curveId) {
+        Timeline timeline = timelines.get(curveId);
+        return timeline == null ? Optional.empty() : Optional.of(timeline.snapshots().lastEntry().getValue());
+    }
+
+    /**
+     * Return the dates at which a curve changed.
+     *
+     * @param curveId the curve identifier
+     * @return the snapshot dates in ascending order; empty if the curve has no point
+     */
+    public List<LocalDateTime> versions(int curveId) {
+        Timeline timeline = timelines.get(curveId);
+        return timeline == null ? List.of() : List.copyOf(timeline.snapshots().keySet());
+    }
+
+    /**
+     * @return the ids of the points having versions
+     */
+    public Set<Integer> pointIds() {
+        return Set.copyOf(curveOfPoint.keySet());
+    }
+
+    /**
+     * @return the number of versions stored, across every curve
+     */
+    public int size() {
+        return timelines.values().stream().mapToInt(timeline -> timeline.versions().size()).sum();
+    }
+
+    /**
+     * Record the curve of a point and take its versions out of its previous curve, if any.
+     *
+     * @return the versions removed from the previous curve
+     */
+    private List<Point> detach(int pointId, int curveId) {
+        Integer previousCurve = curveOfPoint.put(pointId, curveId);
+        List<Point> detached = new ArrayList<>();
+        if (previousCurve != null && previousCurve != curveId) {
+            timelines.computeIfPresent(previousCurve, (id, timeline) -> without(id, timeline, pointId, detached));
+        }
+        return detached;
+    }
+
+    private static Timeline with(int curveId, Timeline timeline, List<Point> added) {
+        if (timeline == null) {
+            return build(curveId, byId(added));
+        }
+        Map<Integer, Point> versions = new HashMap<>(timeline.versions());
+        boolean replaced = false;
+        for (Point point : added) {
+            replaced |= versions.put(point.id(), point) != null;
+        }
+        Point point = added.get(0);
+        Map.Entry<LocalDateTime, Snapshot> last = timeline.snapshots().lastEntry();
+        if (added.size() > 1 || replaced || point.asOfDate().isBefore(last.getKey())) {
+            // A moved point, a back-dated or corrected version changes snapshots already built
+            return build(curveId, versions);
+        }
+        // The common case, a new version of today: append one snapshot derived from the last one
+        NavigableMap<LocalDateTime, Snapshot> snapshots = new TreeMap<>(timeline.snapshots());
+        Map<Integer, Point> current = new HashMap<>(timeline.current());
+        current.merge(point.pointId(), point, (stored, newer) -> VERSION_ORDER.compare(stored, newer) > 0 ? stored : newer);
+        snapshots.put(point.asOfDate(), snapshot(curveId, point.asOfDate(), current));
+        return new Timeline(Collections.unmodifiableMap(versions), Collections.unmodifiableMap(current),
+                Collections.unmodifiableNavigableMap(snapshots));
+    }
+
+    private static Timeline without(int curveId, Timeline timeline, int pointId, List<Point> removed) {
+        if (!timeline.current().containsKey(pointId)) {
+            return timeline;
+        }
+        Map<Integer, Point> versions = new HashMap<>();
+        for (Point version : timeline.versions().values()) {
+            if (version.pointId() == pointId) {
+                removed.add(version);
+            } else {
+                versions.put(version.id(), version);
+            }
+        }
+        return versions.isEmpty() ? null : build(curveId, versions);
+    }
+
+    private static Timeline build(int curveId, Map<Integer, Point> versions) {
+        List<Point> ordered = new ArrayList<>(versions.values());
+        ordered.sort(VERSION_ORDER);
+        NavigableMap<LocalDateTime, Snapshot> snapshots = new TreeMap<>();
+        Map<Integer, Point> current = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Point version = ordered.get(i);
+            current.put(version.pointId(), version);
+            boolean lastOfDate = i == ordered.size() - 1 || !ordered.get(i + 1).asOfDate().equals(version.asOfDate());
+            if (lastOfDate) {
+                snapshots.put(version.asOfDate(), snapshot(curveId, version.asOfDate(), current));
+            }
+        }
+        return new Timeline(Collections.unmodifiableMap(new HashMap<>(versions)), Collections.unmodifiableMap(current),
+                Collections.unmodifiableNavigableMap(snapshots));
+    }
+
+    private static Map<Integer, Point> byId(List<Point> points) {
+        Map<Integer, Point> byId = new HashMap<>();
+        for (Point point : points) {
+            byId.put(point.id(), point);
+        }
+        return byId;
+    }
+
+    private static Snapshot snapshot(int curveId, LocalDateTime asOfDate, Map<Integer, Point> current) {
+        return new Snapshot(curveId, asOfDate, current.values().stream()
+                .filter(point -> point.term() != null)
+                .sorted(CURVE_ORDER)
+                .toList());
+    }
+}
@@ -0,0 +1,216 @@
+package com.nnk.springboot.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from terms to integer document ids, with prefix matching.
+ * Text is split into lower-cased runs of letters and digits. Terms are kept sorted, so the
+ * terms starting with a prefix are one contiguous range of the dictionary.
+ *
+ * <p>A document matches a query when every query token is one of its terms or a prefix of one.
+ * Matches are scored by term frequency and inverse document frequency, exact terms weighing
+ * twice as much as prefix matches. Thread-safe: searches share a read lock, updates take the
+ * write lock.
+ */
+public final class InvertedIndex {
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Map<String, Integer>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A matching document.
+     *
+     * @param id the document id
+     * @param score the relevance of the document, higher is better
+     */
+    public record Hit(int id, double score) {
+    }
+
+    /**
+     * Index a document, replacing what was indexed for this id.
+     *
+     * @param id the document id
+     * @param text the text of the document; null or blank removes the document
+     */
+    public void put(int id, String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(text)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (!terms.isEmpty()) {
+                documents.put(id, terms);
+                terms.forEach((term, frequency) ->
+                        postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param id the document id; ignored when not indexed
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the documents matching every token of the query, best first.
+     * Ties are ordered by id.
+     *
+     * @param query the query text; the last token is typically a partly typed word
+     * @param limit the maximum number of hits to return; must be positive
+     * @return up to limit hits, best first; empty when the query has no token
+     */
+    public List<Hit> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Double> matches = match(token);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + matches.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct terms
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split text into lower-cased runs of letters and digits.
+     *
+     * @param text the text to split; may be null
+     * @return the tokens in text order, duplicates included
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Score the documents containing the token or a term it prefixes. A document matching
+     * several terms keeps its best score.
+     */
+    private Map<Integer, Double> match(String token) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int total = documents.size();
+        for (Map.Entry<String, Map<Integer, Integer>> term
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            Map<Integer, Integer> docs = term.getValue();
+            double idf = Math.log(1.0 + (double) total / docs.size());
+            double weight = term.getKey().length() == token.length() ? idf : idf * PREFIX_WEIGHT;
+            for (Map.Entry<Integer, Integer> doc : docs.entrySet()) {
+                double score = weight * (1.0 + Math.log(doc.getValue()));
+                scores.merge(doc.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private static List<Hit> top(Map<Integer, Double> scores, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::id);
+        PriorityQueue<Hit> worstFirst = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            worstFirst.add(new Hit(entry.getKey(), entry.getValue()));
+            if (worstFirst.size() > limit) {
+                worstFirst.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(worstFirst);
+        hits.sort(ranking);
+        return Collections.unmodifiableList(hits);
+    }
+
+    private void removeLocked(int id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Integer, Integer> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
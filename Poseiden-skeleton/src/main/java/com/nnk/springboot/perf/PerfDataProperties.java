@@ -0,0 +1,53 @@
+package com.nnk.springboot.perf;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Synthetic data configuration of the {@code perf} profile, under {@code poseidon.perf}.
+ *
+ * <pre>
+ * poseidon.perf.trades=5000000
+ * poseidon.perf.skew=1.2
+ * poseidon.perf.threads=16
+ * </pre>
+ *
+ * @param bidLists the number of BidList rows to create
+ * @param trades the number of Trade rows to create
+ * @param curvePoints the number of CurvePoint rows to create
+ * @param ratings the number of Rating rows to create
+ * @param ruleNames the number of RuleName rows to create
+ * @param accounts the number of distinct accounts
+ * @param books the number of distinct books
+ * @param securities the number of distinct securities
+ * @param traders the number of distinct traders
+ * @param curves the number of distinct curves
+ * @param days how far back in time the trade and bid dates go
+ * @param skew the Zipf exponent of the accounts, books and securities; 0 for a uniform spread
+ * @param batchSize the rows per JDBC batch
+ * @param threads the insert threads; 0 for one per processor
+ * @param seed the random seed; the same seed and settings generate the same rows
+ * @param reportIntervalMillis the interval between two progress lines
+ */
+@ConfigurationProperties("poseidon.perf")
+public record PerfDataProperties(@DefaultValue("1000000") long bidLists,
+                                 @DefaultValue("1000000") long trades,
+                                 @DefaultValue("1000000") long curvePoints,
+                                 @DefaultValue("1000000") long ratings,
+                                 @DefaultValue("1000000") long ruleNames,
+                                 @DefaultValue("2000") int accounts,
+                                 @DefaultValue("50") int books,
+                                 @DefaultValue("5000") int securities,
+                                 @DefaultValue("200") int traders,
+                                 @DefaultValue("100") int curves,
+                                 @DefaultValue("365") int days,
+                                 @DefaultValue("1.0") double skew,
+                                 @DefaultValue("1000") int batchSize,
+                                 @DefaultValue("0") int threads,
+                                 @DefaultValue("42") long seed,
+                                 @DefaultValue("5000") long reportIntervalMillis) {
+
+    public PerfDataProperties {
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,51 @@
+package com.nnk.springboot.perf;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks from 0 to n - 1 following a Zipf law: the probability of rank k is proportional
+ * to 1 / (k + 1)^skew. A skew of 0 is uniform; around 1, a few ranks (large accounts, busy
+ * books, liquid securities) get most of the rows, as in production data.
+ *
+ * <p>Immutable and thread-safe: each caller brings its own random generator.
+ */
+public final class SkewedSampler {
+    private final double[] cumulative;
+
+    /**
+     * @param size the number of ranks; at least 1
+     * @param skew the Zipf exponent; 0 or more
+     * @throws IllegalArgumentException if the size or the skew is out of range
+     */
+    public SkewedSampler(int size, double skew) {
+        if (size < 1 || skew < 0) {
+            throw new IllegalArgumentException("Invalid sampler: size " + size + ", skew " + skew);
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    /**
+     * @return the number of ranks
+     */
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * @param random the random generator of the calling thread
+     * @return a rank, from 0 to size - 1
+     */
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
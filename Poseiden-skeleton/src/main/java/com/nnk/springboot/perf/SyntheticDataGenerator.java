@@ -0,0 +1,310 @@
+package com.nnk.springboot.perf;
+
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with realistic synthetic BidList, Trade, CurvePoint, Rating and RuleName
+ * rows at startup, for performance testing at production scale (profile {@code perf}).
+ *
+ * <p>Rows are built and inserted in parallel, one JDBC batch per task, bids and trades on the
+ * shard of their book. Accounts, books and securities follow a Zipf law (see
+ * {@link SkewedSampler}). A table that already holds rows is left as it is, so that restarting
+ * the node does not double the data. Progress and rows/s are printed while each table fills.
+ * Every generated CurvePoint then gets its first version in the curve history.
+ *
+ * <p>Runs before the other command line runners, so that the search and autocomplete indexes
+ * are built over the generated rows.
+ */
+public class SyntheticDataGenerator implements CommandLineRunner, Ordered {
+    static final String CREATED_BY = "perf-generator";
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final String[] TYPES = {"SPOT", "FORWARD", "SWAP", "OPTION"};
+    private static final String[] BENCHMARKS = {"SOFR", "ESTR", "SONIA", "UST10Y", "BUND10Y"};
+    private static final double[] TENORS = {0.25, 0.5, 1, 2, 3, 5, 7, 10, 20, 30};
+    private static final String[] MOODYS = {"Aaa", "Aa1", "Aa2", "Aa3", "A1", "A2", "A3", "Baa1", "Baa2", "Baa3",
+            "Ba1", "Ba2", "Ba3", "B1", "B2", "B3", "Caa1", "Caa2", "Caa3", "Ca", "C"};
+    private static final String[] STANDARD = {"AAA", "AA+", "AA", "AA-", "A+", "A", "A-", "BBB+", "BBB", "BBB-",
+            "BB+", "BB", "BB-", "B+", "B", "B-", "CCC+", "CCC", "CCC-", "CC", "C"};
+    private static final String[] RULE_FIELDS = {"bid", "ask", "bid_quantity", "ask_quantity"};
+    private static final String[] OPERATORS = {">", "<", ">=", "<="};
+
+    private static final String INSERT_BID_LIST = "insert into bidlist (account, type, bid_quantity, ask_quantity,"
+            + " bid, ask, benchmark, bid_list_date, commentary, security, status, trader, book, creation_name,"
+            + " creation_date, revision_name, revision_date, deal_name, deal_type, source_list_id, side, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TRADE = "insert into trade (account, type, buy_quantity, sell_quantity,"
+            + " buy_price, sell_price, benchmark, trade_date, security, status, trader, book, creation_name,"
+            + " creation_date, revision_name, revision_date, deal_name, deal_type, source_list_id, side, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CURVE_POINT = "insert into curvepoint (curve_id, as_of_date, term,"
+            + " \"value\", creation_date) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_CURVE_POINT_HISTORY = "insert into curvepoint_history (curve_point_id,"
+            + " as_of_date, term, \"value\", creation_date) select c.id, c.as_of_date, c.term, c.\"value\","
+            + " c.creation_date from curvepoint c where not exists"
+            + " (select 1 from curvepoint_history h where h.curve_point_id = c.id)";
+    private static final String INSERT_RATING = "insert into rating (moodys_rating, sandprating, fitch_rating,"
+            + " order_number) values (?, ?, ?, ?)";
+    private static final String INSERT_RULE_NAME = "insert into rulename (name, description, json, template,"
+            + " sql_str, sql_part) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final PerfDataProperties properties;
+    private final SkewedSampler accounts;
+    private final SkewedSampler books;
+    private final SkewedSampler securities;
+    private final long now = System.currentTimeMillis();
+
+    /**
+     * @param jdbcTemplate access to the application tables
+     * @param shardRouter the router of the bids and trades
+     * @param properties the volumes and distributions to generate
+     */
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, PerfDataProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.accounts = new SkewedSampler(properties.accounts(), properties.skew());
+        this.books = new SkewedSampler(properties.books(), properties.skew());
+        this.securities = new SkewedSampler(properties.securities(), properties.skew());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Generate every table, one after the other.
+     *
+     * @param args startup arguments passed by the Spring Boot runtime
+     * @throws InterruptedException if startup is interrupted while rows are inserted
+     */
+    @Override
+    public void run(String... args) throws InterruptedException {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.threads(), task -> {
+            Thread thread = new Thread(task, "perf-data-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "perf-data-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            generate(new Table("bidlist", INSERT_BID_LIST, properties.bidLists(), this::bidList, 12), executor, reporter);
+            generate(new Table("trade", INSERT_TRADE, properties.trades(), this::trade, 11), executor, reporter);
+            generate(new Table("curvepoint", INSERT_CURVE_POINT, properties.curvePoints(), this::curvePoint, -1),
+                    executor, reporter);
+            jdbcTemplate.update(INSERT_CURVE_POINT_HISTORY);
+            generate(new Table("rating", INSERT_RATING, properties.ratings(), this::rating, -1), executor, reporter);
+            generate(new Table("rulename", INSERT_RULE_NAME, properties.ruleNames(), this::ruleName, -1),
+                    executor, reporter);
+        } finally {
+            executor.shutdownNow();
+            reporter.shutdownNow();
+        }
+    }
+
+    /**
+     * Fill one table, one task per batch.
+     *
+     * @param table the table to fill
+     * @param executor the insert threads
+     * @param reporter the progress thread
+     * @throws InterruptedException if interrupted while waiting for the batches
+     */
+    void generate(Table table, ExecutorService executor, ScheduledExecutorService reporter) throws InterruptedException {
+        long existing = count(table);
+        if (existing > 0) {
+            System.out.println("⏭ " + table.name() + ": " + existing + " rows already present, skipped");
+            return;
+        }
+        if (table.rows() <= 0) {
+            return;
+        }
+        AtomicLong inserted = new AtomicLong();
+        long start = System.nanoTime();
+        ScheduledFuture<?> progress = reporter.scheduleAtFixedRate(
+                () -> System.out.println(progress(table, inserted.get(), start)),
+                properties.reportIntervalMillis(), properties.reportIntervalMillis(), TimeUnit.MILLISECONDS);
+        List<Future<?>> batches = new ArrayList<>();
+        for (long first = 0; first < table.rows(); first += properties.batchSize()) {
+            long from = first;
+            long to = Math.min(first + properties.batchSize(), table.rows());
+            batches.add(executor.submit(() -> insert(table, from, to, inserted)));
+        }
+        try {
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            throw new IllegalStateException("Cannot generate the rows of " + table.name(), e.getCause());
+        } finally {
+            progress.cancel(false);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "✅ %s: %d rows in %.1f s (%d rows/s)",
+                table.name(), inserted.get(), seconds, Math.round(inserted.get() / seconds)));
+    }
+
+    private void insert(Table table, long from, long to, AtomicLong inserted) {
+        SplittableRandom random = new SplittableRandom(properties.seed() * 31 + table.name().hashCode() + from);
+        if (table.bookColumn() < 0) {
+            List<Object[]> rows = new ArrayList<>((int) (to - from));
+            for (long n = from; n < to; n++) {
+                rows.add(table.factory().row(n, random));
+            }
+            jdbcTemplate.batchUpdate(table.insert(), rows);
+        } else {
+            Map<String, List<Object[]>> rowsByShard = new HashMap<>();
+            for (long n = from; n < to; n++) {
+                Object[] row = table.factory().row(n, random);
+                rowsByShard.computeIfAbsent(shardRouter.shardFor((String) row[table.bookColumn()]),
+                        shard -> new ArrayList<>()).add(row);
+            }
+            rowsByShard.forEach((shard, rows) ->
+                    shardRouter.onShard(shard, () -> jdbcTemplate.batchUpdate(table.insert(), rows)));
+        }
+        inserted.addAndGet(to - from);
+    }
+
+    private long count(Table table) {
+        String query = "select count(*) from " + table.name();
+        if (table.bookColumn() < 0) {
+            return jdbcTemplate.queryForObject(query, Long.class);
+        }
+        return shardRouter.onEachShard(() -> jdbcTemplate.queryForObject(query, Long.class)).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    private static String progress(Table table, long inserted, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return String.format(Locale.ROOT, "⏳ %s: %d/%d rows (%d%%), %d rows/s", table.name(), inserted,
+                table.rows(), inserted * 100 / table.rows(), Math.round(inserted / seconds));
+    }
+
+    Object[] bidList(long n, SplittableRandom random) {
+        int security = securities.sample(random);
+        String type = pick(TYPES, random);
+        double bid = round(price(security) * (1 + 0.02 * random.nextGaussian()));
+        double ask = round(bid * (1.0005 + 0.0045 * random.nextDouble()));
+        Timestamp date = pastDate(random);
+        int status = random.nextInt(10);
+        return new Object[]{"ACC-" + accounts.sample(random), type, quantity(random), quantity(random), bid, ask,
+                pick(BENCHMARKS, random), date, "Synthetic quote " + n, "SEC-" + security,
+                status < 6 ? "OPEN" : status < 9 ? "FILLED" : "CANCELLED", "TRADER-" + random.nextInt(properties.traders()),
+                "BOOK-" + books.sample(random), CREATED_BY, date, null, null, "DEAL-B" + n, type, "PERF-B" + n,
+                random.nextBoolean() ? "BUY" : "SELL"};
+    }
+
+    Object[] trade(long n, SplittableRandom random) {
+        int security = securities.sample(random);
+        String type = pick(TYPES, random);
+        double price = round(price(security) * (1 + 0.02 * random.nextGaussian()));
+        double quantity = quantity(random);
+        boolean buy = random.nextBoolean();
+        Timestamp date = pastDate(random);
+        int status = random.nextInt(20);
+        return new Object[]{"ACC-" + accounts.sample(random), type, buy ? quantity : null, buy ? null : quantity,
+                buy ? price : null, buy ? null : price, pick(BENCHMARKS, random), date, "SEC-" + security,
+                status < 14 ? "BOOKED" : status < 19 ? "SETTLED" : "CANCELLED",
+                "TRADER-" + random.nextInt(properties.traders()), "BOOK-" + books.sample(random), CREATED_BY, date,
+                null, null, "DEAL-T" + n, type, "PERF-T" + n, buy ? "BUY" : "SELL"};
+    }
+
+    Object[] curvePoint(long n, SplittableRandom random) {
+        double term = TENORS[(int) (n % TENORS.length)];
+        long series = n / TENORS.length;
+        int curve = (int) (series % properties.curves()) + 1;
+        long day = series / properties.curves();
+        double level = 1 + (curve % 40) / 10.0;
+        double value = round(level + 0.8 * Math.log1p(term) + 0.05 * random.nextGaussian());
+        return new Object[]{curve, new Timestamp(now - now % DAY_MILLIS - day * DAY_MILLIS), term, value,
+                new Timestamp(now)};
+    }
+
+    Object[] rating(long n, SplittableRandom random) {
+        int notch = notch((int) Math.round(8 + 3 * random.nextGaussian()));
+        return new Object[]{MOODYS[notch], STANDARD[notch(notch + random.nextInt(3) - 1)],
+                STANDARD[notch(notch + random.nextInt(3) - 1)], notch + 1};
+    }
+
+    Object[] ruleName(long n, SplittableRandom random) {
+        String field = pick(RULE_FIELDS, random);
+        String operator = pick(OPERATORS, random);
+        double threshold = Math.round(random.nextDouble() * 100_000) / 100.0;
+        String condition = field + " " + operator + " " + threshold;
+        return new Object[]{"RULE-" + n, "Flags bids where " + condition,
+                "{\"field\":\"" + field + "\",\"operator\":\"" + operator + "\",\"value\":" + threshold + "}",
+                "Bid {id}: " + field + " {" + field + "} " + operator + " " + threshold,
+                "SELECT * FROM bidlist WHERE " + condition, condition};
+    }
+
+    private static double price(int security) {
+        return 20 + (security * 7919L % 18_000) / 100.0;
+    }
+
+    private static double quantity(SplittableRandom random) {
+        return 100.0 * (1 + random.nextInt(1000));
+    }
+
+    private Timestamp pastDate(SplittableRandom random) {
+        return new Timestamp(now - random.nextLong(properties.days() * DAY_MILLIS));
+    }
+
+    private static int notch(int notch) {
+        return Math.max(0, Math.min(MOODYS.length - 1, notch));
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+    /**
+     * Builds the row number n of a table.
+     */
+    @FunctionalInterface
+    interface RowFactory {
+        Object[] row(long n, SplittableRandom random);
+    }
+
+    /**
+     * A table to fill.
+     *
+     * @param name the table name
+     * @param insert the batch insert statement
+     * @param rows the number of rows to create
+     * @param factory the builder of the rows
+     * @param bookColumn the index of the book in the rows of a sharded table, -1 otherwise
+     */
+    record Table(String name, String insert, long rows, RowFactory factory, int bookColumn) {
+    }
+}
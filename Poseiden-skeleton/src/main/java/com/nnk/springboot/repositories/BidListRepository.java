@@ -1,9 +1,96 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.dto.DashboardTotal;
+import com.nnk.springboot.dto.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
 
+public interface BidListRepository extends JpaRepository<BidList, Integer>, BidListRepositoryCustom {
+
+    /**
+     * Delete every BidList whose id is in the given collection with a single DELETE statement.
+     *
+     * @param ids the ids to delete; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from BidList b where b.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Set the status of every BidList whose id is in the given collection with a single UPDATE statement.
+     *
+     * @param ids the ids to update; must not be empty
+     * @param status the new status
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update BidList b set b.status = :status, b.version = b.version + 1 where b.id in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Integer> ids, @Param("status") String status);
+
+    /**
+     * Read the columns shown by the BidList list page, ordered by id.
+     * Rows are returned as {@link BidListSummary} values, so no entity is loaded or tracked.
+     *
+     * @return one summary per BidList
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.BidListSummary(b.id, b.account, b.type, b.bidQuantity) from BidList b order by b.id")
+    List<BidListSummary> findAllSummaries();
+
+    /**
+     * Read the columns shown by the BidList list page for one book, ordered by id.
+     *
+     * @param book the book
+     * @return one summary per BidList of the book
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.BidListSummary(b.id, b.account, b.type, b.bidQuantity) from BidList b where b.book = :book order by b.id")
+    List<BidListSummary> findSummariesByBook(@Param("book") String book);
+
+    /**
+     * Read the BidLists whose id is greater than the given one, in id order.
+     *
+     * @param bidListId the exclusive lower bound of the ids
+     * @param pageable the first page, whose size bounds the number of rows
+     * @return the matching BidLists ordered by id
+     */
+    List<BidList> findByIdGreaterThanOrderByIdAsc(Integer bidListId, Pageable pageable);
+
+    /**
+     * Stream the searchable text (the commentary) of every BidList that has one.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @return one document per BidList with a commentary
+     */
+    @Query("select new com.nnk.springboot.dto.SearchDocument(b.id, b.commentary) from BidList b where b.commentary is not null")
+    Stream<SearchDocument> streamSearchDocuments();
+
+    /**
+     * Count the BidLists and sum their bid quantity per status, for the dashboard counters.
+     *
+     * @return one total per status
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.DashboardTotal(b.status, count(b), sum(b.bidQuantity)) from BidList b"
+            + " group by b.status")
+    List<DashboardTotal> findDashboardTotals();
 }
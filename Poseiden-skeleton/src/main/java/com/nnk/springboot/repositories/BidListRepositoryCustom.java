@@ -0,0 +1,20 @@
+package com.nnk.springboot.repositories;
+
+import java.util.Map;
+
+/**
+ * Custom BidList repository operations that Spring Data cannot derive.
+ */
+public interface BidListRepositoryCustom {
+
+    /**
+     * Update only the given columns of a BidList with a single UPDATE statement,
+     * incrementing its version and checking the expected version when provided.
+     *
+     * @param id the id of the BidList to update
+     * @param expectedVersion the version the caller last read, or null to skip the check
+     * @param changes new values by attribute name; must not be empty
+     * @return 1 if the row was updated, 0 if it does not exist or its version differs
+     */
+    int updatePartially(Integer id, Integer expectedVersion, Map<String, Object> changes);
+}
@@ -0,0 +1,22 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Criteria-based implementation of {@link BidListRepositoryCustom}.
+ */
+class BidListRepositoryCustomImpl extends PartialUpdateSupport<BidList> implements BidListRepositoryCustom {
+
+    BidListRepositoryCustomImpl() {
+        super(BidList.class, "id");
+    }
+
+    @Override
+    @Transactional
+    public int updatePartially(Integer id, Integer expectedVersion, Map<String, Object> changes) {
+        return executePartialUpdate(id, expectedVersion, changes);
+    }
+}
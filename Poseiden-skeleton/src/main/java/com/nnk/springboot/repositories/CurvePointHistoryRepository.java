@@ -0,0 +1,58 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.dto.CurvePointVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+public interface CurvePointHistoryRepository extends JpaRepository<CurvePointHistory, Integer> {
+
+    /**
+     * Delete every version of the CurvePoints whose id is in the given collection with a single DELETE statement.
+     *
+     * @param curvePointIds the ids of the CurvePoints; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from CurvePointHistory h where h.curvePointId in :curvePointIds")
+    int deleteByCurvePointIds(@Param("curvePointIds") Collection<Integer> curvePointIds);
+
+    /**
+     * Find the last version recorded for a CurvePoint.
+     *
+     * @param curvePointId the id of the CurvePoint
+     * @return the most recently inserted version, or empty if the point has none
+     */
+    Optional<CurvePointHistory> findFirstByCurvePointIdOrderByIdDesc(Integer curvePointId);
+
+    /**
+     * Find the stored versions of every curve point inserted after a given one, with the current
+     * curve of their point. Versions without an as-of date are dated by their creation date.
+     *
+     * @param id the id of the last version already read; 0 to read them all
+     * @return one version per CurvePointHistory row, in id order
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.CurvePointVersion(h.id, h.curvePointId, c.curveId, h.term, h.value,"
+            + " coalesce(h.asOfDate, h.creationDate)) from CurvePointHistory h join CurvePoint c on c.id = h.curvePointId"
+            + " where h.id > :id order by h.id")
+    List<CurvePointVersion> findVersionsAfter(@Param("id") int id);
+
+    /**
+     * Count the stored versions of the curve points that belong to a curve.
+     *
+     * @return the number of CurvePointHistory rows whose point has a curve
+     */
+    @Transactional(readOnly = true)
+    @Query("select count(h) from CurvePointHistory h join CurvePoint c on c.id = h.curvePointId where c.curveId is not null")
+    long countCurveVersions();
+}
@@ -1,9 +1,64 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurvePointSummary;
+import com.nnk.springboot.dto.DashboardTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+    /**
+     * Delete every CurvePoint whose id is in the given collection with a single DELETE statement.
+     *
+     * @param ids the ids to delete; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from CurvePoint c where c.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Move every CurvePoint whose id is in the given collection to another curve with a single UPDATE statement.
+     *
+     * @param ids the ids to update; must not be empty
+     * @param curveId the target curve identifier
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update CurvePoint c set c.curveId = :curveId where c.id in :ids")
+    int updateCurveIdByIds(@Param("ids") Collection<Integer> ids, @Param("curveId") Integer curveId);
+
+    /**
+     * Read the columns shown by the CurvePoint list page, ordered by id.
+     * Rows are returned as {@link CurvePointSummary} values, so no entity is loaded or tracked.
+     *
+     * @return one summary per CurvePoint
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.CurvePointSummary(c.id, c.curveId, c.term, c.value) from CurvePoint c order by c.id")
+    List<CurvePointSummary> findAllSummaries();
+
+    /**
+     * Count the CurvePoints per curve, for the dashboard counters.
+     *
+     * @return one total per curve, keyed by its curve identifier
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.DashboardTotal(cast(c.curveId as String), count(c)) from CurvePoint c"
+            + " group by c.curveId")
+    List<DashboardTotal> findDashboardTotals();
 }
@@ -0,0 +1,66 @@
+package com.nnk.springboot.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.Map;
+
+/**
+ * Base class of the repository fragments that update a subset of an entity's columns.
+ * Builds a single UPDATE statement setting only the given attributes and incrementing the
+ * optimistic locking version, guarded by the expected version when one is provided. The entity
+ * is never loaded, so no SELECT and no full-row UPDATE are issued.
+ *
+ * @param <T> the versioned entity type
+ */
+abstract class PartialUpdateSupport<T> {
+    private static final String VERSION_ATTRIBUTE = "version";
+
+    private final Class<T> entityClass;
+    private final String idAttribute;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    protected PartialUpdateSupport(Class<T> entityClass, String idAttribute) {
+        this.entityClass = entityClass;
+        this.idAttribute = idAttribute;
+    }
+
+    /**
+     * Update the given attributes of one entity with a single statement.
+     * Values are converted to the attribute types (e.g. a JSON integer to a Double column).
+     *
+     * @param id the id of the entity to update
+     * @param expectedVersion the version the caller last read, or null to skip the version check
+     * @param changes new values by attribute name; must not be empty
+     * @return the number of rows updated: 0 when the entity does not exist or its version differs
+     */
+    protected int executePartialUpdate(Integer id, Integer expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = update.from(entityClass);
+        changes.forEach((attribute, value) -> {
+            Path<Object> path = root.get(attribute);
+            Object converted = value == null ? null : conversionService.convert(value, path.getJavaType());
+            update.set(path, converted);
+        });
+        Path<Integer> version = root.get(VERSION_ATTRIBUTE);
+        update.set(version, cb.sum(version, 1));
+
+        Predicate where = cb.equal(root.get(idAttribute), id);
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(version, expectedVersion));
+        }
+        update.where(where);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
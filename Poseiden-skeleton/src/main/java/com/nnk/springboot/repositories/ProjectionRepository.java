@@ -0,0 +1,155 @@
+package com.nnk.springboot.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads entities as column projections rather than managed instances.
+ * Only the requested attributes are selected, so narrow views of wide tables neither load
+ * nor hydrate the other columns. Pages are read by keyset on the id (id greater than the
+ * cursor, ordered by id), which stays cheap however deep the client pages.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one page of rows ordered by id.
+     *
+     * @param entityClass the entity to read
+     * @param after only rows with an id greater than this one are returned; null for the first page
+     * @param limit maximum number of rows to return
+     * @param fields attributes to select; empty for all attributes. The id is always selected first.
+     * @return the rows as attribute name to value maps, in id order
+     * @throws IllegalArgumentException if a field is not an attribute of the entity
+     */
+    public <T> List<Map<String, Object>> findPage(Class<T> entityClass, Integer after, int limit,
+                                                  Collection<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        Path<Integer> id = root.get(idAttribute(root.getModel()));
+        query.multiselect(selections(root, fields));
+        if (after != null) {
+            query.where(cb.greaterThan(id, after));
+        }
+        query.orderBy(cb.asc(id));
+        return toMaps(entityManager.createQuery(query).setMaxResults(limit).getResultList());
+    }
+
+    /**
+     * Read a single row by id.
+     *
+     * @param entityClass the entity to read
+     * @param id the id of the row
+     * @param fields attributes to select; empty for all attributes. The id is always selected first.
+     * @return the row as an attribute name to value map, or empty if no row has this id
+     * @throws IllegalArgumentException if a field is not an attribute of the entity
+     */
+    public <T> Optional<Map<String, Object>> findOne(Class<T> entityClass, Integer id, Collection<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(selections(root, fields));
+        query.where(cb.equal(root.get(idAttribute(root.getModel())), id));
+        return toMaps(entityManager.createQuery(query).getResultList()).stream().findFirst();
+    }
+
+    /**
+     * Count the rows per distinct non-null value of one attribute, with a single GROUP BY query.
+     *
+     * @param entityClass the entity to read
+     * @param field the attribute to group by
+     * @return the number of rows by value
+     * @throws IllegalArgumentException if the field is not an attribute of the entity
+     */
+    public <T> Map<Object, Long> countByValue(Class<T> entityClass, String field) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        if (!isAttribute(root.getModel(), field)) {
+            throw new IllegalArgumentException("Unknown field: " + field);
+        }
+        Path<Object> value = root.get(field);
+        query.multiselect(value, cb.count(root)).where(cb.isNotNull(value)).groupBy(value);
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            counts.put(tuple.get(0), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    private static String idAttribute(EntityType<?> type) {
+        return type.getId(type.getIdType().getJavaType()).getName();
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Collection<String> fields) {
+        EntityType<?> type = root.getModel();
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(idAttribute(type));
+        if (fields.isEmpty()) {
+            for (Field field : type.getJavaType().getDeclaredFields()) {
+                if (isAttribute(type, field.getName())) {
+                    attributes.add(field.getName());
+                }
+            }
+        } else {
+            for (String field : fields) {
+                if (!isAttribute(type, field)) {
+                    throw new IllegalArgumentException("Unknown field: " + field);
+                }
+                attributes.add(field);
+            }
+        }
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
+
+    private static boolean isAttribute(EntityType<?> type, String name) {
+        for (SingularAttribute<?, ?> attribute : type.getSingularAttributes()) {
+            if (attribute.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
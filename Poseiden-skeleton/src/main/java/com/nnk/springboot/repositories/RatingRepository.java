@@ -1,8 +1,133 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.DashboardTotal;
+import com.nnk.springboot.dto.RatingNotch;
+import com.nnk.springboot.dto.RatingSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
 
+    /**
+     * Delete every Rating whose id is in the given collection with a single DELETE statement.
+     *
+     * @param ids the ids to delete; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Rating r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Read the columns shown by the Rating list page, ordered by order number then id, the order
+     * of the ix_rating_order index; the column is NOT NULL, so the database reads the index in order.
+     * Rows are returned as {@link RatingSummary} values, so no entity is loaded or tracked.
+     *
+     * @return one summary per Rating
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.RatingSummary(r.id, r.moodysRating, r.sandPRating, r.fitchRating, r.orderNumber, r.notch)"
+            + " from Rating r order by r.orderNumber, r.id")
+    List<RatingSummary> findAllSummaries();
+
+    /**
+     * Read the order number of a Rating.
+     *
+     * @param id the rating id
+     * @return its order number, empty if the rating does not exist
+     */
+    @Query("select r.orderNumber from Rating r where r.id = :id")
+    Optional<Integer> findOrderNumberById(@Param("id") int id);
+
+    /**
+     * @return the greatest order number, or null if there is no Rating
+     */
+    @Query("select max(r.orderNumber) from Rating r")
+    Integer findMaxOrderNumber();
+
+    /**
+     * Find the smallest order number greater than a key, the given Ratings excluded.
+     *
+     * @param key the key
+     * @param excludedIds the Ratings being moved; must not be empty
+     * @return the next key, or null if none is greater
+     */
+    @Query("select min(r.orderNumber) from Rating r where r.orderNumber > :key and r.id not in :excludedIds")
+    Integer findNextOrderNumber(@Param("key") int key, @Param("excludedIds") Collection<Integer> excludedIds);
+
+    /**
+     * Count the Ratings, other than the given ones, sharing an order number.
+     *
+     * @param key the order number
+     * @param excludedIds the Ratings being moved; must not be empty
+     * @return the number of other Ratings with this order number
+     */
+    @Query("select count(r) from Rating r where r.orderNumber = :key and r.id not in :excludedIds")
+    long countByOrderNumber(@Param("key") int key, @Param("excludedIds") Collection<Integer> excludedIds);
+
+    /**
+     * Set the order number of one Rating with a single UPDATE statement.
+     *
+     * @param id the rating id
+     * @param orderNumber the new order number
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Rating r set r.orderNumber = :orderNumber where r.id = :id")
+    int updateOrderNumber(@Param("id") int id, @Param("orderNumber") int orderNumber);
+
+    /**
+     * Read the list page rows of the ratings between two notches, best first. The range and the
+     * order run on the indexed notch column.
+     *
+     * @param best the best notch included
+     * @param worst the worst notch included
+     * @return one summary per Rating in the range, ordered by notch then id
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.RatingSummary(r.id, r.moodysRating, r.sandPRating, r.fitchRating, r.orderNumber, r.notch)"
+            + " from Rating r where r.notch between :best and :worst order by r.notch, r.id")
+    List<RatingSummary> findSummariesByNotchBetween(@Param("best") int best, @Param("worst") int worst);
+
+    /**
+     * Find the ratings stored before the notch column existed, or saved without going through the service.
+     *
+     * @return the ratings without a notch
+     */
+    List<Rating> findByNotchIsNull();
+
+    /**
+     * Count the Ratings per Moody's rating, for the dashboard counters.
+     *
+     * @return one total per Moody's rating
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.DashboardTotal(r.moodysRating, count(r)) from Rating r"
+            + " group by r.moodysRating")
+    List<DashboardTotal> findDashboardTotals();
+
+    /**
+     * Stream the notch of every rated Rating, for the migration snapshots.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @return one row per Rating with a notch
+     */
+    @Query("select new com.nnk.springboot.dto.RatingNotch(r.id, r.notch) from Rating r where r.notch is not null")
+    Stream<RatingNotch> streamNotches();
 }
@@ -1,8 +1,92 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameJson;
+import com.nnk.springboot.dto.RuleNameSummary;
+import com.nnk.springboot.dto.RuleNameTemplate;
+import com.nnk.springboot.dto.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+
+    /**
+     * Delete every RuleName whose id is in the given collection with a single DELETE statement.
+     *
+     * @param ids the ids to delete; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RuleName r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Set the template of every RuleName whose id is in the given collection with a single UPDATE statement.
+     *
+     * @param ids the ids to update; must not be empty
+     * @param template the new template
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update RuleName r set r.template = :template where r.id in :ids")
+    int updateTemplateByIds(@Param("ids") Collection<Integer> ids, @Param("template") String template);
+
+    /**
+     * Read the columns shown by the RuleName list page, ordered by id.
+     * Rows are returned as {@link RuleNameSummary} values, so no entity is loaded or tracked, and the
+     * JSON, template and SQL columns are reduced to presence flags instead of being read.
+     *
+     * @return one summary per RuleName
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.RuleNameSummary(n.id, n.name, n.description,"
+            + " case when length(n.json) > 0 then true else false end,"
+            + " case when length(n.template) > 0 then true else false end,"
+            + " case when length(n.sqlStr) > 0 or length(n.sqlPart) > 0 then true else false end)"
+            + " from RuleName n order by n.id")
+    List<RuleNameSummary> findAllSummaries();
+
+    /**
+     * Stream the searchable text (description and template) of every RuleName.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @return one document per RuleName
+     */
+    @Query("select new com.nnk.springboot.dto.SearchDocument(n.id,"
+            + " concat(coalesce(n.description, ''), ' ', coalesce(n.template, ''))) from RuleName n")
+    Stream<SearchDocument> streamSearchDocuments();
+
+
+    /**
+     * Read the name and json of the RuleNames whose json declares a pre-trade check, ordered by id.
+     *
+     * @return one row per candidate check
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.RuleNameJson(n.id, n.name, n.json) from RuleName n"
+            + " where n.json like '%\"check\"%' order by n.id")
+    List<RuleNameJson> findCheckJson();
+
+    /**
+     * Read the template of every RuleName.
+     *
+     * @return one row per RuleName
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.RuleNameTemplate(n.id, n.template) from RuleName n")
+    List<RuleNameTemplate> findTemplates();
 }
@@ -1,8 +1,135 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.DashboardTotal;
+import com.nnk.springboot.dto.SearchDocument;
+import com.nnk.springboot.dto.TradePosition;
+import com.nnk.springboot.dto.TradeSourceKey;
+import com.nnk.springboot.dto.TradeSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+
+public interface TradeRepository extends JpaRepository<Trade, Integer>, TradeRepositoryCustom {
+
+    /**
+     * Delete every Trade whose id is in the given collection with a single DELETE statement.
+     *
+     * @param ids the ids to delete; must not be empty
+     * @return the number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Trade t where t.tradeId in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Set the status of every Trade whose id is in the given collection with a single UPDATE statement.
+     *
+     * @param ids the ids to update; must not be empty
+     * @param status the new status
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Trade t set t.status = :status, t.version = t.version + 1 where t.tradeId in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Integer> ids, @Param("status") String status);
+
+    /**
+     * Read the columns shown by the Trade list page, ordered by id.
+     * Rows are returned as {@link TradeSummary} values, so no entity is loaded or tracked.
+     *
+     * @return one summary per Trade
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity) from Trade t order by t.tradeId")
+    List<TradeSummary> findAllSummaries();
+
+    /**
+     * Read the columns shown by the Trade list page for one book, ordered by id.
+     *
+     * @param book the book
+     * @return one summary per Trade of the book
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.nnk.springboot.dto.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity) from Trade t where t.book = :book order by t.tradeId")
+    List<TradeSummary> findSummariesByBook(@Param("book") String book);
+
+    /**
+     * Read the trades whose id is greater than the given one, in id order.
+     *
+     * @param tradeId the exclusive lower bound of the ids
+     * @param pageable the first page, whose size bounds the number of rows
+     * @return the matching trades ordered by id
+     */
+    List<Trade> findByTradeIdGreaterThanOrderByTradeIdAsc(Integer tradeId, Pageable pageable);
+
+    /**
+     * Find the trade stored for an upstream key.
+     *
+     * @param sourceListId the source list id
+     * @param account the account
+     * @return the trade, or empty if none has this key
+     */
+    Optional<Trade> findBySourceListIdAndAccount(String sourceListId, String account);
+
+    /**
+     * Stream the upstream keys of every trade that has a source list id.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @return the keys
+     */
+    @Query("select new com.nnk.springboot.dto.TradeSourceKey(t.sourceListId, t.account) from Trade t where t.sourceListId is not null")
+    Stream<TradeSourceKey> streamSourceKeys();
+
+    /**
+     * Stream the searchable text (security and deal name) of every trade.
+     * Must be consumed inside a transaction and closed.
+     *
+     * @return one document per trade
+     */
+    @Query("select new com.nnk.springboot.dto.SearchDocument(t.tradeId,"
+            + " concat(coalesce(t.security, ''), ' ', coalesce(t.dealName, ''))) from Trade t")
+    Stream<SearchDocument> streamSearchDocuments();
+
+    /**
+     * Count the trades of a period and sum their notional per book, for the dashboard counters.
+     * The notional of a trade is its bought quantity times its buy price plus its sold quantity
+     * times its sell price, a missing quantity or price counting for zero.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @return one total per book
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nnk.springboot.dto.DashboardTotal(t.book, count(t),"
+            + " sum(coalesce(t.buyQuantity, 0.0) * coalesce(t.buyPrice, 0.0)"
+            + " + coalesce(t.sellQuantity, 0.0) * coalesce(t.sellPrice, 0.0)))"
+            + " from Trade t where t.tradeDate >= :from and t.tradeDate < :to group by t.book")
+    List<DashboardTotal> findDashboardTotals(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Sum the market value of the trades that are not cancelled per book and benchmark.
+     *
+     * @return one position per book and benchmark
+     */
+    @Query("select new com.nnk.springboot.dto.TradePosition(t.book, t.benchmark,"
+            + " sum(coalesce(t.buyQuantity * t.buyPrice, 0.0) - coalesce(t.sellQuantity * t.sellPrice, 0.0)))"
+            + " from Trade t where t.status is null or t.status <> 'CANCELLED' group by t.book, t.benchmark")
+    List<TradePosition> findPositions();
 }
@@ -0,0 +1,22 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.Trade;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Criteria-based implementation of {@link TradeRepositoryCustom}.
+ */
+class TradeRepositoryCustomImpl extends PartialUpdateSupport<Trade> implements TradeRepositoryCustom {
+
+    TradeRepositoryCustomImpl() {
+        super(Trade.class, "tradeId");
+    }
+
+    @Override
+    @Transactional
+    public int updatePartially(Integer id, Integer expectedVersion, Map<String, Object> changes) {
+        return executePartialUpdate(id, expectedVersion, changes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nnk.springboot.risk;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A shock applied to a curve: the rate change, in basis points, at each tenor of the curve grid.
+ * Between grid tenors the change is interpolated linearly, beyond them it is extended flat.
+ *
+ * @param name the scenario name, e.g. "parallel +25bp"
+ * @param shiftsBp the rate change at each grid tenor, in basis points; one value per grid tenor
+ */
+public record CurveShock(String name, double[] shiftsBp) {
+
+    /**
+     * @param grid the curve tenors, in years, ascending
+     * @param bp the shift of every tenor
+     * @return the same shift at every tenor
+     */
+    public static CurveShock parallel(double[] grid, double bp) {
+        double[] shifts = new double[grid.length];
+        Arrays.fill(shifts, bp);
+        return new CurveShock(String.format(Locale.ROOT, "parallel %+.0fbp", bp), shifts);
+    }
+
+    /**
+     * A rotation around a pivot tenor: each tenor moves by bp times its distance to the pivot divided
+     * by the span of the grid, so tenors after the pivot move one way and tenors before it the other.
+     * A positive bp steepens the curve, a negative one flattens it.
+     *
+     * @param grid the curve tenors, in years, ascending
+     * @param pivot the tenor left unchanged, in years
+     * @param bp the shift of the longest tenor relative to the pivot
+     * @return the twist
+     */
+    public static CurveShock twist(double[] grid, double pivot, double bp) {
+        double span = grid.length > 1 ? grid[grid.length - 1] - grid[0] : 1;
+        double[] shifts = new double[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            shifts[i] = bp * (grid[i] - pivot) / span;
+        }
+        return new CurveShock(String.format(Locale.ROOT, "twist %sy %+.0fbp", years(pivot), bp), shifts);
+    }
+
+    /**
+     * A key-rate bump: one grid tenor moves, the change fading linearly to zero at its neighbours.
+     *
+     * @param grid the curve tenors, in years, ascending
+     * @param index the position of the bumped tenor in the grid
+     * @param bp the shift of that tenor
+     * @return the bump
+     */
+    public static CurveShock bump(double[] grid, int index, double bp) {
+        double[] shifts = new double[grid.length];
+        shifts[index] = bp;
+        return new CurveShock(String.format(Locale.ROOT, "bump %sy %+.0fbp", years(grid[index]), bp), shifts);
+    }
+
+    /**
+     * The scenario set run by risk: parallel shifts from -300bp to +300bp by 10bp, steepeners and
+     * flatteners of 25, 50, 100 and 200bp around the 2, 5 and 10 year tenors, and bumps of 1, 10,
+     * 25 and 100bp in both directions at every grid tenor.
+     *
+     * @param grid the curve tenors, in years, ascending
+     * @return the scenarios
+     */
+    public static List<CurveShock> standardSet(double[] grid) {
+        List<CurveShock> shocks = new ArrayList<>();
+        for (int bp = -300; bp <= 300; bp += 10) {
+            shocks.add(parallel(grid, bp));
+        }
+        for (double pivot : new double[]{2, 5, 10}) {
+            for (double bp : new double[]{25, 50, 100, 200}) {
+                shocks.add(twist(grid, pivot, bp));
+                shocks.add(twist(grid, pivot, -bp));
+            }
+        }
+        for (int i = 0; i < grid.length; i++) {
+            for (double bp : new double[]{1, 10, 25, 100}) {
+                shocks.add(bump(grid, i, bp));
+                shocks.add(bump(grid, i, -bp));
+            }
+        }
+        return shocks;
+    }
+
+    private static String years(double tenor) {
+        return BigDecimal.valueOf(tenor).stripTrailingZeros().toPlainString();
+    }
+}
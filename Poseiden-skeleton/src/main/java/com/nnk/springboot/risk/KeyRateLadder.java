@@ -0,0 +1,71 @@
+package com.nnk.springboot.risk;
+
+/**
+ * Key-rate DV01: the value change of each book when a single grid tenor of the curve is bumped by
+ * {@value #BUMP_BP}bp, the bump fading linearly to zero at the neighbouring tenors as in
+ * {@link CurveShock#bump}.
+ *
+ * <p>Under the zero-coupon model of the {@link ScenarioEngine} a position only sees the bumps of
+ * the one or two grid tenors around its own tenor. So instead of one full revaluation per bucket,
+ * the exact revaluation factor of those two bumps is computed once per distinct tenor, then a
+ * single pass over the positions adds each of them to at most two buckets of its book. The ladder
+ * costs about one scenario whatever the number of buckets.
+ */
+public final class KeyRateLadder {
+    static final double BUMP_BP = 1;
+
+    private KeyRateLadder() {
+    }
+
+    /**
+     * Compute the DV01 ladder of every book.
+     *
+     * @param grid the curve tenors, in years, strictly ascending; must not be empty
+     * @param ratesPercent the base rate at each grid tenor, in percent
+     * @param portfolio the positions
+     * @return one row per book, in the order of {@link Portfolio#books()}, and one column per grid
+     *         tenor: the value change for a +1bp bump of that tenor
+     * @throws IllegalArgumentException if the grid is empty or the sizes do not match
+     */
+    public static double[][] byBook(double[] grid, double[] ratesPercent, Portfolio portfolio) {
+        TenorGrid.check(grid, ratesPercent);
+        TenorGrid tenors = new TenorGrid(grid, ratesPercent, portfolio);
+        int count = portfolio.tenorCount();
+        double[] lowerFactor = new double[count];
+        double[] upperFactor = new double[count];
+        for (int t = 0; t < count; t++) {
+            double w = tenors.weight[t];
+            lowerFactor[t] = factor(tenors.baseRate[t], (1 - w) * BUMP_BP, tenors.years[t]);
+            upperFactor[t] = w == 0 ? 0 : factor(tenors.baseRate[t], w * BUMP_BP, tenors.years[t]);
+        }
+        double[][] ladder = new double[portfolio.books().size()][grid.length];
+        for (int p = 0; p < portfolio.size(); p++) {
+            int t = portfolio.tenorIndex(p);
+            double[] row = ladder[portfolio.book(p)];
+            double value = portfolio.value(p);
+            row[tenors.lower[t]] += value * lowerFactor[t];
+            if (upperFactor[t] != 0) {
+                row[tenors.lower[t] + 1] += value * upperFactor[t];
+            }
+        }
+        return ladder;
+    }
+
+    /**
+     * Compute the DV01 ladder of a single trade.
+     *
+     * @param grid the curve tenors, in years, strictly ascending; must not be empty
+     * @param ratesPercent the base rate at each grid tenor, in percent
+     * @param tenor the tenor of the trade, in years
+     * @param value the signed market value of the trade
+     * @return the value change for a +1bp bump of each grid tenor
+     * @throws IllegalArgumentException if the grid is empty, the sizes do not match or the tenor is negative
+     */
+    public static double[] of(double[] grid, double[] ratesPercent, double tenor, double value) {
+        return byBook(grid, ratesPercent, Portfolio.builder().add(null, tenor, value).build())[0];
+    }
+
+    private static double factor(double rate, double shiftBp, double years) {
+        return Math.pow((1 + rate) / (1 + rate + shiftBp / 10_000), years) - 1;
+    }
+}
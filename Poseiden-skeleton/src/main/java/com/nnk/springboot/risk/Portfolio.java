@@ -0,0 +1,138 @@
+package com.nnk.springboot.risk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions to revalue, held in primitive arrays: the net market value of each (book, tenor) pair.
+ * Trades of the same book and tenor react identically to a curve shock, so they are summed into
+ * one position when added. Books and tenors are numbered in order of first appearance.
+ */
+public final class Portfolio {
+    private final List<String> books;
+    private final double[] tenors;
+    private final int[] positionBook;
+    private final int[] positionTenor;
+    private final double[] positionValue;
+
+    private Portfolio(List<String> books, double[] tenors, int[] positionBook, int[] positionTenor,
+                      double[] positionValue) {
+        this.books = books;
+        this.tenors = tenors;
+        this.positionBook = positionBook;
+        this.positionTenor = positionTenor;
+        this.positionValue = positionValue;
+    }
+
+    /**
+     * @return a builder of an empty portfolio
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the books, the index of a book being its column in the P&L matrix
+     */
+    public List<String> books() {
+        return books;
+    }
+
+    /**
+     * @return the number of distinct tenors
+     */
+    public int tenorCount() {
+        return tenors.length;
+    }
+
+    /**
+     * @param index a tenor index
+     * @return the tenor in years
+     */
+    public double tenor(int index) {
+        return tenors[index];
+    }
+
+    /**
+     * @return the number of positions
+     */
+    public int size() {
+        return positionValue.length;
+    }
+
+    int book(int position) {
+        return positionBook[position];
+    }
+
+    int tenorIndex(int position) {
+        return positionTenor[position];
+    }
+
+    double value(int position) {
+        return positionValue[position];
+    }
+
+    /**
+     * Accumulates trades into positions. Not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> books = new LinkedHashMap<>();
+        private final Map<Double, Integer> tenors = new LinkedHashMap<>();
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final List<Integer> positionBook = new ArrayList<>();
+        private final List<Integer> positionTenor = new ArrayList<>();
+        private final List<Double> positionValue = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add the market value of a trade to the position of its book and tenor.
+         *
+         * @param book the book; null is a book of its own
+         * @param tenor the tenor of the position, in years; must not be negative
+         * @param value the signed market value, positive for a long position
+         * @return this builder
+         * @throws IllegalArgumentException if the tenor is negative or not a number
+         */
+        public Builder add(String book, double tenor, double value) {
+            if (!(tenor >= 0)) {
+                throw new IllegalArgumentException("Tenor must not be negative");
+            }
+            int bookIndex = books.computeIfAbsent(book == null ? "" : book, key -> books.size());
+            int tenorIndex = tenors.computeIfAbsent(tenor, key -> tenors.size());
+            long key = (long) bookIndex << 32 | tenorIndex;
+            Integer position = positions.get(key);
+            if (position == null) {
+                positions.put(key, positionValue.size());
+                positionBook.add(bookIndex);
+                positionTenor.add(tenorIndex);
+                positionValue.add(value);
+            } else {
+                positionValue.set(position, positionValue.get(position) + value);
+            }
+            return this;
+        }
+
+        /**
+         * @return the portfolio of the positions added so far
+         */
+        public Portfolio build() {
+            double[] tenorValues = new double[tenors.size()];
+            tenors.forEach((tenor, index) -> tenorValues[index] = tenor);
+            int size = positionValue.size();
+            int[] bookOf = new int[size];
+            int[] tenorOf = new int[size];
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                bookOf[i] = positionBook.get(i);
+                tenorOf[i] = positionTenor.get(i);
+                values[i] = positionValue.get(i);
+            }
+            return new Portfolio(List.copyOf(books.keySet()), tenorValues, bookOf, tenorOf, values);
+        }
+    }
+}
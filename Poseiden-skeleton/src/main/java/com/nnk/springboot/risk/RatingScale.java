@@ -0,0 +1,118 @@
+package com.nnk.springboot.risk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Common numeric scale of the Moody's, S&P and Fitch ratings: one notch per grade, from
+ * {@value #BEST} for AAA / Aaa to {@value #WORST} for an issuer in default. Grades up to
+ * {@value #INVESTMENT_GRADE} (BBB- / Baa3) are investment grade.
+ *
+ * <p>The agency symbols are mapped once into lookup tables, so a rating is compared, sorted and
+ * filtered on its notch instead of on strings whose alphabetical order means nothing.
+ */
+public final class RatingScale {
+    public static final int BEST = 1;
+    public static final int INVESTMENT_GRADE = 10;
+    public static final int WORST = 22;
+
+    private static final List<String> LETTERS = List.of("AAA", "AA+", "AA", "AA-", "A+", "A", "A-", "BBB+", "BBB",
+            "BBB-", "BB+", "BB", "BB-", "B+", "B", "B-", "CCC+", "CCC", "CCC-", "CC", "C", "D");
+    private static final List<String> MOODYS = List.of("AAA", "AA1", "AA2", "AA3", "A1", "A2", "A3", "BAA1", "BAA2",
+            "BAA3", "BA1", "BA2", "BA3", "B1", "B2", "B3", "CAA1", "CAA2", "CAA3", "CA", "C");
+
+    private static final Map<String, Integer> MOODYS_NOTCHES = notches(MOODYS);
+    private static final Map<String, Integer> SANDP_NOTCHES = notches(LETTERS, "SD");
+    private static final Map<String, Integer> FITCH_NOTCHES = notches(LETTERS, "RD");
+
+    private RatingScale() {
+    }
+
+    /**
+     * @param rating a Moody's rating, e.g. Baa2; case and surrounding blanks are ignored
+     * @return its notch, or null if it is not a Moody's grade (NR, WR, blank...)
+     */
+    public static Integer moodys(String rating) {
+        return lookup(MOODYS_NOTCHES, rating);
+    }
+
+    /**
+     * @param rating an S&P rating, e.g. BBB or SD
+     * @return its notch, or null if it is not an S&P grade
+     */
+    public static Integer sandP(String rating) {
+        return lookup(SANDP_NOTCHES, rating);
+    }
+
+    /**
+     * @param rating a Fitch rating, e.g. BBB or RD
+     * @return its notch, or null if it is not a Fitch grade
+     */
+    public static Integer fitch(String rating) {
+        return lookup(FITCH_NOTCHES, rating);
+    }
+
+    /**
+     * Combine the three agency ratings into one notch: the only rating if there is one, the worse
+     * of two, and the second best of three.
+     *
+     * @param moodys the Moody's rating
+     * @param sandP the S&P rating
+     * @param fitch the Fitch rating
+     * @return the combined notch, or null if none of the ratings is a known grade
+     */
+    public static Integer notch(String moodys, String sandP, String fitch) {
+        int[] notches = Arrays.stream(new Integer[]{moodys(moodys), sandP(sandP), fitch(fitch)})
+                .filter(notch -> notch != null).mapToInt(Integer::intValue).sorted().toArray();
+        return notches.length == 0 ? null : notches[Math.min(1, notches.length - 1)];
+    }
+
+    /**
+     * @param grade a grade of any of the three agencies, e.g. BBB- or Baa3
+     * @return its notch, or null if no agency uses it
+     */
+    public static Integer parse(String grade) {
+        Integer notch = sandP(grade);
+        if (notch == null) {
+            notch = fitch(grade);
+        }
+        return notch != null ? notch : moodys(grade);
+    }
+
+    /**
+     * @param notch a notch of the scale
+     * @return its S&P style label, e.g. BBB- for 10
+     * @throws IllegalArgumentException if the notch is outside the scale
+     */
+    public static String label(int notch) {
+        if (notch < BEST || notch > WORST) {
+            throw new IllegalArgumentException("Notch out of scale: " + notch);
+        }
+        return LETTERS.get(notch - 1);
+    }
+
+    /**
+     * @return the S&P style labels of every notch, best first
+     */
+    public static List<String> labels() {
+        return LETTERS;
+    }
+
+    private static Map<String, Integer> notches(List<String> grades, String... defaults) {
+        Map<String, Integer> notches = new HashMap<>();
+        for (int i = 0; i < grades.size(); i++) {
+            notches.put(grades.get(i), i + 1);
+        }
+        for (String grade : defaults) {
+            notches.put(grade, WORST);
+        }
+        return Map.copyOf(notches);
+    }
+
+    private static Integer lookup(Map<String, Integer> notches, String rating) {
+        return rating == null ? null : notches.get(rating.trim().toUpperCase(Locale.ROOT));
+    }
+}
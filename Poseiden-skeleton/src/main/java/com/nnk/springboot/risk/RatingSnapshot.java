@@ -0,0 +1,36 @@
+package com.nnk.springboot.risk;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The notch of every rated entity at a date, held in two parallel primitive arrays sorted by id so
+ * that two snapshots are compared in a single merge pass.
+ *
+ * @param takenAt the date of the snapshot
+ * @param ids the rating ids, ascending
+ * @param notches the notch of each id on the {@link RatingScale}
+ */
+public record RatingSnapshot(LocalDateTime takenAt, int[] ids, byte[] notches) {
+
+    /**
+     * @param takenAt the date of the snapshot
+     * @param notches the notch of each rating id
+     * @return the snapshot of the given notches
+     */
+    public static RatingSnapshot of(LocalDateTime takenAt, Map<Integer, Integer> notches) {
+        int[] ids = notches.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        byte[] values = new byte[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = notches.get(ids[i]).byteValue();
+        }
+        return new RatingSnapshot(takenAt, ids, values);
+    }
+
+    /**
+     * @return the number of rated entities
+     */
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,122 @@
+package com.nnk.springboot.risk;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Revalues a {@link Portfolio} under many {@link CurveShock}s in parallel on a dedicated
+ * fork-join pool and returns the P&L of every book in every scenario.
+ *
+ * <p>Each position is priced as a zero-coupon bond on the base curve: with r the annually
+ * compounded base rate at its tenor T and s the shock at that tenor, its market value V becomes
+ * V * ((1 + r) / (1 + r + s))^T. Rates are interpolated linearly on the curve and extended flat.
+ *
+ * <p>Scenarios are split recursively into chunks of {@value #CHUNK} scenarios. For each scenario a
+ * worker first computes the revaluation factor of every distinct tenor, one power per tenor, into
+ * a buffer it allocated once and reuses for every later scenario and run, then adds the P&L of
+ * each position to the row of the scenario. Rows are written by one worker only, so no
+ * synchronization is needed.
+ */
+public final class ScenarioEngine {
+    static final int CHUNK = 4;
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<double[]> factorBuffers = ThreadLocal.withInitial(() -> new double[0]);
+
+    /**
+     * @param parallelism the number of worker threads; 0 for one per available processor
+     */
+    public ScenarioEngine(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("scenario-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Revalue the portfolio under every shock.
+     *
+     * @param grid the curve tenors, in years, strictly ascending; must not be empty
+     * @param ratesPercent the base rate at each grid tenor, in percent
+     * @param portfolio the positions
+     * @param shocks the scenarios; each has one shift per grid tenor
+     * @return the P&L matrix: one row per scenario, in the order of shocks, and one column per
+     *         book, in the order of {@link Portfolio#books()}
+     * @throws IllegalArgumentException if the grid is empty or the sizes do not match
+     */
+    public double[][] run(double[] grid, double[] ratesPercent, Portfolio portfolio, List<CurveShock> shocks) {
+        TenorGrid.check(grid, ratesPercent);
+        for (CurveShock shock : shocks) {
+            if (shock.shiftsBp().length != grid.length) {
+                throw new IllegalArgumentException("Scenario " + shock.name() + " does not match the curve tenors");
+            }
+        }
+        TenorGrid tenors = new TenorGrid(grid, ratesPercent, portfolio);
+        double[][] pnl = new double[shocks.size()][portfolio.books().size()];
+        pool.invoke(new Chunk(tenors, portfolio, shocks, pnl, 0, shocks.size()));
+        return pnl;
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private final TenorGrid tenors;
+        private final Portfolio portfolio;
+        private final List<CurveShock> shocks;
+        private final double[][] pnl;
+        private final int from;
+        private final int to;
+
+        Chunk(TenorGrid tenors, Portfolio portfolio, List<CurveShock> shocks, double[][] pnl, int from, int to) {
+            this.tenors = tenors;
+            this.portfolio = portfolio;
+            this.shocks = shocks;
+            this.pnl = pnl;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(tenors, portfolio, shocks, pnl, from, middle),
+                        new Chunk(tenors, portfolio, shocks, pnl, middle, to));
+                return;
+            }
+            double[] factors = factorBuffer(portfolio.tenorCount());
+            int positions = portfolio.size();
+            for (int s = from; s < to; s++) {
+                double[] shifts = shocks.get(s).shiftsBp();
+                for (int t = 0; t < tenors.years.length; t++) {
+                    double rate = tenors.baseRate[t];
+                    double shock = tenors.interpolate(shifts, t) / 10_000;
+                    factors[t] = Math.pow((1 + rate) / (1 + rate + shock), tenors.years[t]) - 1;
+                }
+                double[] row = pnl[s];
+                for (int p = 0; p < positions; p++) {
+                    row[portfolio.book(p)] += portfolio.value(p) * factors[portfolio.tenorIndex(p)];
+                }
+            }
+        }
+    }
+
+    private double[] factorBuffer(int size) {
+        double[] buffer = factorBuffers.get();
+        if (buffer.length < size) {
+            buffer = new double[size];
+            factorBuffers.set(buffer);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,64 @@
+package com.nnk.springboot.risk;
+
+/**
+ * Where each distinct tenor of a portfolio falls on the curve grid, and its base rate. A tenor
+ * between two grid tenors takes a linear mix of their values; before the first or after the last
+ * grid tenor it takes the value of that tenor. Computed once per run and shared read-only.
+ */
+final class TenorGrid {
+    final double[] years;
+    final int[] lower;
+    final double[] weight;
+    final double[] baseRate;
+
+    /**
+     * @param grid the curve tenors, in years, strictly ascending; must not be empty
+     * @param ratesPercent the base rate at each grid tenor, in percent
+     * @param portfolio the portfolio whose tenors are placed on the grid
+     */
+    TenorGrid(double[] grid, double[] ratesPercent, Portfolio portfolio) {
+        int count = portfolio.tenorCount();
+        years = new double[count];
+        lower = new int[count];
+        weight = new double[count];
+        baseRate = new double[count];
+        for (int t = 0; t < count; t++) {
+            double tenor = portfolio.tenor(t);
+            years[t] = tenor;
+            int i = 0;
+            while (i < grid.length - 2 && grid[i + 1] < tenor) {
+                i++;
+            }
+            lower[t] = i;
+            if (grid.length == 1) {
+                weight[t] = 0;
+            } else {
+                double w = (tenor - grid[i]) / (grid[i + 1] - grid[i]);
+                weight[t] = Math.max(0, Math.min(1, w));
+            }
+            baseRate[t] = interpolate(ratesPercent, t) / 100;
+        }
+    }
+
+    /**
+     * @param values one value per grid tenor
+     * @param tenor a tenor index of the portfolio
+     * @return the value at that tenor
+     */
+    double interpolate(double[] values, int tenor) {
+        int i = lower[tenor];
+        double w = weight[tenor];
+        return w == 0 ? values[i] : values[i] * (1 - w) + values[i + 1] * w;
+    }
+
+    /**
+     * @param grid the curve tenors
+     * @param ratesPercent the base rates
+     * @throws IllegalArgumentException if the grid is empty or the sizes do not match
+     */
+    static void check(double[] grid, double[] ratesPercent) {
+        if (grid.length == 0 || ratesPercent.length != grid.length) {
+            throw new IllegalArgumentException("The curve needs one rate per tenor and at least one tenor");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.nnk.springboot.risk;
+
+/**
+ * Rating migrations between two snapshots: how many entities rated at each notch in the first
+ * snapshot are rated at each notch in the second. Entities missing from the second snapshot are
+ * counted as withdrawn, entities missing from the first as added.
+ *
+ * @param counts the migrations, indexed [notch - 1 before][notch - 1 after]
+ * @param withdrawn per notch before, the entities no longer rated
+ * @param added per notch after, the entities not rated before
+ */
+public record TransitionMatrix(long[][] counts, long[] withdrawn, long[] added) {
+
+    /**
+     * Count the migrations between two snapshots in one merge pass over their sorted ids.
+     *
+     * @param from the earlier snapshot
+     * @param to the later snapshot
+     * @return the transition matrix
+     */
+    public static TransitionMatrix between(RatingSnapshot from, RatingSnapshot to) {
+        long[][] counts = new long[RatingScale.WORST][RatingScale.WORST];
+        long[] withdrawn = new long[RatingScale.WORST];
+        long[] added = new long[RatingScale.WORST];
+        int[] before = from.ids();
+        int[] after = to.ids();
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < after.length) {
+            if (j == after.length || i < before.length && before[i] < after[j]) {
+                withdrawn[from.notches()[i++] - 1]++;
+            } else if (i == before.length || after[j] < before[i]) {
+                added[to.notches()[j++] - 1]++;
+            } else {
+                counts[from.notches()[i++] - 1][to.notches()[j++] - 1]++;
+            }
+        }
+        return new TransitionMatrix(counts, withdrawn, added);
+    }
+
+    /**
+     * @return per notch before, the share of entities that ended at each notch after, withdrawn
+     *         entities included in the total of their row; a row without entity is all zeros
+     */
+    public double[][] probabilities() {
+        double[][] probabilities = new double[counts.length][counts.length];
+        for (int from = 0; from < counts.length; from++) {
+            long total = withdrawn[from];
+            for (long count : counts[from]) {
+                total += count;
+            }
+            for (int to = 0; to < counts.length && total > 0; to++) {
+                probabilities[from][to] = (double) counts[from][to] / total;
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * @return the number of entities rated better in the second snapshot
+     */
+    public long upgrades() {
+        long upgrades = 0;
+        for (int from = 0; from < counts.length; from++) {
+            for (int to = 0; to < from; to++) {
+                upgrades += counts[from][to];
+            }
+        }
+        return upgrades;
+    }
+
+    /**
+     * @return the number of entities rated worse in the second snapshot
+     */
+    public long downgrades() {
+        long downgrades = 0;
+        for (int from = 0; from < counts.length; from++) {
+            for (int to = from + 1; to < counts.length; to++) {
+                downgrades += counts[from][to];
+            }
+        }
+        return downgrades;
+    }
+
+    /**
+     * @return the number of entities with the same notch in both snapshots
+     */
+    public long unchanged() {
+        long unchanged = 0;
+        for (int notch = 0; notch < counts.length; notch++) {
+            unchanged += counts[notch][notch];
+        }
+        return unchanged;
+    }
+}
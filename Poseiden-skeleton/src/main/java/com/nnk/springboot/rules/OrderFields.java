@@ -0,0 +1,114 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fields of an order that pre-trade checks may test and rule templates may show, as getters
+ * looked up once by name when a check or template is compiled. Text fields are listed from the
+ * most to the least selective: a check is indexed by the first of them it is scoped on. Ids and
+ * dates, comments and audit fields can only be shown.
+ *
+ * @param <T> the order entity
+ */
+public final class OrderFields<T> {
+    /** The fields of a Trade. */
+    public static final OrderFields<Trade> TRADE = new OrderFields<Trade>("trade")
+            .text("account", Trade::getAccount).text("security", Trade::getSecurity)
+            .text("sourceListId", Trade::getSourceListId).text("dealName", Trade::getDealName)
+            .text("trader", Trade::getTrader).text("book", Trade::getBook).text("benchmark", Trade::getBenchmark)
+            .text("type", Trade::getType).text("dealType", Trade::getDealType).text("status", Trade::getStatus)
+            .text("side", Trade::getSide)
+            .number("buyQuantity", Trade::getBuyQuantity).number("sellQuantity", Trade::getSellQuantity)
+            .number("buyPrice", Trade::getBuyPrice).number("sellPrice", Trade::getSellPrice)
+            .other("tradeId", Trade::getTradeId).other("tradeDate", Trade::getTradeDate)
+            .other("creationName", Trade::getCreationName).other("creationDate", Trade::getCreationDate)
+            .other("revisionName", Trade::getRevisionName).other("revisionDate", Trade::getRevisionDate);
+
+    /** The fields of a BidList. */
+    public static final OrderFields<BidList> BID_LIST = new OrderFields<BidList>("bid")
+            .text("account", BidList::getAccount).text("security", BidList::getSecurity)
+            .text("sourceListId", BidList::getSourceListId).text("dealName", BidList::getDealName)
+            .text("trader", BidList::getTrader).text("book", BidList::getBook).text("benchmark", BidList::getBenchmark)
+            .text("type", BidList::getType).text("dealType", BidList::getDealType).text("status", BidList::getStatus)
+            .text("side", BidList::getSide)
+            .number("bidQuantity", BidList::getBidQuantity).number("askQuantity", BidList::getAskQuantity)
+            .number("bid", BidList::getBid).number("ask", BidList::getAsk)
+            .other("id", BidList::getId).other("bidListDate", BidList::getBidListDate)
+            .other("commentary", BidList::getCommentary)
+            .other("creationName", BidList::getCreationName).other("creationDate", BidList::getCreationDate)
+            .other("revisionName", BidList::getRevisionName).other("revisionDate", BidList::getRevisionDate);
+
+    private final String kind;
+    private final Map<String, Function<T, String>> texts = new LinkedHashMap<>();
+    private final Map<String, Function<T, Double>> numbers = new LinkedHashMap<>();
+    private final Map<String, Function<T, Object>> others = new LinkedHashMap<>();
+
+    private OrderFields(String kind) {
+        this.kind = kind;
+    }
+
+    private OrderFields<T> text(String name, Function<T, String> getter) {
+        texts.put(name, getter);
+        return this;
+    }
+
+    private OrderFields<T> number(String name, Function<T, Double> getter) {
+        numbers.put(name, getter);
+        return this;
+    }
+
+    private OrderFields<T> other(String name, Function<T, Object> getter) {
+        others.put(name, getter);
+        return this;
+    }
+
+    /**
+     * @return the name of the order kind in check rules: "trade" or "bid"
+     */
+    public String kind() {
+        return kind;
+    }
+
+    /**
+     * @return the names of the text fields, from the most to the least selective
+     */
+    public List<String> textFields() {
+        return List.copyOf(texts.keySet());
+    }
+
+    Function<T, String> text(String name) {
+        Function<T, String> getter = texts.get(name);
+        if (getter == null) {
+            throw new IllegalArgumentException("A " + kind + " has no text field " + name);
+        }
+        return getter;
+    }
+
+    Function<T, Double> number(String name) {
+        Function<T, Double> getter = numbers.get(name);
+        if (getter == null) {
+            throw new IllegalArgumentException("A " + kind + " has no numeric field " + name);
+        }
+        return getter;
+    }
+
+    Function<T, ?> value(String name) {
+        if (texts.containsKey(name)) {
+            return texts.get(name);
+        }
+        if (numbers.containsKey(name)) {
+            return numbers.get(name);
+        }
+        Function<T, Object> getter = others.get(name);
+        if (getter == null) {
+            throw new IllegalArgumentException("A " + kind + " has no field " + name);
+        }
+        return getter;
+    }
+}
@@ -0,0 +1,224 @@
+package com.nnk.springboot.rules;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A pre-trade check compiled from the json of a RuleName, for one kind of order. The json holds
+ * the kind of order checked, text fields scoping the check, and the constraints:
+ * <pre>
+ * {"check": "trade", "account": "ACC-1", "max": {"buyQuantity": 1000000}}
+ * {"check": "any", "book": "FX-LDN", "forbid": {"security": ["XYZ", "ABC"]}}
+ * </pre>
+ * "check" is trade, bid or any; every other text member scopes the check to the orders with that
+ * value. "max" and "min" bound numeric fields, "forbid" lists forbidden values of text fields. A
+ * field without a value passes its constraint.
+ *
+ * <p>The field names are resolved to getters when the check is compiled, so evaluating an order
+ * only calls getters and compares values.
+ *
+ * @param <T> the order entity
+ */
+public final class PreTradeCheck<T> {
+    private static final Set<String> KEYWORDS = Set.of("check", "max", "min", "forbid");
+
+    private final int ruleId;
+    private final String name;
+    private final List<Scope<T>> scopes;
+    private final List<Limit<T>> limits;
+    private final List<Forbidden<T>> forbidden;
+
+    private record Scope<T>(String field, Function<T, String> getter, String value) {
+    }
+
+    private record Limit<T>(String field, Function<T, Double> getter, double min, double max) {
+    }
+
+    private record Forbidden<T>(String field, Function<T, String> getter, Set<String> values) {
+    }
+
+    private PreTradeCheck(int ruleId, String name, List<Scope<T>> scopes, List<Limit<T>> limits,
+                          List<Forbidden<T>> forbidden) {
+        this.ruleId = ruleId;
+        this.name = name;
+        this.scopes = scopes;
+        this.limits = limits;
+        this.forbidden = forbidden;
+    }
+
+    /**
+     * @param json the json of a RuleName
+     * @return true if it is an object with a "check" member, i.e. a pre-trade check
+     */
+    public static boolean isCheck(JsonNode json) {
+        return json != null && json.isObject() && json.has("check");
+    }
+
+    /**
+     * @param json the json of a pre-trade check
+     * @param fields the fields of a kind of order
+     * @return true if the check applies to that kind of order
+     */
+    public static boolean appliesTo(JsonNode json, OrderFields<?> fields) {
+        String kind = json.path("check").asText();
+        return kind.equals("any") || kind.equals(fields.kind());
+    }
+
+    /**
+     * Compile a pre-trade check.
+     *
+     * @param ruleId the id of the RuleName
+     * @param name the name of the RuleName, used in violation messages
+     * @param json the json of the RuleName
+     * @param fields the fields of the kind of order to check
+     * @return the compiled check
+     * @throws IllegalArgumentException if a field is unknown, a value has the wrong type or the check has no constraint
+     */
+    public static <T> PreTradeCheck<T> compile(int ruleId, String name, JsonNode json, OrderFields<T> fields) {
+        if (!isCheck(json)) {
+            throw new IllegalArgumentException("Not a pre-trade check");
+        }
+        String kind = json.path("check").asText();
+        if (!kind.equals("trade") && !kind.equals("bid") && !kind.equals("any")) {
+            throw new IllegalArgumentException("check must be trade, bid or any");
+        }
+        List<Scope<T>> scopes = new ArrayList<>();
+        List<Limit<T>> limits = new ArrayList<>();
+        List<Forbidden<T>> forbidden = new ArrayList<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = json.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> member = it.next();
+            if (KEYWORDS.contains(member.getKey())) {
+                continue;
+            }
+            if (!member.getValue().isTextual()) {
+                throw new IllegalArgumentException("The scope " + member.getKey() + " must be a text");
+            }
+            scopes.add(new Scope<>(member.getKey(), fields.text(member.getKey()), member.getValue().asText()));
+        }
+        for (Map.Entry<String, JsonNode> bound : members(json, "max")) {
+            limits.add(new Limit<>(bound.getKey(), fields.number(bound.getKey()), Double.NEGATIVE_INFINITY,
+                    number(bound)));
+        }
+        for (Map.Entry<String, JsonNode> bound : members(json, "min")) {
+            limits.add(new Limit<>(bound.getKey(), fields.number(bound.getKey()), number(bound),
+                    Double.POSITIVE_INFINITY));
+        }
+        for (Map.Entry<String, JsonNode> values : members(json, "forbid")) {
+            Set<String> set = new HashSet<>();
+            if (values.getValue().isArray()) {
+                values.getValue().forEach(value -> set.add(value.asText()));
+            } else {
+                set.add(values.getValue().asText());
+            }
+            forbidden.add(new Forbidden<>(values.getKey(), fields.text(values.getKey()), Set.copyOf(set)));
+        }
+        if (limits.isEmpty() && forbidden.isEmpty()) {
+            throw new IllegalArgumentException("A check needs a max, min or forbid constraint");
+        }
+        return new PreTradeCheck<>(ruleId, name, List.copyOf(scopes), List.copyOf(limits), List.copyOf(forbidden));
+    }
+
+    private static List<Map.Entry<String, JsonNode>> members(JsonNode json, String keyword) {
+        JsonNode node = json.get(keyword);
+        if (node == null) {
+            return List.of();
+        }
+        if (!(node instanceof ObjectNode)) {
+            throw new IllegalArgumentException(keyword + " must be an object of fields");
+        }
+        List<Map.Entry<String, JsonNode>> members = new ArrayList<>();
+        node.fields().forEachRemaining(members::add);
+        return members;
+    }
+
+    private static double number(Map.Entry<String, JsonNode> bound) {
+        if (!bound.getValue().isNumber()) {
+            throw new IllegalArgumentException("The bound of " + bound.getKey() + " must be a number");
+        }
+        return bound.getValue().asDouble();
+    }
+
+    /**
+     * @return the id of the RuleName
+     */
+    public int ruleId() {
+        return ruleId;
+    }
+
+    /**
+     * Check an order.
+     *
+     * @param order the order
+     * @return why the order breaks the check, or null if it is out of scope or passes
+     */
+    public String violation(T order) {
+        for (int i = 0; i < scopes.size(); i++) {
+            Scope<T> scope = scopes.get(i);
+            if (!scope.value().equals(scope.getter().apply(order))) {
+                return null;
+            }
+        }
+        for (int i = 0; i < forbidden.size(); i++) {
+            Forbidden<T> rule = forbidden.get(i);
+            String value = rule.getter().apply(order);
+            if (value != null && rule.values().contains(value)) {
+                return name + ": " + rule.field() + " " + value + " is forbidden";
+            }
+        }
+        for (int i = 0; i < limits.size(); i++) {
+            Limit<T> limit = limits.get(i);
+            Double value = limit.getter().apply(order);
+            if (value != null && value > limit.max()) {
+                return name + ": " + limit.field() + " " + plain(value) + " exceeds " + plain(limit.max());
+            }
+            if (value != null && value < limit.min()) {
+                return name + ": " + limit.field() + " " + plain(value) + " is below " + plain(limit.min());
+            }
+        }
+        return null;
+    }
+
+    private static String plain(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * The field whose value selects this check, for indexing: the first scoped field in the order
+     * of the given fields, or the forbidden field of a check that only forbids values of one field.
+     *
+     * @param textFields the text fields, from the most to the least selective
+     * @return the field, or null if every order must be checked
+     */
+    String indexField(List<String> textFields) {
+        for (String field : textFields) {
+            for (Scope<T> scope : scopes) {
+                if (scope.field().equals(field)) {
+                    return field;
+                }
+            }
+        }
+        return scopes.isEmpty() && limits.isEmpty() && forbidden.size() == 1 ? forbidden.get(0).field() : null;
+    }
+
+    /**
+     * @param field the index field of this check
+     * @return the values of that field selecting this check
+     */
+    Set<String> indexValues(String field) {
+        for (Scope<T> scope : scopes) {
+            if (scope.field().equals(field)) {
+                return Set.of(scope.value());
+            }
+        }
+        return forbidden.get(0).values();
+    }
+}
@@ -0,0 +1,22 @@
+package com.nnk.springboot.rules;
+
+import java.util.List;
+
+/**
+ * Thrown when an order breaks one or more pre-trade checks; nothing was saved.
+ */
+public class PreTradeCheckException extends RuntimeException {
+    private final transient List<String> violations;
+
+    public PreTradeCheckException(List<String> violations) {
+        super(String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return why the order was rejected, one message per broken check
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,88 @@
+package com.nnk.springboot.rules;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An immutable set of pre-trade checks for one kind of order, indexed by the fields they test.
+ * Each check is filed under one value of one text field (see {@link PreTradeCheck#indexField}),
+ * so an order only meets the checks filed under its own values plus those that apply to every
+ * order: thousands of checks scoped on accounts, books or securities cost a few map lookups.
+ *
+ * @param <T> the order entity
+ */
+public final class PreTradeRuleBook<T> {
+    private final List<Function<T, String>> indexGetters = new ArrayList<>();
+    private final List<Map<String, List<PreTradeCheck<T>>>> indexes = new ArrayList<>();
+    private final List<PreTradeCheck<T>> unindexed = new ArrayList<>();
+    private final int size;
+
+    /**
+     * @param fields the fields of the kind of order
+     * @param checks the checks compiled for that kind
+     */
+    public PreTradeRuleBook(OrderFields<T> fields, Collection<PreTradeCheck<T>> checks) {
+        List<String> textFields = fields.textFields();
+        Map<String, Map<String, List<PreTradeCheck<T>>>> byField = new HashMap<>();
+        for (PreTradeCheck<T> check : checks) {
+            String field = check.indexField(textFields);
+            if (field == null) {
+                unindexed.add(check);
+                continue;
+            }
+            Map<String, List<PreTradeCheck<T>>> index = byField.computeIfAbsent(field, key -> new HashMap<>());
+            for (String value : check.indexValues(field)) {
+                index.computeIfAbsent(value, key -> new ArrayList<>()).add(check);
+            }
+        }
+        for (String field : textFields) {
+            if (byField.containsKey(field)) {
+                indexGetters.add(fields.text(field));
+                indexes.add(byField.get(field));
+            }
+        }
+        this.size = checks.size();
+    }
+
+    /**
+     * @return the number of checks
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Run the checks that can apply to an order.
+     *
+     * @param order the order
+     * @return the violation messages, in no particular order; empty if the order passes
+     */
+    public List<String> violations(T order) {
+        List<String> violations = List.of();
+        for (int i = 0; i < indexes.size(); i++) {
+            String value = indexGetters.get(i).apply(order);
+            List<PreTradeCheck<T>> candidates = value == null ? null : indexes.get(i).get(value);
+            if (candidates != null) {
+                violations = check(candidates, order, violations);
+            }
+        }
+        return check(unindexed, order, violations);
+    }
+
+    private static <T> List<String> check(List<PreTradeCheck<T>> checks, T order, List<String> violations) {
+        for (int i = 0; i < checks.size(); i++) {
+            String violation = checks.get(i).violation(order);
+            if (violation != null) {
+                if (violations.isEmpty()) {
+                    violations = new ArrayList<>();
+                }
+                violations.add(violation);
+            }
+        }
+        return violations;
+    }
+}
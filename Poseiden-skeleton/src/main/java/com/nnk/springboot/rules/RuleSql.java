@@ -0,0 +1,215 @@
+package com.nnk.springboot.rules;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The SQL of a rule, validated as a single read-only SELECT over the application tables and
+ * compiled into a JDBC statement: each named parameter (:status) becomes a ? placeholder.
+ *
+ * <p>Validation is lexical and deliberately strict: comments, statement separators, data and
+ * schema changing keywords, TABLE and VALUES, file and server functions, functions running SQL
+ * held in a string (query_to_xml and the other *_to_xml functions, dblink), qualified names and
+ * tables outside the allowed set are refused, so that a rule can only read the rows the
+ * application shows anyway. Quoted identifiers are checked like plain words, and Unicode escaped
+ * ones (U&"...") are refused. The database should enforce the same limit, see
+ * RuleExecutionService.
+ *
+ * @param jdbcSql the statement with ? placeholders
+ * @param parameters the parameter name of each placeholder, in order; a name may repeat
+ * @param tables the tables read, in lower case
+ * @param aggregates true when the statement aggregates rows (aggregate or window function,
+ *        GROUP BY, HAVING or DISTINCT), so that running it on parts of a table gives partial rows
+ */
+public record RuleSql(String jdbcSql, List<String> parameters, Set<String> tables, boolean aggregates) {
+    private static final Set<String> FORBIDDEN = Set.of("insert", "update", "delete", "merge", "upsert", "replace",
+            "drop", "alter", "create", "truncate", "grant", "revoke", "call", "exec", "execute", "copy", "into",
+            "lock", "set", "runscript", "script", "shutdown", "backup", "file_read", "file_write", "csvread",
+            "csvwrite", "link_schema", "pg_read_file", "pg_read_binary_file", "pg_ls_dir", "pg_sleep", "sleep",
+            "lo_import", "lo_export", "dblink", "table", "values", "set_config", "current_setting", "java_object");
+    /** Function families of PostgreSQL that run SQL given as a string, or reach the server or its files. */
+    private static final List<String> FORBIDDEN_PREFIXES = List.of("pg_", "lo_", "dblink", "query_to_", "cursor_to_",
+            "table_to_", "schema_to_", "database_to_");
+    private static final Set<String> AGGREGATES = Set.of("count", "sum", "avg", "min", "max", "group", "having",
+            "distinct", "over", "string_agg", "array_agg", "listagg", "every", "bool_and", "bool_or", "stddev",
+            "stddev_pop", "stddev_samp", "variance", "var_pop", "var_samp", "median", "mode", "percentile_cont",
+            "percentile_disc");
+    private static final Set<String> CLAUSES = Set.of("where", "join", "inner", "left", "right", "full", "cross",
+            "natural", "on", "using", "group", "order", "having", "limit", "offset", "fetch", "union", "intersect",
+            "except", "minus", "window", "qualify");
+
+    /**
+     * Validate and compile a rule statement.
+     *
+     * @param sql the statement, e.g. "select book, count(*) from trade where status = :status group by book"
+     * @param allowedTables the tables a rule may read, in lower case
+     * @return the compiled statement
+     * @throws IllegalArgumentException if the statement is not a single read-only SELECT over allowed tables
+     */
+    public static RuleSql compile(String sql, Set<String> allowedTables) {
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("The rule has no SQL");
+        }
+        List<Token> tokens = tokenize(sql);
+        if (tokens.isEmpty() || !tokens.get(0).isWord("select")) {
+            throw new IllegalArgumentException("A rule must be a SELECT statement");
+        }
+        StringBuilder jdbcSql = new StringBuilder(sql.length());
+        List<String> parameters = new ArrayList<>();
+        Set<String> tables = new LinkedHashSet<>();
+        boolean aggregates = false;
+        int last = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if ((token.kind() == Kind.WORD || token.kind() == Kind.QUOTED) && forbidden(token.lower())) {
+                throw new IllegalArgumentException("A rule cannot use " + token.text().toUpperCase(Locale.ROOT));
+            }
+            if ((token.kind() == Kind.QUOTED || token.kind() == Kind.STRING) && i > 0 && tokens.get(i - 1).isSymbol("&")) {
+                // U&"..." spells a name with escapes that a lexical check cannot read
+                throw new IllegalArgumentException("A rule cannot use Unicode escapes");
+            }
+            if ((token.kind() == Kind.WORD || token.kind() == Kind.QUOTED) && AGGREGATES.contains(token.lower())) {
+                aggregates = true;
+            }
+            if (token.isWord("from") || token.isWord("join")) {
+                i = readTables(tokens, i + 1, allowedTables, tables) - 1;
+            } else if (token.kind() == Kind.PARAMETER) {
+                jdbcSql.append(sql, last, token.start()).append('?');
+                last = token.end();
+                parameters.add(token.text().substring(1));
+            }
+        }
+        jdbcSql.append(sql, last, sql.length());
+        if (tables.isEmpty()) {
+            throw new IllegalArgumentException("A rule must read at least one table");
+        }
+        return new RuleSql(jdbcSql.toString().trim(), List.copyOf(parameters), Set.copyOf(tables), aggregates);
+    }
+
+    private static boolean forbidden(String word) {
+        if (FORBIDDEN.contains(word)) {
+            return true;
+        }
+        for (String prefix : FORBIDDEN_PREFIXES) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the table list following FROM or JOIN: one table, or several separated by commas, each
+     * with an optional alias. A sub-query is left to the main loop.
+     *
+     * @return the index of the first token after the list
+     */
+    private static int readTables(List<Token> tokens, int i, Set<String> allowedTables, Set<String> tables) {
+        while (i < tokens.size()) {
+            Token table = tokens.get(i);
+            if (table.isSymbol("(")) {
+                return i;
+            }
+            if (table.kind() != Kind.WORD && table.kind() != Kind.QUOTED) {
+                throw new IllegalArgumentException("A table name is expected after FROM or JOIN");
+            }
+            String name = table.lower();
+            boolean qualified = i + 1 < tokens.size() && tokens.get(i + 1).isSymbol(".");
+            boolean function = i + 1 < tokens.size() && tokens.get(i + 1).isSymbol("(");
+            if (qualified || function || !allowedTables.contains(name)) {
+                throw new IllegalArgumentException("A rule cannot read " + table.text());
+            }
+            tables.add(name);
+            i++;
+            if (i < tokens.size() && tokens.get(i).isWord("as")) {
+                i += 2;
+            } else if (i < tokens.size() && tokens.get(i).kind() == Kind.WORD && !CLAUSES.contains(tokens.get(i).lower())) {
+                i++;
+            }
+            if (i < tokens.size() && tokens.get(i).isSymbol(",")) {
+                i++;
+            } else {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                i = closingQuote(sql, i, c);
+                tokens.add(new Token(c == '\'' ? Kind.STRING : Kind.QUOTED,
+                        c == '\'' ? sql.substring(start, i) : sql.substring(start + 1, i - 1), start, i));
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.WORD, sql.substring(start, i), start, i));
+            } else if (Character.isDigit(c)) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.NUMBER, sql.substring(start, i), start, i));
+            } else if (c == ':' && i + 1 < sql.length() && sql.charAt(i + 1) == ':') {
+                i += 2;
+                tokens.add(new Token(Kind.SYMBOL, "::", start, i));
+            } else if (c == ':' && i + 1 < sql.length() && Character.isLetter(sql.charAt(i + 1))) {
+                i++;
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.PARAMETER, sql.substring(start, i), start, i));
+            } else if (c == ';' || c == '?' || c == '\\' || c == '$'
+                    || sql.startsWith("--", i) || sql.startsWith("/*", i) || sql.startsWith("#", i)) {
+                throw new IllegalArgumentException("A rule cannot contain comments, separators or positional parameters");
+            } else {
+                i++;
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(c), start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static int closingQuote(String sql, int open, char quote) {
+        int i = open + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated quote in rule SQL");
+    }
+
+    private enum Kind { WORD, QUOTED, STRING, NUMBER, PARAMETER, SYMBOL }
+
+    private record Token(Kind kind, String text, int start, int end) {
+        String lower() {
+            return text.toLowerCase(Locale.ROOT);
+        }
+
+        boolean isWord(String word) {
+            return kind == Kind.WORD && text.equalsIgnoreCase(word);
+        }
+
+        boolean isSymbol(String symbol) {
+            return kind == Kind.SYMBOL && text.equals(symbol);
+        }
+    }
+}
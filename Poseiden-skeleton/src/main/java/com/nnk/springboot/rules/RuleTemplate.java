@@ -0,0 +1,93 @@
+package com.nnk.springboot.rules;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The template of a RuleName compiled for one kind of order: literal text with {{field}}
+ * placeholders, e.g. "{{account}} bought {{buyQuantity}} {{security}} in {{book}}". The template
+ * is parsed once into literal parts and getters; rendering then appends them in order without
+ * looking at the template text again. A field without a value renders as an empty string, a
+ * number without trailing zeros and a date in ISO format.
+ *
+ * @param <T> the order entity
+ */
+public final class RuleTemplate<T> {
+    private final String[] literals;
+    private final List<Function<T, ?>> getters;
+    private final int length;
+
+    private RuleTemplate(String[] literals, List<Function<T, ?>> getters, int length) {
+        this.literals = literals;
+        this.getters = getters;
+        this.length = length;
+    }
+
+    /**
+     * Parse a template.
+     *
+     * @param template the template text
+     * @param fields the fields of the kind of order it is rendered against
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed or names an unknown field
+     */
+    public static <T> RuleTemplate<T> compile(String template, OrderFields<T> fields) {
+        if (template == null) {
+            throw new IllegalArgumentException("The rule has no template");
+        }
+        List<String> literals = new ArrayList<>();
+        List<Function<T, ?>> getters = new ArrayList<>();
+        int from = 0;
+        int open = template.indexOf("{{");
+        while (open >= 0) {
+            int close = template.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + open);
+            }
+            literals.add(template.substring(from, open));
+            getters.add(fields.value(template.substring(open + 2, close).trim()));
+            from = close + 2;
+            open = template.indexOf("{{", from);
+        }
+        literals.add(template.substring(from));
+        int length = literals.stream().mapToInt(String::length).sum() + 16 * getters.size();
+        return new RuleTemplate<>(literals.toArray(String[]::new), List.copyOf(getters), length);
+    }
+
+    /**
+     * @return the number of placeholders
+     */
+    public int placeholders() {
+        return getters.size();
+    }
+
+    /**
+     * @param order the order
+     * @return the template with each placeholder replaced by the value of its field
+     */
+    public String render(T order) {
+        StringBuilder text = new StringBuilder(length);
+        text.append(literals[0]);
+        for (int i = 0; i < getters.size(); i++) {
+            append(text, getters.get(i).apply(order));
+            text.append(literals[i + 1]);
+        }
+        return text.toString();
+    }
+
+    private static void append(StringBuilder text, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Double number) {
+            text.append(BigDecimal.valueOf(number).stripTrailingZeros().toPlainString());
+        } else if (value instanceof Timestamp timestamp) {
+            text.append(timestamp.toLocalDateTime());
+        } else {
+            text.append(value);
+        }
+    }
+}
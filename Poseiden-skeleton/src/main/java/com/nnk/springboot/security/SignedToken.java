@@ -0,0 +1,15 @@
+package com.nnk.springboot.security;
+
+import java.util.List;
+
+/**
+ * Claims of a verified authentication token.
+ *
+ * @param id the token id, used to revoke this token only
+ * @param username the authenticated user
+ * @param roles the granted authorities, e.g. ROLE_USER
+ * @param issuedAt the issue time, in epoch seconds
+ * @param expiresAt the expiry time, in epoch seconds
+ */
+public record SignedToken(String id, String username, List<String> roles, long issuedAt, long expiresAt) {
+}
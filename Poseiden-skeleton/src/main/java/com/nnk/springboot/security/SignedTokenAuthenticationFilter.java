@@ -0,0 +1,73 @@
+package com.nnk.springboot.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying a {@link SignedTokenService} token, either as a bearer token
+ * in the Authorization header or in the AUTH_TOKEN cookie. The user and roles come from the
+ * token itself. Requests without a valid token continue unauthenticated.
+ *
+ * <p>The security context is also kept as a request attribute, where the security filters of a
+ * forward, such as to the access denied page, find it again.
+ */
+public class SignedTokenAuthenticationFilter extends OncePerRequestFilter {
+    /** Name of the cookie holding the token. */
+    public static final String COOKIE_NAME = "AUTH_TOKEN";
+    private static final String BEARER = "Bearer ";
+
+    private final SignedTokenService tokenService;
+    private final SecurityContextRepository contextRepository = new RequestAttributeSecurityContextRepository();
+
+    public SignedTokenAuthenticationFilter(SignedTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<SignedToken> token = tokenService.verify(readToken(request));
+        if (token.isPresent()) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(token.get().username(), null,
+                    token.get().roles().stream().map(SimpleGrantedAuthority::new).toList()));
+            SecurityContextHolder.setContext(context);
+            contextRepository.saveContext(context, request, response);
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * @param request the request
+     * @return the bearer token, else the token cookie, else null
+     */
+    static String readToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nnk.springboot.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+
+import java.io.IOException;
+
+/**
+ * Hands out a token after a form login, in the AUTH_TOKEN cookie, and revokes it on logout.
+ * API clients may send the cookie value back as a bearer token.
+ */
+public class SignedTokenLoginHandler implements AuthenticationSuccessHandler, LogoutHandler {
+    private final SignedTokenService tokenService;
+    private final String targetUrl;
+
+    /**
+     * @param tokenService the token service
+     * @param targetUrl where to redirect after login
+     */
+    public SignedTokenLoginHandler(SignedTokenService tokenService, String targetUrl) {
+        this.tokenService = tokenService;
+        this.targetUrl = targetUrl;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException {
+        writeCookie(request, response, tokenService.issue(authentication), tokenService.getTtlSeconds());
+        response.sendRedirect(request.getContextPath() + targetUrl);
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        tokenService.verify(SignedTokenAuthenticationFilter.readToken(request)).ifPresent(tokenService::revoke);
+        writeCookie(request, response, "", 0);
+    }
+
+    private static void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, long maxAge) {
+        String path = request.getContextPath().isEmpty() ? "/" : request.getContextPath();
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(SignedTokenAuthenticationFilter.COOKIE_NAME, value)
+                .path(path).httpOnly(true).secure(request.isSecure()).sameSite("Lax").maxAge(maxAge)
+                .build().toString());
+    }
+}
@@ -0,0 +1,147 @@
+package com.nnk.springboot.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact authentication tokens signed with HMAC-SHA256.
+ * A token is {@code payload.signature}, the payload being the dot-separated Base64url user
+ * name, comma-separated roles, issue time, expiry time and token id. Verification only needs
+ * the secret: no user lookup and no session.
+ */
+public class SignedTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final TokenDenyList denyList;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret the signing secret, shared by every node; at least 32 bytes
+     * @param ttlSeconds the lifetime of the tokens
+     * @param denyList the revoked tokens
+     * @throws IllegalArgumentException if the secret is too short
+     */
+    public SignedTokenService(byte[] secret, long ttlSeconds, TokenDenyList denyList) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("The token secret must be at least 32 bytes long");
+        }
+        this.key = new SecretKeySpec(Arrays.copyOf(secret, secret.length), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.denyList = denyList;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * @return the lifetime of the tokens, in seconds
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Issue a token for an authenticated user.
+     *
+     * @param authentication the result of a successful login
+     * @return the signed token
+     */
+    public String issue(Authentication authentication) {
+        List<String> roles = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        return issue(authentication.getName(), roles, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Issue a token.
+     *
+     * @param username the user name
+     * @param roles the granted authorities; must not contain commas or dots
+     * @param now the issue time, in epoch seconds
+     * @return the signed token
+     */
+    public String issue(String username, List<String> roles, long now) {
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+        String payload = ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8))
+                + '.' + String.join(",", roles)
+                + '.' + now
+                + '.' + (now + ttlSeconds)
+                + '.' + ENCODER.encodeToString(id);
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verify a token.
+     *
+     * @param token the token as received; may be null
+     * @return the claims when the signature is valid and the token is neither expired nor revoked
+     */
+    public Optional<SignedToken> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+        String[] fields = payload.split("\\.", -1);
+        if (fields.length != 5) {
+            return Optional.empty();
+        }
+        SignedToken claims = new SignedToken(fields[4],
+                new String(DECODER.decode(fields[0]), StandardCharsets.UTF_8),
+                fields[1].isEmpty() ? List.of() : List.of(fields[1].split(",")),
+                Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+        if (claims.expiresAt() <= System.currentTimeMillis() / 1000 || denyList.isDenied(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Revoke one token until it expires.
+     *
+     * @param token a verified token
+     */
+    public void revoke(SignedToken token) {
+        denyList.revoke(token);
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+}
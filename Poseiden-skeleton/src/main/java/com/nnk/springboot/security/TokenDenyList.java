@@ -0,0 +1,42 @@
+package com.nnk.springboot.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of revoked tokens. A token is denied until it expires, after which its
+ * signature check rejects it anyway and the entry is dropped; the list therefore only holds
+ * the tokens revoked within one token lifetime. Each node has its own list.
+ */
+public class TokenDenyList {
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Deny one token.
+     *
+     * @param token the token
+     */
+    public void revoke(SignedToken token) {
+        tokens.put(token.id(), token.expiresAt());
+        purge(System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * @param token a token with a valid signature
+     * @return true if the token was revoked
+     */
+    public boolean isDenied(SignedToken token) {
+        return tokens.containsKey(token.id());
+    }
+
+    /**
+     * @return the number of revocations held
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    private void purge(long now) {
+        tokens.values().removeIf(expiresAt -> expiresAt < now);
+    }
+}
@@ -0,0 +1,56 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Entities exposed by the REST API, with the path segment under /api that serves them.
+ */
+public enum ApiResource {
+    BID_LIST("bidList", BidList.class, true),
+    TRADE("trade", Trade.class, true),
+    CURVE_POINT("curvePoint", CurvePoint.class, false),
+    RATING("rating", Rating.class, false),
+    RULE_NAME("ruleName", RuleName.class, false);
+
+    private final String path;
+    private final Class<?> entityClass;
+    private final boolean sharded;
+
+    ApiResource(String path, Class<?> entityClass, boolean sharded) {
+        this.path = path;
+        this.entityClass = entityClass;
+        this.sharded = sharded;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return true if the rows are spread over the shards by book, false if they live on the default shard
+     */
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    /**
+     * Find the resource served at the given path segment.
+     *
+     * @param path the path segment, e.g. "trade"
+     * @return the resource, or empty if none is served there
+     */
+    public static Optional<ApiResource> fromPath(String path) {
+        return Arrays.stream(values()).filter(resource -> resource.path.equals(path)).findFirst();
+    }
+}
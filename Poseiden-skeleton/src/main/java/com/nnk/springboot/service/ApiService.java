@@ -0,0 +1,91 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.repositories.ProjectionRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service layer of the REST API.
+ * Reads entities as projections of the requested fields with keyset (cursor) pagination.
+ * Sharded resources are read on every shard in parallel and the pages merged by id.
+ * Concurrent requests for the same page and fields share one query (see {@link QueryCoalescer}).
+ */
+@Service
+public class ApiService {
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Largest page size a client may ask for.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private static final Comparator<Map<String, Object>> ID_ORDER =
+            Comparator.comparing(row -> (Integer) row.values().iterator().next());
+
+    private final ProjectionRepository projectionRepository;
+    private final ShardRouter shardRouter;
+    private final QueryCoalescer queryCoalescer;
+
+    public ApiService(ProjectionRepository projectionRepository, ShardRouter shardRouter,
+                      QueryCoalescer queryCoalescer) {
+        this.projectionRepository = projectionRepository;
+        this.shardRouter = shardRouter;
+        this.queryCoalescer = queryCoalescer;
+    }
+
+    /**
+     * Read one page of a resource.
+     *
+     * @param resource the resource to read
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the page size, capped to {@link #MAX_LIMIT}; null for {@link #DEFAULT_LIMIT}
+     * @param fields the fields to return; empty for all fields
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the limit is not positive or a field is unknown
+     */
+    public ApiPage findPage(ApiResource resource, Integer after, Integer limit, Collection<String> fields) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        if (size <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        // One extra row tells whether another page follows without a count query
+        List<Map<String, Object>> rows = queryCoalescer.execute("api." + resource.getPath() + ".page",
+                Arrays.asList(after, size, List.copyOf(fields)), () -> resource.isSharded()
+                        ? shardRouter.onEachShardSorted(() -> projectionRepository.findPage(resource.getEntityClass(), after, size + 1, fields),
+                                ID_ORDER, size + 1)
+                        : projectionRepository.findPage(resource.getEntityClass(), after, size + 1, fields));
+        if (rows.size() <= size) {
+            return new ApiPage(rows, null);
+        }
+        List<Map<String, Object>> page = rows.subList(0, size);
+        Object lastId = page.get(size - 1).values().iterator().next();
+        return new ApiPage(page, (Integer) lastId);
+    }
+
+    /**
+     * Read a single row of a resource.
+     *
+     * @param resource the resource to read
+     * @param id the id of the row
+     * @param fields the fields to return; empty for all fields
+     * @return the row, or empty if none has this id
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public Optional<Map<String, Object>> findById(ApiResource resource, Integer id, Collection<String> fields) {
+        if (resource.isSharded()) {
+            return shardRouter.findOnEachShard(() -> projectionRepository.findOne(resource.getEntityClass(), id, fields));
+        }
+        return projectionRepository.findOne(resource.getEntityClass(), id, fields);
+    }
+}
@@ -0,0 +1,65 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Fields of BidList and Trade offered for completion, with the path segment under
+ * /autocomplete that serves them. Values are shared by both entities: an account typed on a
+ * bid is suggested on a trade too.
+ */
+public enum AutocompleteField {
+    ACCOUNT("account", BidList::getAccount, Trade::getAccount),
+    SECURITY("security", BidList::getSecurity, Trade::getSecurity),
+    BOOK("book", BidList::getBook, Trade::getBook),
+    TRADER("trader", BidList::getTrader, Trade::getTrader);
+
+    private final String path;
+    private final Function<BidList, String> bidListValue;
+    private final Function<Trade, String> tradeValue;
+
+    AutocompleteField(String path, Function<BidList, String> bidListValue, Function<Trade, String> tradeValue) {
+        this.path = path;
+        this.bidListValue = bidListValue;
+        this.tradeValue = tradeValue;
+    }
+
+    /**
+     * @return the path segment, which is also the attribute name on both entities
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public String valueOf(BidList bidList) {
+        return bidListValue.apply(bidList);
+    }
+
+    public String valueOf(Trade trade) {
+        return tradeValue.apply(trade);
+    }
+
+    /**
+     * Find the field served at the given path segment.
+     *
+     * @param path the path segment, e.g. "book"
+     * @return the field, or empty if none is served there
+     */
+    public static Optional<AutocompleteField> fromPath(String path) {
+        return Arrays.stream(values()).filter(field -> field.path.equals(path)).findFirst();
+    }
+
+    /**
+     * @param paths attribute names, e.g. the fields written by an update
+     * @return the completed fields among them
+     */
+    public static List<AutocompleteField> fromPaths(Collection<String> paths) {
+        return Arrays.stream(values()).filter(field -> paths.contains(field.path)).toList();
+    }
+}
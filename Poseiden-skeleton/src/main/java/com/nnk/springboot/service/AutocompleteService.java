@@ -0,0 +1,142 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.index.CompletionDictionary;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.ProjectionRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completions for the account, security, book and trader fields of the BidList and Trade forms.
+ * Each field has a {@link CompletionDictionary} of the distinct values stored in both tables,
+ * so completing a keystroke never queries the database.
+ *
+ * <p>The dictionaries are loaded at startup with one GROUP BY query per field and table, then
+ * follow the saves and partial updates published by the services. Values of deleted rows stay
+ * suggested until the next startup.
+ */
+@Service
+public class AutocompleteService implements CommandLineRunner {
+    private final ProjectionRepository projectionRepository;
+    private final BidListRepository bidListRepository;
+    private final TradeRepository tradeRepository;
+    private final ShardRouter shardRouter;
+    private final Map<AutocompleteField, CompletionDictionary> dictionaries = new EnumMap<>(AutocompleteField.class);
+
+    public AutocompleteService(ProjectionRepository projectionRepository, BidListRepository bidListRepository,
+                               TradeRepository tradeRepository, ShardRouter shardRouter) {
+        this.projectionRepository = projectionRepository;
+        this.bidListRepository = bidListRepository;
+        this.tradeRepository = tradeRepository;
+        this.shardRouter = shardRouter;
+        for (AutocompleteField field : AutocompleteField.values()) {
+            dictionaries.put(field, new CompletionDictionary());
+        }
+    }
+
+    /**
+     * Load the distinct values of every field with their use counts, from all shards.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    public void run(String... args) {
+        for (AutocompleteField field : AutocompleteField.values()) {
+            Map<String, Long> counts = new HashMap<>();
+            for (Map<Object, Long> shard : shardRouter.onEachShard(() -> countByValue(field))) {
+                shard.forEach((value, count) -> counts.merge((String) value, count, Long::sum));
+            }
+            dictionaries.get(field).replaceAll(counts);
+        }
+    }
+
+    /**
+     * Complete a value typed in a form.
+     *
+     * @param field the field being typed
+     * @param prefix the text typed so far, matched regardless of case
+     * @param limit the maximum number of values to return; must be positive
+     * @return stored values starting with the prefix, most used first
+     */
+    public List<String> complete(AutocompleteField field, String prefix, int limit) {
+        return dictionaries.get(field).complete(prefix, limit);
+    }
+
+    /**
+     * Add the values of a saved BidList, counting a use when it was created.
+     *
+     * @param event the event published after a BidList has been saved
+     */
+    @EventListener
+    public void onBidListSaved(BidListSavedEvent event) {
+        for (AutocompleteField field : AutocompleteField.values()) {
+            record(field, field.valueOf(event.bidList()), event.created());
+        }
+    }
+
+    /**
+     * Add the values of a saved trade, counting a use when it was created.
+     *
+     * @param event the event published after a trade has been saved
+     */
+    @EventListener
+    public void onTradeSaved(TradeSavedEvent event) {
+        for (AutocompleteField field : AutocompleteField.values()) {
+            record(field, field.valueOf(event.trade()), event.created());
+        }
+    }
+
+    /**
+     * Add the values written by a partial update of completed fields.
+     *
+     * @param event the event published after a bulk or partial update
+     */
+    @EventListener
+    public void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        List<AutocompleteField> fields = AutocompleteField.fromPaths(event.fields());
+        if (fields.isEmpty()) {
+            return;
+        }
+        if (event.entityType() == BidList.class) {
+            for (BidList bidList : findAllById(bidListRepository, event)) {
+                fields.forEach(field -> record(field, field.valueOf(bidList), false));
+            }
+        } else if (event.entityType() == Trade.class) {
+            for (Trade trade : findAllById(tradeRepository, event)) {
+                fields.forEach(field -> record(field, field.valueOf(trade), false));
+            }
+        }
+    }
+
+    private Map<Object, Long> countByValue(AutocompleteField field) {
+        Map<Object, Long> counts = new HashMap<>(projectionRepository.countByValue(BidList.class, field.getPath()));
+        projectionRepository.countByValue(Trade.class, field.getPath()).forEach((value, count) -> counts.merge(value, count, Long::sum));
+        return counts;
+    }
+
+    private <T> List<T> findAllById(JpaRepository<T, Integer> repository, EntitiesUpdatedEvent event) {
+        return shardRouter.onEachShard(() -> repository.findAllById(event.ids())).stream().flatMap(List::stream).toList();
+    }
+
+    private void record(AutocompleteField field, String value, boolean newUse) {
+        if (newUse) {
+            dictionaries.get(field).add(value);
+        } else {
+            dictionaries.get(field).ensure(value);
+        }
+    }
+}
@@ -1,29 +1,220 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for managing BidList entities.
- * Provides CRUD operations delegating to the BidListRepository.
+ * Provides CRUD operations delegating to the BidListRepository, on the shard owning the book of
+ * each BidList when sharding is enabled (see {@link ShardRouter}). Lookups by id and listings run
+ * on every shard in parallel.
+ * Every save publishes a {@link BidListSavedEvent} so in-memory views can follow the quote flow;
+ * bulk deletes and column updates publish an {@link EntitiesDeletedEvent} or {@link EntitiesUpdatedEvent}.
  */
 @Service
 public class BidListService {
+    /**
+     * Fields that {@link #patch} may write. Identity, version and creation audit fields are excluded.
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "account", "type", "bidQuantity", "askQuantity", "bid", "ask", "benchmark", "bidListDate",
+            "commentary", "security", "status", "trader", "book", "revisionName", "revisionDate",
+            "dealName", "dealType", "sourceListId", "side");
+
     @Autowired
     private BidListRepository bidListRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private QueryCoalescer queryCoalescer;
+
+    @Autowired
+    private PreTradeCheckService preTradeCheckService;
+
     /**
-     * Persist a BidList entity.
+     * Run the pre-trade checks, then persist a BidList entity and publish a {@link BidListSavedEvent}.
      *
      * @param bidList the entity to save; must not be null
      * @return the saved BidList instance
+     * @throws PreTradeCheckException if the BidList breaks a pre-trade check; nothing is saved
      */
     public BidList save(BidList bidList) {
-        return bidListRepository.save(bidList);
+        preTradeCheckService.check(bidList);
+        boolean created = bidList.getId() == null;
+        BidList saved = shardRouter.onBook(bidList.getBook(), () -> bidListRepository.save(bidList));
+        eventPublisher.publishEvent(new BidListSavedEvent(saved, created));
+        return saved;
+    }
+
+    /**
+     * Insert a batch of new BidLists, in one transaction per shard, and publish a {@link BidListSavedEvent} for each.
+     * Ids and versions carried by the entities are discarded, so every entity is inserted.
+     *
+     * <p>The batch is not atomic across shards: shards are written one after the other, each in its own
+     * transaction. If a shard fails, its BidLists and those of the shards after it are not inserted, but the
+     * shards written before it stay committed and their BidLists are published. Retrying the whole batch
+     * then inserts those BidLists a second time.
+     *
+     * @param bidLists the entities to insert
+     * @return the inserted entities
+     * @throws PreTradeCheckException if a BidList breaks a pre-trade check; nothing is saved
+     * @throws org.springframework.dao.DataAccessException if a shard fails; the shards written before it stay
+     *         committed
+     */
+    public List<BidList> insertAll(List<BidList> bidLists) {
+        for (BidList bidList : bidLists) {
+            preTradeCheckService.check(bidList);
+        }
+        for (BidList bidList : bidLists) {
+            bidList.setId(null);
+            bidList.setVersion(null);
+        }
+        Map<String, List<BidList>> byShard = new LinkedHashMap<>();
+        for (BidList bidList : bidLists) {
+            byShard.computeIfAbsent(shardRouter.shardFor(bidList.getBook()), shard -> new ArrayList<>()).add(bidList);
+        }
+        List<BidList> saved = new ArrayList<>(bidLists.size());
+        try {
+            byShard.forEach((shard, batch) -> saved.addAll(shardRouter.onShard(shard, () -> bidListRepository.saveAll(batch))));
+        } finally {
+            // Shards committed before a failure keep their rows: the views must see them too
+            for (BidList bidList : saved) {
+                eventPublisher.publishEvent(new BidListSavedEvent(bidList, true));
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Read the next BidLists in id order, for streaming every row without offset paging.
+     *
+     * @param afterId only BidLists with a greater id are returned; null to start from the first
+     * @param size the maximum number of BidLists to return
+     * @return up to size BidLists ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<BidList> findBatchAfter(Integer afterId, int size) {
+        int after = afterId == null ? 0 : afterId;
+        return shardRouter.onEachShardSorted(() -> bidListRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size)),
+                Comparator.comparing(BidList::getId), size);
+    }
+
+    /**
+     * Update only the given fields of a BidList, taking their values from a bound BidList.
+     * Fields that cannot be updated (id, version, creation audit fields) or that are not
+     * attributes of BidList are ignored, so the names of all submitted form parameters may be passed.
+     * The version of values is used as the expected version when present.
+     *
+     * @param id the id of the BidList to update
+     * @param values a BidList holding the new values
+     * @param fields names of the fields to write
+     * @return true if the BidList was updated, false if none exists with this id
+     * @throws OptimisticLockingFailureException if the BidList was modified since the expected version
+     */
+    public boolean patch(Integer id, BidList values, Collection<String> fields) {
+        BeanWrapper source = new BeanWrapperImpl(values);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (PATCHABLE_FIELDS.contains(field)) {
+                changes.put(field, source.getPropertyValue(field));
+            }
+        }
+        return patch(id, values.getVersion(), changes);
+    }
+
+    /**
+     * Update only the given fields of a BidList with a single UPDATE statement that writes the
+     * changed columns and increments the version. Unlike {@link #save}, the entity is not loaded
+     * and the columns that are not part of the changes are left untouched.
+     *
+     * @param id the id of the BidList to update
+     * @param expectedVersion the version the caller last read, or null to skip the conflict check
+     * @param changes new values by field name; each field must belong to {@link #PATCHABLE_FIELDS}
+     * @return true if the BidList was updated, false if none exists with this id
+     * @throws IllegalArgumentException if a field cannot be updated or a value is invalid, or if the
+     *         book would change while sharding is enabled: rows do not move between shards
+     * @throws OptimisticLockingFailureException if the BidList was modified since the expected version
+     * @throws PreTradeCheckException if the BidList, with the changes applied, breaks a pre-trade check;
+     *         nothing is saved
+     */
+    public boolean patch(Integer id, Integer expectedVersion, Map<String, Object> changes) {
+        if (shardRouter.isSharded() && changes.containsKey("book")) {
+            throw new IllegalArgumentException("The book of a BidList cannot be changed: it selects its shard");
+        }
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (!PATCHABLE_FIELDS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Field cannot be updated: " + change.getKey());
+            }
+            Set<ConstraintViolation<BidList>> violations =
+                    validator.validateValue(BidList.class, change.getKey(), change.getValue());
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+        }
+        if (changes.isEmpty()) {
+            return existsById(id);
+        }
+        Integer version = expectedVersion;
+        if (preTradeCheckService.checksBidLists()) {
+            // Check the merged values on a copy: the loaded entity may be managed and must not be flushed
+            Optional<BidList> current = findById(id);
+            if (current.isEmpty()) {
+                return false;
+            }
+            BidList merged = new BidList();
+            BeanUtils.copyProperties(current.get(), merged);
+            BeanWrapper target = new BeanWrapperImpl(merged);
+            changes.forEach(target::setPropertyValue);
+            preTradeCheckService.check(merged);
+            if (version == null) {
+                // Write only over the state that was checked
+                version = current.get().getVersion();
+            }
+        }
+        Integer checkedVersion = version;
+        if (shardRouter.countOnEachShard(() -> bidListRepository.updatePartially(id, checkedVersion, changes)) > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(BidList.class, List.of(id), Set.copyOf(changes.keySet())));
+            return true;
+        }
+        if (!existsById(id)) {
+            return false;
+        }
+        throw new OptimisticLockingFailureException("BidList " + id + " was modified by another user");
     }
 
     /**
@@ -33,16 +224,82 @@ public class BidListService {
      * @return an Optional containing the BidList if found, otherwise empty
      */
     public Optional<BidList> findById(Integer id) {
-        return bidListRepository.findById(id);
+        return shardRouter.findOnEachShard(() -> bidListRepository.findById(id));
     }
 
     /**
-     * Delete a BidList by its identifier.
+     * Delete a BidList by its identifier with a single DELETE statement.
      *
      * @param id the id of the BidList to delete
+     * @return true if a BidList was deleted, false if none exists with this id
+     */
+    public boolean deleteById(Integer id) {
+        return deleteByIds(List.of(id)) > 0;
+    }
+
+    /**
+     * Delete several BidLists with a single DELETE statement.
+     *
+     * @param ids the ids of the BidLists to delete; null or empty deletes nothing
+     * @return the number of BidLists deleted
+     */
+    public int deleteByIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = shardRouter.countOnEachShard(() -> bidListRepository.deleteByIds(ids));
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EntitiesDeletedEvent(BidList.class, List.copyOf(ids)));
+        }
+        return deleted;
+    }
+
+    /**
+     * Set the status of several BidLists with a single UPDATE statement.
+     * A blank status clears the status of the selected rows.
+     *
+     * @param ids the ids of the BidLists to update; null or empty updates nothing
+     * @param status the new status, at most 10 characters
+     * @return the number of BidLists updated
+     * @throws IllegalArgumentException if the status exceeds 10 characters
+     */
+    public int updateStatus(Collection<Integer> ids, String status) {
+        String value = status == null || status.isBlank() ? null : status.trim();
+        if (value != null && value.length() > 10) {
+            throw new IllegalArgumentException("Status cannot exceed 10 characters");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int updated = shardRouter.countOnEachShard(() -> bidListRepository.updateStatusByIds(ids, value));
+        if (updated > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(BidList.class, List.copyOf(ids), Set.of("status")));
+        }
+        return updated;
+    }
+
+    /**
+     * Retrieve the rows of the BidList list page.
+     * Runs in a read-only transaction (flush mode MANUAL) and reads only the displayed columns.
+     * Concurrent calls share one execution (see {@link QueryCoalescer}).
+     *
+     * @return one summary per BidList, ordered by id
+     */
+    public List<BidListSummary> findAllSummaries() {
+        return queryCoalescer.execute("bidList.summaries", List.of(), () -> shardRouter.onEachShardSorted(
+                bidListRepository::findAllSummaries, Comparator.comparing(BidListSummary::id), -1));
+    }
+
+    /**
+     * Retrieve the rows of the BidList list page for one book, from the shard owning the book only.
+     * Concurrent calls for the same book share one execution (see {@link QueryCoalescer}).
+     *
+     * @param book the book
+     * @return one summary per BidList of the book, ordered by id
      */
-    public void deleteById(Integer id) {
-        bidListRepository.deleteById(id);
+    public List<BidListSummary> findSummariesByBook(String book) {
+        return queryCoalescer.execute("bidList.summariesByBook", Collections.singletonList(book),
+                () -> shardRouter.onBook(book, () -> bidListRepository.findSummariesByBook(book)));
     }
 
     /**
@@ -51,7 +308,7 @@ public class BidListService {
      * @return an Iterable containing all BidList instances
      */
     public Iterable<BidList> findAll() {
-        return bidListRepository.findAll();
+        return shardRouter.onEachShardSorted(bidListRepository::findAll, Comparator.comparing(BidList::getId), -1);
     }
 
     /**
@@ -61,6 +318,6 @@ public class BidListService {
      * @return true if a BidList exists with the given id, false otherwise
      */
     public boolean existsById(Integer id) {
-        return bidListRepository.existsById(id);
+        return shardRouter.onEachShard(() -> bidListRepository.existsById(id)).contains(true);
     }
 }
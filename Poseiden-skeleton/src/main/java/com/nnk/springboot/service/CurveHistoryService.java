@@ -0,0 +1,226 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.dto.CurvePointSummary;
+import com.nnk.springboot.dto.CurvePointVersion;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.repositories.CurvePointHistoryRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * As-of-date view of the curves. Every CurvePointHistory row is a version of its CurvePoint,
+ * valid from its as-of date; {@link CurveHistory} keeps the snapshot of each curve at every date
+ * it changed, so "curve 7 as of last Tuesday" is answered from memory.
+ *
+ * <p>The history is filled from the database at startup and then follows the save, delete and
+ * update events published by the CurvePointService. Versions without a term are not part of a curve.
+ * A point belongs to its current curve in every version.
+ *
+ * <p>Points changed on another node publish no event here: every
+ * poseidon.curves.history-refresh-interval-ms (5 s by default, 0 to disable) the versions inserted
+ * since the last one read are added, and points moved or deleted in the meantime are moved or
+ * dropped. When the number of versions held no longer matches the table, e.g. a version committed
+ * after a later one was read, the history is read again in full and swapped in.
+ */
+@Service
+public class CurveHistoryService implements CommandLineRunner, AutoCloseable {
+    /**
+     * Date given to versions stored without an as-of date nor a creation date: valid since always.
+     */
+    static final LocalDateTime ALWAYS = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CurvePointRepository curvePointRepository;
+    private final CurvePointHistoryRepository curvePointHistoryRepository;
+    private final long refreshIntervalMillis;
+    private volatile CurveHistory history = new CurveHistory();
+    private int lastVersionId;
+    private ScheduledExecutorService scheduler;
+
+    public CurveHistoryService(CurvePointRepository curvePointRepository,
+                               CurvePointHistoryRepository curvePointHistoryRepository,
+                               @Value("${poseidon.curves.history-refresh-interval-ms:5000}") long refreshIntervalMillis) {
+        this.curvePointRepository = curvePointRepository;
+        this.curvePointHistoryRepository = curvePointHistoryRepository;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Load every stored version, then start refreshing the history from the database.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    public synchronized void run(String... args) {
+        reload();
+        if (refreshIntervalMillis > 0 && scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "curve-history");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Add the versions stored since the last read, e.g. on another node, follow the points moved
+     * to another curve or deleted, and read the whole history again if it still differs from the
+     * table.
+     */
+    public synchronized void refresh() {
+        for (CurvePointVersion version : curvePointHistoryRepository.findVersionsAfter(lastVersionId)) {
+            put(history, version);
+            lastVersionId = Math.max(lastVersionId, version.id());
+        }
+        Set<Integer> gone = new HashSet<>(history.pointIds());
+        for (CurvePointSummary point : curvePointRepository.findAllSummaries()) {
+            if (point.curveId() != null) {
+                gone.remove(point.id());
+                history.move(point.id(), point.curveId());
+            }
+        }
+        gone.forEach(history::remove);
+        if (curvePointHistoryRepository.countCurveVersions() != history.size()) {
+            reload();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keep the current history; the next refresh retries
+        }
+    }
+
+    private void reload() {
+        CurveHistory loaded = new CurveHistory();
+        int last = 0;
+        for (CurvePointVersion version : curvePointHistoryRepository.findVersionsAfter(0)) {
+            put(loaded, version);
+            last = Math.max(last, version.id());
+        }
+        history = loaded;
+        lastVersionId = last;
+    }
+
+    /**
+     * Return a curve as it was at a date.
+     *
+     * @param curveId the curve identifier
+     * @param asOf the date
+     * @return the latest snapshot not after the date, or empty if the curve had no point yet
+     */
+    public Optional<CurveHistory.Snapshot> asOf(int curveId, LocalDateTime asOf) {
+        return history.asOf(curveId, asOf);
+    }
+
+    /**
+     * Return the current state of a curve.
+     *
+     * @param curveId the curve identifier
+     * @return the latest snapshot, or empty if the curve has no point
+     */
+    public Optional<CurveHistory.Snapshot> latest(int curveId) {
+        return history.latest(curveId);
+    }
+
+    /**
+     * Return the dates at which a curve changed.
+     *
+     * @param curveId the curve identifier
+     * @return the dates in ascending order
+     */
+    public List<LocalDateTime> versions(int curveId) {
+        return history.versions(curveId);
+    }
+
+    /**
+     * Add the version recorded by a save to the history of its curve.
+     *
+     * @param event the event published after a CurvePoint has been saved
+     */
+    @EventListener
+    public synchronized void onCurvePointSaved(CurvePointSavedEvent event) {
+        CurvePoint curvePoint = event.curvePoint();
+        curvePointHistoryRepository.findFirstByCurvePointIdOrderByIdDesc(curvePoint.getId())
+                .ifPresent(version -> put(version, curvePoint.getCurveId()));
+    }
+
+    /**
+     * Drop the versions of deleted points from the history.
+     *
+     * @param event the event published after a bulk delete
+     */
+    @EventListener
+    public synchronized void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (event.entityType() == CurvePoint.class) {
+            event.ids().forEach(history::remove);
+        }
+    }
+
+    /**
+     * Move the versions of points to their new curve after a bulk curve change.
+     *
+     * @param event the event published after a bulk or partial update
+     */
+    @EventListener
+    public synchronized void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if (event.entityType() == CurvePoint.class && event.fields().contains("curveId")) {
+            curvePointRepository.findAllById(event.ids()).forEach(curvePoint -> {
+                if (curvePoint.getCurveId() != null) {
+                    history.move(curvePoint.getId(), curvePoint.getCurveId());
+                }
+            });
+        }
+    }
+
+    /**
+     * Stop refreshing the history.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void put(CurvePointHistory version, Integer curveId) {
+        Timestamp asOfDate = version.getAsOfDate() != null ? version.getAsOfDate() : version.getCreationDate();
+        put(history, version.getId(), version.getCurvePointId(), curveId, version.getTerm(), version.getValue(),
+                asOfDate);
+    }
+
+    private static void put(CurveHistory history, CurvePointVersion version) {
+        put(history, version.id(), version.pointId(), version.curveId(), version.term(), version.value(),
+                version.asOfDate());
+    }
+
+    private static void put(CurveHistory history, Integer id, Integer pointId, Integer curveId, Double term, Double value, Timestamp asOfDate) {
+        if (curveId == null) {
+            history.remove(pointId);
+            return;
+        }
+        history.put(curveId, new CurveHistory.Point(id, pointId, term, value,
+                asOfDate == null ? ALWAYS : asOfDate.toLocalDateTime()));
+    }
+}
@@ -1,31 +1,80 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.dto.CurvePointSummary;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.repositories.CurvePointHistoryRepository;
 import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for managing CurvePoint entities.
- * Provides CRUD operations delegating to the CurvePointRepository.
+ * Provides CRUD operations delegating to the CurvePointRepository. Each save also records the
+ * saved state of the point in the CurvePointHistoryRepository, so a point keeps a single row
+ * while its earlier versions stay readable.
+ * Every write publishes a {@link CurvePointSavedEvent}, {@link EntitiesDeletedEvent} or
+ * {@link EntitiesUpdatedEvent} so in-memory views of the curves stay in sync.
  */
 @Service
 public class CurvePointService {
     private final CurvePointRepository curvePointRepository;
+    private final CurvePointHistoryRepository curvePointHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryCoalescer queryCoalescer;
 
-    public CurvePointService(CurvePointRepository curvePointRepository) {
+    public CurvePointService(CurvePointRepository curvePointRepository,
+                             CurvePointHistoryRepository curvePointHistoryRepository,
+                             ApplicationEventPublisher eventPublisher, QueryCoalescer queryCoalescer) {
         this.curvePointRepository = curvePointRepository;
+        this.curvePointHistoryRepository = curvePointHistoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.queryCoalescer = queryCoalescer;
     }
 
     /**
-     * Persist a CurvePoint entity.
+     * Save a CurvePoint, record its new version and publish a {@link CurvePointSavedEvent}.
+     * The point is inserted or updated in place; the saved term and value are also appended to
+     * its history, valid from its as-of date, so earlier versions remain readable through
+     * {@link CurveHistoryService}. The as-of date defaults to the current time and the creation
+     * date of an updated point is kept.
      *
      * @param curvePoint the entity to save; must not be null
-     * @return the saved CurvePoint instance
+     * @return the saved CurvePoint
      */
+    @Transactional
     public CurvePoint save(CurvePoint curvePoint) {
-        return curvePointRepository.save(curvePoint);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        boolean created = curvePoint.getId() == null;
+        if (curvePoint.getAsOfDate() == null) {
+            curvePoint.setAsOfDate(now);
+        }
+        if (created) {
+            curvePoint.setCreationDate(now);
+        } else if (curvePoint.getCreationDate() == null) {
+            curvePointRepository.findById(curvePoint.getId())
+                    .ifPresent(stored -> curvePoint.setCreationDate(stored.getCreationDate()));
+        }
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        curvePointHistoryRepository.save(CurvePointHistory.builder()
+                .curvePointId(saved.getId())
+                .term(saved.getTerm())
+                .value(saved.getValue())
+                .asOfDate(saved.getAsOfDate())
+                .creationDate(now)
+                .build());
+        eventPublisher.publishEvent(new CurvePointSavedEvent(saved, created));
+        return saved;
     }
 
     /**
@@ -38,6 +87,17 @@ public class CurvePointService {
         return curvePointRepository.findById(id);
     }
 
+    /**
+     * Retrieve the rows of the CurvePoint list page.
+     * Runs in a read-only transaction (flush mode MANUAL) and reads only the displayed columns.
+     * Concurrent calls share one execution (see {@link QueryCoalescer}).
+     *
+     * @return one summary per CurvePoint, ordered by id
+     */
+    public List<CurvePointSummary> findAllSummaries() {
+        return queryCoalescer.execute("curvePoint.summaries", List.of(), curvePointRepository::findAllSummaries);
+    }
+
     /**
      * Retrieve all CurvePoint entities.
      *
@@ -48,12 +108,55 @@ public class CurvePointService {
     }
 
     /**
-     * Delete a CurvePoint by its identifier.
+     * Delete a CurvePoint and its history by its identifier.
      *
      * @param id the id of the CurvePoint to delete
+     * @return true if a CurvePoint was deleted, false if none exists with this id
+     */
+    @Transactional
+    public boolean deleteById(Integer id) {
+        return deleteByIds(List.of(id)) > 0;
+    }
+
+    /**
+     * Delete several CurvePoints and their history with one DELETE statement per table.
+     *
+     * @param ids the ids of the CurvePoints to delete; null or empty deletes nothing
+     * @return the number of CurvePoints deleted
+     */
+    @Transactional
+    public int deleteByIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        curvePointHistoryRepository.deleteByCurvePointIds(ids);
+        int deleted = curvePointRepository.deleteByIds(ids);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EntitiesDeletedEvent(CurvePoint.class, List.copyOf(ids)));
+        }
+        return deleted;
+    }
+
+    /**
+     * Move several CurvePoints to another curve with a single UPDATE statement.
+     *
+     * @param ids the ids of the CurvePoints to update; null or empty updates nothing
+     * @param curveId the target curve identifier; must be positive
+     * @return the number of CurvePoints updated
+     * @throws IllegalArgumentException if curveId is null or not positive
      */
-    public void deleteById(Integer id) {
-        curvePointRepository.deleteById(id);
+    public int updateCurveId(Collection<Integer> ids, Integer curveId) {
+        if (curveId == null || curveId <= 0) {
+            throw new IllegalArgumentException("Curve identifier must be a positive number");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int updated = curvePointRepository.updateCurveIdByIds(ids, curveId);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(CurvePoint.class, List.copyOf(ids), Set.of("curveId")));
+        }
+        return updated;
     }
 
     /**
@@ -0,0 +1,418 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.analytics.SummaryCounter;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.DashboardEntry;
+import com.nnk.springboot.dto.DashboardSection;
+import com.nnk.springboot.dto.DashboardTotal;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Figures of the home dashboard: BidLists by status, today's traded notional per book, points
+ * per curve, ratings by Moody's rating and the number of rules.
+ *
+ * <p>Each figure is a {@link SummaryCounter} of totals per key, computed by the database at
+ * startup, so reading the dashboard never runs a COUNT or SUM over the tables. Entities created
+ * on this node are added to the totals as they are saved. Updates and deletes, whose previous key
+ * is not known here, trigger a resync of the totals from the database in the background; so do
+ * writes on other nodes, every poseidon.dashboard.resync-interval-ms (30 s by default). With the
+ * interval set to 0 nothing is polled and updates and deletes are resynchronized in the thread
+ * that published them. Only the trades of the current day are kept: the totals of a day are
+ * dropped once it is over.
+ */
+@Service
+public class DashboardService implements CommandLineRunner, AutoCloseable {
+    /**
+     * Names of the dashboard sections, in display order.
+     */
+    public static final List<String> SECTIONS = List.of("bids", "trades", "curves", "ratings", "rules");
+
+    private static final Set<String> BID_LIST_FIELDS = Set.of("status", "bidQuantity");
+    private static final Set<String> TRADE_FIELDS = Set.of(
+            "book", "tradeDate", "buyQuantity", "buyPrice", "sellQuantity", "sellPrice");
+    private static final Set<String> CURVE_POINT_FIELDS = Set.of("curveId");
+    private static final Set<Class<?>> COUNTED_TYPES = Set.of(
+            BidList.class, Trade.class, CurvePoint.class, Rating.class, RuleName.class);
+    private static final String NONE = "";
+
+    private final BidListRepository bidListRepository;
+    private final TradeRepository tradeRepository;
+    private final CurvePointRepository curvePointRepository;
+    private final RatingRepository ratingRepository;
+    private final RuleNameRepository ruleNameRepository;
+    private final ShardRouter shardRouter;
+    private final long resyncIntervalMillis;
+    private final Clock clock;
+    private final SummaryCounter<String> bidListsByStatus = new SummaryCounter<>();
+    private final SummaryCounter<String> tradesOfDayByBook = new SummaryCounter<>();
+    private final SummaryCounter<String> curvePointsByCurve = new SummaryCounter<>();
+    private final SummaryCounter<String> ratingsByMoodys = new SummaryCounter<>();
+    private final AtomicLong tradeCount = new AtomicLong();
+    private final AtomicLong ruleCount = new AtomicLong();
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+    private volatile LocalDate tradeDay;
+    private volatile ScheduledExecutorService scheduler;
+
+    @Autowired
+    public DashboardService(BidListRepository bidListRepository, TradeRepository tradeRepository,
+                            CurvePointRepository curvePointRepository, RatingRepository ratingRepository,
+                            RuleNameRepository ruleNameRepository, ShardRouter shardRouter,
+                            @Value("${poseidon.dashboard.resync-interval-ms:30000}") long resyncIntervalMillis) {
+        this(bidListRepository, tradeRepository, curvePointRepository, ratingRepository, ruleNameRepository,
+                shardRouter, resyncIntervalMillis, Clock.systemDefaultZone());
+    }
+
+    DashboardService(BidListRepository bidListRepository, TradeRepository tradeRepository,
+                     CurvePointRepository curvePointRepository, RatingRepository ratingRepository,
+                     RuleNameRepository ruleNameRepository, ShardRouter shardRouter, long resyncIntervalMillis,
+                     Clock clock) {
+        this.bidListRepository = bidListRepository;
+        this.tradeRepository = tradeRepository;
+        this.curvePointRepository = curvePointRepository;
+        this.ratingRepository = ratingRepository;
+        this.ruleNameRepository = ruleNameRepository;
+        this.shardRouter = shardRouter;
+        this.resyncIntervalMillis = resyncIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Compute the counters from the stored entities, then start resynchronizing them.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    public synchronized void run(String... args) {
+        resync();
+        if (resyncIntervalMillis > 0 && scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "dashboard-resync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::resyncQuietly, resyncIntervalMillis, resyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Replace every counter with the totals computed by the database, reading all shards in
+     * parallel.
+     */
+    public synchronized void resync() {
+        LocalDate today = LocalDate.now(clock);
+        Timestamp from = Timestamp.valueOf(today.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(today.plusDays(1).atStartOfDay());
+        Map<String, SummaryCounter.Total> bidLists = merge(
+                shardRouter.onEachShardReadOnly(bidListRepository::findDashboardTotals));
+        Map<String, SummaryCounter.Total> tradesOfDay = merge(
+                shardRouter.onEachShardReadOnly(() -> tradeRepository.findDashboardTotals(from, to)));
+        long trades = shardRouter.onEachShardReadOnly(tradeRepository::count).stream().mapToLong(Long::longValue).sum();
+        Map<String, SummaryCounter.Total> curvePoints = merge(List.of(curvePointRepository.findDashboardTotals()));
+        Map<String, SummaryCounter.Total> ratings = merge(List.of(ratingRepository.findDashboardTotals()));
+        long rules = ruleNameRepository.count();
+
+        bidListsByStatus.reset(bidLists);
+        synchronized (tradesOfDayByBook) {
+            tradesOfDayByBook.reset(tradesOfDay);
+            tradeDay = today;
+        }
+        tradeCount.set(trades);
+        curvePointsByCurve.reset(curvePoints);
+        ratingsByMoodys.reset(ratings);
+        ruleCount.set(rules);
+    }
+
+    private void resyncQuietly() {
+        resyncPending.set(false);
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            // Keep the current totals; the next resync retries
+        }
+    }
+
+    /**
+     * Return a section of the dashboard by name.
+     *
+     * @param name one of {@link #SECTIONS}
+     * @return the section, or empty if no section has this name
+     */
+    public Optional<DashboardSection> section(String name) {
+        return Optional.ofNullable(switch (name) {
+            case "bids" -> bidLists();
+            case "trades" -> trades();
+            case "curves" -> curvePoints();
+            case "ratings" -> ratings();
+            case "rules" -> rules();
+            default -> null;
+        });
+    }
+
+    /**
+     * @return the number of BidLists, and their count and total bid quantity per status
+     */
+    public DashboardSection bidLists() {
+        return section("bids", bidListsByStatus, Comparator.naturalOrder());
+    }
+
+    /**
+     * @return the number of trades, and the count and notional of today's trades per book
+     */
+    public DashboardSection trades() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(tradeDay) && startDay(today)) {
+            // Trades dated today may already be stored
+            markStale();
+        }
+        List<DashboardEntry> entries = tradesOfDayByBook.totals().entrySet().stream()
+                .map(total -> new DashboardEntry(total.getKey(), total.getValue().count(), total.getValue().amount()))
+                .sorted(Comparator.comparing(DashboardEntry::key))
+                .toList();
+        return new DashboardSection("trades", tradeCount.get(), entries);
+    }
+
+    /**
+     * @return the number of curve points, and their count per curve in curve id order
+     */
+    public DashboardSection curvePoints() {
+        return section("curves", curvePointsByCurve,
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+    }
+
+    /**
+     * @return the number of ratings, and their count per Moody's rating
+     */
+    public DashboardSection ratings() {
+        return section("ratings", ratingsByMoodys, Comparator.naturalOrder());
+    }
+
+    /**
+     * @return the number of rules
+     */
+    public DashboardSection rules() {
+        return new DashboardSection("rules", ruleCount.get(), List.of());
+    }
+
+    /**
+     * Count a created BidList under its status.
+     *
+     * @param event the event published after a BidList has been saved
+     */
+    @EventListener
+    public void onBidListSaved(BidListSavedEvent event) {
+        BidList bidList = event.bidList();
+        if (event.created()) {
+            bidListsByStatus.add(key(bidList.getStatus()), amount(bidList.getBidQuantity()));
+        } else {
+            markStale();
+        }
+    }
+
+    /**
+     * Count a created trade, and add it to the totals of its book if it is dated today.
+     *
+     * @param event the event published after a trade has been saved
+     */
+    @EventListener
+    public void onTradeSaved(TradeSavedEvent event) {
+        Trade trade = event.trade();
+        if (!event.created()) {
+            markStale();
+            return;
+        }
+        tradeCount.incrementAndGet();
+        if (trade.getTradeDate() != null) {
+            LocalDate day = trade.getTradeDate().toLocalDateTime().toLocalDate();
+            synchronized (tradesOfDayByBook) {
+                if (day.equals(tradeDay)) {
+                    tradesOfDayByBook.add(key(trade.getBook()), notional(trade.getBuyQuantity(), trade.getBuyPrice(),
+                            trade.getSellQuantity(), trade.getSellPrice()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Count a created CurvePoint under its curve.
+     *
+     * @param event the event published after a CurvePoint has been saved
+     */
+    @EventListener
+    public void onCurvePointSaved(CurvePointSavedEvent event) {
+        Integer curveId = event.curvePoint().getCurveId();
+        if (event.created()) {
+            curvePointsByCurve.add(curveId == null ? NONE : curveId.toString(), 0);
+        } else {
+            markStale();
+        }
+    }
+
+    /**
+     * Count a created Rating under its Moody's rating.
+     *
+     * @param event the event published after a Rating has been saved
+     */
+    @EventListener
+    public void onRatingSaved(RatingSavedEvent event) {
+        if (event.created()) {
+            ratingsByMoodys.add(key(event.rating().getMoodysRating()), 0);
+        } else {
+            markStale();
+        }
+    }
+
+    /**
+     * Count a created RuleName.
+     *
+     * @param event the event published after a RuleName has been saved
+     */
+    @EventListener
+    public void onRuleNameSaved(RuleNameSavedEvent event) {
+        if (event.created()) {
+            ruleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Resync the counters after counted entities were deleted.
+     *
+     * @param event the event published after a bulk delete
+     */
+    @EventListener
+    public void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (COUNTED_TYPES.contains(event.entityType()) && !event.ids().isEmpty()) {
+            markStale();
+        }
+    }
+
+    /**
+     * Resync the counters when a counted field was written.
+     *
+     * @param event the event published after a bulk or partial update
+     */
+    @EventListener
+    public void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if ((event.entityType() == BidList.class && touches(event, BID_LIST_FIELDS))
+                || (event.entityType() == Trade.class && touches(event, TRADE_FIELDS))
+                || (event.entityType() == CurvePoint.class && touches(event, CURVE_POINT_FIELDS))) {
+            markStale();
+        }
+    }
+
+    /**
+     * Stop resynchronizing the counters.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Drop the trades of the previous day.
+     *
+     * @return true if this call started the day
+     */
+    private boolean startDay(LocalDate today) {
+        synchronized (tradesOfDayByBook) {
+            if (today.equals(tradeDay)) {
+                return false;
+            }
+            tradesOfDayByBook.reset(Map.of());
+            tradeDay = today;
+            return true;
+        }
+    }
+
+    /**
+     * Resync the counters: in the background if they are polled, at once otherwise.
+     */
+    private void markStale() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            resync();
+        } else if (!current.isShutdown() && resyncPending.compareAndSet(false, true)) {
+            current.execute(this::resyncQuietly);
+        }
+    }
+
+    private static DashboardSection section(String name, SummaryCounter<String> counter, Comparator<String> order) {
+        List<DashboardEntry> entries = counter.totals().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(order))
+                .map(total -> new DashboardEntry(total.getKey(), total.getValue().count(), total.getValue().amount()))
+                .toList();
+        return new DashboardSection(name, counter.size(), entries);
+    }
+
+    private static boolean touches(EntitiesUpdatedEvent event, Set<String> fields) {
+        return event.fields().stream().anyMatch(fields::contains);
+    }
+
+    /**
+     * Add up the totals of every shard by key, a null key counting as the empty one.
+     */
+    private static Map<String, SummaryCounter.Total> merge(List<List<DashboardTotal>> shards) {
+        Map<String, SummaryCounter.Total> totals = new HashMap<>();
+        for (List<DashboardTotal> shard : shards) {
+            for (DashboardTotal total : shard) {
+                totals.merge(key(total.key()), new SummaryCounter.Total(total.count(), amount(total.amount())),
+                        (a, b) -> new SummaryCounter.Total(a.count() + b.count(), a.amount() + b.amount()));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Notional of a trade: bought quantity times buy price plus sold quantity times sell price,
+     * each side counting for zero when its quantity or price is missing.
+     */
+    static double notional(Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        return amount(buyQuantity) * amount(buyPrice) + amount(sellQuantity) * amount(sellPrice);
+    }
+
+    private static String key(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private static double amount(Double value) {
+        return value == null ? 0 : value;
+    }
+}
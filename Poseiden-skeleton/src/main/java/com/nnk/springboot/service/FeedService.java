@@ -0,0 +1,112 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.FeedResult;
+import com.nnk.springboot.feed.FeedReader;
+import com.nnk.springboot.feed.FeedSchema;
+import com.nnk.springboot.feed.FeedWriter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service layer of the binary bulk feed.
+ * Ingestion decodes batches straight from the request stream; trades are upserted by their
+ * upstream key and bid lists inserted one transaction per batch. Egress streams every row in
+ * id order, one batch per page.
+ */
+@Service
+public class FeedService {
+    /**
+     * Number of records per batch written on egress.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private final TradeService tradeService;
+    private final BidListService bidListService;
+
+    public FeedService(TradeService tradeService, BidListService bidListService) {
+        this.tradeService = tradeService;
+        this.bidListService = bidListService;
+    }
+
+    /**
+     * Store every trade of a binary feed. Trades already received (same sourceListId and
+     * account) are overwritten rather than duplicated, so a replayed feed is harmless.
+     *
+     * @param in the feed stream
+     * @return the number of batches and trades read
+     * @throws IOException if the stream is malformed or cannot be read
+     */
+    public FeedResult ingestTrades(InputStream in) throws IOException {
+        FeedReader<Trade> reader = new FeedReader<>(in, FeedSchema.TRADE);
+        List<Trade> batch = new ArrayList<>();
+        int batches = 0;
+        int records = 0;
+        while (reader.readBatch(batch)) {
+            tradeService.upsertAll(batch);
+            batches++;
+            records += batch.size();
+        }
+        return new FeedResult(batches, records);
+    }
+
+    /**
+     * Insert every bid list of a binary feed. Batches are inserted one after the other; when one
+     * fails, the batches before it stay stored, as may part of the failing batch on a sharded
+     * database (see {@link BidListService#insertAll}).
+     *
+     * @param in the feed stream
+     * @return the number of batches and bid lists read
+     * @throws IOException if the stream is malformed or cannot be read
+     */
+    public FeedResult ingestBidLists(InputStream in) throws IOException {
+        FeedReader<BidList> reader = new FeedReader<>(in, FeedSchema.BID_LIST);
+        List<BidList> batch = new ArrayList<>();
+        int batches = 0;
+        int records = 0;
+        while (reader.readBatch(batch)) {
+            bidListService.insertAll(batch);
+            batches++;
+            records += batch.size();
+        }
+        return new FeedResult(batches, records);
+    }
+
+    /**
+     * Write every trade as a binary feed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void exportTrades(OutputStream out) throws IOException {
+        FeedWriter<Trade> writer = new FeedWriter<>(out, FeedSchema.TRADE);
+        List<Trade> batch = tradeService.findBatchAfter(null, BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            writer.writeBatch(batch);
+            batch = tradeService.findBatchAfter(batch.get(batch.size() - 1).getTradeId(), BATCH_SIZE);
+        }
+        out.flush();
+    }
+
+    /**
+     * Write every bid list as a binary feed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void exportBidLists(OutputStream out) throws IOException {
+        FeedWriter<BidList> writer = new FeedWriter<>(out, FeedSchema.BID_LIST);
+        List<BidList> batch = bidListService.findBatchAfter(null, BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            writer.writeBatch(batch);
+            batch = bidListService.findBatchAfter(batch.get(batch.size() - 1).getId(), BATCH_SIZE);
+        }
+        out.flush();
+    }
+}
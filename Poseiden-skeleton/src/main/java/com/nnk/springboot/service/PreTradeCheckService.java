@@ -0,0 +1,250 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameJson;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.rules.OrderFields;
+import com.nnk.springboot.rules.PreTradeCheck;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.rules.PreTradeRuleBook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-trade checks defined by RuleNames whose json declares a {@link PreTradeCheck}, run
+ * synchronously by the BidListService and TradeService before an order is saved.
+ *
+ * <p>The checks are compiled once per rule, at startup and then when the RuleNameService saves,
+ * updates or deletes a rule, and assembled into one {@link PreTradeRuleBook} per kind of order.
+ * A new book replaces the previous one atomically, so checking an order takes no lock and never
+ * reads the database. Rules whose json cannot be compiled are left out and reported by
+ * {@link #invalidRules()}.
+ *
+ * <p>Rules changed on another node do not publish events here: every
+ * poseidon.checks.refresh-interval-ms (5 s by default, 0 to disable) the check rules are read
+ * again, and the books are rebuilt when they differ from the ones last read.
+ */
+@Service
+public class PreTradeCheckService implements CommandLineRunner, AutoCloseable {
+    private final RuleNameRepository ruleNameRepository;
+    private final ObjectMapper objectMapper;
+    private final long refreshIntervalMillis;
+    private final Map<Integer, PreTradeCheck<Trade>> tradeChecks = new ConcurrentHashMap<>();
+    private final Map<Integer, PreTradeCheck<BidList>> bidChecks = new ConcurrentHashMap<>();
+    private final Map<Integer, String> invalidRules = new ConcurrentHashMap<>();
+    private volatile PreTradeRuleBook<Trade> tradeBook = new PreTradeRuleBook<>(OrderFields.TRADE, List.of());
+    private volatile PreTradeRuleBook<BidList> bidBook = new PreTradeRuleBook<>(OrderFields.BID_LIST, List.of());
+    private List<RuleNameJson> loaded = List.of();
+    private ScheduledExecutorService scheduler;
+
+    public PreTradeCheckService(RuleNameRepository ruleNameRepository, ObjectMapper objectMapper,
+                                @Value("${poseidon.checks.refresh-interval-ms:5000}") long refreshIntervalMillis) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.objectMapper = objectMapper;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Compile the checks of every rule, then start refreshing them from the database.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    public synchronized void run(String... args) {
+        refresh();
+        if (refreshIntervalMillis > 0 && scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "pre-trade-checks");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Read the check rules and rebuild the books if they changed since last read, e.g. on another node.
+     */
+    public synchronized void refresh() {
+        List<RuleNameJson> rules = ruleNameRepository.findCheckJson();
+        if (rules.equals(loaded)) {
+            return;
+        }
+        tradeChecks.clear();
+        bidChecks.clear();
+        invalidRules.clear();
+        rules.forEach(rule -> compile(rule.id(), rule.name(), rule.json()));
+        loaded = rules;
+        publish();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keep the current books; the next refresh retries
+        }
+    }
+
+    /**
+     * @return true when at least one check applies to trades
+     */
+    public boolean checksTrades() {
+        return tradeBook.size() > 0;
+    }
+
+    /**
+     * @return true when at least one check applies to BidLists
+     */
+    public boolean checksBidLists() {
+        return bidBook.size() > 0;
+    }
+
+    /**
+     * Run the checks on a trade about to be saved.
+     *
+     * @param trade the trade
+     * @throws PreTradeCheckException if the trade breaks a check
+     */
+    public void check(Trade trade) {
+        List<String> violations = tradeBook.violations(trade);
+        if (!violations.isEmpty()) {
+            throw new PreTradeCheckException(violations);
+        }
+    }
+
+    /**
+     * Run the checks on a BidList about to be saved.
+     *
+     * @param bidList the BidList
+     * @throws PreTradeCheckException if the BidList breaks a check
+     */
+    public void check(BidList bidList) {
+        List<String> violations = bidBook.violations(bidList);
+        if (!violations.isEmpty()) {
+            throw new PreTradeCheckException(violations);
+        }
+    }
+
+    /**
+     * @return why each rule that declares a check could not be compiled, by rule id
+     */
+    public Map<Integer, String> invalidRules() {
+        return Map.copyOf(invalidRules);
+    }
+
+    private void compile(Integer id, String name, String json) {
+        tradeChecks.remove(id);
+        bidChecks.remove(id);
+        invalidRules.remove(id);
+        JsonNode spec;
+        try {
+            spec = json == null ? null : objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            if (json.contains("\"check\"")) {
+                invalidRules.put(id, "Invalid json");
+            }
+            return;
+        }
+        if (!PreTradeCheck.isCheck(spec)) {
+            return;
+        }
+        try {
+            if (PreTradeCheck.appliesTo(spec, OrderFields.TRADE)) {
+                tradeChecks.put(id, PreTradeCheck.compile(id, name, spec, OrderFields.TRADE));
+            }
+            if (PreTradeCheck.appliesTo(spec, OrderFields.BID_LIST)) {
+                bidChecks.put(id, PreTradeCheck.compile(id, name, spec, OrderFields.BID_LIST));
+            }
+        } catch (IllegalArgumentException e) {
+            tradeChecks.remove(id);
+            bidChecks.remove(id);
+            invalidRules.put(id, e.getMessage());
+        }
+    }
+
+    private void remove(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            tradeChecks.remove(id);
+            bidChecks.remove(id);
+            invalidRules.remove(id);
+        }
+    }
+
+    private synchronized void publish() {
+        tradeBook = new PreTradeRuleBook<>(OrderFields.TRADE, List.copyOf(tradeChecks.values()));
+        bidBook = new PreTradeRuleBook<>(OrderFields.BID_LIST, List.copyOf(bidChecks.values()));
+    }
+
+    /**
+     * Recompile the check of a saved rule.
+     *
+     * @param event the event published after a RuleName has been saved
+     */
+    @EventListener
+    public synchronized void onRuleNameSaved(RuleNameSavedEvent event) {
+        RuleName rule = event.ruleName();
+        compile(rule.getId(), rule.getName(), rule.getJson());
+        publish();
+    }
+
+    /**
+     * Drop the checks of deleted rules.
+     *
+     * @param event the event published after entities have been deleted in bulk
+     */
+    @EventListener
+    public synchronized void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (event.entityType() == RuleName.class) {
+            remove(event.ids());
+            publish();
+        }
+    }
+
+    /**
+     * Recompile the checks of rules whose name or json was updated.
+     *
+     * @param event the event published after entities have been updated in bulk
+     */
+    @EventListener
+    public synchronized void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if (event.entityType() != RuleName.class
+                || !(event.fields().contains("json") || event.fields().contains("name"))) {
+            return;
+        }
+        for (Integer id : event.ids()) {
+            ruleNameRepository.findById(id).ifPresentOrElse(rule -> compile(id, rule.getName(), rule.getJson()),
+                    () -> remove(List.of(id)));
+        }
+        publish();
+    }
+
+    /**
+     * Stop refreshing the checks.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.dto.CoalescingStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of read queries: while a query runs, identical calls (same query
+ * name and arguments) wait for it and get its result instead of running it again. Nothing is
+ * cached once the query completes, so a call never sees data older than a query that was
+ * still running when it arrived.
+ *
+ * <p>The first caller runs the query in a read-only transaction; the other callers hold no
+ * transaction or connection while they wait. Results are shared between callers and must be
+ * treated as read-only. Calls inside a transaction that has written data must not be coalesced,
+ * as they would not see their own changes.
+ */
+@Service
+public class QueryCoalescer {
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private final TransactionTemplate readTransaction;
+
+    @Autowired
+    public QueryCoalescer(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    private QueryCoalescer() {
+        this.readTransaction = null;
+    }
+
+    /**
+     * @return a coalescer running queries without a transaction of its own, for tests
+     */
+    public static QueryCoalescer direct() {
+        return new QueryCoalescer();
+    }
+
+    /**
+     * Run a query, or wait for the identical query already running.
+     *
+     * @param query the query name, such as trade.summaries
+     * @param arguments the arguments identifying the query (filter, page...); compared with equals
+     * @param loader the query
+     * @return the result of the query, possibly shared with concurrent callers
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String query, List<?> arguments, Supplier<T> loader) {
+        Key key = new Key(query, arguments);
+        Counters queryCounters = counters.computeIfAbsent(query, name -> new Counters());
+        queryCounters.calls.increment();
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            queryCounters.coalesced.increment();
+            return (T) await(running);
+        }
+        queryCounters.executions.increment();
+        try {
+            T result = readTransaction == null ? loader.get() : readTransaction.execute(status -> loader.get());
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return the counters of each query name, sorted by name
+     */
+    public List<CoalescingStats> stats() {
+        return counters.entrySet().stream()
+                .map(entry -> new CoalescingStats(entry.getKey(), entry.getValue().calls.sum(),
+                        entry.getValue().executions.sum(), entry.getValue().coalesced.sum()))
+                .sorted(Comparator.comparing(CoalescingStats::query))
+                .toList();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // The failure of the running query is rethrown as is to every caller
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String query, List<?> arguments) {
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
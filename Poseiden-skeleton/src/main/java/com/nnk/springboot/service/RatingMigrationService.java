@@ -0,0 +1,145 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingNotch;
+import com.nnk.springboot.dto.RatingTransitions;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.risk.RatingScale;
+import com.nnk.springboot.risk.RatingSnapshot;
+import com.nnk.springboot.risk.TransitionMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Rating migration analytics. The current notch of every rating is kept in memory, filled from
+ * the database at startup and then following the save and delete events of the RatingService.
+ * Snapshots of it are taken at startup and on demand, the oldest being dropped beyond
+ * poseidon.rating.max-snapshots, and any two of them, or one and the current state, give a
+ * {@link TransitionMatrix}.
+ */
+@Service
+public class RatingMigrationService implements CommandLineRunner {
+    private final RatingService ratingService;
+    private final RatingRepository ratingRepository;
+    private final Clock clock;
+    private final int maxSnapshots;
+    private final Map<Integer, Integer> current = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDateTime, RatingSnapshot> snapshots = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public RatingMigrationService(RatingService ratingService, RatingRepository ratingRepository,
+                                  @Value("${poseidon.rating.max-snapshots:24}") int maxSnapshots) {
+        this(ratingService, ratingRepository, maxSnapshots, Clock.systemDefaultZone());
+    }
+
+    RatingMigrationService(RatingService ratingService, RatingRepository ratingRepository, int maxSnapshots,
+                           Clock clock) {
+        this.ratingService = ratingService;
+        this.ratingRepository = ratingRepository;
+        this.maxSnapshots = Math.max(1, maxSnapshots);
+        this.clock = clock;
+    }
+
+    /**
+     * Compute the missing notches, load the current ones and take the first snapshot.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    @Transactional
+    public void run(String... args) {
+        ratingService.fillMissingNotches();
+        try (Stream<RatingNotch> notches = ratingRepository.streamNotches()) {
+            notches.forEach(notch -> current.put(notch.id(), notch.notch()));
+        }
+        snapshot();
+    }
+
+    /**
+     * Take a snapshot of the current notches.
+     *
+     * @return the date of the snapshot
+     */
+    public LocalDateTime snapshot() {
+        RatingSnapshot snapshot = RatingSnapshot.of(LocalDateTime.now(clock), Map.copyOf(current));
+        snapshots.put(snapshot.takenAt(), snapshot);
+        while (snapshots.size() > maxSnapshots) {
+            snapshots.pollFirstEntry();
+        }
+        return snapshot.takenAt();
+    }
+
+    /**
+     * @return the dates of the kept snapshots, in ascending order
+     */
+    public List<LocalDateTime> snapshots() {
+        return List.copyOf(snapshots.keySet());
+    }
+
+    /**
+     * Count the rating migrations between two dates.
+     *
+     * @param from the earlier date; the latest snapshot taken at or before it is used
+     * @param to the later date, same rule; null for the current notches
+     * @return the transition matrix and its summary
+     * @throws IllegalArgumentException if no snapshot was taken at or before a date
+     */
+    public RatingTransitions transitions(LocalDateTime from, LocalDateTime to) {
+        RatingSnapshot before = snapshotAt(from);
+        RatingSnapshot after = to == null ? RatingSnapshot.of(LocalDateTime.now(clock), Map.copyOf(current)) : snapshotAt(to);
+        TransitionMatrix matrix = TransitionMatrix.between(before, after);
+        return new RatingTransitions(before.takenAt(), after.takenAt(), RatingScale.labels(), matrix.counts(),
+                matrix.probabilities(), matrix.withdrawn(), matrix.added(), matrix.upgrades(), matrix.downgrades(),
+                matrix.unchanged());
+    }
+
+    /**
+     * Record the notch of a saved rating.
+     *
+     * @param event the event published after a Rating has been saved
+     */
+    @EventListener
+    public void onRatingSaved(RatingSavedEvent event) {
+        Rating rating = event.rating();
+        if (rating.getNotch() == null) {
+            current.remove(rating.getId());
+        } else {
+            current.put(rating.getId(), rating.getNotch());
+        }
+    }
+
+    /**
+     * Forget deleted ratings.
+     *
+     * @param event the event published after a bulk delete
+     */
+    @EventListener
+    public void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (event.entityType() == Rating.class) {
+            event.ids().forEach(current::remove);
+        }
+    }
+
+    private RatingSnapshot snapshotAt(LocalDateTime date) {
+        Map.Entry<LocalDateTime, RatingSnapshot> entry = snapshots.floorEntry(date);
+        if (entry == null) {
+            throw new IllegalArgumentException("No rating snapshot at or before " + date);
+        }
+        return entry.getValue();
+    }
+}
@@ -0,0 +1,187 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gap-based ordering of the ratings. Order numbers are spaced by poseidon.rating.order-gap, so
+ * moving a rating gives it a key halfway between its new neighbours and updates that one row.
+ *
+ * <p>When a move uses up the gap between two keys, the keys of all ratings are spaced evenly
+ * again on a background thread, so the next moves find room. A move that finds no room at all
+ * (or an anchor sharing its key with other ratings) respaces the keys before it proceeds.
+ * Every rating has a key: a rating saved without one is given the key after the last one
+ * ({@link #appendKey()}), so the list is read in the order of the ix_rating_order index.
+ */
+@Service
+public class RatingOrderService implements AutoCloseable {
+    private final RatingRepository ratingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int gap;
+    private final ExecutorService rebalancer;
+    private final AtomicBoolean rebalanceScheduled = new AtomicBoolean();
+
+    public RatingOrderService(RatingRepository ratingRepository, ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${poseidon.rating.order-gap:1024}") int gap) {
+        this.ratingRepository = ratingRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.gap = Math.max(2, gap);
+        this.rebalancer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "rating-rebalance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pick the key of a rating added at the end of the list.
+     *
+     * @return the last key plus the gap, or the gap when there is no rating yet
+     */
+    public synchronized int appendKey() {
+        Integer last = ratingRepository.findMaxOrderNumber();
+        return last == null ? gap : last + gap;
+    }
+
+    /**
+     * Move a rating right after another one with a single UPDATE of its order number.
+     *
+     * @param id the rating to move
+     * @param afterId the rating it should follow; null to move it first
+     * @return true if the rating was moved, false if either rating does not exist
+     */
+    public synchronized boolean move(int id, Integer afterId) {
+        if (afterId != null && afterId == id) {
+            return ratingRepository.existsById(id);
+        }
+        if (!ratingRepository.existsById(id) || afterId != null && !ratingRepository.existsById(afterId)) {
+            return false;
+        }
+        moveKeys(List.of(id), afterId);
+        return true;
+    }
+
+    /**
+     * Move several ratings, in the given order, right after another one. The moved ratings get
+     * keys spread over the gap that follows the anchor, one UPDATE per rating.
+     *
+     * @param ids the ratings to move, in their new order; unknown ids and the anchor are ignored
+     * @param afterId the rating they should follow; null to move them first
+     * @return the number of ratings moved, 0 if the anchor does not exist
+     */
+    public synchronized int moveAll(Collection<Integer> ids, Integer afterId) {
+        if (ids == null || afterId != null && !ratingRepository.existsById(afterId)) {
+            return 0;
+        }
+        List<Integer> moved = ids.stream().filter(id -> !id.equals(afterId)).distinct()
+                .filter(ratingRepository::existsById).toList();
+        if (!moved.isEmpty()) {
+            moveKeys(moved, afterId);
+        }
+        return moved.size();
+    }
+
+    private void moveKeys(List<Integer> ids, Integer afterId) {
+        Optional<List<Integer>> keys = freeKeys(ids, afterId);
+        if (keys.isEmpty()) {
+            rebalance();
+            keys = freeKeys(ids, afterId);
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            ratingRepository.updateOrderNumber(ids.get(i), keys.orElseThrow().get(i));
+        }
+        eventPublisher.publishEvent(new EntitiesUpdatedEvent(Rating.class, ids, Set.of("orderNumber")));
+    }
+
+    /**
+     * Space the order numbers of all ratings evenly, keeping their order, in one transaction.
+     *
+     * @return the number of ratings whose order number changed
+     */
+    public synchronized int rebalance() {
+        try {
+            List<Integer> changed = transaction.execute(status -> {
+                List<RatingSummary> ratings = ratingRepository.findAllSummaries();
+                List<Integer> updated = new ArrayList<>();
+                for (int i = 0; i < ratings.size(); i++) {
+                    RatingSummary rating = ratings.get(i);
+                    int key = (i + 1) * gap;
+                    if (rating.orderNumber() != key) {
+                        ratingRepository.updateOrderNumber(rating.id(), key);
+                        updated.add(rating.id());
+                    }
+                }
+                return updated;
+            });
+            if (!changed.isEmpty()) {
+                eventPublisher.publishEvent(new EntitiesUpdatedEvent(Rating.class, changed, Set.of("orderNumber")));
+            }
+            return changed.size();
+        } finally {
+            rebalanceScheduled.set(false);
+        }
+    }
+
+    /**
+     * Stop the background rebalancing.
+     */
+    @Override
+    public void close() {
+        rebalancer.shutdownNow();
+    }
+
+    /**
+     * Pick keys spread evenly between the anchor and the next rating, scheduling a background
+     * rebalance when that uses up the gap. A single rating gets the key halfway.
+     *
+     * @return one key per moved rating, or empty if there is no room or the anchor key is not unique
+     */
+    private Optional<List<Integer>> freeKeys(List<Integer> ids, Integer afterId) {
+        int previous = 0;
+        if (afterId != null) {
+            Optional<Integer> anchor = ratingRepository.findOrderNumberById(afterId);
+            if (anchor.isEmpty() || ratingRepository.countByOrderNumber(anchor.get(), ids) > 1) {
+                return Optional.empty();
+            }
+            previous = anchor.get();
+        }
+        Integer next = ratingRepository.findNextOrderNumber(previous, ids);
+        int step = next == null ? gap : (next - previous) / (ids.size() + 1);
+        if (step < 1) {
+            return Optional.empty();
+        }
+        if (step < 2) {
+            scheduleRebalance();
+        }
+        List<Integer> keys = new ArrayList<>(ids.size());
+        for (int i = 1; i <= ids.size(); i++) {
+            keys.add(previous + i * step);
+        }
+        return Optional.of(keys);
+    }
+
+    private void scheduleRebalance() {
+        if (rebalanceScheduled.compareAndSet(false, true)) {
+            rebalancer.execute(this::rebalance);
+        }
+    }
+}
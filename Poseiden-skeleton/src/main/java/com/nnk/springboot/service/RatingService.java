@@ -1,31 +1,58 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
 import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.risk.RatingScale;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Service layer for managing Rating entities.
  * Provides CRUD operations delegating to the RatingRepository.
+ * Each save places the agency ratings on the common {@link RatingScale} so that ratings are
+ * sorted and filtered on the indexed notch column, and gives a rating without an order number
+ * the key after the last one (see {@link RatingOrderService}).
+ * Every write publishes a {@link RatingSavedEvent} or {@link EntitiesDeletedEvent} so in-memory
+ * views of the ratings stay in sync; order numbers are only changed by the RatingOrderService.
  */
 @Service
 public class RatingService {
     private final RatingRepository ratingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryCoalescer queryCoalescer;
+    private final RatingOrderService ratingOrderService;
 
-    public RatingService(RatingRepository ratingRepository) {
+    public RatingService(RatingRepository ratingRepository, ApplicationEventPublisher eventPublisher,
+                         QueryCoalescer queryCoalescer, RatingOrderService ratingOrderService) {
         this.ratingRepository = ratingRepository;
+        this.eventPublisher = eventPublisher;
+        this.queryCoalescer = queryCoalescer;
+        this.ratingOrderService = ratingOrderService;
     }
 
     /**
-     * Persist a rating entity.
+     * Compute the notch of a rating entity, persist it and publish a {@link RatingSavedEvent}.
+     * A rating without an order number is put at the end of the list.
      *
      * @param rating the rating entity to save; must not be null
      * @return the saved Rating instance
      */
     public Rating save(Rating rating) {
-        return ratingRepository.save(rating);
+        boolean created = rating.getId() == null;
+        if (rating.getOrderNumber() == null) {
+            rating.setOrderNumber(ratingOrderService.appendKey());
+        }
+        rating.setNotch(RatingScale.notch(rating.getMoodysRating(), rating.getSandPRating(), rating.getFitchRating()));
+        Rating saved = ratingRepository.save(rating);
+        eventPublisher.publishEvent(new RatingSavedEvent(saved, created));
+        return saved;
     }
 
     /**
@@ -38,6 +65,45 @@ public class RatingService {
         return ratingRepository.findById(id);
     }
 
+    /**
+     * Retrieve the rows of the Rating list page.
+     * Runs in a read-only transaction (flush mode MANUAL) and reads only the displayed columns.
+     * Concurrent calls share one execution (see {@link QueryCoalescer}).
+     *
+     * @return one summary per Rating, ordered by order number then id
+     */
+    public List<RatingSummary> findAllSummaries() {
+        return queryCoalescer.execute("rating.summaries", List.of(), ratingRepository::findAllSummaries);
+    }
+
+    /**
+     * Retrieve the rows of the Rating list page between two notches of the common scale.
+     * Concurrent calls with the same range share one execution (see {@link QueryCoalescer}).
+     *
+     * @param best the best notch included
+     * @param worst the worst notch included
+     * @return one summary per Rating in the range, ordered by notch then id
+     */
+    public List<RatingSummary> findSummariesByNotch(int best, int worst) {
+        return queryCoalescer.execute("rating.summariesByNotch", List.of(best, worst),
+                () -> ratingRepository.findSummariesByNotchBetween(best, worst));
+    }
+
+    /**
+     * Compute the notch of the ratings stored without one, e.g. before the notch column existed.
+     * No event is published: the agency ratings themselves do not change.
+     *
+     * @return the number of ratings updated
+     */
+    public int fillMissingNotches() {
+        List<Rating> ratings = ratingRepository.findByNotchIsNull();
+        ratings.forEach(rating -> rating.setNotch(
+                RatingScale.notch(rating.getMoodysRating(), rating.getSandPRating(), rating.getFitchRating())));
+        List<Rating> rated = ratings.stream().filter(rating -> rating.getNotch() != null).toList();
+        ratingRepository.saveAll(rated);
+        return rated.size();
+    }
+
     /**
      * Retrieve all ratings.
      *
@@ -48,12 +114,30 @@ public class RatingService {
     }
 
     /**
-     * Delete a rating by its identifier.
+     * Delete a rating by its identifier with a single DELETE statement.
      *
      * @param id the id of the rating to delete
+     * @return true if a rating was deleted, false if none exists with this id
+     */
+    public boolean deleteById(Integer id) {
+        return deleteByIds(List.of(id)) > 0;
+    }
+
+    /**
+     * Delete several ratings with a single DELETE statement.
+     *
+     * @param ids the ids of the ratings to delete; null or empty deletes nothing
+     * @return the number of ratings deleted
      */
-    public void deleteById(Integer id) {
-        ratingRepository.deleteById(id);
+    public int deleteByIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = ratingRepository.deleteByIds(ids);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EntitiesDeletedEvent(Rating.class, List.copyOf(ids)));
+        }
+        return deleted;
     }
 
     /**
@@ -0,0 +1,443 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleResult;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.rules.RuleSql;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the SQL of RuleNames. The statement of a rule is its sqlStr followed by its sqlPart; it
+ * is validated and compiled by {@link RuleSql} once, then kept until the rule changes. Running
+ * the same JDBC text every time lets the driver and the database reuse the prepared plan.
+ * Named parameters (:account) are bound from the request, as a number when they parse as one.
+ *
+ * <p>Each rule runs in a read-only transaction with a query timeout and a row limit, by default
+ * poseidon.rules.timeout-seconds and poseidon.rules.max-rows; the json field of a rule may lower
+ * them with {"timeoutSeconds": 2, "maxRows": 100}. Rules reading trades or bids run on every
+ * shard and their rows are concatenated, the others run on the default shard. Each shard would
+ * return its own partial totals, so when trades and bids are sharded a rule reading them cannot
+ * aggregate (COUNT, SUM, GROUP BY, DISTINCT...).
+ *
+ * <p>{@link RuleSql} only lets a rule read the application tables, but its check is lexical. On
+ * PostgreSQL, poseidon.rules.database-role is required: it names a role the rules run as,
+ * switched to with SET LOCAL ROLE for the transaction of each rule, so that the database refuses
+ * anything else, and the application does not start without it. The role needs SELECT on the five
+ * rule tables only, and the application user must be a member:
+ * <pre>
+ * CREATE ROLE poseidon_rules NOLOGIN;
+ * GRANT SELECT ON bidlist, trade, curvepoint, rating, rulename TO poseidon_rules;
+ * GRANT poseidon_rules TO poseidon;
+ * </pre>
+ *
+ * <p>Results are cached per rule and parameters, with the version of each table read. A version
+ * is bumped by the save, delete and update events of the services, so a cached result is served
+ * until one of its tables changes. Those events are local: a rule or row changed on another node
+ * or straight in the database is seen once the compiled rule or the result is older than
+ * poseidon.rules.cache-ttl-ms (30 s by default, 0 to disable both caches).
+ */
+@Service
+public class RuleExecutionService {
+    /** The tables a rule may read, by the entity stored in each. */
+    private static final Map<Class<?>, String> TABLES = Map.of(BidList.class, "bidlist", Trade.class, "trade",
+            CurvePoint.class, "curvepoint", Rating.class, "rating", RuleName.class, "rulename");
+    private static final Set<String> SHARDED_TABLES = Set.of("bidlist", "trade");
+    private static final Pattern INTEGER = Pattern.compile("-?\\d{1,18}");
+    private static final Pattern DECIMAL = Pattern.compile("-?\\d+\\.\\d+");
+    private static final Pattern ROLE = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,62}");
+
+    private final RuleNameRepository ruleNameRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final int timeoutSeconds;
+    private final int maxRows;
+    private final String databaseRole;
+    private final long cacheTtlMillis;
+    private final Clock clock;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Integer, CompiledRule> compiled = new ConcurrentHashMap<>();
+    private final Map<ResultKey, CachedResult> results;
+
+    private record CompiledRule(String name, RuleSql sql, int timeoutSeconds, int maxRows, long compiledAt) {
+    }
+
+    private record ResultKey(int ruleId, Map<String, String> parameters) {
+    }
+
+    private record CachedResult(long[] versions, RuleResult result, long storedAt) {
+    }
+
+    private record Rows(List<String> columns, List<List<Object>> rows) {
+    }
+
+    @Autowired
+    public RuleExecutionService(RuleNameRepository ruleNameRepository, JdbcTemplate jdbcTemplate,
+                                ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${poseidon.rules.timeout-seconds:5}") int timeoutSeconds,
+                                @Value("${poseidon.rules.max-rows:1000}") int maxRows,
+                                @Value("${poseidon.rules.result-cache-size:256}") int resultCacheSize,
+                                @Value("${poseidon.rules.database-role:}") String databaseRole,
+                                @Value("${poseidon.rules.cache-ttl-ms:30000}") long cacheTtlMillis) {
+        this(ruleNameRepository, jdbcTemplate, shardRouter, transactionManager, objectMapper, timeoutSeconds, maxRows,
+                resultCacheSize, databaseRole, cacheTtlMillis, Clock.systemUTC());
+    }
+
+    RuleExecutionService(RuleNameRepository ruleNameRepository, JdbcTemplate jdbcTemplate, ShardRouter shardRouter,
+                         PlatformTransactionManager transactionManager, ObjectMapper objectMapper, int timeoutSeconds,
+                         int maxRows, int resultCacheSize, String databaseRole, long cacheTtlMillis, Clock clock) {
+        if (!databaseRole.isEmpty() && !ROLE.matcher(databaseRole).matches()) {
+            throw new IllegalArgumentException("Invalid rule database role: " + databaseRole);
+        }
+        if (databaseRole.isEmpty() && "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()))) {
+            throw new IllegalStateException("poseidon.rules.database-role must be set on PostgreSQL");
+        }
+        this.ruleNameRepository = ruleNameRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.timeoutSeconds = Math.max(1, timeoutSeconds);
+        this.maxRows = Math.max(1, maxRows);
+        this.databaseRole = databaseRole;
+        this.cacheTtlMillis = Math.max(0, cacheTtlMillis);
+        this.clock = clock;
+        int capacity = Math.max(1, resultCacheSize);
+        this.results = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResultKey, CachedResult> eldest) {
+                return size() > capacity;
+            }
+        });
+        TABLES.values().forEach(table -> versions.put(table, new AtomicLong()));
+    }
+
+    /**
+     * Run a rule, or return its cached result when none of the tables it reads changed since and
+     * the result is younger than the cache TTL.
+     *
+     * @param ruleId the id of the rule
+     * @param parameters the values of the named parameters of the rule; extra ones are ignored
+     * @return the result, or empty if the rule does not exist
+     * @throws IllegalArgumentException if the SQL of the rule is not a valid rule or a parameter is missing
+     * @throws DataAccessException if the query fails, e.g. with a QueryTimeoutException
+     */
+    public Optional<RuleResult> run(int ruleId, Map<String, String> parameters) {
+        CompiledRule rule = compiled.get(ruleId);
+        if (rule == null || expired(rule.compiledAt())) {
+            if (rule != null) {
+                // The rule may have changed on another node: its results go with it
+                evict(List.of(ruleId));
+            }
+            Optional<RuleName> ruleName = ruleNameRepository.findById(ruleId);
+            if (ruleName.isEmpty()) {
+                return Optional.empty();
+            }
+            rule = compile(ruleName.get());
+            compiled.put(ruleId, rule);
+        }
+        Map<String, String> used = new TreeMap<>();
+        for (String name : rule.sql().parameters()) {
+            String value = parameters.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing parameter: " + name);
+            }
+            used.put(name, value);
+        }
+        ResultKey key = new ResultKey(ruleId, used);
+        long[] current = versionsOf(rule.sql());
+        CachedResult cached = results.get(key);
+        if (cached != null && Arrays.equals(cached.versions(), current) && !expired(cached.storedAt())) {
+            return Optional.of(cached.result().fromCache());
+        }
+        long now = clock.millis();
+        RuleResult result = execute(ruleId, rule, used);
+        if (compiled.get(ruleId) == rule && cacheTtlMillis > 0) {
+            results.put(key, new CachedResult(current, result, now));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Run several rules, as a dashboard does. A rule that cannot run gives a result carrying the
+     * error instead of failing the others.
+     *
+     * @param ruleIds the ids of the rules, in display order
+     * @param parameters the values of the named parameters, shared by all rules
+     * @return one result per id, in the same order
+     */
+    public List<RuleResult> runAll(Collection<Integer> ruleIds, Map<String, String> parameters) {
+        List<RuleResult> all = new ArrayList<>(ruleIds.size());
+        for (int ruleId : ruleIds) {
+            CompiledRule rule = compiled.get(ruleId);
+            String name = rule == null ? null : rule.name();
+            try {
+                all.add(run(ruleId, parameters).orElseGet(() -> RuleResult.failed(ruleId, null, "Unknown rule")));
+            } catch (IllegalArgumentException | DataAccessException e) {
+                all.add(RuleResult.failed(ruleId, name, e.getMessage()));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * @return the number of rules compiled and kept
+     */
+    public int compiledCount() {
+        return compiled.size();
+    }
+
+    private CompiledRule compile(RuleName ruleName) {
+        String sql = (nullToEmpty(ruleName.getSqlStr()) + " " + nullToEmpty(ruleName.getSqlPart())).trim();
+        RuleSql ruleSql = RuleSql.compile(sql, Set.copyOf(TABLES.values()));
+        if (ruleSql.aggregates() && shardRouter.isSharded() && ruleSql.tables().stream().anyMatch(SHARDED_TABLES::contains)) {
+            throw new IllegalArgumentException("A rule reading sharded trades or bids cannot aggregate:"
+                    + " each shard would return its own partial rows");
+        }
+        int timeout = timeoutSeconds;
+        int rows = maxRows;
+        JsonNode options = options(ruleName.getJson());
+        if (options.path("timeoutSeconds").canConvertToInt() && options.path("timeoutSeconds").asInt() > 0) {
+            timeout = Math.min(timeout, options.path("timeoutSeconds").asInt());
+        }
+        if (options.path("maxRows").canConvertToInt() && options.path("maxRows").asInt() > 0) {
+            rows = Math.min(rows, options.path("maxRows").asInt());
+        }
+        return new CompiledRule(ruleName.getName(), ruleSql, timeout, rows, clock.millis());
+    }
+
+    private JsonNode options(String json) {
+        if (json == null || !json.trim().startsWith("{")) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    private RuleResult execute(int ruleId, CompiledRule rule, Map<String, String> parameters) {
+        Object[] values = rule.sql().parameters().stream().map(name -> bindValue(parameters.get(name))).toArray();
+        ResultSetExtractor<Rows> extractor = resultSet -> {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<String> columns = new ArrayList<>(metaData.getColumnCount());
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnLabel(i));
+            }
+            List<List<Object>> rows = new ArrayList<>();
+            while (rows.size() <= rule.maxRows() && resultSet.next()) {
+                List<Object> row = new ArrayList<>(columns.size());
+                for (int i = 1; i <= columns.size(); i++) {
+                    row.add(readValue(resultSet.getObject(i)));
+                }
+                rows.add(row);
+            }
+            return new Rows(columns, rows);
+        };
+        long start = System.nanoTime();
+        List<Rows> shards = rule.sql().tables().stream().anyMatch(SHARDED_TABLES::contains)
+                ? shardRouter.onEachShardReadOnly(() -> query(rule, values, extractor))
+                : List.of(shardRouter.onShardReadOnly(shardRouter.shards().get(0), () -> query(rule, values, extractor)));
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        List<List<Object>> rows = new ArrayList<>();
+        for (Rows shard : shards) {
+            rows.addAll(shard.rows());
+        }
+        boolean truncated = rows.size() > rule.maxRows();
+        if (truncated) {
+            rows = rows.subList(0, rule.maxRows());
+        }
+        return new RuleResult(ruleId, rule.name(), shards.get(0).columns(), List.copyOf(rows), truncated, false,
+                elapsed, null);
+    }
+
+    private Rows query(CompiledRule rule, Object[] values, ResultSetExtractor<Rows> extractor) {
+        return readOnly.execute(status -> {
+            if (!databaseRole.isEmpty()) {
+                jdbcTemplate.execute("set local role " + databaseRole);
+            }
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(rule.sql().jdbcSql());
+                statement.setQueryTimeout(rule.timeoutSeconds());
+                statement.setMaxRows(rule.maxRows() + 1);
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                return statement;
+            }, extractor);
+        });
+    }
+
+    private static Object bindValue(String value) {
+        if (INTEGER.matcher(value).matches()) {
+            return Long.parseLong(value);
+        }
+        if (DECIMAL.matcher(value).matches()) {
+            return Double.parseDouble(value);
+        }
+        return value;
+    }
+
+    private static Object readValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private boolean expired(long since) {
+        return clock.millis() - since >= cacheTtlMillis;
+    }
+
+    private long[] versionsOf(RuleSql sql) {
+        return sql.tables().stream().sorted().mapToLong(table -> versions.get(table).get()).toArray();
+    }
+
+    private void changed(Class<?> entityType) {
+        String table = TABLES.get(entityType);
+        if (table != null) {
+            versions.get(table).incrementAndGet();
+        }
+    }
+
+    private void evict(Collection<Integer> ruleIds) {
+        for (Integer ruleId : ruleIds) {
+            compiled.remove(ruleId);
+        }
+        synchronized (results) {
+            results.keySet().removeIf(key -> ruleIds.contains(key.ruleId()));
+        }
+    }
+
+    /**
+     * Mark the bidlist table as changed.
+     *
+     * @param event the event published after a BidList has been saved
+     */
+    @EventListener
+    public void onBidListSaved(BidListSavedEvent event) {
+        changed(BidList.class);
+    }
+
+    /**
+     * Mark the trade table as changed.
+     *
+     * @param event the event published after a Trade has been saved
+     */
+    @EventListener
+    public void onTradeSaved(TradeSavedEvent event) {
+        changed(Trade.class);
+    }
+
+    /**
+     * Mark the curvepoint table as changed.
+     *
+     * @param event the event published after a CurvePoint has been saved
+     */
+    @EventListener
+    public void onCurvePointSaved(CurvePointSavedEvent event) {
+        changed(CurvePoint.class);
+    }
+
+    /**
+     * Mark the rating table as changed.
+     *
+     * @param event the event published after a Rating has been saved
+     */
+    @EventListener
+    public void onRatingSaved(RatingSavedEvent event) {
+        changed(Rating.class);
+    }
+
+    /**
+     * Drop the compiled statement and the results of a saved rule, and mark the rulename table as changed.
+     *
+     * @param event the event published after a RuleName has been saved
+     */
+    @EventListener
+    public void onRuleNameSaved(RuleNameSavedEvent event) {
+        evict(List.of(event.ruleName().getId()));
+        changed(RuleName.class);
+    }
+
+    /**
+     * Mark the table of the deleted entities as changed, and drop deleted rules.
+     *
+     * @param event the event published after entities have been deleted in bulk
+     */
+    @EventListener
+    public void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (event.entityType() == RuleName.class) {
+            evict(event.ids());
+        }
+        changed(event.entityType());
+    }
+
+    /**
+     * Mark the table of the updated entities as changed, and drop updated rules.
+     *
+     * @param event the event published after entities have been updated in bulk
+     */
+    @EventListener
+    public void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if (event.entityType() == RuleName.class) {
+            evict(event.ids());
+        }
+        changed(event.entityType());
+    }
+}
@@ -1,31 +1,49 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
 import com.nnk.springboot.repositories.RuleNameRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for managing RuleName entities.
  * Provides CRUD operations delegating to the RuleNameRepository.
+ * Every write publishes a {@link RuleNameSavedEvent}, {@link EntitiesDeletedEvent} or
+ * {@link EntitiesUpdatedEvent} so in-memory views of the rules stay in sync.
  */
 @Service
 public class RuleNameService {
     private final RuleNameRepository ruleNameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryCoalescer queryCoalescer;
 
-    public RuleNameService(RuleNameRepository ruleNameRepository) {
+    public RuleNameService(RuleNameRepository ruleNameRepository, ApplicationEventPublisher eventPublisher,
+                           QueryCoalescer queryCoalescer) {
         this.ruleNameRepository = ruleNameRepository;
+        this.eventPublisher = eventPublisher;
+        this.queryCoalescer = queryCoalescer;
     }
 
     /**
-     * Persist a RuleName entity.
+     * Persist a RuleName entity and publish a {@link RuleNameSavedEvent}.
      *
      * @param ruleName the entity to save; must not be null
      * @return the saved RuleName instance
      */
     public RuleName save(RuleName ruleName) {
-        return ruleNameRepository.save(ruleName);
+        boolean created = ruleName.getId() == null;
+        RuleName saved = ruleNameRepository.save(ruleName);
+        eventPublisher.publishEvent(new RuleNameSavedEvent(saved, created));
+        return saved;
     }
 
     /**
@@ -38,6 +56,17 @@ public class RuleNameService {
         return ruleNameRepository.findById(id);
     }
 
+    /**
+     * Retrieve the rows of the RuleName list page.
+     * Runs in a read-only transaction (flush mode MANUAL) and reads only the displayed columns.
+     * Concurrent calls share one execution (see {@link QueryCoalescer}).
+     *
+     * @return one summary per RuleName, ordered by id
+     */
+    public List<RuleNameSummary> findAllSummaries() {
+        return queryCoalescer.execute("ruleName.summaries", List.of(), ruleNameRepository::findAllSummaries);
+    }
+
     /**
      * Retrieve all RuleName entities.
      *
@@ -48,12 +77,55 @@ public class RuleNameService {
     }
 
     /**
-     * Delete a RuleName by its identifier.
+     * Delete a RuleName by its identifier with a single DELETE statement.
      *
      * @param id the id of the RuleName to delete
+     * @return true if a RuleName was deleted, false if none exists with this id
+     */
+    public boolean deleteById(Integer id) {
+        return deleteByIds(List.of(id)) > 0;
+    }
+
+    /**
+     * Delete several RuleNames with a single DELETE statement.
+     *
+     * @param ids the ids of the RuleNames to delete; null or empty deletes nothing
+     * @return the number of RuleNames deleted
+     */
+    public int deleteByIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = ruleNameRepository.deleteByIds(ids);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EntitiesDeletedEvent(RuleName.class, List.copyOf(ids)));
+        }
+        return deleted;
+    }
+
+    /**
+     * Set the template of several RuleNames with a single UPDATE statement.
+     *
+     * @param ids the ids of the RuleNames to update; null or empty updates nothing
+     * @param template the new template; must not be blank and at most 512 characters
+     * @return the number of RuleNames updated
+     * @throws IllegalArgumentException if the template is blank or too long
      */
-    public void deleteById(Integer id) {
-        ruleNameRepository.deleteById(id);
+    public int updateTemplate(Collection<Integer> ids, String template) {
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("Template is required");
+        }
+        if (template.length() > 512) {
+            throw new IllegalArgumentException("Template cannot exceed 512 characters");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int updated = ruleNameRepository.updateTemplateByIds(ids, template);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(RuleName.class, List.copyOf(ids), Set.of("template")));
+        }
+        return updated;
     }
 
     /**
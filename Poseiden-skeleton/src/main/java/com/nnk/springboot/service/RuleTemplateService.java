@@ -0,0 +1,293 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameTemplate;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.rules.OrderFields;
+import com.nnk.springboot.rules.RuleTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the templates of RuleNames against trades and BidLists. Each template is compiled into
+ * a {@link RuleTemplate} per kind of order at startup and again when the RuleNameService saves or
+ * updates its rule, then kept by rule id: rendering never parses a template. A template naming
+ * a field the kind of order lacks can only be rendered against the other kind.
+ *
+ * <p>Rules changed on another node publish no event here: every
+ * poseidon.rules.template-refresh-interval-ms (5 s by default, 0 to disable) the templates are
+ * read again, and those that changed are recompiled and those deleted dropped. Each local change
+ * of a rule bumps its version; a template read from the database is only kept if the version of
+ * its rule did not move during the read, so that a slow read cannot undo a later save.
+ */
+@Service
+public class RuleTemplateService implements CommandLineRunner, AutoCloseable {
+    /**
+     * Number of trades read per page when rendering every trade.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private final RuleNameRepository ruleNameRepository;
+    private final TradeService tradeService;
+    private final BidListService bidListService;
+    private final ObjectMapper objectMapper;
+    private final long refreshIntervalMillis;
+    private final Map<Integer, Compiled> templates = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * The template of a rule compiled for each kind of order, or why it could not be.
+     */
+    private record Compiled(String template, RuleTemplate<Trade> trade, String tradeError,
+                            RuleTemplate<BidList> bidList, String bidListError) {
+    }
+
+    public RuleTemplateService(RuleNameRepository ruleNameRepository, TradeService tradeService,
+                               BidListService bidListService, ObjectMapper objectMapper,
+                               @Value("${poseidon.rules.template-refresh-interval-ms:5000}") long refreshIntervalMillis) {
+        this.ruleNameRepository = ruleNameRepository;
+        this.tradeService = tradeService;
+        this.bidListService = bidListService;
+        this.objectMapper = objectMapper;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Compile the template of every rule, then start refreshing them from the database.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    public synchronized void run(String... args) {
+        refresh();
+        if (refreshIntervalMillis > 0 && scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "rule-templates");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Read the templates of every rule, recompile those that changed since last read, e.g. on
+     * another node, and drop those of deleted rules.
+     */
+    public void refresh() {
+        Map<Integer, Long> seen = Map.copyOf(versions);
+        List<RuleNameTemplate> rules = ruleNameRepository.findTemplates();
+        synchronized (this) {
+            Set<Integer> present = new HashSet<>();
+            for (RuleNameTemplate rule : rules) {
+                present.add(rule.id());
+                Compiled current = templates.get(rule.id());
+                if ((current == null || !Objects.equals(current.template(), rule.template()))
+                        && Objects.equals(versions.get(rule.id()), seen.get(rule.id()))) {
+                    compile(rule.id(), rule.template());
+                }
+            }
+            templates.keySet().removeIf(id -> !present.contains(id) && Objects.equals(versions.get(id), seen.get(id)));
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Keep the current templates; the next refresh retries
+        }
+    }
+
+    /**
+     * @param ruleId the id of the rule
+     * @return the template of the rule compiled for trades, or empty if the rule does not exist
+     * @throws IllegalArgumentException if the template cannot be rendered against trades
+     */
+    public Optional<RuleTemplate<Trade>> tradeTemplate(int ruleId) {
+        return compiled(ruleId).map(compiled -> {
+            if (compiled.trade() == null) {
+                throw new IllegalArgumentException(compiled.tradeError());
+            }
+            return compiled.trade();
+        });
+    }
+
+    /**
+     * @param ruleId the id of the rule
+     * @return the template of the rule compiled for BidLists, or empty if the rule does not exist
+     * @throws IllegalArgumentException if the template cannot be rendered against BidLists
+     */
+    public Optional<RuleTemplate<BidList>> bidListTemplate(int ruleId) {
+        return compiled(ruleId).map(compiled -> {
+            if (compiled.bidList() == null) {
+                throw new IllegalArgumentException(compiled.bidListError());
+            }
+            return compiled.bidList();
+        });
+    }
+
+    /**
+     * Render the template of a rule against a trade.
+     *
+     * @param ruleId the id of the rule
+     * @param tradeId the id of the trade
+     * @return the text, or empty if the rule or the trade does not exist
+     * @throws IllegalArgumentException if the template cannot be rendered against trades
+     */
+    public Optional<String> renderTrade(int ruleId, int tradeId) {
+        Optional<RuleTemplate<Trade>> template = tradeTemplate(ruleId);
+        return template.isEmpty() ? Optional.empty() : tradeService.findById(tradeId).map(template.get()::render);
+    }
+
+    /**
+     * Render the template of a rule against a BidList.
+     *
+     * @param ruleId the id of the rule
+     * @param bidListId the id of the BidList
+     * @return the text, or empty if the rule or the BidList does not exist
+     * @throws IllegalArgumentException if the template cannot be rendered against BidLists
+     */
+    public Optional<String> renderBidList(int ruleId, int bidListId) {
+        Optional<RuleTemplate<BidList>> template = bidListTemplate(ruleId);
+        return template.isEmpty() ? Optional.empty() : bidListService.findById(bidListId).map(template.get()::render);
+    }
+
+    /**
+     * Render a template against every trade, in id order, reading {@value #BATCH_SIZE} trades at a
+     * time. Each trade gives one JSON line: {"tradeId": 1, "text": "..."}.
+     *
+     * @param template the template, from {@link #tradeTemplate}
+     * @param out the writer of the lines; flushed after each page
+     * @return the number of trades rendered
+     * @throws IOException if the lines cannot be written
+     */
+    public int renderTrades(RuleTemplate<Trade> template, Writer out) throws IOException {
+        int rendered = 0;
+        List<Trade> batch = tradeService.findBatchAfter(null, BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            for (Trade trade : batch) {
+                out.write(objectMapper.writeValueAsString(Map.of("tradeId", trade.getTradeId(),
+                        "text", template.render(trade))));
+                out.write('\n');
+            }
+            out.flush();
+            rendered += batch.size();
+            batch = tradeService.findBatchAfter(batch.get(batch.size() - 1).getTradeId(), BATCH_SIZE);
+        }
+        return rendered;
+    }
+
+    private Optional<Compiled> compiled(int ruleId) {
+        Compiled compiled = templates.get(ruleId);
+        if (compiled != null) {
+            return Optional.of(compiled);
+        }
+        // Created by another node since startup
+        Long seen = versions.get(ruleId);
+        Optional<RuleName> rule = ruleNameRepository.findById(ruleId);
+        rule.ifPresent(found -> {
+            synchronized (this) {
+                if (Objects.equals(versions.get(ruleId), seen)) {
+                    compile(ruleId, found.getTemplate());
+                }
+            }
+        });
+        return rule.map(found -> templates.get(ruleId));
+    }
+
+    /**
+     * Compile a template and keep it as the current one of its rule, bumping the rule version.
+     */
+    private synchronized void compile(Integer id, String template) {
+        versions.merge(id, 1L, Long::sum);
+        RuleTemplate<Trade> trade = null;
+        RuleTemplate<BidList> bidList = null;
+        String tradeError = null;
+        String bidListError = null;
+        try {
+            trade = RuleTemplate.compile(template, OrderFields.TRADE);
+        } catch (IllegalArgumentException e) {
+            tradeError = e.getMessage();
+        }
+        try {
+            bidList = RuleTemplate.compile(template, OrderFields.BID_LIST);
+        } catch (IllegalArgumentException e) {
+            bidListError = e.getMessage();
+        }
+        templates.put(id, new Compiled(template, trade, tradeError, bidList, bidListError));
+    }
+
+    /**
+     * Recompile the template of a saved rule.
+     *
+     * @param event the event published after a RuleName has been saved
+     */
+    @EventListener
+    public void onRuleNameSaved(RuleNameSavedEvent event) {
+        compile(event.ruleName().getId(), event.ruleName().getTemplate());
+    }
+
+    /**
+     * Drop the templates of deleted rules.
+     *
+     * @param event the event published after entities have been deleted in bulk
+     */
+    @EventListener
+    public synchronized void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        if (event.entityType() == RuleName.class) {
+            for (Integer id : event.ids()) {
+                templates.remove(id);
+                versions.merge(id, 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Recompile the templates of rules whose template was updated.
+     *
+     * @param event the event published after entities have been updated in bulk
+     */
+    @EventListener
+    public void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if (event.entityType() != RuleName.class || !event.fields().contains("template")) {
+            return;
+        }
+        for (RuleName rule : ruleNameRepository.findAllById(event.ids())) {
+            compile(rule.getId(), rule.getTemplate());
+        }
+    }
+
+    /**
+     * Stop refreshing the templates.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.Dv01Report;
+import com.nnk.springboot.dto.ScenarioReport;
+import com.nnk.springboot.dto.TradeDv01;
+import com.nnk.springboot.dto.TradePosition;
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.risk.CurveShock;
+import com.nnk.springboot.risk.KeyRateLadder;
+import com.nnk.springboot.risk.Portfolio;
+import com.nnk.springboot.risk.ScenarioEngine;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Curve shock scenarios over the trade portfolio. The trades that are not cancelled are summed
+ * into positions per book and benchmark, the tenor of a position being read from its benchmark
+ * name (UST10Y, EUR6M...); benchmarks without a tenor, such as overnight rates, get the default
+ * tenor. Positions are then revalued by the {@link ScenarioEngine} under the
+ * {@linkplain CurveShock#standardSet standard scenarios} built on the current state of a curve,
+ * or bumped one curve term at a time into a {@linkplain KeyRateLadder key-rate DV01 ladder}.
+ */
+@Service
+public class ScenarioService {
+    private static final Pattern TENOR = Pattern.compile("(\\d+(?:\\.\\d+)?)([DWMY])$", Pattern.CASE_INSENSITIVE);
+
+    private final TradeRepository tradeRepository;
+    private final ShardRouter shardRouter;
+    private final CurveHistoryService curveHistoryService;
+    private final ScenarioEngine engine;
+    private final double defaultTenor;
+
+    public ScenarioService(TradeRepository tradeRepository, ShardRouter shardRouter,
+                           CurveHistoryService curveHistoryService,
+                           @Value("${poseidon.scenario.parallelism:0}") int parallelism,
+                           @Value("${poseidon.scenario.default-tenor:1}") double defaultTenor) {
+        this.tradeRepository = tradeRepository;
+        this.shardRouter = shardRouter;
+        this.curveHistoryService = curveHistoryService;
+        this.engine = new ScenarioEngine(parallelism);
+        this.defaultTenor = defaultTenor;
+    }
+
+    /**
+     * Revalue the trade portfolio under the standard scenarios built on a curve.
+     *
+     * @param curveId the curve giving the base rates, in percent, and the tenor grid of the shocks
+     * @return the P&L of every book in every scenario
+     * @throws IllegalArgumentException if the curve has no point with a value
+     */
+    public ScenarioReport run(int curveId) {
+        Curve curve = curve(curveId);
+        Portfolio portfolio = positions();
+        List<CurveShock> shocks = CurveShock.standardSet(curve.grid());
+        long start = System.nanoTime();
+        double[][] pnl = engine.run(curve.grid(), curve.rates(), portfolio, shocks);
+        return new ScenarioReport(curveId, curve.snapshot().asOfDate(), shocks.stream().map(CurveShock::name).toList(),
+                portfolio.books(), pnl, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Bump each term of a curve by 1bp and compute the value change of every book.
+     *
+     * @param curveId the curve giving the base rates, in percent, and the terms to bump
+     * @return the key-rate DV01 ladder of every book and of all books together
+     * @throws IllegalArgumentException if the curve has no point with a value
+     */
+    public Dv01Report keyRateDv01(int curveId) {
+        Curve curve = curve(curveId);
+        Portfolio portfolio = positions();
+        long start = System.nanoTime();
+        double[][] ladder = KeyRateLadder.byBook(curve.grid(), curve.rates(), portfolio);
+        double[] total = new double[curve.grid().length];
+        for (double[] book : ladder) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += book[i];
+            }
+        }
+        return new Dv01Report(curveId, curve.snapshot().asOfDate(), terms(curve), portfolio.books(), ladder, total,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Bump each term of a curve by 1bp and compute the value change of one trade.
+     *
+     * @param curveId the curve giving the base rates, in percent, and the terms to bump
+     * @param tradeId the trade
+     * @return the key-rate DV01 ladder of the trade
+     * @throws IllegalArgumentException if the curve has no point with a value or the trade does not exist
+     */
+    public TradeDv01 keyRateDv01(int curveId, int tradeId) {
+        Curve curve = curve(curveId);
+        Trade trade = shardRouter.findOnEachShard(() -> tradeRepository.findById(tradeId))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown trade: " + tradeId));
+        double tenor = tenorOf(trade.getBenchmark());
+        double value = marketValue(trade.getBuyQuantity(), trade.getBuyPrice())
+                - marketValue(trade.getSellQuantity(), trade.getSellPrice());
+        return new TradeDv01(curveId, curve.snapshot().asOfDate(), tradeId, trade.getBook(), tenor, value,
+                terms(curve), KeyRateLadder.of(curve.grid(), curve.rates(), tenor, value));
+    }
+
+    private Curve curve(int curveId) {
+        CurveHistory.Snapshot snapshot = curveHistoryService.latest(curveId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown curve: " + curveId));
+        List<CurveHistory.Point> points = snapshot.points().stream().filter(point -> point.value() != null).toList();
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("Curve " + curveId + " has no value");
+        }
+        double[] grid = new double[points.size()];
+        double[] rates = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            grid[i] = points.get(i).term();
+            rates[i] = points.get(i).value();
+        }
+        return new Curve(snapshot, grid, rates);
+    }
+
+    private static List<Double> terms(Curve curve) {
+        return Arrays.stream(curve.grid()).boxed().toList();
+    }
+
+    private static double marketValue(Double quantity, Double price) {
+        return quantity == null || price == null ? 0 : quantity * price;
+    }
+
+    private Portfolio positions() {
+        Portfolio.Builder portfolio = Portfolio.builder();
+        for (List<TradePosition> shard : shardRouter.onEachShard(tradeRepository::findPositions)) {
+            for (TradePosition position : shard) {
+                if (position.value() != null) {
+                    portfolio.add(position.book(), tenorOf(position.benchmark()), position.value());
+                }
+            }
+        }
+        return portfolio.build();
+    }
+
+    /**
+     * @param benchmark a benchmark name, e.g. UST10Y or EUR6M
+     * @return the tenor in years ending the name, or the default tenor when the name has none
+     */
+    double tenorOf(String benchmark) {
+        Matcher matcher = benchmark == null ? null : TENOR.matcher(benchmark.trim());
+        if (matcher == null || !matcher.find()) {
+            return defaultTenor;
+        }
+        double count = Double.parseDouble(matcher.group(1));
+        return switch (Character.toUpperCase(matcher.group(2).charAt(0))) {
+            case 'D' -> count / 365;
+            case 'W' -> count / 52;
+            case 'M' -> count / 12;
+            default -> count;
+        };
+    }
+
+    /**
+     * The points with a value of a curve snapshot, as a tenor grid and the rates at its tenors.
+     */
+    private record Curve(CurveHistory.Snapshot snapshot, double[] grid, double[] rates) {
+    }
+}
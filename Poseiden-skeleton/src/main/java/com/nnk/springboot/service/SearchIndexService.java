@@ -0,0 +1,197 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.SearchDocument;
+import com.nnk.springboot.dto.SearchResults;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.index.InvertedIndex;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over the free-text fields: BidList commentary, Trade security and deal name,
+ * RuleName description and template. Each entity type has its own {@link InvertedIndex}, so a
+ * search is a few in-memory lookups instead of LIKE scans of the tables.
+ *
+ * <p>The indexes are filled from the database at startup and then follow the save, delete and
+ * update events published by the services.
+ */
+@Service
+public class SearchIndexService implements CommandLineRunner {
+    private static final Set<String> BID_LIST_FIELDS = Set.of("commentary");
+    private static final Set<String> TRADE_FIELDS = Set.of("security", "dealName");
+    private static final Set<String> RULE_NAME_FIELDS = Set.of("description", "template");
+
+    private final BidListRepository bidListRepository;
+    private final TradeRepository tradeRepository;
+    private final RuleNameRepository ruleNameRepository;
+    private final ShardRouter shardRouter;
+    private final InvertedIndex bidLists = new InvertedIndex();
+    private final InvertedIndex trades = new InvertedIndex();
+    private final InvertedIndex ruleNames = new InvertedIndex();
+
+    public SearchIndexService(BidListRepository bidListRepository, TradeRepository tradeRepository,
+                              RuleNameRepository ruleNameRepository, ShardRouter shardRouter) {
+        this.bidListRepository = bidListRepository;
+        this.tradeRepository = tradeRepository;
+        this.ruleNameRepository = ruleNameRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Index the stored BidLists, trades and RuleNames, reading all shards in parallel.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(String... args) {
+        shardRouter.onEachShard(() -> {
+            load(bidLists, bidListRepository.streamSearchDocuments());
+            load(trades, tradeRepository.streamSearchDocuments());
+            return null;
+        });
+        load(ruleNames, ruleNameRepository.streamSearchDocuments());
+    }
+
+    /**
+     * Search the three indexes. Every token of the query must match a word of the entity, the
+     * last one possibly as a prefix.
+     *
+     * @param query the query text
+     * @param limit the maximum number of ids returned per entity type; must be positive
+     * @return the ranked ids per entity type
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public SearchResults search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        long start = System.nanoTime();
+        if (query == null || query.isBlank()) {
+            return new SearchResults(query, Collections.emptyList(), Collections.emptyList(),
+                    Collections.emptyList(), 0);
+        }
+        List<InvertedIndex.Hit> bidListHits = bidLists.search(query, limit);
+        List<InvertedIndex.Hit> tradeHits = trades.search(query, limit);
+        List<InvertedIndex.Hit> ruleNameHits = ruleNames.search(query, limit);
+        return new SearchResults(query, bidListHits, tradeHits, ruleNameHits, (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Index the commentary of a saved BidList.
+     *
+     * @param event the event published after a BidList has been saved
+     */
+    @EventListener
+    public void onBidListSaved(BidListSavedEvent event) {
+        BidList bidList = event.bidList();
+        bidLists.put(bidList.getId(), bidList.getCommentary());
+    }
+
+    /**
+     * Index the security and deal name of a saved trade.
+     *
+     * @param event the event published after a trade has been saved
+     */
+    @EventListener
+    public void onTradeSaved(TradeSavedEvent event) {
+        Trade trade = event.trade();
+        trades.put(trade.getTradeId(), text(trade.getSecurity(), trade.getDealName()));
+    }
+
+    /**
+     * Index the description and template of a saved RuleName.
+     *
+     * @param event the event published after a RuleName has been saved
+     */
+    @EventListener
+    public void onRuleNameSaved(RuleNameSavedEvent event) {
+        RuleName ruleName = event.ruleName();
+        ruleNames.put(ruleName.getId(), text(ruleName.getDescription(), ruleName.getTemplate()));
+    }
+
+    /**
+     * Drop deleted entities from their index.
+     *
+     * @param event the event published after a bulk delete
+     */
+    @EventListener
+    public void onEntitiesDeleted(EntitiesDeletedEvent event) {
+        InvertedIndex index = indexOf(event.entityType());
+        if (index != null) {
+            event.ids().forEach(index::remove);
+        }
+    }
+
+    /**
+     * Reindex the updated entities when a searchable field was written.
+     *
+     * @param event the event published after a bulk or partial update
+     */
+    @EventListener
+    public void onEntitiesUpdated(EntitiesUpdatedEvent event) {
+        if (event.entityType() == BidList.class && touches(event, BID_LIST_FIELDS)) {
+            for (BidList bidList : findAllById(bidListRepository, event)) {
+                bidLists.put(bidList.getId(), bidList.getCommentary());
+            }
+        } else if (event.entityType() == Trade.class && touches(event, TRADE_FIELDS)) {
+            for (Trade trade : findAllById(tradeRepository, event)) {
+                trades.put(trade.getTradeId(), text(trade.getSecurity(), trade.getDealName()));
+            }
+        } else if (event.entityType() == RuleName.class && touches(event, RULE_NAME_FIELDS)) {
+            for (RuleName ruleName : ruleNameRepository.findAllById(event.ids())) {
+                ruleNames.put(ruleName.getId(), text(ruleName.getDescription(), ruleName.getTemplate()));
+            }
+        }
+    }
+
+    private <T> List<T> findAllById(JpaRepository<T, Integer> repository, EntitiesUpdatedEvent event) {
+        return shardRouter.onEachShard(() -> repository.findAllById(event.ids())).stream().flatMap(List::stream).toList();
+    }
+
+    private InvertedIndex indexOf(Class<?> entityType) {
+        if (entityType == BidList.class) {
+            return bidLists;
+        }
+        if (entityType == Trade.class) {
+            return trades;
+        }
+        if (entityType == RuleName.class) {
+            return ruleNames;
+        }
+        return null;
+    }
+
+    private static boolean touches(EntitiesUpdatedEvent event, Set<String> fields) {
+        return event.fields().stream().anyMatch(fields::contains);
+    }
+
+    private static void load(InvertedIndex index, Stream<SearchDocument> documents) {
+        try (documents) {
+            documents.forEach(document -> index.put(document.id(), document.text()));
+        }
+    }
+
+    private static String text(String first, String second) {
+        return (first == null ? "" : first) + ' ' + (second == null ? "" : second);
+    }
+}
@@ -0,0 +1,172 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.analytics.AnalyticsWindow;
+import com.nnk.springboot.analytics.RollingDigest;
+import com.nnk.springboot.analytics.RollingWindow;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.SpreadAlert;
+import com.nnk.springboot.dto.SpreadReport;
+import com.nnk.springboot.dto.SpreadSnapshot;
+import com.nnk.springboot.events.BidListSavedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bid/ask spread and liquidity monitor over BidList quotes.
+ * Maintains, per security and bid type, rolling mean spreads and depth imbalance together with
+ * t-digest spread percentiles over the last day, updated incrementally from each new BidList
+ * published by the BidListService. Memory per security and type is bounded by the ring buffers
+ * and the digest size.
+ *
+ * <p>A quote whose spread exceeds the 99th percentile of the last day for its group raises an
+ * alert, once enough samples have been collected for the percentile to be meaningful.
+ */
+@Service
+public class SpreadMonitorService {
+    static final int MIN_SAMPLES_FOR_ALERT = 30;
+    static final int MAX_ALERTS = 50;
+    private static final double DIGEST_COMPRESSION = 100;
+
+    private final Map<GroupKey, SpreadStats> statsByGroup = new ConcurrentHashMap<>();
+    private final Deque<SpreadAlert> alerts = new ArrayDeque<>();
+    private final Clock clock;
+
+    public SpreadMonitorService() {
+        this(Clock.systemUTC());
+    }
+
+    SpreadMonitorService(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Feed newly created bids into the monitor.
+     *
+     * @param event the event published after a BidList has been saved
+     */
+    @EventListener
+    public void onBidListSaved(BidListSavedEvent event) {
+        if (event.created()) {
+            record(event.bidList());
+        }
+    }
+
+    /**
+     * Add a quote to the statistics of its security and type.
+     * Quotes without a security, or without both a bid and an ask price, are ignored.
+     *
+     * @param bidList the quote to record; must not be null
+     */
+    public void record(BidList bidList) {
+        if (bidList.getSecurity() == null || bidList.getSecurity().isBlank()
+                || bidList.getBid() == null || bidList.getAsk() == null) {
+            return;
+        }
+        GroupKey key = new GroupKey(bidList.getSecurity(), bidList.getType());
+        double spread = bidList.getAsk() - bidList.getBid();
+        long now = clock.millis();
+        Double threshold = statsByGroup.computeIfAbsent(key, k -> new SpreadStats())
+                .add(now, spread, imbalance(bidList.getBidQuantity(), bidList.getAskQuantity()));
+        if (threshold != null) {
+            raiseAlert(new SpreadAlert(key.security(), key.type(), bidList.getId(), spread, threshold,
+                    clock.instant()));
+        }
+    }
+
+    /**
+     * Build the current monitor content.
+     *
+     * @return statistics per security and type, and the recent alerts
+     */
+    public SpreadReport report() {
+        long now = clock.millis();
+        List<SpreadSnapshot> snapshots = new ArrayList<>();
+        statsByGroup.forEach((key, stats) -> snapshots.add(stats.snapshot(key, now)));
+        snapshots.sort(Comparator.comparing(SpreadSnapshot::lastSpread,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        List<SpreadAlert> recentAlerts;
+        synchronized (alerts) {
+            recentAlerts = new ArrayList<>(alerts);
+        }
+        return new SpreadReport(snapshots, recentAlerts);
+    }
+
+    private void raiseAlert(SpreadAlert alert) {
+        synchronized (alerts) {
+            alerts.addFirst(alert);
+            if (alerts.size() > MAX_ALERTS) {
+                alerts.removeLast();
+            }
+        }
+    }
+
+    private static double imbalance(Double bidQuantity, Double askQuantity) {
+        double bid = bidQuantity == null ? 0 : bidQuantity;
+        double ask = askQuantity == null ? 0 : askQuantity;
+        return bid + ask > 0 ? (bid - ask) / (bid + ask) : Double.NaN;
+    }
+
+    private record GroupKey(String security, String type) {
+    }
+
+    /**
+     * Spread and depth statistics of a single security and type.
+     */
+    private static final class SpreadStats {
+        private final RollingWindow spreadHour = AnalyticsWindow.ONE_HOUR.newRollingWindow();
+        private final RollingWindow spreadDay = AnalyticsWindow.DAY.newRollingWindow();
+        private final RollingWindow imbalanceHour = AnalyticsWindow.ONE_HOUR.newRollingWindow();
+        private final RollingDigest spreadDigest = AnalyticsWindow.DAY.newRollingDigest(DIGEST_COMPRESSION);
+        private double lastSpread = Double.NaN;
+        private double lastImbalance = Double.NaN;
+
+        /**
+         * Record a quote and return the p99 threshold it exceeded, or null when no alert is due.
+         */
+        synchronized Double add(long now, double spread, double imbalance) {
+            Double threshold = null;
+            spreadDigest.expire(now);
+            if (spreadDigest.size() >= MIN_SAMPLES_FOR_ALERT) {
+                double p99 = spreadDigest.quantile(0.99);
+                if (spread > p99) {
+                    threshold = p99;
+                }
+            }
+            // Rolling means reuse the VWAP accumulator with a unit weight per quote
+            spreadHour.add(now, spread, 1);
+            spreadDay.add(now, spread, 1);
+            spreadDigest.add(now, spread);
+            lastSpread = spread;
+            if (!Double.isNaN(imbalance)) {
+                imbalanceHour.add(now, imbalance, 1);
+            }
+            lastImbalance = imbalance;
+            return threshold;
+        }
+
+        synchronized SpreadSnapshot snapshot(GroupKey key, long now) {
+            spreadHour.expire(now);
+            spreadDay.expire(now);
+            imbalanceHour.expire(now);
+            spreadDigest.expire(now);
+            return new SpreadSnapshot(key.security(), key.type(), spreadDigest.size(),
+                    valueOrNull(lastSpread), valueOrNull(spreadHour.vwap()), valueOrNull(spreadDay.vwap()),
+                    valueOrNull(spreadDigest.quantile(0.5)), valueOrNull(spreadDigest.quantile(0.9)),
+                    valueOrNull(spreadDigest.quantile(0.99)),
+                    valueOrNull(lastImbalance), valueOrNull(imbalanceHour.vwap()));
+        }
+
+        private static Double valueOrNull(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+    }
+}
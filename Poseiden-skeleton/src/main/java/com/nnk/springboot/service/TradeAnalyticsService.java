@@ -0,0 +1,126 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.analytics.AnalyticsWindow;
+import com.nnk.springboot.analytics.RollingWindow;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradePriceSnapshot;
+import com.nnk.springboot.events.TradeSavedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming price analytics over trades.
+ * Keeps rolling VWAP and TWAP of buy and sell prices per security for every {@link AnalyticsWindow},
+ * updated in O(1) from each new trade published by the TradeService, so reading them never queries
+ * the trade table.
+ *
+ * <p>Trades are stamped with the time they are received, not their tradeDate, and only newly
+ * created trades are counted so that editing a trade does not count it twice.
+ */
+@Service
+public class TradeAnalyticsService {
+    private final Map<String, SecurityPrices> pricesBySecurity = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public TradeAnalyticsService() {
+        this(Clock.systemUTC());
+    }
+
+    TradeAnalyticsService(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Feed newly created trades into the rolling windows.
+     *
+     * @param event the event published after a trade has been saved
+     */
+    @EventListener
+    public void onTradeSaved(TradeSavedEvent event) {
+        if (event.created()) {
+            record(event.trade());
+        }
+    }
+
+    /**
+     * Add a trade to the rolling windows of its security.
+     * Trades without a security are ignored, as is each side lacking a positive price and quantity.
+     *
+     * @param trade the trade to record; must not be null
+     */
+    public void record(Trade trade) {
+        String security = trade.getSecurity();
+        if (security == null || security.isBlank()) {
+            return;
+        }
+        pricesBySecurity.computeIfAbsent(security, key -> new SecurityPrices())
+                .add(clock.millis(), trade);
+    }
+
+    /**
+     * Take a snapshot of the current figures of every security and window.
+     *
+     * @return one snapshot per security and window, sorted by security then window length
+     */
+    public List<TradePriceSnapshot> snapshot() {
+        long now = clock.millis();
+        List<TradePriceSnapshot> snapshots = new ArrayList<>();
+        pricesBySecurity.forEach((security, prices) -> prices.snapshot(security, now, snapshots));
+        snapshots.sort(Comparator.comparing(TradePriceSnapshot::security));
+        return snapshots;
+    }
+
+    /**
+     * Rolling buy and sell windows of a single security.
+     */
+    private static final class SecurityPrices {
+        private final AnalyticsWindow[] windows = AnalyticsWindow.values();
+        private final RollingWindow[] buy = new RollingWindow[windows.length];
+        private final RollingWindow[] sell = new RollingWindow[windows.length];
+
+        SecurityPrices() {
+            for (int i = 0; i < windows.length; i++) {
+                buy[i] = windows[i].newRollingWindow();
+                sell[i] = windows[i].newRollingWindow();
+            }
+        }
+
+        synchronized void add(long now, Trade trade) {
+            boolean hasBuy = isPositive(trade.getBuyPrice()) && isPositive(trade.getBuyQuantity());
+            boolean hasSell = isPositive(trade.getSellPrice()) && isPositive(trade.getSellQuantity());
+            for (int i = 0; i < windows.length; i++) {
+                if (hasBuy) {
+                    buy[i].add(now, trade.getBuyPrice(), trade.getBuyQuantity());
+                }
+                if (hasSell) {
+                    sell[i].add(now, trade.getSellPrice(), trade.getSellQuantity());
+                }
+            }
+        }
+
+        synchronized void snapshot(String security, long now, List<TradePriceSnapshot> out) {
+            for (int i = 0; i < windows.length; i++) {
+                buy[i].expire(now);
+                sell[i].expire(now);
+                out.add(new TradePriceSnapshot(security, windows[i].getLabel(),
+                        valueOrNull(buy[i].vwap()), valueOrNull(buy[i].twap()), buy[i].volume(),
+                        valueOrNull(sell[i].vwap()), valueOrNull(sell[i].twap()), sell[i].volume()));
+            }
+        }
+
+        private static boolean isPositive(Double value) {
+            return value != null && value > 0;
+        }
+
+        private static Double valueOrNull(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+    }
+}
@@ -1,31 +1,242 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.sharding.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for managing Trade entities.
- * Provides CRUD operations delegating to the TradeRepository.
+ * Provides CRUD operations delegating to the TradeRepository, on the shard owning the book of
+ * each trade when sharding is enabled (see {@link ShardRouter}). Lookups by id and listings run
+ * on every shard in parallel.
+ * Every save publishes a {@link TradeSavedEvent} so in-memory views can follow the trade flow;
+ * bulk deletes and column updates publish an {@link EntitiesDeletedEvent} or {@link EntitiesUpdatedEvent}.
  */
 @Service
 public class TradeService {
+    /**
+     * Fields that {@link #patch} may write. Identity, version and creation audit fields are excluded.
+     */
+    public static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "account", "type", "buyQuantity", "sellQuantity", "buyPrice", "sellPrice", "benchmark",
+            "tradeDate", "security", "status", "trader", "book", "revisionName", "revisionDate",
+            "dealName", "dealType", "sourceListId", "side");
+
     private final TradeRepository tradeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TradeSourceIndex tradeSourceIndex;
+    private final ShardRouter shardRouter;
+    private final QueryCoalescer queryCoalescer;
+    private final PreTradeCheckService preTradeCheckService;
 
-    public TradeService(TradeRepository tradeRepository) {
+    public TradeService(TradeRepository tradeRepository, ApplicationEventPublisher eventPublisher,
+                        Validator validator, TradeSourceIndex tradeSourceIndex, ShardRouter shardRouter,
+                        QueryCoalescer queryCoalescer, PreTradeCheckService preTradeCheckService) {
         this.tradeRepository = tradeRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.tradeSourceIndex = tradeSourceIndex;
+        this.shardRouter = shardRouter;
+        this.queryCoalescer = queryCoalescer;
+        this.preTradeCheckService = preTradeCheckService;
     }
 
     /**
-     * Persist a trade entity.
+     * Run the pre-trade checks, then persist a trade entity and publish a {@link TradeSavedEvent}.
      *
      * @param trade the trade entity to save; must not be null
      * @return the saved Trade instance
+     * @throws PreTradeCheckException if the trade breaks a pre-trade check; nothing is saved
      */
     public Trade save(Trade trade) {
-        return tradeRepository.save(trade);
+        preTradeCheckService.check(trade);
+        boolean created = trade.getTradeId() == null;
+        Trade saved = shardRouter.onBook(trade.getBook(), () -> tradeRepository.save(trade));
+        if (created && saved.getSourceListId() != null) {
+            tradeSourceIndex.add(saved.getSourceListId(), saved.getAccount());
+        }
+        eventPublisher.publishEvent(new TradeSavedEvent(saved, created));
+        return saved;
+    }
+
+    /**
+     * Store a trade received from upstream, idempotently: a trade whose (sourceListId, account)
+     * is already stored overwrites that trade instead of being inserted again, so replays do not
+     * create duplicates. Trades without a source list id are always inserted.
+     * The existence query is skipped when {@link TradeSourceIndex} knows the key is new.
+     * When sharded, the key is looked up on the shard of the trade's book only.
+     *
+     * @param trade the received trade; its id and version are ignored
+     * @return the inserted or updated trade
+     */
+    public Trade upsert(Trade trade) {
+        String sourceListId = trade.getSourceListId();
+        if (sourceListId != null && tradeSourceIndex.mightExist(sourceListId, trade.getAccount())) {
+            Optional<Trade> existing = findBySourceKey(trade);
+            if (existing.isPresent()) {
+                return overwrite(existing.get(), trade);
+            }
+        }
+        try {
+            trade.setTradeId(null);
+            trade.setVersion(null);
+            return save(trade);
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently since the check: the unique index rejected the insert
+            if (sourceListId == null) {
+                throw e;
+            }
+            Trade stored = findBySourceKey(trade).orElseThrow(() -> e);
+            return overwrite(stored, trade);
+        }
+    }
+
+    /**
+     * Store a batch of trades received from upstream with {@link #upsert} semantics.
+     *
+     * @param trades the received trades
+     * @return the inserted or updated trades, in the same order
+     */
+    public List<Trade> upsertAll(List<Trade> trades) {
+        List<Trade> stored = new ArrayList<>(trades.size());
+        for (Trade trade : trades) {
+            stored.add(upsert(trade));
+        }
+        return stored;
+    }
+
+    private Optional<Trade> findBySourceKey(Trade trade) {
+        return shardRouter.onBook(trade.getBook(),
+                () -> tradeRepository.findBySourceListIdAndAccount(trade.getSourceListId(), trade.getAccount()));
+    }
+
+    private Trade overwrite(Trade stored, Trade received) {
+        BeanUtils.copyProperties(received, stored, "tradeId", "version", "creationName", "creationDate");
+        return save(stored);
+    }
+
+    /**
+     * Read the next trades in id order, for streaming every row without offset paging.
+     *
+     * @param afterId only trades with a greater id are returned; null to start from the first
+     * @param size the maximum number of trades to return
+     * @return up to size trades ordered by id
+     */
+    @Transactional(readOnly = true)
+    public List<Trade> findBatchAfter(Integer afterId, int size) {
+        int after = afterId == null ? 0 : afterId;
+        return shardRouter.onEachShardSorted(() -> tradeRepository.findByTradeIdGreaterThanOrderByTradeIdAsc(after, PageRequest.of(0, size)),
+                Comparator.comparing(Trade::getTradeId), size);
+    }
+
+    /**
+     * Update only the given fields of a trade, taking their values from a bound Trade.
+     * Fields that cannot be updated (id, version, creation audit fields) or that are not
+     * attributes of Trade are ignored, so the names of all submitted form parameters may be passed.
+     * The version of values is used as the expected version when present.
+     *
+     * @param id the id of the trade to update
+     * @param values a Trade holding the new values
+     * @param fields names of the fields to write
+     * @return true if the trade was updated, false if none exists with this id
+     * @throws OptimisticLockingFailureException if the trade was modified since the expected version
+     */
+    public boolean patch(Integer id, Trade values, Collection<String> fields) {
+        BeanWrapper source = new BeanWrapperImpl(values);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (PATCHABLE_FIELDS.contains(field)) {
+                changes.put(field, source.getPropertyValue(field));
+            }
+        }
+        return patch(id, values.getVersion(), changes);
+    }
+
+    /**
+     * Update only the given fields of a trade with a single UPDATE statement that writes the
+     * changed columns and increments the version. Unlike {@link #save}, the entity is not loaded
+     * and the columns that are not part of the changes are left untouched.
+     *
+     * @param id the id of the trade to update
+     * @param expectedVersion the version the caller last read, or null to skip the conflict check
+     * @param changes new values by field name; each field must belong to {@link #PATCHABLE_FIELDS}
+     * @return true if the trade was updated, false if none exists with this id
+     * @throws IllegalArgumentException if a field cannot be updated or a value is invalid, or if the
+     *         book would change while sharding is enabled: rows do not move between shards
+     * @throws OptimisticLockingFailureException if the trade was modified since the expected version
+     * @throws PreTradeCheckException if the trade, with the changes applied, breaks a pre-trade check;
+     *         nothing is saved
+     */
+    public boolean patch(Integer id, Integer expectedVersion, Map<String, Object> changes) {
+        if (shardRouter.isSharded() && changes.containsKey("book")) {
+            throw new IllegalArgumentException("The book of a trade cannot be changed: it selects its shard");
+        }
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (!PATCHABLE_FIELDS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Field cannot be updated: " + change.getKey());
+            }
+            Set<ConstraintViolation<Trade>> violations =
+                    validator.validateValue(Trade.class, change.getKey(), change.getValue());
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+        }
+        if (changes.isEmpty()) {
+            return existsById(id);
+        }
+        Integer version = expectedVersion;
+        if (preTradeCheckService.checksTrades()) {
+            // Check the merged values on a copy: the loaded entity may be managed and must not be flushed
+            Optional<Trade> current = findById(id);
+            if (current.isEmpty()) {
+                return false;
+            }
+            Trade merged = new Trade();
+            BeanUtils.copyProperties(current.get(), merged);
+            BeanWrapper target = new BeanWrapperImpl(merged);
+            changes.forEach(target::setPropertyValue);
+            preTradeCheckService.check(merged);
+            if (version == null) {
+                // Write only over the state that was checked
+                version = current.get().getVersion();
+            }
+        }
+        Integer checkedVersion = version;
+        if (shardRouter.countOnEachShard(() -> tradeRepository.updatePartially(id, checkedVersion, changes)) > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(Trade.class, List.of(id), Set.copyOf(changes.keySet())));
+            return true;
+        }
+        if (!existsById(id)) {
+            return false;
+        }
+        throw new OptimisticLockingFailureException("Trade " + id + " was modified by another user");
     }
 
     /**
@@ -35,7 +246,31 @@ public class TradeService {
      * @return an Optional containing the Trade if found, otherwise empty
      */
     public Optional<Trade> findById(Integer id) {
-        return tradeRepository.findById(id);
+        return shardRouter.findOnEachShard(() -> tradeRepository.findById(id));
+    }
+
+    /**
+     * Retrieve the rows of the Trade list page.
+     * Runs in a read-only transaction (flush mode MANUAL) and reads only the displayed columns.
+     * Concurrent calls share one execution (see {@link QueryCoalescer}).
+     *
+     * @return one summary per Trade, ordered by id
+     */
+    public List<TradeSummary> findAllSummaries() {
+        return queryCoalescer.execute("trade.summaries", List.of(), () -> shardRouter.onEachShardSorted(
+                tradeRepository::findAllSummaries, Comparator.comparing(TradeSummary::tradeId), -1));
+    }
+
+    /**
+     * Retrieve the rows of the Trade list page for one book, from the shard owning the book only.
+     * Concurrent calls for the same book share one execution (see {@link QueryCoalescer}).
+     *
+     * @param book the book
+     * @return one summary per trade of the book, ordered by id
+     */
+    public List<TradeSummary> findSummariesByBook(String book) {
+        return queryCoalescer.execute("trade.summariesByBook", Collections.singletonList(book),
+                () -> shardRouter.onBook(book, () -> tradeRepository.findSummariesByBook(book)));
     }
 
     /**
@@ -44,16 +279,58 @@ public class TradeService {
      * @return an Iterable containing all Trade instances
      */
     public Iterable<Trade> findAll() {
-        return tradeRepository.findAll();
+        return shardRouter.onEachShardSorted(tradeRepository::findAll, Comparator.comparing(Trade::getTradeId), -1);
     }
 
     /**
-     * Delete a trade by its identifier.
+     * Delete a trade by its identifier with a single DELETE statement.
      *
      * @param id the id of the trade to delete
+     * @return true if a trade was deleted, false if none exists with this id
+     */
+    public boolean deleteById(Integer id) {
+        return deleteByIds(List.of(id)) > 0;
+    }
+
+    /**
+     * Delete several trades with a single DELETE statement.
+     *
+     * @param ids the ids of the trades to delete; null or empty deletes nothing
+     * @return the number of trades deleted
+     */
+    public int deleteByIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = shardRouter.countOnEachShard(() -> tradeRepository.deleteByIds(ids));
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EntitiesDeletedEvent(Trade.class, List.copyOf(ids)));
+        }
+        return deleted;
+    }
+
+    /**
+     * Set the status of several trades with a single UPDATE statement.
+     * A blank status clears the status of the selected rows.
+     *
+     * @param ids the ids of the trades to update; null or empty updates nothing
+     * @param status the new status, at most 10 characters
+     * @return the number of trades updated
+     * @throws IllegalArgumentException if the status exceeds 10 characters
      */
-    public void deleteById(Integer id) {
-        tradeRepository.deleteById(id);
+    public int updateStatus(Collection<Integer> ids, String status) {
+        String value = status == null || status.isBlank() ? null : status.trim();
+        if (value != null && value.length() > 10) {
+            throw new IllegalArgumentException("Status cannot exceed 10 characters");
+        }
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int updated = shardRouter.countOnEachShard(() -> tradeRepository.updateStatusByIds(ids, value));
+        if (updated > 0) {
+            eventPublisher.publishEvent(new EntitiesUpdatedEvent(Trade.class, List.copyOf(ids), Set.of("status")));
+        }
+        return updated;
     }
 
     /**
@@ -63,6 +340,6 @@ public class TradeService {
      * @return true if a trade exists with the given id, false otherwise
      */
     public boolean existsById(Integer id) {
-        return tradeRepository.existsById(id);
+        return shardRouter.onEachShard(() -> tradeRepository.existsById(id)).contains(true);
     }
 }
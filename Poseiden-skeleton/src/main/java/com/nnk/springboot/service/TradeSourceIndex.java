@@ -0,0 +1,78 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.dto.TradeSourceKey;
+import com.nnk.springboot.index.BloomFilter;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of the (sourceListId, account) keys of stored trades.
+ * Lets trade ingestion skip the existence query for keys that were never stored, which is the
+ * common case. A false positive only costs that query; the unique index on the trade table
+ * remains the guarantee against duplicates.
+ *
+ * <p>Filled from the database at startup. Until then every key is reported as possibly existing.
+ */
+@Service
+public class TradeSourceIndex implements CommandLineRunner {
+    private final TradeRepository tradeRepository;
+    private final ShardRouter shardRouter;
+    private final BloomFilter filter;
+    private volatile boolean loaded;
+
+    public TradeSourceIndex(TradeRepository tradeRepository, ShardRouter shardRouter,
+                            @Value("${poseidon.trade.dedup.expected-keys:1000000}") long expectedKeys,
+                            @Value("${poseidon.trade.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.tradeRepository = tradeRepository;
+        this.shardRouter = shardRouter;
+        this.filter = new BloomFilter(expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * Load the keys of every stored trade into the filter, reading all shards in parallel.
+     *
+     * @param args startup arguments, unused
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void run(String... args) {
+        shardRouter.onEachShard(() -> {
+            try (Stream<TradeSourceKey> keys = tradeRepository.streamSourceKeys()) {
+                keys.forEach(key -> add(key.sourceListId(), key.account()));
+            }
+            return null;
+        });
+        loaded = true;
+    }
+
+    /**
+     * Record that a trade with this key is stored.
+     *
+     * @param sourceListId the source list id; ignored when null
+     * @param account the account
+     */
+    public void add(String sourceListId, String account) {
+        if (sourceListId != null) {
+            filter.put(key(sourceListId, account));
+        }
+    }
+
+    /**
+     * @param sourceListId the source list id
+     * @param account the account
+     * @return false if no stored trade has this key, true if one possibly has
+     */
+    public boolean mightExist(String sourceListId, String account) {
+        return !loaded || filter.mightContain(key(sourceListId, account));
+    }
+
+    private static String key(String sourceListId, String account) {
+        return sourceListId + '\u0000' + account;
+    }
+}
@@ -0,0 +1,162 @@
+package com.nnk.springboot.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HttpSession of one request, backed by a {@link SessionRecord}. Changes are kept in memory and
+ * written to the {@link JdbcSessionStore} by {@link JdbcSessionFilter} when the request ends.
+ */
+class JdbcHttpSession implements HttpSession {
+    private final ServletContext servletContext;
+    private final Map<String, Object> attributes;
+    private final long creationTime;
+    private final boolean isNew;
+    private final boolean expired;
+    private String id;
+    private String principalName;
+    private long lastAccessedTime;
+    private int maxInactiveInterval;
+    private boolean dirty;
+    private boolean invalid;
+
+    JdbcHttpSession(SessionRecord session, boolean isNew, ServletContext servletContext) {
+        this.servletContext = servletContext;
+        this.attributes = new HashMap<>(session.attributes());
+        this.creationTime = session.creationTime();
+        this.isNew = isNew;
+        this.expired = session.expired();
+        this.id = session.id();
+        this.principalName = session.principalName();
+        this.lastAccessedTime = session.lastAccessedTime();
+        this.maxInactiveInterval = session.maxInactiveInterval();
+        this.dirty = isNew;
+    }
+
+    /**
+     * @return the state to store, with the user name taken from the security context
+     */
+    SessionRecord toRecord() {
+        if (attributes.get(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY) instanceof SecurityContext context
+                && context.getAuthentication() != null) {
+            principalName = context.getAuthentication().getName();
+        }
+        return new SessionRecord(id, principalName, creationTime, lastAccessedTime, maxInactiveInterval, expired,
+                attributes);
+    }
+
+    /**
+     * @return true if the attributes or the timeout changed since the session was loaded
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     * @return true if the session was created by this request and is not stored yet
+     */
+    boolean isCreated() {
+        return isNew;
+    }
+
+    void changeId(String newId) {
+        this.id = newId;
+    }
+
+    void access(long time) {
+        lastAccessedTime = Math.max(lastAccessedTime, time);
+    }
+
+    @Override
+    public long getCreationTime() {
+        checkValid();
+        return creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        checkValid();
+        return lastAccessedTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        maxInactiveInterval = interval;
+        dirty = true;
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return maxInactiveInterval;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        checkValid();
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        checkValid();
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        checkValid();
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        attributes.put(name, value);
+        dirty = true;
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        checkValid();
+        if (attributes.remove(name) != null) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        checkValid();
+        invalid = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        checkValid();
+        return isNew;
+    }
+
+    private void checkValid() {
+        if (invalid) {
+            throw new IllegalStateException("Session " + id + " was invalidated");
+        }
+    }
+}
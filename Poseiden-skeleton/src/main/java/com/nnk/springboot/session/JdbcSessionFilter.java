@@ -0,0 +1,240 @@
+package com.nnk.springboot.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Replaces the servlet container sessions by sessions of the {@link JdbcSessionStore}.
+ * The session id travels in the SESSION cookie. At the end of the request, or as soon as a
+ * redirect or error is sent, a new or modified session is written to the store; an unmodified
+ * one only has its last-access time recorded.
+ *
+ * <p>Must run before the Spring Security filters, which read the security context from the
+ * session.
+ */
+public class JdbcSessionFilter extends OncePerRequestFilter {
+    /** Name of the cookie holding the session id. */
+    public static final String COOKIE_NAME = "SESSION";
+
+    private final JdbcSessionStore store;
+    private final int maxInactiveInterval;
+
+    /**
+     * @param store the session store
+     * @param maxInactiveInterval the idle timeout of new sessions, in seconds
+     */
+    public JdbcSessionFilter(JdbcSessionStore store, int maxInactiveInterval) {
+        this.store = store;
+        this.maxInactiveInterval = maxInactiveInterval;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SessionRequest sessionRequest = new SessionRequest(request, response);
+        try {
+            chain.doFilter(sessionRequest, new SessionResponse(response, sessionRequest));
+        } finally {
+            sessionRequest.commit();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterNestedErrorDispatch(HttpServletRequest request, HttpServletResponse response,
+                                               FilterChain chain) throws ServletException, IOException {
+        doFilterInternal(request, response, chain);
+    }
+
+    /**
+     * Request whose sessions come from the store.
+     */
+    private final class SessionRequest extends HttpServletRequestWrapper {
+        private final HttpServletResponse response;
+        private final String requestedId;
+        private JdbcHttpSession session;
+        private boolean requestedLoaded;
+        private boolean requestedValid;
+        private boolean committed;
+
+        private SessionRequest(HttpServletRequest request, HttpServletResponse response) {
+            super(request);
+            this.response = response;
+            this.requestedId = readCookie(request);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session != null && !session.isInvalid()) {
+                return session;
+            }
+            if (!requestedLoaded) {
+                requestedLoaded = true;
+                SessionRecord stored = store.find(requestedId);
+                if (stored != null) {
+                    requestedValid = true;
+                    session = new JdbcHttpSession(stored, false, getServletContext());
+                    session.access(System.currentTimeMillis());
+                    return session;
+                }
+            }
+            if (!create) {
+                return null;
+            }
+            commitInvalidated();
+            long now = System.currentTimeMillis();
+            session = new JdbcHttpSession(new SessionRecord(UUID.randomUUID().toString(), null, now, now,
+                    maxInactiveInterval, false, Map.of()), true, getServletContext());
+            writeCookie(session.getId(), -1);
+            return session;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public String changeSessionId() {
+            JdbcHttpSession current = (JdbcHttpSession) getSession(false);
+            if (current == null) {
+                throw new IllegalStateException("No session to change the id of");
+            }
+            String oldId = current.getId();
+            String newId = UUID.randomUUID().toString();
+            if (!current.isCreated()) {
+                store.changeId(oldId, newId);
+            }
+            current.changeId(newId);
+            writeCookie(newId, -1);
+            return newId;
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            return requestedId;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            getSession(false);
+            return requestedValid && session != null && !session.isInvalid() && requestedId.equals(session.getId());
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return requestedId != null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        /**
+         * Write the session of this request to the store, once.
+         */
+        private void commit() {
+            if (committed) {
+                return;
+            }
+            committed = true;
+            if (session == null) {
+                return;
+            }
+            if (session.isInvalid()) {
+                commitInvalidated();
+                writeCookie("", 0);
+            } else if (session.isDirty()) {
+                store.save(session.toRecord());
+            } else {
+                store.touch(session.getId(), session.getLastAccessedTime());
+            }
+        }
+
+        private void commitInvalidated() {
+            if (session != null && session.isInvalid()) {
+                if (!session.isCreated()) {
+                    store.delete(session.getId());
+                }
+                session = null;
+            }
+        }
+
+        private void writeCookie(String value, int maxAge) {
+            if (response.isCommitted()) {
+                return;
+            }
+            String path = getContextPath().isEmpty() ? "/" : getContextPath();
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, value)
+                    .path(path).httpOnly(true).secure(isSecure()).sameSite("Lax").maxAge(maxAge)
+                    .build().toString());
+        }
+    }
+
+    /**
+     * Response that writes the session before a redirect or an error reaches the client, so
+     * the request that follows it sees the session.
+     */
+    private static final class SessionResponse extends HttpServletResponseWrapper {
+        private final SessionRequest request;
+
+        private SessionResponse(HttpServletResponse response, SessionRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            request.commit();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            request.commit();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            request.commit();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            request.commit();
+            super.flushBuffer();
+        }
+    }
+
+    private static String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
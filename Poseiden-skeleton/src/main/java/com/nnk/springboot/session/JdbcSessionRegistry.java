@@ -0,0 +1,97 @@
+package com.nnk.springboot.session;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Session registry over the {@link JdbcSessionStore}, so that the limit of sessions per user
+ * applies across the nodes of the cluster. Users are identified by name. Expiring a session
+ * marks it in the store, and every node then logs it out on its next request.
+ */
+public class JdbcSessionRegistry implements SessionRegistry {
+    private final JdbcSessionStore store;
+
+    public JdbcSessionRegistry(JdbcSessionStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        return new ArrayList<>(store.findPrincipalNames());
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        List<SessionInformation> sessions = new ArrayList<>();
+        for (SessionRecord session : store.findByPrincipalName(nameOf(principal))) {
+            if (includeExpiredSessions || !session.expired()) {
+                sessions.add(new StoredSessionInformation(session));
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        SessionRecord session = store.find(sessionId);
+        return session == null || session.principalName() == null ? null : new StoredSessionInformation(session);
+    }
+
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        store.touch(sessionId, System.currentTimeMillis());
+    }
+
+    @Override
+    public void registerNewSession(String sessionId, Object principal) {
+        store.setPrincipalName(sessionId, nameOf(principal));
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        store.delete(sessionId);
+    }
+
+    /**
+     * @param principal a principal as held by an Authentication
+     * @return the user name of the principal
+     */
+    static String nameOf(Object principal) {
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+        if (principal instanceof AuthenticatedPrincipal authenticated) {
+            return authenticated.getName();
+        }
+        if (principal instanceof Principal named) {
+            return named.getName();
+        }
+        return String.valueOf(principal);
+    }
+
+    /**
+     * Session information whose expiry is written to the store.
+     */
+    private final class StoredSessionInformation extends SessionInformation {
+
+        private StoredSessionInformation(SessionRecord session) {
+            super(session.principalName(), session.id(), new Date(session.lastAccessedTime()));
+            if (session.expired()) {
+                super.expireNow();
+            }
+        }
+
+        @Override
+        public void expireNow() {
+            super.expireNow();
+            store.markExpired(getSessionId());
+        }
+    }
+}
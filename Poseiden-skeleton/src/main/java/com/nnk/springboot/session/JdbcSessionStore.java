@@ -0,0 +1,297 @@
+package com.nnk.springboot.session;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP sessions stored in the http_session table, so that every node of the cluster sees the
+ * same sessions and the one-session-per-user rule holds across nodes.
+ *
+ * <p>Three things keep the database off the path of most requests:
+ * <ul>
+ *   <li>a near-cache of the sessions read by this node, checked on each request against the
+ *       revision column, which every write of the session state increments: only a session
+ *       changed since it was cached, on this node or another, is read again with its attributes,
+ *       and a session logged out or expired on another node is seen on the next request;</li>
+ *   <li>last-access updates, which every request makes, are buffered and written in one
+ *       batch per flush interval;</li>
+ *   <li>attributes are only written when they changed.</li>
+ * </ul>
+ * A background sweeper deletes the sessions that timed out.
+ */
+public class JdbcSessionStore implements AutoCloseable {
+    private static final String COLUMNS = "session_id, principal_name, creation_time, last_access_time,"
+            + " max_inactive_interval, expired";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingAccess = new ConcurrentHashMap<>();
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(JdbcSessionStore.class.getClassLoader());
+    private final ScheduledExecutorService scheduler;
+
+    private record Cached(SessionRecord session, long revision) {
+    }
+
+    private record Revision(long revision, long lastAccessedTime) {
+    }
+
+    /**
+     * @param jdbcTemplate access to the http_session table
+     * @param flushIntervalMillis the interval between two batches of last-access updates
+     * @param sweepIntervalMillis the interval between two deletions of timed out sessions
+     */
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate, long flushIntervalMillis, long sweepIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "session-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Find a live session, from the near-cache when its revision is still the stored one.
+     *
+     * @param id the session id; may be null
+     * @return the session with its attributes, or null if it does not exist or timed out
+     */
+    public SessionRecord find(String id) {
+        if (id == null) {
+            return null;
+        }
+        Cached cached = cache.get(id);
+        SessionRecord session = null;
+        if (cached != null) {
+            List<Revision> stored = jdbcTemplate.query("select revision, last_access_time from http_session"
+                    + " where session_id = ?", (rs, row) -> new Revision(rs.getLong(1), rs.getLong(2)), id);
+            if (stored.isEmpty()) {
+                cache.remove(id);
+                return null;
+            }
+            if (stored.get(0).revision() == cached.revision()) {
+                // Other nodes may have served requests on the session since it was cached
+                session = cached.session().withLastAccessedTime(stored.get(0).lastAccessedTime());
+            }
+        }
+        if (session == null) {
+            List<Cached> found = jdbcTemplate.query("select " + COLUMNS + ", revision, attributes from http_session"
+                    + " where session_id = ?", this::mapWithAttributes, id);
+            if (found.isEmpty()) {
+                cache.remove(id);
+                return null;
+            }
+            cache.put(id, found.get(0));
+            session = found.get(0).session();
+        }
+        Long pending = pendingAccess.get(id);
+        if (pending != null) {
+            session = session.withLastAccessedTime(pending);
+        }
+        return session.isTimedOut(System.currentTimeMillis()) ? null : session;
+    }
+
+    /**
+     * Write a session with its attributes, inserting it when it is new. The expired flag is left
+     * as stored, since the session registry of another node may have set it meanwhile; the
+     * session is therefore read again by the next {@link #find}.
+     *
+     * @param session the session
+     */
+    public void save(SessionRecord session) {
+        byte[] attributes = serializer.convert(new HashMap<>(session.attributes()));
+        int updated = jdbcTemplate.update("update http_session set principal_name = ?, last_access_time = ?,"
+                        + " max_inactive_interval = ?, expiry_time = ?, attributes = ?, revision = revision + 1"
+                        + " where session_id = ?",
+                session.principalName(), session.lastAccessedTime(), session.maxInactiveInterval(),
+                session.expiryTime(), attributes, session.id());
+        if (updated == 0) {
+            jdbcTemplate.update("insert into http_session (" + COLUMNS + ", expiry_time, attributes)"
+                            + " values (?, ?, ?, ?, ?, ?, ?, ?)",
+                    session.id(), session.principalName(), session.creationTime(), session.lastAccessedTime(),
+                    session.maxInactiveInterval(), session.expired(), session.expiryTime(), attributes);
+        }
+        pendingAccess.remove(session.id());
+        cache.remove(session.id());
+    }
+
+    /**
+     * Record a request on a session. The time is written with the next batch.
+     *
+     * @param id the session id
+     * @param time the time of the request, in epoch milliseconds
+     */
+    public void touch(String id, long time) {
+        pendingAccess.merge(id, time, Math::max);
+        cache.computeIfPresent(id, (key, cached) ->
+                new Cached(cached.session().withLastAccessedTime(time), cached.revision()));
+    }
+
+    /**
+     * Give a session a new id, keeping its state.
+     *
+     * @param oldId the current id
+     * @param newId the new id
+     */
+    public void changeId(String oldId, String newId) {
+        jdbcTemplate.update("update http_session set session_id = ?, revision = revision + 1 where session_id = ?",
+                newId, oldId);
+        cache.remove(oldId);
+        Long pending = pendingAccess.remove(oldId);
+        if (pending != null) {
+            pendingAccess.merge(newId, pending, Math::max);
+        }
+    }
+
+    /**
+     * Record the user a session belongs to.
+     *
+     * @param id the session id; ignored until the session is stored
+     * @param principalName the user name
+     */
+    public void setPrincipalName(String id, String principalName) {
+        jdbcTemplate.update("update http_session set principal_name = ?, revision = revision + 1 where session_id = ?",
+                principalName, id);
+        cache.remove(id);
+    }
+
+    /**
+     * Mark a session as expired. Its next request on any node logs the user out.
+     *
+     * @param id the session id
+     */
+    public void markExpired(String id) {
+        jdbcTemplate.update("update http_session set expired = true, revision = revision + 1 where session_id = ?", id);
+        cache.remove(id);
+    }
+
+    /**
+     * Delete a session.
+     *
+     * @param id the session id
+     */
+    public void delete(String id) {
+        jdbcTemplate.update("delete from http_session where session_id = ?", id);
+        cache.remove(id);
+        pendingAccess.remove(id);
+    }
+
+    /**
+     * Find the live sessions of a user, without their attributes.
+     *
+     * @param principalName the user name
+     * @return the sessions, expired ones included
+     */
+    public List<SessionRecord> findByPrincipalName(String principalName) {
+        long now = System.currentTimeMillis();
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (SessionRecord session : jdbcTemplate.query("select " + COLUMNS + " from http_session"
+                + " where principal_name = ?", this::map, principalName)) {
+            Long pending = pendingAccess.get(session.id());
+            SessionRecord current = pending != null ? session.withLastAccessedTime(pending) : session;
+            if (!current.isTimedOut(now)) {
+                sessions.add(current);
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * @return the names of the users with a stored session
+     */
+    public List<String> findPrincipalNames() {
+        return jdbcTemplate.queryForList("select distinct principal_name from http_session"
+                + " where principal_name is not null", String.class);
+    }
+
+    /**
+     * Write the buffered last-access times in one batch.
+     *
+     * @return the number of sessions updated
+     */
+    public int flush() {
+        List<Object[]> batch = new ArrayList<>(pendingAccess.size());
+        for (String id : List.copyOf(pendingAccess.keySet())) {
+            Long time = pendingAccess.remove(id);
+            if (time != null) {
+                batch.add(new Object[]{time, time, id, time});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("update http_session set last_access_time = ?,"
+                + " expiry_time = case when max_inactive_interval > 0"
+                + " then ? + max_inactive_interval * CAST(1000 AS BIGINT) else expiry_time end"
+                + " where session_id = ? and last_access_time < ?", batch);
+        return batch.size();
+    }
+
+    /**
+     * Delete the sessions that timed out, after writing the pending last-access times so that
+     * sessions in use are kept.
+     *
+     * @return the number of sessions deleted
+     */
+    public int sweep() {
+        flush();
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.session().isTimedOut(now));
+        return jdbcTemplate.update("delete from http_session where expiry_time < ?", now);
+    }
+
+    /**
+     * Write the pending last-access times and stop the background tasks.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // The times are written with the next batch or lost; a session then looks idle for longer
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Timed out sessions are deleted by the next sweep
+        }
+    }
+
+    private SessionRecord map(ResultSet rs, int row) throws SQLException {
+        return new SessionRecord(rs.getString("session_id"), rs.getString("principal_name"),
+                rs.getLong("creation_time"), rs.getLong("last_access_time"), rs.getInt("max_inactive_interval"),
+                rs.getBoolean("expired"), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cached mapWithAttributes(ResultSet rs, int row) throws SQLException {
+        SessionRecord session = map(rs, row);
+        byte[] attributes = rs.getBytes("attributes");
+        return new Cached(new SessionRecord(session.id(), session.principalName(), session.creationTime(),
+                session.lastAccessedTime(), session.maxInactiveInterval(), session.expired(),
+                attributes == null ? Map.of() : (Map<String, Object>) deserializer.convert(attributes)),
+                rs.getLong("revision"));
+    }
+}
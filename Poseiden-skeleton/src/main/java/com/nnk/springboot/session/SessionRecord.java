@@ -0,0 +1,40 @@
+package com.nnk.springboot.session;
+
+import java.util.Map;
+
+/**
+ * State of one HTTP session as stored in the http_session table.
+ *
+ * @param id the session id
+ * @param principalName the name of the authenticated user, or null before login
+ * @param creationTime the creation time, in epoch milliseconds
+ * @param lastAccessedTime the time of the last request, in epoch milliseconds
+ * @param maxInactiveInterval the idle timeout in seconds; zero or negative never times out
+ * @param expired whether the session was expired by the session registry, e.g. because the
+ *                user logged in elsewhere
+ * @param attributes the session attributes; null when they were not loaded
+ */
+public record SessionRecord(String id, String principalName, long creationTime, long lastAccessedTime,
+                            int maxInactiveInterval, boolean expired, Map<String, Object> attributes) {
+
+    /**
+     * @param now the current time, in epoch milliseconds
+     * @return true if the session was idle for longer than its timeout
+     */
+    public boolean isTimedOut(long now) {
+        return maxInactiveInterval > 0 && now - lastAccessedTime >= maxInactiveInterval * 1000L;
+    }
+
+    /**
+     * @return the time at which the session times out if it is not accessed again, in epoch
+     * milliseconds
+     */
+    public long expiryTime() {
+        return maxInactiveInterval > 0 ? lastAccessedTime + maxInactiveInterval * 1000L : Long.MAX_VALUE;
+    }
+
+    SessionRecord withLastAccessedTime(long time) {
+        return new SessionRecord(id, principalName, creationTime, Math.max(lastAccessedTime, time),
+                maxInactiveInterval, expired, attributes);
+    }
+}
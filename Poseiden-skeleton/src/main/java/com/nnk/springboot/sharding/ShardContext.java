@@ -0,0 +1,35 @@
+package com.nnk.springboot.sharding;
+
+/**
+ * Shard bound to the current thread. {@link ShardRoutingDataSource} hands out connections of
+ * this shard; when none is bound, connections of the default shard.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard bound to the current thread, or null for the default shard
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind a shard to the current thread.
+     *
+     * @param shard the shard name, or null to unbind
+     * @return the shard that was bound before, to be restored afterwards
+     */
+    static String bind(String shard) {
+        String previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+}
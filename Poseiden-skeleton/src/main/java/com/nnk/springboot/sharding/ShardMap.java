@@ -0,0 +1,51 @@
+package com.nnk.springboot.sharding;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assignment of books to shards. Books listed in the map go to their shard; other books are
+ * spread over all shards by hash of the book name, which is stable across restarts. Rows
+ * without a book go to the first shard, the default one.
+ */
+public final class ShardMap {
+    private final List<String> shards;
+    private final Map<String, String> books;
+
+    /**
+     * @param shards the shard names, the default shard first; must not be empty
+     * @param books explicit shard by book
+     * @throws IllegalArgumentException if there is no shard or a book is assigned to an unknown shard
+     */
+    public ShardMap(List<String> shards, Map<String, String> books) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (Map.Entry<String, String> book : books.entrySet()) {
+            if (!shards.contains(book.getValue())) {
+                throw new IllegalArgumentException("Book " + book.getKey() + " is assigned to unknown shard " + book.getValue());
+            }
+        }
+        this.shards = List.copyOf(shards);
+        this.books = Map.copyOf(books);
+    }
+
+    /**
+     * @param book the book of a row; may be null
+     * @return the shard owning the rows of this book
+     */
+    public String shardFor(String book) {
+        if (book == null) {
+            return shards.get(0);
+        }
+        String shard = books.get(book);
+        return shard != null ? shard : shards.get(Math.floorMod(book.hashCode(), shards.size()));
+    }
+
+    /**
+     * @return the shard names, the default shard first
+     */
+    public List<String> shards() {
+        return shards;
+    }
+}
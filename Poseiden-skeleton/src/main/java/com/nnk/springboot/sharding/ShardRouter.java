@@ -0,0 +1,276 @@
+package com.nnk.springboot.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs data access on the shard owning a book, or on every shard at once.
+ * Work routed to a shard runs in a new transaction opened while the shard is bound to the
+ * thread, so it uses a connection of that shard even when the caller is inside a transaction.
+ * Work for every shard runs in parallel, one task per shard. The read-only variants open that
+ * transaction read-only, since a read-only transaction of the caller does not reach it.
+ *
+ * <p>A router over a single shard ({@link #single()}) runs the work directly, in the caller's
+ * transaction if any: the application then behaves as if there was no sharding.
+ */
+public class ShardRouter implements AutoCloseable {
+    private final ShardMap shardMap;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ExecutorService executor;
+
+    /**
+     * @param shardMap the assignment of books to shards
+     * @param transactionManager the transaction manager of the routing DataSource
+     */
+    public ShardRouter(ShardMap shardMap, PlatformTransactionManager transactionManager) {
+        this.shardMap = shardMap;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager, transactionTemplate);
+        this.readOnlyTemplate.setReadOnly(true);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shardMap.shards().size(), task -> {
+            Thread thread = new Thread(task, "shard-fanout-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private ShardRouter() {
+        this.shardMap = new ShardMap(List.of("default"), Map.of());
+        this.transactionTemplate = null;
+        this.readOnlyTemplate = null;
+        this.executor = null;
+    }
+
+    /**
+     * @return a router over the single default DataSource
+     */
+    public static ShardRouter single() {
+        return new ShardRouter();
+    }
+
+    /**
+     * @return true when rows are spread over several shards
+     */
+    public boolean isSharded() {
+        return executor != null;
+    }
+
+    /**
+     * @return the shard names, the default shard first
+     */
+    public List<String> shards() {
+        return shardMap.shards();
+    }
+
+    /**
+     * @param book the book of a row; may be null
+     * @return the shard owning the rows of this book
+     */
+    public String shardFor(String book) {
+        return shardMap.shardFor(book);
+    }
+
+    /**
+     * Run work on the shard owning a book.
+     *
+     * @param book the book; may be null
+     * @param work the data access to run
+     * @return the result of the work
+     */
+    public <T> T onBook(String book, Supplier<T> work) {
+        return onShard(shardFor(book), work);
+    }
+
+    /**
+     * Run work on one shard, in a new transaction.
+     *
+     * @param shard the shard name
+     * @param work the data access to run
+     * @return the result of the work
+     */
+    public <T> T onShard(String shard, Supplier<T> work) {
+        return onShard(shard, work, transactionTemplate);
+    }
+
+    /**
+     * Run queries on one shard, in a new read-only transaction.
+     *
+     * @param shard the shard name
+     * @param work the queries to run
+     * @return the result of the work
+     */
+    public <T> T onShardReadOnly(String shard, Supplier<T> work) {
+        return onShard(shard, work, readOnlyTemplate);
+    }
+
+    /**
+     * Run work on every shard in parallel.
+     * The first failure is rethrown once every shard has completed.
+     *
+     * @param work the data access to run on each shard
+     * @return the results, in shard order; null results are kept
+     */
+    public <T> List<T> onEachShard(Supplier<T> work) {
+        return onEachShard(work, transactionTemplate);
+    }
+
+    /**
+     * Run queries on every shard in parallel, each in a new read-only transaction.
+     * The first failure is rethrown once every shard has completed.
+     *
+     * @param work the queries to run on each shard
+     * @return the results, in shard order; null results are kept
+     */
+    public <T> List<T> onEachShardReadOnly(Supplier<T> work) {
+        return onEachShard(work, readOnlyTemplate);
+    }
+
+    private <T> T onShard(String shard, Supplier<T> work, TransactionTemplate template) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        String previous = ShardContext.bind(shard);
+        try {
+            return template.execute(status -> work.get());
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+
+    private <T> List<T> onEachShard(Supplier<T> work, TransactionTemplate template) {
+        if (!isSharded()) {
+            return Collections.singletonList(work.get());
+        }
+        List<Future<T>> futures = new ArrayList<>(shards().size());
+        for (String shard : shards()) {
+            futures.add(executor.submit(() -> onShard(shard, work, template)));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause
+                            : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shards", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Run a statement on every shard in parallel and add up the counts it returns.
+     *
+     * @param statement the statement, returning a number of rows
+     * @return the total number of rows over all shards
+     */
+    public int countOnEachShard(Supplier<Integer> statement) {
+        int total = 0;
+        for (int count : onEachShard(statement)) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Look a row up on every shard in parallel.
+     *
+     * @param lookup the lookup, e.g. by id
+     * @return the row found on the first shard that has it, or empty
+     */
+    public <T> Optional<T> findOnEachShard(Supplier<Optional<T>> lookup) {
+        for (Optional<T> found : onEachShard(lookup)) {
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Run a sorted query on every shard in parallel and merge the sorted results.
+     *
+     * @param query the query, returning rows sorted by order on each shard
+     * @param order the sort order of the rows
+     * @param limit the maximum number of rows to return, or a negative number for all rows
+     * @return the rows of every shard, sorted
+     */
+    public <T> List<T> onEachShardSorted(Supplier<List<T>> query, Comparator<? super T> order, int limit) {
+        List<List<T>> results = onEachShard(query);
+        if (results.size() == 1) {
+            List<T> rows = results.get(0);
+            return limit >= 0 && rows.size() > limit ? rows.subList(0, limit) : rows;
+        }
+        return merge(results, order, limit);
+    }
+
+    /**
+     * Merge lists that are each sorted into one sorted list.
+     *
+     * @param sorted the sorted lists
+     * @param order their sort order
+     * @param limit the maximum number of elements to return, or a negative number for all
+     * @return the merged elements
+     */
+    static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int limit) {
+        int total = 0;
+        for (List<T> part : sorted) {
+            total += part.size();
+        }
+        int size = limit >= 0 ? Math.min(limit, total) : total;
+        // Heads of the lists: {list index, position in the list}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> order.compare(sorted.get(a[0]).get(a[1]), sorted.get(b[0]).get(b[1])));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(size);
+        while (merged.size() < size) {
+            int[] head = heads.poll();
+            List<T> part = sorted.get(head[0]);
+            merged.add(part.get(head[1]));
+            if (++head[1] < part.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Stop the fan-out threads.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
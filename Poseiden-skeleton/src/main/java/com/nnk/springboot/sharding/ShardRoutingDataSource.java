@@ -0,0 +1,16 @@
+package com.nnk.springboot.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource handing out connections of the shard bound to the current thread by
+ * {@link ShardContext}, or of the default shard when none is bound. Entities that are not
+ * sharded therefore live on the default shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
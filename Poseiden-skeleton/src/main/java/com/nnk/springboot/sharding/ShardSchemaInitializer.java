@@ -0,0 +1,48 @@
+package com.nnk.springboot.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Creates the mapped tables on every shard and moves the trade and bid id sequences of each
+ * shard to its configured start, so that ids never overlap between shards. Meant for local and
+ * test databases; production shards are provisioned with their schema.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+    /** Sharded tables with their id column, as named by the default naming strategy. */
+    private static final Map<String, String> ID_COLUMNS = Map.of("bidlist", "bid_list_id", "trade", "trade_id");
+
+    private final ShardingProperties properties;
+    private final Map<String, DataSource> shards;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardSchemaInitializer(ShardingProperties properties, Map<String, DataSource> shards,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            String previous = ShardContext.bind(shard.name());
+            try {
+                sessionFactory.getSchemaManager().exportMappedObjects(true);
+            } finally {
+                ShardContext.bind(previous);
+            }
+            if (shard.idStart() != null) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard.name()));
+                ID_COLUMNS.forEach((table, column) -> jdbcTemplate.execute(
+                        "ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + shard.idStart()));
+            }
+        }
+    }
+}
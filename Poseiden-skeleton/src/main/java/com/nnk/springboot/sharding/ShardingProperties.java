@@ -0,0 +1,51 @@
+package com.nnk.springboot.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding configuration, under {@code poseidon.sharding}.
+ *
+ * <pre>
+ * poseidon.sharding.enabled=true
+ * poseidon.sharding.shards[0].name=eu
+ * poseidon.sharding.shards[0].url=jdbc:postgresql://db-eu/poseidon
+ * poseidon.sharding.shards[0].id-start=1
+ * poseidon.sharding.shards[1].name=us
+ * poseidon.sharding.shards[1].url=jdbc:postgresql://db-us/poseidon
+ * poseidon.sharding.shards[1].id-start=1000000000
+ * poseidon.sharding.books.[FX-LDN]=eu
+ * </pre>
+ *
+ * @param enabled whether trades and bids are spread over the shards; when false the single
+ *                spring.datasource is used
+ * @param shards the shards, the default one first: it also stores the entities that are not sharded
+ * @param books explicit shard by book; other books are assigned by hash
+ * @param initializeSchema whether to create the tables and set the id ranges on every shard at
+ *                         startup, for local and test databases; use with
+ *                         spring.jpa.hibernate.ddl-auto=none
+ */
+@ConfigurationProperties("poseidon.sharding")
+public record ShardingProperties(boolean enabled, List<Shard> shards, Map<String, String> books,
+                                 boolean initializeSchema) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : shards;
+        books = books == null ? Map.of() : books;
+    }
+
+    /**
+     * One shard database.
+     *
+     * @param name the shard name used by the shard map
+     * @param url the JDBC URL
+     * @param username the database user
+     * @param password the database password
+     * @param idStart the first id generated for trades and bids on this shard; ids must not
+     *                overlap between shards, as rows are found by id on every shard
+     */
+    public record Shard(String name, String url, String username, String password, Long idStart) {
+    }
+}
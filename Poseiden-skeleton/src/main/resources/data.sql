@@ -13,11 +13,14 @@ INSERT INTO trade (account, type, buy_quantity) VALUES
 ('Trade Account', 'Type1', 10.0),
 ('Trade Account2', 'Type2', 20.0);
 
--- Données d'exemple pour CurvePoint
+-- Données d'exemple pour CurvePoint, avec leur première version
+DELETE FROM curvepoint_history;
 DELETE FROM curvepoint;
 INSERT INTO curvepoint (curve_id, term, "value") VALUES
 (1, 10.0, 100.0),
 (2, 20.0, 200.0);
+INSERT INTO curvepoint_history (curve_point_id, as_of_date, term, "value", creation_date)
+SELECT id, as_of_date, term, "value", creation_date FROM curvepoint;
 
 -- Données d'exemple pour Rating
 DELETE FROM rating;
@@ -1,4 +1,5 @@
 -- Création des tables pour l'application Poseidon
+-- Noms de colonnes identiques au mapping Hibernate (camelCase -> snake_case) : le profil startup le valide au démarrage
 
 CREATE TABLE IF NOT EXISTS users (
     id SERIAL PRIMARY KEY,
@@ -8,74 +9,137 @@ CREATE TABLE IF NOT EXISTS users (
     role VARCHAR(125) NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS BidList (
-    BidListId SERIAL PRIMARY KEY,
+CREATE TABLE IF NOT EXISTS bidlist (
+    bid_list_id SERIAL PRIMARY KEY,
     account VARCHAR(30) NOT NULL,
     type VARCHAR(30) NOT NULL,
-    bidQuantity DOUBLE PRECISION,
-    askQuantity DOUBLE PRECISION,
+    bid_quantity DOUBLE PRECISION,
+    ask_quantity DOUBLE PRECISION,
     bid DOUBLE PRECISION,
     ask DOUBLE PRECISION,
     benchmark VARCHAR(125),
-    bidListDate TIMESTAMP,
+    bid_list_date TIMESTAMP,
     commentary VARCHAR(125),
     security VARCHAR(125),
     status VARCHAR(10),
     trader VARCHAR(125),
     book VARCHAR(125),
-    creationName VARCHAR(125),
-    creationDate TIMESTAMP,
-    revisionName VARCHAR(125),
-    revisionDate TIMESTAMP,
-    dealName VARCHAR(125),
-    dealDate TIMESTAMP
+    creation_name VARCHAR(125),
+    creation_date TIMESTAMP,
+    revision_name VARCHAR(125),
+    revision_date TIMESTAMP,
+    deal_name VARCHAR(125),
+    deal_type VARCHAR(125),
+    source_list_id VARCHAR(125),
+    side VARCHAR(125),
+    version INTEGER NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS trade (
-    TradeId SERIAL PRIMARY KEY,
+    trade_id SERIAL PRIMARY KEY,
     account VARCHAR(30) NOT NULL,
     type VARCHAR(30) NOT NULL,
-    buyQuantity DOUBLE PRECISION,
-    sellQuantity DOUBLE PRECISION,
-    buyPrice DOUBLE PRECISION,
-    sellPrice DOUBLE PRECISION,
-    tradeDate TIMESTAMP,
+    buy_quantity DOUBLE PRECISION,
+    sell_quantity DOUBLE PRECISION,
+    buy_price DOUBLE PRECISION,
+    sell_price DOUBLE PRECISION,
+    trade_date TIMESTAMP,
     security VARCHAR(125),
     status VARCHAR(10),
     trader VARCHAR(125),
     benchmark VARCHAR(125),
     book VARCHAR(125),
-    creationName VARCHAR(125),
-    creationDate TIMESTAMP,
-    revisionName VARCHAR(125),
-    revisionDate TIMESTAMP,
-    dealName VARCHAR(125),
-    dealDate TIMESTAMP
+    creation_name VARCHAR(125),
+    creation_date TIMESTAMP,
+    revision_name VARCHAR(125),
+    revision_date TIMESTAMP,
+    deal_name VARCHAR(125),
+    deal_type VARCHAR(125),
+    source_list_id VARCHAR(125),
+    side VARCHAR(125),
+    version INTEGER NOT NULL DEFAULT 0
 );
 
-CREATE TABLE IF NOT EXISTS CurvePoint (
-    Id SERIAL PRIMARY KEY,
-    CurveId INTEGER,
-    asOfDate TIMESTAMP,
+-- Colonne de verrouillage optimiste pour les bases créées avant son introduction
+ALTER TABLE bidlist ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE trade ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
+-- Un trade amont n'est stocké qu'une fois par compte : les doublons importés avant l'index sont
+-- supprimés, seul le premier trade stocké est gardé
+ALTER TABLE trade ADD COLUMN IF NOT EXISTS source_list_id VARCHAR(125);
+DELETE FROM trade WHERE source_list_id IS NOT NULL AND trade_id > (SELECT MIN(t.trade_id) FROM trade t
+WHERE t.source_list_id = trade.source_list_id AND t.account = trade.account);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_trade_source_account ON trade (source_list_id, account);
+
+CREATE TABLE IF NOT EXISTS curvepoint (
+    id SERIAL PRIMARY KEY,
+    curve_id INTEGER NOT NULL,
+    as_of_date TIMESTAMP,
+    term DOUBLE PRECISION,
+    "value" DOUBLE PRECISION,
+    creation_date TIMESTAMP
+);
+
+-- Versions successives de chaque CurvePoint : la ligne de curvepoint porte la valeur courante
+CREATE TABLE IF NOT EXISTS curvepoint_history (
+    id SERIAL PRIMARY KEY,
+    curve_point_id INTEGER NOT NULL,
+    as_of_date TIMESTAMP,
     term DOUBLE PRECISION,
     "value" DOUBLE PRECISION,
-    creationDate TIMESTAMP
+    creation_date TIMESTAMP
 );
+CREATE INDEX IF NOT EXISTS ix_curvepoint_history_point ON curvepoint_history (curve_point_id);
 
-CREATE TABLE IF NOT EXISTS Rating (
-    Id SERIAL PRIMARY KEY,
-    moodysRating VARCHAR(125),
-    sandPRating VARCHAR(125),
-    fitchRating VARCHAR(125),
-    orderNumber INTEGER
+-- Première version des points créés avant l'historique
+INSERT INTO curvepoint_history (curve_point_id, as_of_date, term, "value", creation_date)
+SELECT c.id, c.as_of_date, c.term, c."value", c.creation_date FROM curvepoint c
+WHERE NOT EXISTS (SELECT 1 FROM curvepoint_history h WHERE h.curve_point_id = c.id);
+
+CREATE TABLE IF NOT EXISTS rating (
+    id SERIAL PRIMARY KEY,
+    moodys_rating VARCHAR(125),
+    sandprating VARCHAR(125),
+    fitch_rating VARCHAR(125),
+    order_number INTEGER NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS RuleName (
-    Id SERIAL PRIMARY KEY,
+-- Les ratings sans numéro d'ordre passent après les autres, dans l'ordre des id ; la colonne
+-- devient NOT NULL pour que la liste soit lue dans l'ordre de l'index ix_rating_order
+UPDATE rating SET order_number = (SELECT COALESCE(MAX(r.order_number), 0) FROM rating r) + id
+WHERE order_number IS NULL;
+ALTER TABLE rating ALTER COLUMN order_number SET NOT NULL;
+
+-- Note commune des trois agences, pour trier et filtrer les ratings sur un entier
+ALTER TABLE rating ADD COLUMN IF NOT EXISTS notch INTEGER;
+CREATE INDEX IF NOT EXISTS ix_rating_notch ON rating (notch);
+
+-- La liste des ratings est lue dans l'ordre de cet index
+CREATE INDEX IF NOT EXISTS ix_rating_order ON rating (order_number, id);
+
+CREATE TABLE IF NOT EXISTS rulename (
+    id SERIAL PRIMARY KEY,
     name VARCHAR(125),
     description VARCHAR(125),
     json VARCHAR(125),
     template VARCHAR(512),
-    sqlStr VARCHAR(125),
-    sqlPart VARCHAR(125)
+    sql_str VARCHAR(125),
+    sql_part VARCHAR(125)
+);
+
+-- Sessions HTTP partagées entre les nœuds, avec l'utilisateur connecté pour le registre de sessions
+CREATE TABLE IF NOT EXISTS http_session (
+    session_id VARCHAR(64) PRIMARY KEY,
+    principal_name VARCHAR(125),
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INTEGER NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    expired BOOLEAN NOT NULL DEFAULT FALSE,
+    revision BIGINT NOT NULL DEFAULT 0,
+    attributes BYTEA
 );
+-- Incrémentée à chaque écriture de l'état d'une session : un nœud revalide sa copie en cache sur cette colonne
+ALTER TABLE http_session ADD COLUMN IF NOT EXISTS revision BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS ix_http_session_principal ON http_session (principal_name);
+CREATE INDEX IF NOT EXISTS ix_http_session_expiry ON http_session (expiry_time);
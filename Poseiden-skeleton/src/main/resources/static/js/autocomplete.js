@@ -0,0 +1,39 @@
+/*
+ * Completion of form inputs marked with data-autocomplete="<field>".
+ * Suggestions come from /autocomplete/<field>, which is served from memory, and are shown
+ * through a native datalist.
+ */
+document.addEventListener('DOMContentLoaded', function () {
+    document.querySelectorAll('input[data-autocomplete]').forEach(function (input) {
+        var field = input.getAttribute('data-autocomplete');
+        var list = document.createElement('datalist');
+        list.id = input.id + '-completions';
+        input.after(list);
+        input.setAttribute('list', list.id);
+        input.setAttribute('autocomplete', 'off');
+
+        var pending = null;
+        var lastPrefix = null;
+        input.addEventListener('input', function () {
+            var prefix = input.value;
+            if (prefix === lastPrefix) {
+                return;
+            }
+            lastPrefix = prefix;
+            if (pending) {
+                pending.abort();
+            }
+            pending = new AbortController();
+            fetch('/autocomplete/' + field + '?prefix=' + encodeURIComponent(prefix), {signal: pending.signal})
+                .then(function (response) { return response.ok ? response.json() : []; })
+                .then(function (values) {
+                    list.replaceChildren.apply(list, values.map(function (value) {
+                        var option = document.createElement('option');
+                        option.value = value;
+                        return option;
+                    }));
+                })
+                .catch(function () { /* aborted by a newer keystroke */ });
+        });
+    });
+});
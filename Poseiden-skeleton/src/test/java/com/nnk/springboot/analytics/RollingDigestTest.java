@@ -0,0 +1,91 @@
+package com.nnk.springboot.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RollingDigest.
+ * Tests quantiles over the live buckets and bucket expiry.
+ */
+@DisplayName("RollingDigest Tests")
+class RollingDigestTest {
+
+    @Test
+    @DisplayName("Should return NaN when no sample was added")
+    void quantile_WhenEmpty_ShouldReturnNaN() {
+        RollingDigest digest = new RollingDigest(60_000, 60, 100);
+
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+        assertEquals(0, digest.size());
+    }
+
+    @Test
+    @DisplayName("Should estimate quantiles over samples of several buckets")
+    void add_WhenSamplesInSeveralBuckets_ShouldCombineThem() {
+        // Given
+        RollingDigest digest = new RollingDigest(60_000, 60, 100);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            digest.add(i * 100L, i);
+        }
+
+        // Then
+        assertEquals(100, digest.size());
+        assertEquals(49.5, digest.quantile(0.5), 1.0);
+        assertEquals(99, digest.quantile(1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should forget the samples of expired buckets")
+    void expire_WhenBucketsLeaveWindow_ShouldDropTheirSamples() {
+        // Given
+        RollingDigest digest = new RollingDigest(60_000, 60, 100);
+        for (int i = 0; i < 50; i++) {
+            digest.add(500, 1000.0);
+        }
+        for (int i = 0; i < 50; i++) {
+            digest.add(30_500, i);
+        }
+
+        // When
+        digest.expire(60_500);
+
+        // Then
+        assertEquals(50, digest.size());
+        assertEquals(49, digest.quantile(1), 1e-9);
+
+        // When
+        digest.expire(200_000);
+
+        // Then
+        assertEquals(0, digest.size());
+        assertTrue(Double.isNaN(digest.quantile(0.99)));
+    }
+
+    @Test
+    @DisplayName("Should ignore samples older than the window")
+    void add_WhenOlderThanWindow_ShouldIgnore() {
+        // Given
+        RollingDigest digest = new RollingDigest(60_000, 60, 100);
+        digest.add(120_000, 1.0);
+
+        // When
+        digest.add(1_000, 5.0);
+        digest.add(119_000, 2.0);
+
+        // Then
+        assertEquals(2, digest.size());
+        assertEquals(2.0, digest.quantile(1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void constructor_WhenInvalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingDigest(60_000, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new RollingDigest(1_000, 60, 100));
+        assertThrows(IllegalArgumentException.class, () -> new RollingDigest(60_000, 60, 1));
+    }
+}
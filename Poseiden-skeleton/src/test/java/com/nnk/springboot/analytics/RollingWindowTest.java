@@ -0,0 +1,81 @@
+package com.nnk.springboot.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RollingWindow.
+ * Tests VWAP/TWAP accumulation and bucket expiry.
+ */
+@DisplayName("RollingWindow Tests")
+class RollingWindowTest {
+
+    @Test
+    @DisplayName("Should return NaN when no trade was recorded")
+    void vwap_WhenEmpty_ShouldReturnNaN() {
+        RollingWindow window = new RollingWindow(60_000, 60);
+
+        assertTrue(Double.isNaN(window.vwap()));
+        assertTrue(Double.isNaN(window.twap()));
+        assertEquals(0.0, window.volume());
+    }
+
+    @Test
+    @DisplayName("Should weight VWAP by quantity and TWAP by bucket")
+    void add_WhenTradesInSeveralBuckets_ShouldComputeAverages() {
+        // Given
+        RollingWindow window = new RollingWindow(60_000, 60);
+
+        // When
+        window.add(1_000, 10.0, 1.0);
+        window.add(1_500, 20.0, 3.0);
+        window.add(2_000, 30.0, 1.0);
+
+        // Then
+        assertEquals((10.0 + 60.0 + 30.0) / 5.0, window.vwap(), 1e-9);
+        assertEquals((15.0 + 30.0) / 2.0, window.twap(), 1e-9);
+        assertEquals(5.0, window.volume(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should drop buckets that fall out of the window")
+    void expire_WhenTimeMovesPastWindow_ShouldForgetOldTrades() {
+        // Given
+        RollingWindow window = new RollingWindow(60_000, 60);
+        window.add(0, 10.0, 1.0);
+        window.add(30_000, 20.0, 1.0);
+
+        // When
+        window.expire(60_500);
+
+        // Then
+        assertEquals(20.0, window.vwap(), 1e-9);
+        assertEquals(1.0, window.volume(), 1e-9);
+
+        // When
+        window.expire(200_000);
+
+        // Then
+        assertTrue(Double.isNaN(window.vwap()));
+    }
+
+    @Test
+    @DisplayName("Should ignore trades older than the window")
+    void add_WhenTradeOlderThanWindow_ShouldIgnoreIt() {
+        RollingWindow window = new RollingWindow(60_000, 60);
+        window.add(120_000, 10.0, 1.0);
+
+        window.add(1_000, 99.0, 1.0);
+
+        assertEquals(10.0, window.vwap(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject a window length that is not a multiple of the bucket count")
+    void constructor_WhenInvalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingWindow(1_000, 7));
+        assertThrows(IllegalArgumentException.class, () -> new RollingWindow(1_000, 0));
+    }
+}
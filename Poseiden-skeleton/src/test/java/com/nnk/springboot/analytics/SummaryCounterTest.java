@@ -0,0 +1,65 @@
+package com.nnk.springboot.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SummaryCounter.
+ * Tests incremental counts and totals per key and their replacement.
+ */
+@DisplayName("SummaryCounter Tests")
+class SummaryCounterTest {
+
+    @Test
+    @DisplayName("Should count entities and sum their amounts per key")
+    void add_WhenNewEntities_ShouldAccumulatePerKey() {
+        // Given
+        SummaryCounter<String> counter = new SummaryCounter<>();
+
+        // When
+        counter.add("OPEN", 10.0);
+        counter.add("OPEN", 5.0);
+        counter.add("CLOSED", 1.0);
+
+        // Then
+        assertEquals(3, counter.size());
+        assertEquals(Map.of("OPEN", new SummaryCounter.Total(2, 15.0), "CLOSED", new SummaryCounter.Total(1, 1.0)),
+                counter.totals());
+    }
+
+    @Test
+    @DisplayName("Should replace every total on reset")
+    void reset_ShouldReplaceTotals() {
+        // Given
+        SummaryCounter<String> counter = new SummaryCounter<>();
+        counter.add("OPEN", 10.0);
+        counter.add("CLOSED", 1.0);
+
+        // When
+        counter.reset(Map.of("OPEN", new SummaryCounter.Total(4, 12.0)));
+        counter.add("OPEN", 3.0);
+
+        // Then
+        assertEquals(5, counter.size());
+        assertEquals(Map.of("OPEN", new SummaryCounter.Total(5, 15.0)), counter.totals());
+    }
+
+    @Test
+    @DisplayName("Should return only the keys accepted by the filter")
+    void totals_WhenFiltered_ShouldReturnMatchingKeys() {
+        // Given
+        SummaryCounter<Integer> counter = new SummaryCounter<>();
+        counter.add(1, 1.0);
+        counter.add(2, 2.0);
+
+        // When
+        Map<Integer, SummaryCounter.Total> totals = counter.totals(key -> key > 1);
+
+        // Then
+        assertEquals(Map.of(2, new SummaryCounter.Total(1, 2.0)), totals);
+    }
+}
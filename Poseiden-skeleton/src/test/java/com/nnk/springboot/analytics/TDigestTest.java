@@ -0,0 +1,117 @@
+package com.nnk.springboot.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TDigest.
+ * Tests quantile accuracy on known distributions, merging and compaction.
+ */
+@DisplayName("TDigest Tests")
+class TDigestTest {
+
+    @Test
+    @DisplayName("Should return NaN when empty")
+    void quantile_WhenEmpty_ShouldReturnNaN() {
+        assertTrue(Double.isNaN(new TDigest(100).quantile(0.5)));
+    }
+
+    @Test
+    @DisplayName("Should return the single sample for any quantile")
+    void quantile_WhenSingleSample_ShouldReturnIt() {
+        TDigest digest = new TDigest(100);
+        digest.add(4.2);
+
+        assertEquals(4.2, digest.quantile(0.01));
+        assertEquals(4.2, digest.quantile(0.99));
+        assertEquals(1, digest.size());
+    }
+
+    @Test
+    @DisplayName("Should estimate quantiles of a uniform distribution")
+    void quantile_WhenUniformSamples_ShouldBeAccurate() {
+        // Given
+        TDigest digest = new TDigest(100);
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            digest.add(random.nextDouble());
+        }
+
+        // Then
+        assertEquals(0.5, digest.quantile(0.5), 0.01);
+        assertEquals(0.9, digest.quantile(0.9), 0.01);
+        assertEquals(0.99, digest.quantile(0.99), 0.002);
+        assertEquals(100_000, digest.size());
+    }
+
+    @Test
+    @DisplayName("Should keep quantiles monotonic and within sample range")
+    void quantile_ShouldBeMonotonic() {
+        TDigest digest = new TDigest(50);
+        for (int i = 1; i <= 1000; i++) {
+            digest.add(i);
+        }
+
+        double previous = Double.NEGATIVE_INFINITY;
+        for (double q = 0; q <= 1.0; q += 0.01) {
+            double value = digest.quantile(q);
+            assertTrue(value >= previous);
+            assertTrue(value >= 1 && value <= 1000);
+            previous = value;
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge the samples of another digest")
+    void add_WhenDigestMerged_ShouldCombineSamples() {
+        // Given
+        TDigest low = new TDigest(100);
+        TDigest high = new TDigest(100);
+        for (int i = 0; i < 10_000; i++) {
+            low.add(i / 10_000.0);
+            high.add(1 + i / 10_000.0);
+        }
+
+        // When
+        low.add(high);
+
+        // Then
+        assertEquals(20_000, low.size());
+        assertEquals(1.0, low.quantile(0.5), 0.01);
+        assertEquals(1.9, low.quantile(0.95), 0.01);
+        assertEquals(10_000, high.size());
+    }
+
+    @Test
+    @DisplayName("Should keep its quantiles and accept samples once compacted")
+    void compact_ShouldKeepQuantiles() {
+        // Given
+        TDigest digest = new TDigest(100);
+        for (int i = 1; i <= 1000; i++) {
+            digest.add(i);
+        }
+        double median = digest.quantile(0.5);
+
+        // When
+        digest.compact();
+
+        // Then
+        assertEquals(median, digest.quantile(0.5));
+        digest.add(2000);
+        assertEquals(1001, digest.size());
+        assertEquals(2000, digest.quantile(1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void invalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(1));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(100).quantile(1.5));
+    }
+}
@@ -0,0 +1,103 @@
+package com.nnk.springboot.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.feed.FeedReader;
+import com.nnk.springboot.feed.FeedSchema;
+import com.nnk.springboot.feed.FeedWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the binary trade feed against JSON for 100k trades: payload size, and CPU
+ * time and allocation to encode and decode. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DisplayName("Binary feed vs JSON benchmark")
+class FeedCodecBenchmarkTest {
+    private static final int TRADES = 100_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 10;
+    private static final TypeReference<List<Trade>> TRADE_LIST = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Encode and decode 100k trades")
+    void binaryVersusJson() throws IOException {
+        List<Trade> trades = new ArrayList<>(TRADES);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < TRADES; i++) {
+            trades.add(Trade.builder().tradeId(i + 1).account("ACC" + (i % 100)).type("SPOT")
+                    .buyQuantity(100.0 + i).sellQuantity(50.0).buyPrice(99.5 + (i % 7)).sellPrice(100.25)
+                    .benchmark("BENCH").tradeDate(new Timestamp(now - i * 1000L)).security("SEC" + (i % 50))
+                    .status("OPEN").trader("Trader" + (i % 20)).book("Book" + (i % 10))
+                    .creationName("gateway").creationDate(new Timestamp(now)).dealName("Deal " + i)
+                    .dealType("OUTRIGHT").sourceListId("SRC" + i).side(i % 2 == 0 ? "BUY" : "SELL").build());
+        }
+
+        byte[] binary = encodeBinary(trades);
+        byte[] json = objectMapper.writeValueAsBytes(trades);
+        assertEquals(TRADES, decodeBinary(binary));
+        assertEquals(TRADES, objectMapper.readValue(json, TRADE_LIST).size());
+
+        System.out.printf("%n%d trades: binary %.1f MB, JSON %.1f MB%n", TRADES,
+                binary.length / 1048576.0, json.length / 1048576.0);
+        System.out.printf("%-16s %12s %16s%n", "operation", "cpu (ms)", "allocated (MB)");
+        measure("binary encode", () -> encodeBinary(trades));
+        measure("JSON encode", () -> objectMapper.writeValueAsBytes(trades));
+        measure("binary decode", () -> decodeBinary(binary));
+        measure("JSON decode", () -> objectMapper.readValue(json, TRADE_LIST));
+    }
+
+    private static byte[] encodeBinary(List<Trade> trades) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FeedWriter<Trade> writer = new FeedWriter<>(out, FeedSchema.TRADE);
+        for (int from = 0; from < trades.size(); from += 1000) {
+            writer.writeBatch(trades.subList(from, Math.min(from + 1000, trades.size())));
+        }
+        return out.toByteArray();
+    }
+
+    private static int decodeBinary(byte[] feed) throws IOException {
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(feed), FeedSchema.TRADE);
+        List<Trade> batch = new ArrayList<>();
+        int count = 0;
+        while (reader.readBatch(batch)) {
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private static void measure(String label, Operation operation) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        long cpu = (threads.getCurrentThreadCpuTime() - cpuBefore) / ITERATIONS;
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+        System.out.printf("%-16s %12.1f %16.1f%n", label, cpu / 1e6, allocated / 1048576.0);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws IOException;
+    }
+}
@@ -0,0 +1,130 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the list page queries at 100k rows: full entities (findAll) against
+ * list-view projections (findAllSummaries). Reports CPU time, allocated bytes and the heap
+ * retained by the result. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("List projection benchmark")
+class ListProjectionBenchmarkTest {
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @BeforeAll
+    void insertRows() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> bids = new ArrayList<>(ROWS);
+        List<Object[]> trades = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            bids.add(new Object[]{"ACC" + (i % 100), "TYPE" + (i % 5), 10.0 + i, 5.0 + i, 1.5, 1.6,
+                    "BENCH", now, "Commentary " + i, "SEC" + (i % 50), "OPEN", "Trader", "Book" + (i % 10),
+                    "creator", now, "reviser", now, "Deal " + i, "SPOT", "SRC" + i, "BUY"});
+            trades.add(new Object[]{"ACC" + (i % 100), "TYPE" + (i % 5), 10.0 + i, 5.0 + i, 1.5, 1.6,
+                    "BENCH", now, "SEC" + (i % 50), "OPEN", "Trader", "Book" + (i % 10),
+                    "creator", now, "reviser", now, "Deal " + i, "SPOT", "SRC" + i, "BUY"});
+        }
+        jdbcTemplate.batchUpdate("insert into bidlist (account, type, bid_quantity, ask_quantity, bid, ask,"
+                + " benchmark, bid_list_date, commentary, security, status, trader, book, creation_name,"
+                + " creation_date, revision_name, revision_date, deal_name, deal_type, source_list_id, side, version)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", bids);
+        jdbcTemplate.batchUpdate("insert into trade (account, type, buy_quantity, sell_quantity, buy_price,"
+                + " sell_price, benchmark, trade_date, security, status, trader, book, creation_name,"
+                + " creation_date, revision_name, revision_date, deal_name, deal_type, source_list_id, side, version)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", trades);
+    }
+
+    @Test
+    @DisplayName("BidList list page: entities vs summaries")
+    void bidListPage() {
+        Result entities = measure(bidListRepository::findAll);
+        Result summaries = measure(bidListRepository::findAllSummaries);
+        report("BidList", entities, summaries);
+        assertEquals(ROWS, summaries.rows());
+    }
+
+    @Test
+    @DisplayName("Trade list page: entities vs summaries")
+    void tradePage() {
+        Result entities = measure(tradeRepository::findAll);
+        Result summaries = measure(tradeRepository::findAllSummaries);
+        report("Trade", entities, summaries);
+        assertEquals(ROWS, summaries.rows());
+    }
+
+    private static Result measure(Supplier<List<?>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long cpu = 0;
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long cpuBefore = threads.getCurrentThreadCpuTime();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            query.get();
+            cpu += threads.getCurrentThreadCpuTime() - cpuBefore;
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        long heapBefore = usedHeapAfterGc();
+        List<?> rows = query.get();
+        long retained = usedHeapAfterGc() - heapBefore;
+        return new Result(rows.size(), cpu / ITERATIONS, allocated / ITERATIONS, retained);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String entity, Result entities, Result summaries) {
+        System.out.printf("%n%s list page, %d rows%n", entity, ROWS);
+        System.out.printf("%-12s %12s %16s %16s%n", "query", "cpu (ms)", "allocated (MB)", "retained (MB)");
+        entities.print("findAll");
+        summaries.print("summaries");
+    }
+
+    private record Result(int rows, long cpuNanos, long allocatedBytes, long retainedBytes) {
+        void print(String label) {
+            System.out.printf("%-12s %12.1f %16.1f %16.1f%n", label, cpuNanos / 1e6,
+                    allocatedBytes / 1048576.0, retainedBytes / 1048576.0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.rules.OrderFields;
+import com.nnk.springboot.rules.PreTradeCheck;
+import com.nnk.springboot.rules.PreTradeRuleBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the pre-trade checks: time to check one trade against 10,000 checks scoped on
+ * accounts, books and securities, through the index and by evaluating every check.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DisplayName("Pre-trade check benchmark")
+class PreTradeCheckBenchmarkTest {
+    private static final int CHECKS = 10_000;
+    private static final int TRADES = 100_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    @DisplayName("Check 100k trades against 10k checks")
+    void checks() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Random random = new Random(42);
+        List<PreTradeCheck<Trade>> checks = new ArrayList<>(CHECKS);
+        for (int i = 0; i < CHECKS; i++) {
+            String json = switch (i % 3) {
+                case 0 -> "{\"check\":\"trade\",\"account\":\"ACC-" + i + "\",\"max\":{\"buyQuantity\":" + (1000 + i) + "}}";
+                case 1 -> "{\"check\":\"trade\",\"book\":\"BOOK-" + i % 100 + "\",\"forbid\":{\"security\":\"SEC-" + i + "\"}}";
+                default -> "{\"check\":\"trade\",\"forbid\":{\"security\":[\"SEC-X" + i + "\"]}}";
+            };
+            checks.add(PreTradeCheck.compile(i, "Rule " + i, objectMapper.readTree(json), OrderFields.TRADE));
+        }
+        PreTradeRuleBook<Trade> book = new PreTradeRuleBook<>(OrderFields.TRADE, checks);
+        List<Trade> trades = new ArrayList<>(TRADES);
+        for (int i = 0; i < TRADES; i++) {
+            trades.add(Trade.builder().account("ACC-" + random.nextInt(CHECKS)).book("BOOK-" + random.nextInt(100))
+                    .security("SEC-" + random.nextInt(CHECKS)).buyQuantity(random.nextDouble() * 20_000).build());
+        }
+
+        System.out.printf("%n%d checks, %d trades%n", book.size(), TRADES);
+        System.out.printf("%-10s %16s%n", "method", "per trade (us)");
+        int indexed = 0;
+        double indexedMicros = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            indexed = 0;
+            for (Trade trade : trades) {
+                indexed += book.violations(trade).size();
+            }
+            indexedMicros = (System.nanoTime() - start) / 1e3 / TRADES;
+        }
+        System.out.printf("%-10s %16.3f%n", "indexed", indexedMicros);
+        long start = System.nanoTime();
+        int scanned = 0;
+        for (Trade trade : trades.subList(0, TRADES / 100)) {
+            for (PreTradeCheck<Trade> check : checks) {
+                scanned += check.violation(trade) == null ? 0 : 1;
+            }
+        }
+        System.out.printf("%-10s %16.3f%n", "full scan", (System.nanoTime() - start) / 1e3 / (TRADES / 100));
+        int sample = 0;
+        for (Trade trade : trades.subList(0, TRADES / 100)) {
+            sample += book.violations(trade).size();
+        }
+        assertEquals(scanned, sample);
+        assertTrue(indexed > 0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.risk.CurveShock;
+import com.nnk.springboot.risk.KeyRateLadder;
+import com.nnk.springboot.risk.Portfolio;
+import com.nnk.springboot.risk.ScenarioEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the scenario engine on 1M trades under the standard scenario set: elapsed time
+ * and speedup with 1, 2, 4... workers up to the number of processors, and the key-rate DV01 ladder
+ * against one full revaluation per bumped term. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DisplayName("Scenario engine and DV01 ladder benchmark")
+class ScenarioEngineBenchmarkTest {
+    private static final int TRADES = 1_000_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 5;
+    private static final double[] GRID = {0.25, 0.5, 1, 2, 3, 5, 7, 10, 20, 30};
+    private static final double[] RATES = {5.3, 5.2, 5.0, 4.6, 4.4, 4.2, 4.2, 4.3, 4.6, 4.5};
+
+    @Test
+    @DisplayName("Revalue 1M trades under the standard scenarios")
+    void scaling() {
+        Portfolio portfolio = portfolio();
+        List<CurveShock> shocks = CurveShock.standardSet(GRID);
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%n%d positions, %d tenors, %d scenarios, %d processors%n", portfolio.size(),
+                portfolio.tenorCount(), shocks.size(), processors);
+        System.out.printf("%-8s %12s %10s%n", "workers", "time (ms)", "speedup");
+        double[][] reference = null;
+        double sequential = 0;
+        for (int workers = 1; ; workers = Math.min(workers * 2, processors)) {
+            ScenarioEngine engine = new ScenarioEngine(workers);
+            for (int i = 0; i < WARMUP; i++) {
+                engine.run(GRID, RATES, portfolio, shocks);
+            }
+            long start = System.nanoTime();
+            double[][] pnl = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                pnl = engine.run(GRID, RATES, portfolio, shocks);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+            if (reference == null) {
+                reference = pnl;
+                sequential = millis;
+            } else {
+                assertArrayEquals(reference[0], pnl[0], 1e-3);
+            }
+            System.out.printf("%-8d %12.1f %10.2f%n", workers, millis, sequential / millis);
+            if (workers == processors) {
+                break;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Key-rate DV01 ladder of 1M trades")
+    void ladder() {
+        Portfolio portfolio = portfolio();
+        List<CurveShock> bumps = new ArrayList<>();
+        for (int i = 0; i < GRID.length; i++) {
+            bumps.add(CurveShock.bump(GRID, i, 1));
+        }
+        ScenarioEngine engine = new ScenarioEngine(1);
+        assertArrayEquals(engine.run(GRID, RATES, portfolio, bumps)[0],
+                column(KeyRateLadder.byBook(GRID, RATES, portfolio), 0), 1e-6);
+
+        System.out.printf("%n%d positions, %d terms%n", portfolio.size(), GRID.length);
+        System.out.printf("%-22s %12s%n", "method", "time (ms)");
+        measure("ladder", () -> KeyRateLadder.byBook(GRID, RATES, portfolio));
+        measure("one run per term", () -> engine.run(GRID, RATES, portfolio, bumps));
+    }
+
+    private static Portfolio portfolio() {
+        Random random = new Random(42);
+        Portfolio.Builder builder = Portfolio.builder();
+        for (int i = 0; i < TRADES; i++) {
+            // Tenors on a daily grid up to 30 years, so that about half the trades stay distinct positions
+            builder.add("Book" + (i % 50), (1 + random.nextInt(30 * 365)) / 365.0, random.nextGaussian() * 1e6);
+        }
+        return builder.build();
+    }
+
+    private static double[] column(double[][] ladder, int term) {
+        double[] column = new double[ladder.length];
+        for (int book = 0; book < ladder.length; book++) {
+            column[book] = ladder[book][term];
+        }
+        return column;
+    }
+
+    private static void measure(String label, Runnable operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        System.out.printf("%-22s %12.1f%n", label, (System.nanoTime() - start) / 1e6 / ITERATIONS);
+    }
+}
@@ -0,0 +1,92 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.controllers.RuleExecutionController;
+import com.nnk.springboot.controllers.UserController;
+import com.nnk.springboot.service.RuleExecutionService;
+import com.nnk.springboot.service.UserService;
+import com.nnk.springboot.session.JdbcSessionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SecurityConfig.
+ * Tests that rules are restricted to ADMIN and that a visitor can only register as USER.
+ */
+@WebMvcTest(controllers = {RuleExecutionController.class, UserController.class})
+@Import(SecurityConfig.class)
+@DisplayName("SecurityConfig Integration Tests")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RuleExecutionService ruleExecutionService;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private JdbcSessionStore jdbcSessionStore;
+
+    @Test
+    @DisplayName("Should refuse to run rules for a USER")
+    @WithMockUser(roles = "USER")
+    void runRule_WhenUser_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/ruleName/run/1")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/ruleName/list")).andExpect(status().isForbidden());
+
+        verifyNoInteractions(ruleExecutionService);
+    }
+
+    @Test
+    @DisplayName("Should run rules for an ADMIN")
+    @WithMockUser(roles = "ADMIN")
+    void runRule_WhenAdmin_ShouldRun() throws Exception {
+        when(ruleExecutionService.run(1, Map.of())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/ruleName/run/1")).andExpect(status().isNotFound());
+
+        verify(ruleExecutionService).run(1, Map.of());
+    }
+
+    @Test
+    @DisplayName("Should register a visitor as USER whatever role the form sends")
+    void validateUser_WhenVisitor_ShouldForceUserRole() throws Exception {
+        mockMvc.perform(register("ADMIN")).andExpect(status().is3xxRedirection());
+
+        verify(userService).saveWithPasswordEncoding(argThat(user -> "USER".equals(user.getRole())));
+    }
+
+    @Test
+    @DisplayName("Should let an ADMIN create another ADMIN")
+    @WithMockUser(roles = "ADMIN")
+    void validateUser_WhenAdmin_ShouldKeepRole() throws Exception {
+        mockMvc.perform(register("ADMIN")).andExpect(status().is3xxRedirection());
+
+        verify(userService).saveWithPasswordEncoding(argThat(user -> "ADMIN".equals(user.getRole())));
+    }
+
+    private static MockHttpServletRequestBuilder register(String role) {
+        return post("/user/validate")
+                .param("username", "newuser")
+                .param("password", "ValidPassword123!")
+                .param("fullname", "New User")
+                .param("role", role);
+    }
+}
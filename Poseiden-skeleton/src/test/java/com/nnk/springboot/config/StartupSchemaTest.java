@@ -0,0 +1,131 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointHistoryRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the schema of the startup profile.
+ * Tests that a database built by schema.sql, as the migration does, matches the JPA mapping that
+ * Hibernate validates when a startup node boots.
+ */
+@DataJpaTest(properties = {"spring.sql.init.mode=always", "spring.sql.init.data-locations="})
+@ActiveProfiles("startup")
+@DisplayName("Startup schema Tests")
+class StartupSchemaTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private CurvePointHistoryRepository curvePointHistoryRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should validate schema.sql against the mapping and store every entity in it")
+    void schema_ShouldMatchMapping() {
+        // Given: the context started, so Hibernate validated the tables created by schema.sql
+        assertEquals("validate", entityManagerFactory.getProperties().get("hibernate.hbm2ddl.auto"));
+
+        // When
+        BidList bid = bidListRepository.save(BidList.builder().account("ACC-1").type("BUY").bidQuantity(10.0).build());
+        Trade trade = tradeRepository.save(Trade.builder().account("ACC-1").type("BUY").sourceListId("S-1").build());
+        CurvePoint point = curvePointRepository.save(CurvePoint.builder().curveId(1).term(1.0).value(2.5).build());
+        curvePointHistoryRepository.save(CurvePointHistory.builder().curvePointId(point.getId()).term(1.0).value(2.5)
+                .build());
+        Rating rating = ratingRepository.save(Rating.builder().moodysRating("Aaa").sandPRating("AAA").fitchRating("AAA")
+                .orderNumber(1).notch(1).build());
+        RuleName rule = ruleNameRepository.save(RuleName.builder().name("n").description("d").json("{}").template("t")
+                .sqlStr("s").sqlPart("p").build());
+        userRepository.save(User.builder().username("startup").password("Secret#123").fullname("Startup").role("USER").build());
+
+        // Then
+        assertEquals(10.0, bidListRepository.findById(bid.getId()).orElseThrow().getBidQuantity());
+        assertTrue(tradeRepository.findBySourceListIdAndAccount("S-1", "ACC-1").isPresent());
+        assertEquals(2.5, curvePointRepository.findById(point.getId()).orElseThrow().getValue());
+        assertEquals(2.5, curvePointHistoryRepository.findFirstByCurvePointIdOrderByIdDesc(point.getId()).orElseThrow()
+                .getValue());
+        assertEquals(1, ratingRepository.findById(rating.getId()).orElseThrow().getNotch());
+        assertEquals("t", ruleNameRepository.findById(rule.getId()).orElseThrow().getTemplate());
+        assertTrue(userRepository.findByUsername("startup").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should keep an order number on every rating and list them in index order")
+    void findAllSummaries_ShouldSortByOrderNumberThenId() {
+        // Given
+        Rating last = ratingRepository.save(rating(2));
+        Rating tied = ratingRepository.save(rating(1));
+        Rating first = ratingRepository.save(rating(1));
+
+        // When
+        List<Integer> ids = ratingRepository.findAllSummaries().stream().map(RatingSummary::id).toList();
+
+        // Then
+        assertEquals(List.of(tied.getId(), first.getId(), last.getId()), ids);
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into rating (moodys_rating, sandprating, fitch_rating) values ('Aaa', 'AAA', 'AAA')"));
+    }
+
+    @Test
+    @DisplayName("Should keep the NOT NULL constraints of users and orders")
+    void schema_ShouldRejectMissingRequiredColumns() {
+        // When / Then
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into users (username, fullname, role) values ('nopassword', 'No Password', 'USER')"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into bidlist (type, version) values ('BUY', 0)"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into trade (account, version) values ('ACC-1', 0)"));
+        assertEquals(1, jdbcTemplate.update("insert into users (username, password, fullname, role) values (?, ?, ?, ?)",
+                "u".repeat(125), "p", "Long Name", "USER"));
+    }
+
+    private static Rating rating(Integer orderNumber) {
+        return Rating.builder().moodysRating("Aaa").sandPRating("AAA").fitchRating("AAA").orderNumber(orderNumber).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.service.ApiResource;
+import com.nnk.springboot.service.ApiService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ApiController.
+ * Tests listing with cursor and fields, single reads and parameter errors.
+ */
+@WebMvcTest(controllers = ApiController.class)
+@DisplayName("ApiController Integration Tests")
+class ApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ApiService apiService;
+
+    @Test
+    @DisplayName("Should list the requested fields with the next cursor")
+    @WithMockUser(roles = "USER")
+    void testListWithFields() throws Exception {
+        // Given
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("tradeId", 7);
+        row.put("account", "ACC1");
+        when(apiService.findPage(ApiResource.TRADE, 5, 1, List.of("account")))
+                .thenReturn(new ApiPage(List.of(row), 7));
+
+        // When & Then
+        mockMvc.perform(get("/api/trade").param("after", "5").param("limit", "1").param("fields", "account"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].tradeId").value(7))
+                .andExpect(jsonPath("$.data[0].account").value("ACC1"))
+                .andExpect(jsonPath("$.data[0].buyPrice").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(7));
+    }
+
+    @Test
+    @DisplayName("Should list all fields of the first page by default")
+    @WithMockUser(roles = "USER")
+    void testListDefaults() throws Exception {
+        // Given
+        when(apiService.findPage(ApiResource.RATING, null, null, List.of()))
+                .thenReturn(new ApiPage(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+
+        verify(apiService).findPage(ApiResource.RATING, null, null, List.of());
+    }
+
+    @Test
+    @DisplayName("Should return a single row")
+    @WithMockUser(roles = "USER")
+    void testGetById() throws Exception {
+        // Given
+        when(apiService.findById(ApiResource.BID_LIST, 3, List.of("account", "bid")))
+                .thenReturn(Optional.of(Map.of("id", 3, "account", "ACC1", "bid", 10.5)));
+
+        // When & Then
+        mockMvc.perform(get("/api/bidList/3").param("fields", "account,bid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bid").value(10.5));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a missing row")
+    @WithMockUser(roles = "USER")
+    void testGetByIdNotFound() throws Exception {
+        // Given
+        when(apiService.findById(any(), anyInt(), any())).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/curvePoint/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown resource")
+    @WithMockUser(roles = "USER")
+    void testUnknownResource() throws Exception {
+        mockMvc.perform(get("/api/user"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(apiService);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    @WithMockUser(roles = "USER")
+    void testUnknownField() throws Exception {
+        // Given
+        when(apiService.findPage(ApiResource.RULE_NAME, null, null, List.of("nope")))
+                .thenThrow(new IllegalArgumentException("Unknown field: nope"));
+
+        // When & Then
+        mockMvc.perform(get("/api/ruleName").param("fields", "nope"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field: nope"));
+    }
+
+    @Test
+    @DisplayName("Should require authentication")
+    void testUnauthenticated() throws Exception {
+        mockMvc.perform(get("/api/trade"))
+                .andExpect(status().isUnauthorized());
+    }
+}
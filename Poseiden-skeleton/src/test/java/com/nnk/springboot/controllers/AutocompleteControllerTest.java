@@ -0,0 +1,65 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.service.AutocompleteField;
+import com.nnk.springboot.service.AutocompleteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for AutocompleteController.
+ * Tests the completion endpoint.
+ */
+@WebMvcTest(controllers = AutocompleteController.class)
+@DisplayName("AutocompleteController Integration Tests")
+class AutocompleteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AutocompleteService autocompleteService;
+
+    @Test
+    @DisplayName("Should return completions as JSON")
+    @WithMockUser(roles = "USER")
+    void testComplete() throws Exception {
+        when(autocompleteService.complete(AutocompleteField.BOOK, "ra", AutocompleteController.DEFAULT_LIMIT))
+                .thenReturn(List.of("RATES", "RATES_EM"));
+
+        mockMvc.perform(get("/autocomplete/book").param("prefix", "ra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("RATES"))
+                .andExpect(jsonPath("$[1]").value("RATES_EM"));
+    }
+
+    @Test
+    @DisplayName("Should cap the number of completions")
+    @WithMockUser(roles = "USER")
+    void testCompleteLimitCapped() throws Exception {
+        mockMvc.perform(get("/autocomplete/account").param("prefix", "a").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        verify(autocompleteService).complete(AutocompleteField.ACCOUNT, "a", AutocompleteController.MAX_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a field without completion")
+    @WithMockUser(roles = "USER")
+    void testCompleteUnknownField() throws Exception {
+        mockMvc.perform(get("/autocomplete/status"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(autocompleteService);
+    }
+}
@@ -1,6 +1,8 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.rules.PreTradeCheckException;
 import com.nnk.springboot.service.BidListService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,14 +10,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -52,7 +57,9 @@ class BidListControllerTest {
     @WithMockUser(roles = "USER")
     void testBidListPage() throws Exception {
         // Given
-        when(bidListService.findAll()).thenReturn(Collections.singletonList(testBidList));
+        when(bidListService.findAllSummaries())
+                .thenReturn(List.of(new BidListSummary(testBidList.getId(), testBidList.getAccount(),
+                        testBidList.getType(), testBidList.getBidQuantity())));
 
         // When & Then
         mockMvc.perform(get("/bidList/list"))
@@ -60,7 +67,7 @@ class BidListControllerTest {
                 .andExpect(view().name("bidList/list"))
                 .andExpect(model().attributeExists("bidLists"));
 
-        verify(bidListService).findAll();
+        verify(bidListService).findAllSummaries();
     }
 
     @Test
@@ -145,7 +152,7 @@ class BidListControllerTest {
     void testUpdateBidSuccess() throws Exception {
         // Given
         when(bidListService.findById(1)).thenReturn(Optional.of(testBidList));
-        when(bidListService.save(any(BidList.class))).thenReturn(testBidList);
+        when(bidListService.patch(eq(1), any(BidList.class), anyCollection())).thenReturn(true);
 
         // When & Then
         mockMvc.perform(post("/bidList/update/1")
@@ -156,7 +163,66 @@ class BidListControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/bidList/list"));
 
-        verify(bidListService).save(any(BidList.class));
+        verify(bidListService).patch(eq(1), any(BidList.class),
+                argThat(fields -> fields.contains("account") && fields.contains("type")));
+        verify(bidListService, never()).save(any(BidList.class));
+    }
+
+    @Test
+    @DisplayName("Should show the update form again when the bid was modified concurrently")
+    @WithMockUser(roles = "USER")
+    void testUpdateBidConflict() throws Exception {
+        // Given
+        when(bidListService.patch(eq(1), any(BidList.class), anyCollection()))
+                .thenThrow(new OptimisticLockingFailureException("BidList 1 was modified by another user"));
+
+        // When & Then
+        mockMvc.perform(post("/bidList/update/1")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("version", "0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/update"))
+                .andExpect(model().attributeExists("errorMessage"));
+    }
+
+    @Test
+    @DisplayName("Should show the update form again when the bid no longer exists or a value is rejected")
+    @WithMockUser(roles = "USER")
+    void testUpdateBidFailures() throws Exception {
+        // Given
+        when(bidListService.patch(eq(99), any(BidList.class), anyCollection())).thenReturn(false);
+        when(bidListService.patch(eq(1), any(BidList.class), anyCollection()))
+                .thenThrow(new IllegalArgumentException("The book of a BidList cannot be changed: it selects its shard"));
+        when(bidListService.patch(eq(2), any(BidList.class), anyCollection()))
+                .thenThrow(new PreTradeCheckException(List.of("Max quantity: bidQuantity 150 exceeds 100")));
+
+        // When & Then
+        mockMvc.perform(post("/bidList/update/99")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/update"))
+                .andExpect(model().attribute("errorMessage", "This bid no longer exists."));
+        mockMvc.perform(post("/bidList/update/1")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("book", "FX-NY"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/update"))
+                .andExpect(model().attribute("errorMessage", "The book of a BidList cannot be changed: it selects its shard"));
+        mockMvc.perform(post("/bidList/update/2")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("bidQuantity", "150"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/update"))
+                .andExpect(model().attribute("errorMessage",
+                        "Rejected by pre-trade checks: Max quantity: bidQuantity 150 exceeds 100"));
     }
 
     @Test
@@ -164,7 +230,7 @@ class BidListControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteBid() throws Exception {
         // Given
-        when(bidListService.existsById(1)).thenReturn(true);
+        when(bidListService.deleteById(1)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/bidList/delete/1"))
@@ -179,13 +245,68 @@ class BidListControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteNonExistingBid() throws Exception {
         // Given
-        when(bidListService.existsById(99)).thenReturn(false);
+        when(bidListService.deleteById(99)).thenReturn(false);
 
         // When & Then
         mockMvc.perform(get("/bidList/delete/99"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/bidList/list"));
 
-        verify(bidListService, never()).deleteById(anyInt());
+        verify(bidListService).deleteById(99);
+        verify(bidListService, never()).existsById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should delete selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkDelete() throws Exception {
+        // Given
+        when(bidListService.deleteByIds(List.of(1, 2))).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/bidList/bulk/delete")
+                .with(csrf())
+                .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 bid(s) deleted."));
+
+        verify(bidListService).deleteByIds(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should update selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdate() throws Exception {
+        // Given
+        when(bidListService.updateStatus(List.of(1, 2), "CLOSED")).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/bidList/bulk/status")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("status", "CLOSED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 bid(s) updated."));
+
+        verify(bidListService).updateStatus(List.of(1, 2), "CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should report invalid bulk update values")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdateInvalidValue() throws Exception {
+        // Given
+        when(bidListService.updateStatus(anyList(), anyString()))
+                .thenThrow(new IllegalArgumentException("Invalid value"));
+
+        // When & Then
+        mockMvc.perform(post("/bidList/bulk/status")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("status", "CLOSED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Invalid value"));
     }
 }
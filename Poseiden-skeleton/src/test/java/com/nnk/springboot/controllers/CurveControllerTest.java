@@ -1,6 +1,7 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.dto.CurvePointSummary;
 import com.nnk.springboot.service.CurvePointService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +12,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -51,7 +52,9 @@ class CurveControllerTest {
     @WithMockUser(roles = "USER")
     void testCurvePointListPage() throws Exception {
         // Given
-        when(curvePointService.findAll()).thenReturn(Collections.singletonList(testCurvePoint));
+        when(curvePointService.findAllSummaries())
+                .thenReturn(List.of(new CurvePointSummary(testCurvePoint.getId(), testCurvePoint.getCurveId(),
+                        testCurvePoint.getTerm(), testCurvePoint.getValue())));
 
         // When & Then
         mockMvc.perform(get("/curvePoint/list"))
@@ -59,7 +62,7 @@ class CurveControllerTest {
                 .andExpect(view().name("curvePoint/list"))
                 .andExpect(model().attributeExists("curvePoints"));
 
-        verify(curvePointService).findAll();
+        verify(curvePointService).findAllSummaries();
     }
 
     @Test
@@ -163,7 +166,7 @@ class CurveControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteCurvePoint() throws Exception {
         // Given
-        when(curvePointService.existsById(1)).thenReturn(true);
+        when(curvePointService.deleteById(1)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/curvePoint/delete/1"))
@@ -172,4 +175,58 @@ class CurveControllerTest {
 
         verify(curvePointService).deleteById(1);
     }
+
+    @Test
+    @DisplayName("Should delete selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkDelete() throws Exception {
+        // Given
+        when(curvePointService.deleteByIds(List.of(1, 2))).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/curvePoint/bulk/delete")
+                .with(csrf())
+                .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/curvePoint/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 curve point(s) deleted."));
+
+        verify(curvePointService).deleteByIds(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should update selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdate() throws Exception {
+        // Given
+        when(curvePointService.updateCurveId(List.of(1, 2), 7)).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/curvePoint/bulk/curve")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("curveId", "7"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/curvePoint/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 curve point(s) moved."));
+
+        verify(curvePointService).updateCurveId(List.of(1, 2), 7);
+    }
+
+    @Test
+    @DisplayName("Should report invalid bulk update values")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdateInvalidValue() throws Exception {
+        // Given
+        when(curvePointService.updateCurveId(anyList(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid value"));
+
+        // When & Then
+        mockMvc.perform(post("/curvePoint/bulk/curve")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("curveId", "7"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Invalid value"));
+    }
 }
@@ -0,0 +1,85 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.service.CurveHistoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for CurveHistoryController.
+ * Tests the as-of-date curve endpoints.
+ */
+@WebMvcTest(controllers = CurveHistoryController.class)
+@DisplayName("CurveHistoryController Integration Tests")
+class CurveHistoryControllerTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CurveHistoryService curveHistoryService;
+
+    @Test
+    @DisplayName("Should return the curve as of the end of the given day")
+    @WithMockUser(roles = "USER")
+    void testAsOfDate() throws Exception {
+        when(curveHistoryService.asOf(7, LocalDate.of(2024, 1, 16).atTime(LocalTime.MAX)))
+                .thenReturn(Optional.of(new CurveHistory.Snapshot(7, MONDAY,
+                        List.of(new CurveHistory.Point(1, 1, 1.0, 10.0, MONDAY)))));
+
+        mockMvc.perform(get("/curvePoint/history/7").param("asOf", "2024-01-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOfDate").value("2024-01-15T09:00:00"))
+                .andExpect(jsonPath("$.points[0].value").value(10.0));
+    }
+
+    @Test
+    @DisplayName("Should return the current curve when no date is given")
+    @WithMockUser(roles = "USER")
+    void testLatest() throws Exception {
+        when(curveHistoryService.latest(7)).thenReturn(Optional.of(new CurveHistory.Snapshot(7, MONDAY, List.of())));
+
+        mockMvc.perform(get("/curvePoint/history/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.curveId").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return 404 before the first version and 400 for an invalid date")
+    @WithMockUser(roles = "USER")
+    void testAsOfMissingOrInvalid() throws Exception {
+        when(curveHistoryService.asOf(7, MONDAY)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/curvePoint/history/7").param("asOf", "2024-01-15T09:00"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/curvePoint/history/7").param("asOf", "last tuesday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should list the dates at which the curve changed")
+    @WithMockUser(roles = "USER")
+    void testVersions() throws Exception {
+        when(curveHistoryService.versions(7)).thenReturn(List.of(MONDAY));
+
+        mockMvc.perform(get("/curvePoint/history/7/versions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("2024-01-15T09:00:00"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.DashboardEntry;
+import com.nnk.springboot.dto.DashboardSection;
+import com.nnk.springboot.service.DashboardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for DashboardController.
+ * Tests the dashboard section endpoint.
+ */
+@WebMvcTest(controllers = DashboardController.class)
+@DisplayName("DashboardController Integration Tests")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @Test
+    @DisplayName("Should return a section as JSON")
+    @WithMockUser(roles = "USER")
+    void testSection() throws Exception {
+        when(dashboardService.section("bids"))
+                .thenReturn(Optional.of(new DashboardSection("bids", 3, List.of(new DashboardEntry("OPEN", 3, 15.0)))));
+
+        mockMvc.perform(get("/dashboard/bids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.entries[0].key").value("OPEN"))
+                .andExpect(jsonPath("$.entries[0].amount").value(15.0));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown section")
+    @WithMockUser(roles = "USER")
+    void testUnknownSection() throws Exception {
+        when(dashboardService.section("users")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/dashboard/users"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,101 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.FeedResult;
+import com.nnk.springboot.feed.FeedFormatException;
+import com.nnk.springboot.service.FeedService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for FeedController.
+ * Tests binary ingestion, egress and malformed feeds.
+ */
+@WebMvcTest(controllers = FeedController.class)
+@DisplayName("FeedController Integration Tests")
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FeedService feedService;
+
+    @Test
+    @DisplayName("Should ingest a trade feed")
+    @WithMockUser(roles = "USER")
+    void testIngestTrades() throws Exception {
+        // Given
+        when(feedService.ingestTrades(any(InputStream.class))).thenReturn(new FeedResult(2, 1500));
+
+        // When & Then
+        mockMvc.perform(post("/api/feed/trade")
+                .with(csrf())
+                .contentType(FeedController.FEED_MEDIA_TYPE)
+                .content(new byte[]{0, 0, 0, 0}))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batches").value(2))
+                .andExpect(jsonPath("$.records").value(1500));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed bid list feed")
+    @WithMockUser(roles = "USER")
+    void testIngestMalformedFeed() throws Exception {
+        // Given
+        when(feedService.ingestBidLists(any(InputStream.class)))
+                .thenThrow(new FeedFormatException("Unsupported schema version 9"));
+
+        // When & Then
+        mockMvc.perform(post("/api/feed/bidList")
+                .with(csrf())
+                .contentType(FeedController.FEED_MEDIA_TYPE)
+                .content(new byte[]{1}))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported schema version 9"));
+    }
+
+    @Test
+    @DisplayName("Should stream the trade feed")
+    @WithMockUser(roles = "USER")
+    void testExportTrades() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(new byte[]{1, 2, 3});
+            return null;
+        }).when(feedService).exportTrades(any(OutputStream.class));
+
+        // When & Then
+        mockMvc.perform(get("/api/feed/trade"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FeedController.FEED_MEDIA_TYPE))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Should reject JSON bodies on the feed endpoint")
+    @WithMockUser(roles = "USER")
+    void testIngestWrongContentType() throws Exception {
+        mockMvc.perform(post("/api/feed/trade")
+                .with(csrf())
+                .contentType("application/json")
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(feedService);
+    }
+}
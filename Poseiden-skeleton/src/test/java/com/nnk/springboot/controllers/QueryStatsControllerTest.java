@@ -0,0 +1,46 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.CoalescingStats;
+import com.nnk.springboot.service.QueryCoalescer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for QueryStatsController.
+ * Tests the JSON export of the query coalescing counters.
+ */
+@WebMvcTest(controllers = QueryStatsController.class)
+@DisplayName("QueryStatsController Integration Tests")
+class QueryStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private QueryCoalescer queryCoalescer;
+
+    @Test
+    @DisplayName("Should return the coalescing counters as JSON")
+    @WithMockUser(roles = "USER")
+    void testCoalescing() throws Exception {
+        when(queryCoalescer.stats()).thenReturn(List.of(new CoalescingStats("trade.summaries", 40, 3, 37)));
+
+        mockMvc.perform(get("/stats/coalescing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].query").value("trade.summaries"))
+                .andExpect(jsonPath("$[0].calls").value(40))
+                .andExpect(jsonPath("$[0].executions").value(3))
+                .andExpect(jsonPath("$[0].coalesced").value(37));
+    }
+}
@@ -1,6 +1,8 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.service.RatingOrderService;
 import com.nnk.springboot.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +36,9 @@ class RatingControllerTest {
     @MockBean
     private RatingService ratingService;
 
+    @MockBean
+    private RatingOrderService ratingOrderService;
+
     private Rating testRating;
 
     @BeforeEach
@@ -52,7 +57,9 @@ class RatingControllerTest {
     @WithMockUser(roles = "USER")
     void testRatingListPage() throws Exception {
         // Given
-        when(ratingService.findAll()).thenReturn(Collections.singletonList(testRating));
+        when(ratingService.findAllSummaries())
+                .thenReturn(List.of(new RatingSummary(testRating.getId(), testRating.getMoodysRating(), testRating.getSandPRating(),
+                        testRating.getFitchRating(), testRating.getOrderNumber(), testRating.getNotch())));
 
         // When & Then
         mockMvc.perform(get("/rating/list"))
@@ -60,7 +67,68 @@ class RatingControllerTest {
                 .andExpect(view().name("rating/list"))
                 .andExpect(model().attributeExists("ratings"));
 
-        verify(ratingService).findAll();
+        verify(ratingService).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should list the ratings between two grades of any agency")
+    @WithMockUser(roles = "USER")
+    void testRatingListFilteredByGrade() throws Exception {
+        // Given
+        when(ratingService.findSummariesByNotch(4, 10)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/rating/list").param("best", "Aa3").param("worst", "BBB-"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("best", "Aa3"))
+                .andExpect(model().attributeDoesNotExist("filterError"));
+
+        verify(ratingService).findSummariesByNotch(4, 10);
+        verify(ratingService, never()).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should report an unknown grade and list every rating")
+    @WithMockUser(roles = "USER")
+    void testRatingListWithUnknownGrade() throws Exception {
+        // Given
+        when(ratingService.findAllSummaries()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/rating/list").param("worst", "ZZ"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("filterError", "Unknown grade: ZZ"));
+
+        verify(ratingService).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should move a rating after another one")
+    @WithMockUser(roles = "USER")
+    void testMoveRating() throws Exception {
+        // Given
+        when(ratingOrderService.move(3, 1)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/rating/move/3").param("after", "1").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/rating/list"))
+                .andExpect(flash().attributeCount(0));
+
+        verify(ratingOrderService).move(3, 1);
+    }
+
+    @Test
+    @DisplayName("Should report a move of an unknown rating")
+    @WithMockUser(roles = "USER")
+    void testMoveUnknownRating() throws Exception {
+        // Given
+        when(ratingOrderService.move(9, null)).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(post("/rating/move/9").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Rating not found for move."));
     }
 
     @Test
@@ -152,7 +220,7 @@ class RatingControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteRating() throws Exception {
         // Given
-        when(ratingService.existsById(1)).thenReturn(true);
+        when(ratingService.deleteById(1)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/rating/delete/1"))
@@ -180,4 +248,41 @@ class RatingControllerTest {
 
         verify(ratingService).save(any(Rating.class));
     }
+
+    @Test
+    @DisplayName("Should delete selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkDelete() throws Exception {
+        // Given
+        when(ratingService.deleteByIds(List.of(1, 2))).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/rating/bulk/delete")
+                .with(csrf())
+                .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/rating/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 rating(s) deleted."));
+
+        verify(ratingService).deleteByIds(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should move selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkMove() throws Exception {
+        // Given
+        when(ratingOrderService.moveAll(List.of(1, 2), 3)).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/rating/bulk/move")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("after", "3"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/rating/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 rating(s) reordered."));
+
+        verify(ratingOrderService).moveAll(List.of(1, 2), 3);
+    }
 }
@@ -0,0 +1,78 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.RatingTransitions;
+import com.nnk.springboot.service.RatingMigrationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RatingMigrationController.
+ * Tests the snapshot and transition matrix endpoints.
+ */
+@WebMvcTest(controllers = RatingMigrationController.class)
+@DisplayName("RatingMigrationController Integration Tests")
+class RatingMigrationControllerTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RatingMigrationService ratingMigrationService;
+
+    @Test
+    @DisplayName("Should take a snapshot and list the snapshots")
+    @WithMockUser(roles = "USER")
+    void testSnapshots() throws Exception {
+        when(ratingMigrationService.snapshot()).thenReturn(JANUARY);
+        when(ratingMigrationService.snapshots()).thenReturn(List.of(JANUARY));
+
+        mockMvc.perform(post("/rating/snapshots").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value("2024-01-01T00:00:00"));
+        mockMvc.perform(get("/rating/snapshots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("2024-01-01T00:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should return the transition matrix from the end of a day to now")
+    @WithMockUser(roles = "USER")
+    void testTransitions() throws Exception {
+        LocalDateTime endOfDay = JANUARY.toLocalDate().atTime(LocalTime.MAX);
+        when(ratingMigrationService.transitions(endOfDay, null)).thenReturn(new RatingTransitions(JANUARY, JANUARY,
+                List.of("AAA"), new long[][]{{3}}, new double[][]{{1.0}}, new long[1], new long[1], 0, 0, 3));
+
+        mockMvc.perform(get("/rating/transitions").param("from", "2024-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts[0][0]").value(3))
+                .andExpect(jsonPath("$.unchanged").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 404 without snapshot and 400 for an invalid date")
+    @WithMockUser(roles = "USER")
+    void testTransitionsErrors() throws Exception {
+        when(ratingMigrationService.transitions(JANUARY, null))
+                .thenThrow(new IllegalArgumentException("No rating snapshot"));
+
+        mockMvc.perform(get("/rating/transitions").param("from", "2024-01-01T00:00"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/rating/transitions").param("from", "January"))
+                .andExpect(status().isBadRequest());
+    }
+}
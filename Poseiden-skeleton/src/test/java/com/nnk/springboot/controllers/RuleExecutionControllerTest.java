@@ -0,0 +1,76 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.RuleResult;
+import com.nnk.springboot.service.RuleExecutionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RuleExecutionController.
+ * Tests the rule run endpoints and how failures map to HTTP statuses.
+ */
+@WebMvcTest(controllers = RuleExecutionController.class)
+@DisplayName("RuleExecutionController Integration Tests")
+class RuleExecutionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RuleExecutionService ruleExecutionService;
+
+    @Test
+    @DisplayName("Should run a rule with the query parameters and return its rows as JSON")
+    @WithMockUser(roles = "ADMIN")
+    void testRun() throws Exception {
+        when(ruleExecutionService.run(1, Map.of("account", "ACC-1"))).thenReturn(Optional.of(new RuleResult(1,
+                "Exposure", List.of("BOOK", "TOTAL"), List.of(List.of("BOOK-1", 10.0)), false, true, 0, null)));
+
+        mockMvc.perform(get("/ruleName/run/1").param("account", "ACC-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns[1]").value("TOTAL"))
+                .andExpect(jsonPath("$.rows[0][0]").value("BOOK-1"))
+                .andExpect(jsonPath("$.cached").value(true));
+    }
+
+    @Test
+    @DisplayName("Should map an unknown rule to 404, invalid SQL to 400 and a timeout to 504")
+    @WithMockUser(roles = "ADMIN")
+    void testRunFailures() throws Exception {
+        when(ruleExecutionService.run(9, Map.of())).thenReturn(Optional.empty());
+        when(ruleExecutionService.run(1, Map.of())).thenThrow(new IllegalArgumentException("A rule must be a SELECT statement"));
+        when(ruleExecutionService.run(2, Map.of())).thenThrow(new QueryTimeoutException("timeout"));
+
+        mockMvc.perform(get("/ruleName/run/9")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/ruleName/run/1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/ruleName/run/2")).andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    @DisplayName("Should run several rules without passing the ids as a rule parameter")
+    @WithMockUser(roles = "ADMIN")
+    void testRunAll() throws Exception {
+        when(ruleExecutionService.runAll(List.of(1, 2), Map.of("book", "BOOK-1"))).thenReturn(List.of(
+                new RuleResult(1, "Exposure", List.of("N"), List.of(List.of(2)), false, false, 3, null),
+                RuleResult.failed(2, "Broken", "A rule cannot use DELETE")));
+
+        mockMvc.perform(get("/ruleName/run").param("ids", "1,2").param("book", "BOOK-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rows[0][0]").value(2))
+                .andExpect(jsonPath("$[1].error").value("A rule cannot use DELETE"));
+    }
+}
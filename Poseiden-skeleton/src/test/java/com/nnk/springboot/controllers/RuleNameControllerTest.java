@@ -1,6 +1,7 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameSummary;
 import com.nnk.springboot.service.RuleNameService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +12,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -52,10 +55,12 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should display rule name list successfully")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testRuleNameListPage() throws Exception {
         // Given
-        when(ruleNameService.findAll()).thenReturn(Collections.singletonList(testRuleName));
+        when(ruleNameService.findAllSummaries())
+                .thenReturn(List.of(new RuleNameSummary(testRuleName.getId(), testRuleName.getName(),
+                        testRuleName.getDescription(), true, true, false)));
 
         // When & Then
         mockMvc.perform(get("/ruleName/list"))
@@ -63,12 +68,12 @@ class RuleNameControllerTest {
                 .andExpect(view().name("ruleName/list"))
                 .andExpect(model().attributeExists("ruleNames"));
 
-        verify(ruleNameService).findAll();
+        verify(ruleNameService).findAllSummaries();
     }
 
     @Test
     @DisplayName("Should show add rule name form")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testShowAddRuleNameForm() throws Exception {
         // When & Then
         mockMvc.perform(get("/ruleName/add"))
@@ -78,7 +83,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should validate and save new rule name successfully")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testValidateRuleNameSuccess() throws Exception {
         // Given
         when(ruleNameService.save(any(RuleName.class))).thenReturn(testRuleName);
@@ -100,7 +105,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should show validation errors for invalid rule name data")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testValidateRuleNameWithErrors() throws Exception {
         // When & Then
         mockMvc.perform(post("/ruleName/validate")
@@ -119,7 +124,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should show update form for existing rule name")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testShowUpdateForm() throws Exception {
         // Given
         when(ruleNameService.findById(1)).thenReturn(Optional.of(testRuleName));
@@ -135,7 +140,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should redirect when rule name not found for update")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testShowUpdateFormRuleNameNotFound() throws Exception {
         // Given
         when(ruleNameService.findById(99)).thenReturn(Optional.empty());
@@ -150,7 +155,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should update rule name successfully")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testUpdateRuleNameSuccess() throws Exception {
         // Given
         when(ruleNameService.save(any(RuleName.class))).thenReturn(testRuleName);
@@ -172,7 +177,7 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should show validation errors when updating with invalid data")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testUpdateRuleNameWithErrors() throws Exception {
         // When & Then
         mockMvc.perform(post("/ruleName/update/1")
@@ -191,10 +196,10 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should delete rule name successfully")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testDeleteRuleName() throws Exception {
         // Given
-        when(ruleNameService.existsById(1)).thenReturn(true);
+        when(ruleNameService.deleteById(1)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/ruleName/delete/1"))
@@ -206,16 +211,71 @@ class RuleNameControllerTest {
 
     @Test
     @DisplayName("Should handle delete request for non-existing rule name")
-    @WithMockUser(roles = "USER")
+    @WithMockUser(roles = "ADMIN")
     void testDeleteNonExistingRuleName() throws Exception {
         // Given
-        when(ruleNameService.existsById(99)).thenReturn(false);
+        when(ruleNameService.deleteById(99)).thenReturn(false);
 
         // When & Then
         mockMvc.perform(get("/ruleName/delete/99"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/ruleName/list"));
 
-        verify(ruleNameService, never()).deleteById(anyInt());
+        verify(ruleNameService).deleteById(99);
+        verify(ruleNameService, never()).existsById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should delete selected rows in bulk")
+    @WithMockUser(roles = "ADMIN")
+    void testBulkDelete() throws Exception {
+        // Given
+        when(ruleNameService.deleteByIds(List.of(1, 2))).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/ruleName/bulk/delete")
+                .with(csrf())
+                .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/ruleName/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 rule(s) deleted."));
+
+        verify(ruleNameService).deleteByIds(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should update selected rows in bulk")
+    @WithMockUser(roles = "ADMIN")
+    void testBulkUpdate() throws Exception {
+        // Given
+        when(ruleNameService.updateTemplate(List.of(1, 2), "New template")).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/ruleName/bulk/template")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("template", "New template"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/ruleName/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 rule(s) updated."));
+
+        verify(ruleNameService).updateTemplate(List.of(1, 2), "New template");
+    }
+
+    @Test
+    @DisplayName("Should report invalid bulk update values")
+    @WithMockUser(roles = "ADMIN")
+    void testBulkUpdateInvalidValue() throws Exception {
+        // Given
+        when(ruleNameService.updateTemplate(anyList(), anyString()))
+                .thenThrow(new IllegalArgumentException("Invalid value"));
+
+        // When & Then
+        mockMvc.perform(post("/ruleName/bulk/template")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("template", "New template"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Invalid value"));
     }
 }
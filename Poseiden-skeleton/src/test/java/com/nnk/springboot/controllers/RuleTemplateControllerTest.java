@@ -0,0 +1,83 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.rules.OrderFields;
+import com.nnk.springboot.rules.RuleTemplate;
+import com.nnk.springboot.service.RuleTemplateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.Writer;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RuleTemplateController.
+ * Tests the render endpoints and how failures map to HTTP statuses.
+ */
+@WebMvcTest(controllers = RuleTemplateController.class)
+@DisplayName("RuleTemplateController Integration Tests")
+class RuleTemplateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RuleTemplateService ruleTemplateService;
+
+    @Test
+    @DisplayName("Should render a rule against a trade and a BidList as text")
+    @WithMockUser(roles = "ADMIN")
+    void testRender() throws Exception {
+        when(ruleTemplateService.renderTrade(1, 10)).thenReturn(Optional.of("ACC-1 bought 150 XYZ"));
+        when(ruleTemplateService.renderBidList(1, 20)).thenReturn(Optional.of("ACC-2 bid 12.5"));
+
+        mockMvc.perform(get("/ruleName/render/1/trade/10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ACC-1 bought 150 XYZ"));
+        mockMvc.perform(get("/ruleName/render/1/bidList/20"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ACC-2 bid 12.5"));
+    }
+
+    @Test
+    @DisplayName("Should map an unknown rule or trade to 404 and a template the order cannot fill to 400")
+    @WithMockUser(roles = "ADMIN")
+    void testRenderFailures() throws Exception {
+        when(ruleTemplateService.renderTrade(9, 10)).thenReturn(Optional.empty());
+        when(ruleTemplateService.renderTrade(2, 10)).thenThrow(new IllegalArgumentException("A trade has no field bidQuantity"));
+        when(ruleTemplateService.tradeTemplate(9)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/ruleName/render/9/trade/10")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/ruleName/render/2/trade/10")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/ruleName/render/9/trades")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream the render of every trade as JSON lines")
+    @WithMockUser(roles = "ADMIN")
+    void testRenderTrades() throws Exception {
+        RuleTemplate<Trade> template = RuleTemplate.compile("{{account}}", OrderFields.TRADE);
+        when(ruleTemplateService.tradeTemplate(1)).thenReturn(Optional.of(template));
+        when(ruleTemplateService.renderTrades(eq(template), any())).thenAnswer(invocation -> {
+            Writer out = invocation.getArgument(1);
+            out.write("{\"tradeId\":1,\"text\":\"ACC-1\"}\n");
+            return 1;
+        });
+
+        mockMvc.perform(get("/ruleName/render/1/trades"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(RuleTemplateController.NDJSON_MEDIA_TYPE))
+                .andExpect(content().string("{\"tradeId\":1,\"text\":\"ACC-1\"}\n"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.Dv01Report;
+import com.nnk.springboot.dto.ScenarioReport;
+import com.nnk.springboot.dto.TradeDv01;
+import com.nnk.springboot.service.ScenarioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ScenarioController.
+ * Tests the scenario P&L and key-rate DV01 endpoints.
+ */
+@WebMvcTest(controllers = ScenarioController.class)
+@DisplayName("ScenarioController Integration Tests")
+class ScenarioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ScenarioService scenarioService;
+
+    @Test
+    @DisplayName("Should return the scenario by book P&L matrix as JSON")
+    @WithMockUser(roles = "USER")
+    void testScenarios() throws Exception {
+        when(scenarioService.run(7)).thenReturn(new ScenarioReport(7, LocalDateTime.of(2024, 1, 15, 9, 0),
+                List.of("parallel +100bp"), List.of("BOOK-1"), new double[][]{{-1234.5}}, 3));
+
+        mockMvc.perform(get("/risk/scenarios").param("curveId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scenarios[0]").value("parallel +100bp"))
+                .andExpect(jsonPath("$.books[0]").value("BOOK-1"))
+                .andExpect(jsonPath("$.pnl[0][0]").value(-1234.5));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown curve")
+    @WithMockUser(roles = "USER")
+    void testUnknownCurve() throws Exception {
+        when(scenarioService.run(8)).thenThrow(new IllegalArgumentException("Unknown curve: 8"));
+
+        mockMvc.perform(get("/risk/scenarios").param("curveId", "8"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return the book by term DV01 ladder as JSON")
+    @WithMockUser(roles = "USER")
+    void testDv01() throws Exception {
+        when(scenarioService.keyRateDv01(7)).thenReturn(new Dv01Report(7, LocalDateTime.of(2024, 1, 15, 9, 0),
+                List.of(1.0, 10.0), List.of("BOOK-1"), new double[][]{{0.0, -912.5}}, new double[]{0.0, -912.5}, 1));
+
+        mockMvc.perform(get("/risk/dv01").param("curveId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.terms[1]").value(10.0))
+                .andExpect(jsonPath("$.dv01[0][1]").value(-912.5))
+                .andExpect(jsonPath("$.total[1]").value(-912.5));
+    }
+
+    @Test
+    @DisplayName("Should return the DV01 ladder of a trade and 404 for an unknown trade")
+    @WithMockUser(roles = "USER")
+    void testTradeDv01() throws Exception {
+        when(scenarioService.keyRateDv01(7, 5)).thenReturn(new TradeDv01(7, LocalDateTime.of(2024, 1, 15, 9, 0), 5,
+                "BOOK-1", 10, 1_000_000, List.of(1.0, 10.0), new double[]{0.0, -912.5}));
+        when(scenarioService.keyRateDv01(7, 6)).thenThrow(new IllegalArgumentException("Unknown trade: 6"));
+
+        mockMvc.perform(get("/risk/dv01/trade/5").param("curveId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.book").value("BOOK-1"))
+                .andExpect(jsonPath("$.dv01[1]").value(-912.5));
+        mockMvc.perform(get("/risk/dv01/trade/6").param("curveId", "7"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,75 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SearchResults;
+import com.nnk.springboot.index.InvertedIndex;
+import com.nnk.springboot.service.SearchIndexService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SearchController.
+ * Tests the search page and its JSON endpoint.
+ */
+@WebMvcTest(controllers = SearchController.class)
+@DisplayName("SearchController Integration Tests")
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchIndexService searchIndexService;
+
+    private static SearchResults results(String query) {
+        return new SearchResults(query, List.of(new InvertedIndex.Hit(1, 1.5)), List.of(new InvertedIndex.Hit(10, 0.7)),
+                List.of(), 12);
+    }
+
+    @Test
+    @DisplayName("Should display search page with results")
+    @WithMockUser(roles = "USER")
+    void testSearchPage() throws Exception {
+        when(searchIndexService.search("bond", SearchController.DEFAULT_LIMIT)).thenReturn(results("bond"));
+
+        mockMvc.perform(get("/search").param("q", "bond"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("search"))
+                .andExpect(model().attributeExists("results"));
+    }
+
+    @Test
+    @DisplayName("Should return ranked ids as JSON")
+    @WithMockUser(roles = "USER")
+    void testSearchData() throws Exception {
+        when(searchIndexService.search("bond", 5)).thenReturn(results("bond"));
+
+        mockMvc.perform(get("/search/data").param("q", "bond").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bidLists[0].id").value(1))
+                .andExpect(jsonPath("$.trades[0].id").value(10))
+                .andExpect(jsonPath("$.elapsedMicros").value(12));
+    }
+
+    @Test
+    @DisplayName("Should cap the number of ids per entity type")
+    @WithMockUser(roles = "USER")
+    void testSearchDataLimitCapped() throws Exception {
+        when(searchIndexService.search("bond", SearchController.MAX_LIMIT)).thenReturn(results("bond"));
+
+        mockMvc.perform(get("/search/data").param("q", "bond").param("limit", "100000"))
+                .andExpect(status().isOk());
+
+        verify(searchIndexService).search("bond", SearchController.MAX_LIMIT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.SpreadAlert;
+import com.nnk.springboot.dto.SpreadReport;
+import com.nnk.springboot.dto.SpreadSnapshot;
+import com.nnk.springboot.service.SpreadMonitorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SpreadMonitorController.
+ * Tests the spread monitor page and its JSON endpoint.
+ */
+@WebMvcTest(controllers = SpreadMonitorController.class)
+@DisplayName("SpreadMonitorController Integration Tests")
+class SpreadMonitorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SpreadMonitorService spreadMonitorService;
+
+    @BeforeEach
+    void setUp() {
+        SpreadSnapshot snapshot = new SpreadSnapshot("BOND1", "Type1", 31, 10.0, 1.5, 1.5,
+                1.0, 1.2, 1.3, 0.0, 0.1);
+        SpreadAlert alert = new SpreadAlert("BOND1", "Type1", 7, 10.0, 1.3, Instant.parse("2024-01-15T10:00:00Z"));
+        when(spreadMonitorService.report()).thenReturn(new SpreadReport(List.of(snapshot), List.of(alert)));
+    }
+
+    @Test
+    @DisplayName("Should display spread monitor page")
+    @WithMockUser(roles = "USER")
+    void testSpreadsPage() throws Exception {
+        mockMvc.perform(get("/bidList/spreads"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/spreads"))
+                .andExpect(model().attributeExists("spreads", "alerts"));
+
+        verify(spreadMonitorService).report();
+    }
+
+    @Test
+    @DisplayName("Should return spread monitor content as JSON")
+    @WithMockUser(roles = "USER")
+    void testSpreadsData() throws Exception {
+        mockMvc.perform(get("/bidList/spreads/data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.spreads[0].security").value("BOND1"))
+                .andExpect(jsonPath("$.alerts[0].bidListId").value(7));
+    }
+}
@@ -0,0 +1,66 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.dto.TradePriceSnapshot;
+import com.nnk.springboot.service.TradeAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for TradeAnalyticsController.
+ * Tests the analytics page and its JSON endpoint.
+ */
+@WebMvcTest(controllers = TradeAnalyticsController.class)
+@DisplayName("TradeAnalyticsController Integration Tests")
+class TradeAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    private final TradePriceSnapshot snapshot =
+            new TradePriceSnapshot("BOND1", "1m", 100.0, 100.0, 5.0, null, null, 0.0);
+
+    @Test
+    @DisplayName("Should display analytics page")
+    @WithMockUser(roles = "USER")
+    void testAnalyticsPage() throws Exception {
+        // Given
+        when(tradeAnalyticsService.snapshot()).thenReturn(List.of(snapshot));
+
+        // When & Then
+        mockMvc.perform(get("/trade/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/analytics"))
+                .andExpect(model().attributeExists("snapshots"));
+
+        verify(tradeAnalyticsService).snapshot();
+    }
+
+    @Test
+    @DisplayName("Should return analytics as JSON")
+    @WithMockUser(roles = "USER")
+    void testAnalyticsData() throws Exception {
+        // Given
+        when(tradeAnalyticsService.snapshot()).thenReturn(List.of(snapshot));
+
+        // When & Then
+        mockMvc.perform(get("/trade/analytics/data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].security").value("BOND1"))
+                .andExpect(jsonPath("$[0].buyVwap").value(100.0))
+                .andExpect(jsonPath("$[0].sellVwap").doesNotExist());
+    }
+}
@@ -1,6 +1,8 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeSummary;
+import com.nnk.springboot.rules.PreTradeCheckException;
 import com.nnk.springboot.service.TradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,14 +10,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -61,7 +66,9 @@ class TradeControllerTest {
     @WithMockUser(roles = "USER")
     void testTradeListPage() throws Exception {
         // Given
-        when(tradeService.findAll()).thenReturn(Collections.singletonList(testTrade));
+        when(tradeService.findAllSummaries())
+                .thenReturn(List.of(new TradeSummary(testTrade.getTradeId(), testTrade.getAccount(),
+                        testTrade.getType(), testTrade.getBuyQuantity())));
 
         // When & Then
         mockMvc.perform(get("/trade/list"))
@@ -69,7 +76,7 @@ class TradeControllerTest {
                 .andExpect(view().name("trade/list"))
                 .andExpect(model().attributeExists("trades"));
 
-        verify(tradeService).findAll();
+        verify(tradeService).findAllSummaries();
     }
 
     @Test
@@ -110,6 +117,26 @@ class TradeControllerTest {
         verify(tradeService).save(any(Trade.class));
     }
 
+    @Test
+    @DisplayName("Should show the add form with the reason when the pre-trade checks reject the trade")
+    @WithMockUser(roles = "USER")
+    void testValidateTradeRejectedByPreTradeCheck() throws Exception {
+        // Given
+        when(tradeService.save(any(Trade.class)))
+                .thenThrow(new PreTradeCheckException(List.of("Max quantity: buyQuantity 150 exceeds 100")));
+
+        // When & Then
+        mockMvc.perform(post("/trade/validate")
+                .with(csrf())
+                .param("account", "New Account")
+                .param("type", "New Type")
+                .param("buyQuantity", "150.0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/add"))
+                .andExpect(model().attribute("errorMessage",
+                        "Rejected by pre-trade checks: Max quantity: buyQuantity 150 exceeds 100"));
+    }
+
     @Test
     @DisplayName("Should show validation errors for invalid trade data")
     @WithMockUser(roles = "USER")
@@ -162,7 +189,7 @@ class TradeControllerTest {
     @WithMockUser(roles = "USER")
     void testUpdateTradeSuccess() throws Exception {
         // Given
-        when(tradeService.save(any(Trade.class))).thenReturn(testTrade);
+        when(tradeService.patch(eq(1), any(Trade.class), anyCollection())).thenReturn(true);
 
         // When & Then
         mockMvc.perform(post("/trade/update/1")
@@ -182,7 +209,66 @@ class TradeControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/trade/list"));
 
-        verify(tradeService).save(any(Trade.class));
+        verify(tradeService).patch(eq(1), any(Trade.class),
+                argThat(fields -> fields.contains("account") && fields.contains("type")));
+        verify(tradeService, never()).save(any(Trade.class));
+    }
+
+    @Test
+    @DisplayName("Should show the update form again when the trade was modified concurrently")
+    @WithMockUser(roles = "USER")
+    void testUpdateTradeConflict() throws Exception {
+        // Given
+        when(tradeService.patch(eq(1), any(Trade.class), anyCollection()))
+                .thenThrow(new OptimisticLockingFailureException("Trade 1 was modified by another user"));
+
+        // When & Then
+        mockMvc.perform(post("/trade/update/1")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("version", "0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/update"))
+                .andExpect(model().attributeExists("errorMessage"));
+    }
+
+    @Test
+    @DisplayName("Should show the update form again when the trade no longer exists or a value is rejected")
+    @WithMockUser(roles = "USER")
+    void testUpdateTradeFailures() throws Exception {
+        // Given
+        when(tradeService.patch(eq(99), any(Trade.class), anyCollection())).thenReturn(false);
+        when(tradeService.patch(eq(1), any(Trade.class), anyCollection()))
+                .thenThrow(new IllegalArgumentException("The book of a trade cannot be changed: it selects its shard"));
+        when(tradeService.patch(eq(2), any(Trade.class), anyCollection()))
+                .thenThrow(new PreTradeCheckException(List.of("Max quantity: buyQuantity 150 exceeds 100")));
+
+        // When & Then
+        mockMvc.perform(post("/trade/update/99")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/update"))
+                .andExpect(model().attribute("errorMessage", "This trade no longer exists."));
+        mockMvc.perform(post("/trade/update/1")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("book", "FX-NY"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/update"))
+                .andExpect(model().attribute("errorMessage", "The book of a trade cannot be changed: it selects its shard"));
+        mockMvc.perform(post("/trade/update/2")
+                .with(csrf())
+                .param("account", "Updated Account")
+                .param("type", "Updated Type")
+                .param("buyQuantity", "150"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/update"))
+                .andExpect(model().attribute("errorMessage",
+                        "Rejected by pre-trade checks: Max quantity: buyQuantity 150 exceeds 100"));
     }
 
     @Test
@@ -206,7 +292,7 @@ class TradeControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteTrade() throws Exception {
         // Given
-        when(tradeService.existsById(1)).thenReturn(true);
+        when(tradeService.deleteById(1)).thenReturn(true);
 
         // When & Then
         mockMvc.perform(get("/trade/delete/1"))
@@ -221,13 +307,68 @@ class TradeControllerTest {
     @WithMockUser(roles = "USER")
     void testDeleteNonExistingTrade() throws Exception {
         // Given
-        when(tradeService.existsById(99)).thenReturn(false);
+        when(tradeService.deleteById(99)).thenReturn(false);
 
         // When & Then
         mockMvc.perform(get("/trade/delete/99"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/trade/list"));
 
-        verify(tradeService, never()).deleteById(anyInt());
+        verify(tradeService).deleteById(99);
+        verify(tradeService, never()).existsById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should delete selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkDelete() throws Exception {
+        // Given
+        when(tradeService.deleteByIds(List.of(1, 2))).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/trade/bulk/delete")
+                .with(csrf())
+                .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/trade/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 trade(s) deleted."));
+
+        verify(tradeService).deleteByIds(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should update selected rows in bulk")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdate() throws Exception {
+        // Given
+        when(tradeService.updateStatus(List.of(1, 2), "SETTLED")).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/trade/bulk/status")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("status", "SETTLED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/trade/list"))
+                .andExpect(flash().attribute("bulkMessage", "2 trade(s) updated."));
+
+        verify(tradeService).updateStatus(List.of(1, 2), "SETTLED");
+    }
+
+    @Test
+    @DisplayName("Should report invalid bulk update values")
+    @WithMockUser(roles = "USER")
+    void testBulkUpdateInvalidValue() throws Exception {
+        // Given
+        when(tradeService.updateStatus(anyList(), anyString()))
+                .thenThrow(new IllegalArgumentException("Invalid value"));
+
+        // When & Then
+        mockMvc.perform(post("/trade/bulk/status")
+                .with(csrf())
+                .param("ids", "1", "2")
+                .param("status", "SETTLED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Invalid value"));
     }
 }
@@ -0,0 +1,172 @@
+package com.nnk.springboot.feed;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FeedWriter and FeedReader.
+ * Tests round trips, null fields, string dictionaries and malformed streams.
+ */
+@DisplayName("Binary feed codec Tests")
+class FeedCodecTest {
+
+    private static Trade trade(int id, String account) {
+        return Trade.builder()
+                .tradeId(id)
+                .account(account)
+                .type("SPOT")
+                .buyQuantity(100.5)
+                .buyPrice(99.25)
+                .tradeDate(new Timestamp(1_700_000_000_123L))
+                .creationDate(new Timestamp(-86_400_000L))
+                .security("BOND-" + id % 3)
+                .book("Book A")
+                .side("BUY")
+                .build();
+    }
+
+    private static byte[] write(List<List<Trade>> batches) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FeedWriter<Trade> writer = new FeedWriter<>(out, FeedSchema.TRADE);
+        for (List<Trade> batch : batches) {
+            writer.writeBatch(batch);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should read back every batch and field written")
+    void roundTrip_ShouldPreserveRecords() throws IOException {
+        // Given
+        List<Trade> first = List.of(trade(1, "ACC1"), trade(2, "ACC2"), trade(3, "ACC1"));
+        List<Trade> second = List.of(trade(4, "Ünïcödé"));
+        byte[] feed = write(List.of(first, second));
+
+        // When
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(feed), FeedSchema.TRADE);
+        List<Trade> batch = new ArrayList<>();
+        List<Trade> read = new ArrayList<>();
+        int batches = 0;
+        while (reader.readBatch(batch)) {
+            read.addAll(batch);
+            batches++;
+        }
+
+        // Then
+        assertEquals(2, batches);
+        List<Trade> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        assertEquals(expected, read);
+        assertNull(read.get(0).getSellPrice());
+    }
+
+    @Test
+    @DisplayName("Should send repeated strings once per batch")
+    void writeBatch_ShouldDeduplicateStrings() throws IOException {
+        // Given
+        List<Trade> repeated = new ArrayList<>();
+        List<Trade> distinct = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            repeated.add(trade(1, "SAME-ACCOUNT-NAME"));
+            distinct.add(trade(1, "DISTINCT-ACCOUNT-" + i));
+        }
+
+        // When
+        int repeatedSize = write(List.of(repeated)).length;
+        int distinctSize = write(List.of(distinct)).length;
+
+        // Then
+        assertTrue(repeatedSize + 100 * 10 < distinctSize);
+    }
+
+    @Test
+    @DisplayName("Should round trip bid lists")
+    void roundTrip_ShouldPreserveBidLists() throws IOException {
+        // Given
+        BidList bid = BidList.builder().id(9).account("ACC").type("T").bid(1.5).ask(1.6)
+                .commentary("note").bidListDate(new Timestamp(1_000L)).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FeedWriter<>(out, FeedSchema.BID_LIST).writeBatch(List.of(bid));
+
+        // When
+        FeedReader<BidList> reader = new FeedReader<>(new ByteArrayInputStream(out.toByteArray()), FeedSchema.BID_LIST);
+        List<BidList> batch = new ArrayList<>();
+
+        // Then
+        assertTrue(reader.readBatch(batch));
+        assertEquals(List.of(bid), batch);
+        assertFalse(reader.readBatch(batch));
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch of another record type")
+    void readBatch_WithWrongRecordType_ShouldThrowException() throws IOException {
+        // Given
+        byte[] feed = write(List.of(List.of(trade(1, "ACC1"))));
+        FeedReader<BidList> reader = new FeedReader<>(new ByteArrayInputStream(feed), FeedSchema.BID_LIST);
+
+        // When & Then
+        assertThrows(FeedFormatException.class, () -> reader.readBatch(new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported schema version")
+    void readBatch_WithUnknownVersion_ShouldThrowException() throws IOException {
+        // Given
+        byte[] feed = write(List.of(List.of(trade(1, "ACC1"))));
+        feed[4] = 99;
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(feed), FeedSchema.TRADE);
+
+        // When & Then
+        FeedFormatException e = assertThrows(FeedFormatException.class, () -> reader.readBatch(new ArrayList<>()));
+        assertTrue(e.getMessage().contains("99"));
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated batch")
+    void readBatch_WithTruncatedStream_ShouldThrowException() throws IOException {
+        // Given
+        byte[] feed = write(List.of(List.of(trade(1, "ACC1"))));
+        byte[] truncated = Arrays.copyOf(feed, feed.length - 3);
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(truncated), FeedSchema.TRADE);
+
+        // When & Then
+        assertThrows(FeedFormatException.class, () -> reader.readBatch(new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch length with the high bit set instead of ending the stream")
+    void readBatch_WithNegativeLength_ShouldThrowException() throws IOException {
+        // Given
+        byte[] feed = write(List.of(List.of(trade(1, "ACC1")), List.of(trade(2, "ACC2"))));
+        int second = 4 + ((feed[0] & 0xFF) << 24 | (feed[1] & 0xFF) << 16 | (feed[2] & 0xFF) << 8 | feed[3] & 0xFF);
+        feed[second] = (byte) 0x80;
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(feed), FeedSchema.TRADE);
+        List<Trade> batch = new ArrayList<>();
+
+        // When & Then
+        assertTrue(reader.readBatch(batch));
+        assertThrows(FeedFormatException.class, () -> reader.readBatch(batch));
+    }
+
+    @Test
+    @DisplayName("Should zigzag encode negative timestamps")
+    void zigzag_ShouldRoundTrip() {
+        for (long value : new long[]{0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, -86_400_000L}) {
+            assertEquals(value, FeedReader.unzigzag(FeedWriter.zigzag(value)));
+        }
+    }
+}
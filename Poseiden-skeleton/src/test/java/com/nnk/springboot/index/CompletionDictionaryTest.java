@@ -0,0 +1,71 @@
+package com.nnk.springboot.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompletionDictionary.
+ * Tests prefix lookup, ranking and incremental updates.
+ */
+@DisplayName("CompletionDictionary Tests")
+class CompletionDictionaryTest {
+
+    private CompletionDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new CompletionDictionary();
+        dictionary.replaceAll(Map.of("BOOK_RATES", 40, "Book_Rates", 2, "BOOK_FX", 10, "CREDIT", 7, " ", 3));
+    }
+
+    @Test
+    @DisplayName("Should complete a prefix regardless of case, most used first")
+    void complete_ShouldMatchPrefixIgnoringCase() {
+        assertEquals(List.of("BOOK_RATES", "BOOK_FX", "Book_Rates"), dictionary.complete("bo", 10));
+        assertEquals(List.of("BOOK_RATES", "Book_Rates"), dictionary.complete("book_r", 10));
+        assertEquals(List.of(), dictionary.complete("x", 10));
+    }
+
+    @Test
+    @DisplayName("Should return the most used values for an empty prefix")
+    void complete_WithEmptyPrefix_ShouldReturnTopValues() {
+        assertEquals(List.of("BOOK_RATES", "BOOK_FX"), dictionary.complete("", 2));
+        assertEquals(4, dictionary.size());
+        assertThrows(IllegalArgumentException.class, () -> dictionary.complete("", 0));
+    }
+
+    @Test
+    @DisplayName("Should insert new values and count new uses")
+    void add_ShouldInsertOrCount() {
+        // When
+        dictionary.add("BOOK_EQ");
+        dictionary.add("CREDIT");
+        for (int i = 0; i < 10; i++) {
+            dictionary.add("BOOK_EQ");
+        }
+        dictionary.add(null);
+
+        // Then
+        assertEquals(List.of("BOOK_RATES", "BOOK_EQ", "BOOK_FX", "Book_Rates"), dictionary.complete("book", 10));
+        assertEquals(List.of("CREDIT"), dictionary.complete("cr", 10));
+        assertEquals(5, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should add a value without counting a use")
+    void ensure_ShouldAddOnlyMissingValues() {
+        // When
+        dictionary.ensure("CREDIT");
+        dictionary.ensure("ALPHA");
+
+        // Then
+        assertEquals(List.of("ALPHA"), dictionary.complete("a", 10));
+        assertEquals(List.of("BOOK_RATES", "BOOK_FX", "CREDIT"), dictionary.complete("", 3));
+    }
+}
@@ -0,0 +1,136 @@
+package com.nnk.springboot.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CurveHistory.
+ * Tests as-of lookups, back-dated versions, edited points and maintenance.
+ */
+@DisplayName("CurveHistory Tests")
+class CurveHistoryTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 15, 9, 0);
+    private static final LocalDateTime TUESDAY = MONDAY.plusDays(1);
+    private static final LocalDateTime WEDNESDAY = MONDAY.plusDays(2);
+    private static final LocalDateTime THURSDAY = MONDAY.plusDays(3);
+
+    private CurveHistory history;
+
+    @BeforeEach
+    void setUp() {
+        history = new CurveHistory();
+        history.put(7, new CurveHistory.Point(1, 1, 1.0, 10.0, MONDAY));
+        history.put(7, new CurveHistory.Point(2, 2, 5.0, 20.0, MONDAY));
+        history.put(7, new CurveHistory.Point(3, 1, 1.0, 11.0, WEDNESDAY));
+    }
+
+    @Test
+    @DisplayName("Should return the latest snapshot not after the date")
+    void asOf_ShouldReturnFloorSnapshot() {
+        // When
+        CurveHistory.Snapshot tuesday = history.asOf(7, TUESDAY).orElseThrow();
+        CurveHistory.Snapshot wednesday = history.asOf(7, WEDNESDAY).orElseThrow();
+
+        // Then
+        assertEquals(MONDAY, tuesday.asOfDate());
+        assertEquals(List.of(10.0, 20.0), values(tuesday));
+        assertEquals(List.of(11.0, 20.0), values(wednesday));
+        assertEquals(wednesday, history.latest(7).orElseThrow());
+        assertEquals(List.of(MONDAY, WEDNESDAY), history.versions(7));
+    }
+
+    @Test
+    @DisplayName("Should return nothing before the first version or for an unknown curve")
+    void asOf_WhenNoVersionYet_ShouldReturnEmpty() {
+        assertTrue(history.asOf(7, MONDAY.minusSeconds(1)).isEmpty());
+        assertTrue(history.asOf(8, WEDNESDAY).isEmpty());
+        assertTrue(history.latest(8).isEmpty());
+        assertEquals(List.of(), history.versions(8));
+    }
+
+    @Test
+    @DisplayName("Should apply a back-dated version to later snapshots that do not override it")
+    void put_WhenBackDated_ShouldRebuildLaterSnapshots() {
+        // When
+        history.put(7, new CurveHistory.Point(4, 2, 5.0, 25.0, TUESDAY));
+
+        // Then
+        assertEquals(List.of(10.0, 20.0), values(history.asOf(7, MONDAY).orElseThrow()));
+        assertEquals(List.of(10.0, 25.0), values(history.asOf(7, TUESDAY).orElseThrow()));
+        assertEquals(List.of(11.0, 25.0), values(history.latest(7).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should keep published snapshots unchanged by later writes")
+    void put_ShouldNotModifyPublishedSnapshots() {
+        // Given
+        CurveHistory.Snapshot before = history.latest(7).orElseThrow();
+
+        // When
+        history.put(7, new CurveHistory.Point(5, 5, 10.0, 30.0, THURSDAY));
+
+        // Then
+        assertEquals(List.of(11.0, 20.0), values(before));
+        assertEquals(List.of(11.0, 20.0, 30.0), values(history.latest(7).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should replace the version of an edited point, even when its term changed")
+    void put_WhenPointEdited_ShouldKeepOnePointPerPoint() {
+        // When
+        history.put(7, new CurveHistory.Point(6, 1, 2.0, 12.0, THURSDAY));
+
+        // Then
+        assertEquals(List.of(11.0, 20.0), values(history.asOf(7, WEDNESDAY).orElseThrow()));
+        assertEquals(List.of(12.0, 20.0), values(history.latest(7).orElseThrow()));
+
+        // When
+        history.put(7, new CurveHistory.Point(7, 2, null, 20.0, THURSDAY.plusDays(1)));
+
+        // Then
+        assertEquals(List.of(12.0), values(history.latest(7).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should move every version of a point to its new curve")
+    void put_WhenCurveChanged_ShouldMoveEveryVersion() {
+        // When
+        history.put(8, new CurveHistory.Point(6, 1, 1.0, 12.0, THURSDAY));
+
+        // Then
+        assertEquals(List.of(20.0), values(history.latest(7).orElseThrow()));
+        assertEquals(List.of(MONDAY), history.versions(7));
+        assertEquals(List.of(11.0), values(history.asOf(8, WEDNESDAY).orElseThrow()));
+        assertEquals(List.of(12.0), values(history.latest(8).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should forget removed points and move points between curves")
+    void removeAndMove_ShouldUpdateBothCurves() {
+        // When
+        history.move(2, 8);
+
+        // Then
+        assertEquals(List.of(11.0), values(history.latest(7).orElseThrow()));
+        assertEquals(List.of(20.0), values(history.latest(8).orElseThrow()));
+        assertEquals(List.of(MONDAY, WEDNESDAY), history.versions(7));
+
+        // When
+        history.remove(1);
+        history.move(99, 8);
+
+        // Then
+        assertTrue(history.latest(7).isEmpty());
+        assertEquals(List.of(20.0), values(history.latest(8).orElseThrow()));
+    }
+
+    private static List<Double> values(CurveHistory.Snapshot snapshot) {
+        return snapshot.points().stream().map(CurveHistory.Point::value).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.nnk.springboot.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InvertedIndex.
+ * Tests tokenization, prefix matching, ranking and maintenance.
+ */
+@DisplayName("InvertedIndex Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, "Government bond 2030");
+        index.put(2, "Corporate BOND, bond ladder");
+        index.put(3, "Bondi beach swap");
+    }
+
+    @Test
+    @DisplayName("Should split text into lower-cased words")
+    void tokenize_ShouldSplitOnNonAlphanumeric() {
+        assertEquals(List.of("eur", "usd", "5y", "ois"), InvertedIndex.tokenize("EUR/USD 5Y-OIS"));
+        assertEquals(List.of(), InvertedIndex.tokenize(null));
+        assertEquals(List.of(), InvertedIndex.tokenize(" ,;"));
+    }
+
+    @Test
+    @DisplayName("Should rank exact matches before prefix matches and frequent terms first")
+    void search_ShouldRankExactAndFrequentTermsFirst() {
+        // When
+        List<InvertedIndex.Hit> hits = index.search("bond", 10);
+
+        // Then
+        assertEquals(List.of(2, 1, 3), hits.stream().map(InvertedIndex.Hit::id).toList());
+        assertTrue(hits.get(1).score() > hits.get(2).score());
+    }
+
+    @Test
+    @DisplayName("Should require every query token to match")
+    void search_WithSeveralTokens_ShouldIntersectMatches() {
+        assertEquals(List.of(1), index.search("bond 20", 10).stream().map(InvertedIndex.Hit::id).toList());
+        assertTrue(index.search("bond unknown", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return at most limit hits")
+    void search_ShouldApplyLimit() {
+        assertEquals(List.of(2), index.search("bon", 1).stream().map(InvertedIndex.Hit::id).toList());
+        assertThrows(IllegalArgumentException.class, () -> index.search("bond", 0));
+    }
+
+    @Test
+    @DisplayName("Should replace the terms of a re-indexed document")
+    void put_WhenDocumentExists_ShouldReplaceTerms() {
+        // When
+        index.put(3, "Interest rate swap");
+
+        // Then
+        assertEquals(List.of(1, 2), index.search("bond", 10).stream().map(InvertedIndex.Hit::id).sorted().toList());
+        assertEquals(List.of(3), index.search("inter", 10).stream().map(InvertedIndex.Hit::id).toList());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should forget removed documents and their unused terms")
+    void remove_ShouldDropDocumentAndTerms() {
+        // Given
+        int terms = index.termCount();
+
+        // When
+        index.remove(3);
+        index.remove(99);
+
+        // Then
+        assertTrue(index.search("bondi", 10).isEmpty());
+        assertEquals(2, index.size());
+        assertEquals(terms - 3, index.termCount());
+    }
+
+    @Test
+    @DisplayName("Should not index blank text")
+    void put_WithBlankText_ShouldRemoveDocument() {
+        // When
+        index.put(1, null);
+
+        // Then
+        assertEquals(2, index.size());
+        assertTrue(index.search("government", 10).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.nnk.springboot.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SkewedSampler.
+ * Tests the range of the ranks and the shape of the distribution.
+ */
+@DisplayName("SkewedSampler Tests")
+class SkewedSamplerTest {
+
+    @Test
+    @DisplayName("Should spread ranks evenly without skew")
+    void sample_WhenNoSkew_ShouldBeUniform() {
+        // Given
+        SkewedSampler sampler = new SkewedSampler(10, 0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When
+        int[] counts = draw(sampler, random, 100_000);
+
+        // Then
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    @DisplayName("Should favour the first ranks with a Zipf skew")
+    void sample_WhenSkewed_ShouldFollowZipfLaw() {
+        // Given
+        SkewedSampler sampler = new SkewedSampler(100, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When
+        int[] counts = draw(sampler, random, 200_000);
+
+        // Then
+        assertEquals(2.0, (double) counts[0] / counts[1], 0.1);
+        assertTrue(counts[0] > 20 * counts[99]);
+    }
+
+    @Test
+    @DisplayName("Should always return the single rank")
+    void sample_WhenSingleRank_ShouldReturnZero() {
+        SkewedSampler sampler = new SkewedSampler(1, 2.0);
+
+        assertEquals(0, sampler.sample(new SplittableRandom(7)));
+        assertEquals(1, sampler.size());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty range or a negative skew")
+    void constructor_WhenInvalid_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SkewedSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SkewedSampler(10, -0.5));
+    }
+
+    private static int[] draw(SkewedSampler sampler, SplittableRandom random, int samples) {
+        int[] counts = new int[sampler.size()];
+        for (int i = 0; i < samples; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        return counts;
+    }
+}
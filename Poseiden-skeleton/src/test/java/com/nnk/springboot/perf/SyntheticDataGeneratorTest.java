@@ -0,0 +1,117 @@
+package com.nnk.springboot.perf;
+
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for SyntheticDataGenerator.
+ * Tests the volumes, the skew and the readability of the generated rows through JPA.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SyntheticDataGenerator Tests")
+class SyntheticDataGeneratorTest {
+    private static final List<String> TABLES = List.of("bidlist", "trade", "curvepoint", "curvepoint_history",
+            "rating", "rulename");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @BeforeEach
+    void setUp() {
+        TABLES.forEach(table -> jdbcTemplate.update("delete from " + table));
+    }
+
+    @Test
+    @DisplayName("Should fill every table with the requested number of rows")
+    void run_ShouldInsertRequestedRows() throws Exception {
+        // Given
+        SyntheticDataGenerator generator = generator(1.0);
+
+        // When
+        generator.run();
+
+        // Then
+        assertEquals(2_500, count("bidlist"));
+        assertEquals(3_000, count("trade"));
+        assertEquals(1_200, count("curvepoint"));
+        assertEquals(1_200, count("curvepoint_history"));
+        assertEquals(300, count("rating"));
+        assertEquals(150, count("rulename"));
+        assertEquals(3_000, tradeRepository.findAllSummaries().size());
+        assertEquals(3_000, jdbcTemplate.queryForObject(
+                "select count(distinct source_list_id) from trade", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should leave tables that already hold rows untouched")
+    void run_WhenTablesAlreadyFilled_ShouldSkipThem() throws Exception {
+        // Given
+        generator(1.0).run();
+
+        // When
+        generator(1.0).run();
+
+        // Then
+        assertEquals(3_000, count("trade"));
+        assertEquals(150, count("rulename"));
+    }
+
+    @Test
+    @DisplayName("Should concentrate trades on a few accounts when skewed")
+    void run_WhenSkewed_ShouldConcentrateAccounts() throws Exception {
+        // Given
+        SyntheticDataGenerator generator = generator(1.2);
+
+        // When
+        generator.run();
+
+        // Then
+        List<Map<String, Object>> accounts = jdbcTemplate.queryForList(
+                "select account, count(*) c from trade group by account order by c desc");
+        long top = ((Number) accounts.get(0).get("c")).longValue();
+        long median = ((Number) accounts.get(accounts.size() / 2).get("c")).longValue();
+        assertTrue(top > 10 * median, "top " + top + ", median " + median);
+    }
+
+    @Test
+    @DisplayName("Should build the same rows from the same seed")
+    void trade_WhenSameSeed_ShouldBeDeterministic() {
+        // Given
+        SyntheticDataGenerator generator = generator(1.0);
+
+        // When
+        Object[] first = generator.trade(42, new SplittableRandom(7));
+        Object[] second = generator.trade(42, new SplittableRandom(7));
+
+        // Then
+        assertArrayEquals(first, second);
+    }
+
+    private SyntheticDataGenerator generator(double skew) {
+        PerfDataProperties properties = new PerfDataProperties(2_500, 3_000, 1_200, 300, 150,
+                200, 10, 100, 20, 10, 30, skew, 250, 4, 42, 60_000);
+        return new SyntheticDataGenerator(jdbcTemplate, ShardRouter.single(), properties);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.nnk.springboot.risk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeyRateLadder.
+ * Tests that the ladder matches a full revaluation under each key-rate bump.
+ */
+@DisplayName("KeyRateLadder Tests")
+class KeyRateLadderTest {
+    private static final double[] GRID = {1, 2, 5, 10, 30};
+    private static final double[] RATES = {3.5, 3.8, 4.1, 4.4, 4.7};
+
+    @Test
+    @DisplayName("Should match a full revaluation under a 1bp bump of each term")
+    void byBook_ShouldMatchBumpScenarios() {
+        // Given
+        Portfolio.Builder builder = Portfolio.builder();
+        for (int i = 0; i < 500; i++) {
+            builder.add("BOOK-" + i % 3, 0.1 + i % 45 * 0.75, (i % 5 - 2) * 10_000.0 + i);
+        }
+        Portfolio portfolio = builder.build();
+        List<CurveShock> bumps = new ArrayList<>();
+        for (int i = 0; i < GRID.length; i++) {
+            bumps.add(CurveShock.bump(GRID, i, 1));
+        }
+
+        // When
+        double[][] ladder = KeyRateLadder.byBook(GRID, RATES, portfolio);
+        double[][] revalued = new ScenarioEngine(1).run(GRID, RATES, portfolio, bumps);
+
+        // Then
+        assertEquals(portfolio.books().size(), ladder.length);
+        for (int book = 0; book < ladder.length; book++) {
+            for (int term = 0; term < GRID.length; term++) {
+                assertEquals(revalued[term][book], ladder[book][term], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should split the DV01 of a trade between the two terms around its tenor")
+    void of_WhenTenorBetweenTerms_ShouldFillTwoBuckets() {
+        // When
+        double[] ladder = KeyRateLadder.of(GRID, RATES, 7.5, 1_000_000);
+
+        // Then
+        double rate = 0.0425;
+        assertEquals(0.0, ladder[0]);
+        assertEquals(0.0, ladder[1]);
+        assertEquals(1_000_000 * (Math.pow((1 + rate) / (1 + rate + 0.00005), 7.5) - 1), ladder[2], 1e-9);
+        assertEquals(ladder[2], ladder[3], 1e-9);
+        assertEquals(0.0, ladder[4]);
+        assertTrue(ladder[2] < 0);
+    }
+
+    @Test
+    @DisplayName("Should put tenors beyond the curve in the last term")
+    void of_WhenTenorBeyondCurve_ShouldFillLastBucket() {
+        // When
+        double[] ladder = KeyRateLadder.of(GRID, RATES, 40, -1000);
+
+        // Then
+        assertEquals(-1000 * (Math.pow(1.047 / 1.0471, 40) - 1), ladder[4], 1e-9);
+        assertEquals(0.0, ladder[3]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.nnk.springboot.risk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RatingScale.
+ * Tests the agency mappings and how three ratings combine into one notch.
+ */
+@DisplayName("RatingScale Tests")
+class RatingScaleTest {
+
+    @Test
+    @DisplayName("Should map the equivalent grades of every agency to the same notch")
+    void agencies_ShouldShareScale() {
+        assertEquals(1, RatingScale.moodys("Aaa"));
+        assertEquals(1, RatingScale.sandP("AAA"));
+        assertEquals(10, RatingScale.moodys("Baa3"));
+        assertEquals(10, RatingScale.sandP("BBB-"));
+        assertEquals(10, RatingScale.fitch(" bbb- "));
+        assertEquals(21, RatingScale.moodys("C"));
+        assertEquals(RatingScale.WORST, RatingScale.sandP("SD"));
+        assertEquals(RatingScale.WORST, RatingScale.fitch("RD"));
+        assertNull(RatingScale.sandP("RD"));
+        assertNull(RatingScale.moodys("WR"));
+        assertNull(RatingScale.fitch(null));
+    }
+
+    @Test
+    @DisplayName("Should take the only rating, the worse of two and the second best of three")
+    void notch_ShouldCombineRatings() {
+        assertEquals(5, RatingScale.notch("A1", "NR", ""));
+        assertEquals(7, RatingScale.notch("A1", "A-", null));
+        assertEquals(6, RatingScale.notch("A1", "A", "BBB"));
+        assertNull(RatingScale.notch("NR", "NR", "NR"));
+    }
+
+    @Test
+    @DisplayName("Should parse a grade of any agency and label notches")
+    void parseAndLabel_ShouldRoundTrip() {
+        assertEquals(4, RatingScale.parse("Aa3"));
+        assertEquals(4, RatingScale.parse("AA-"));
+        assertEquals(RatingScale.WORST, RatingScale.parse("RD"));
+        assertNull(RatingScale.parse("XYZ"));
+        assertEquals("BBB-", RatingScale.label(RatingScale.INVESTMENT_GRADE));
+        assertThrows(IllegalArgumentException.class, () -> RatingScale.label(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.nnk.springboot.risk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioEngine.
+ * Tests zero-coupon revaluation, shock interpolation and parallel execution.
+ */
+@DisplayName("ScenarioEngine Tests")
+class ScenarioEngineTest {
+    private static final double[] GRID = {2, 5, 10};
+    private static final double[] RATES = {4, 5, 6};
+
+    @Test
+    @DisplayName("Should revalue a position as a zero-coupon bond at its tenor")
+    void run_WhenParallelShift_ShouldDiscountAtShiftedRate() {
+        // Given
+        Portfolio portfolio = Portfolio.builder().add("RATES", 5, 1_000_000).build();
+
+        // When
+        double[][] pnl = new ScenarioEngine(1).run(GRID, RATES, portfolio,
+                List.of(CurveShock.parallel(GRID, 100), CurveShock.parallel(GRID, 0)));
+
+        // Then
+        assertEquals(1_000_000 * (Math.pow(1.05 / 1.06, 5) - 1), pnl[0][0], 1e-6);
+        assertEquals(0.0, pnl[1][0], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should interpolate rates and shocks between grid tenors and sum positions per book")
+    void run_WhenTenorBetweenGridPoints_ShouldInterpolate() {
+        // Given
+        Portfolio portfolio = Portfolio.builder()
+                .add("RATES", 3, 600)
+                .add("RATES", 3, 400)
+                .add("CREDIT", 20, -500)
+                .build();
+
+        // When
+        double[][] pnl = new ScenarioEngine(1).run(GRID, RATES, portfolio, List.of(CurveShock.bump(GRID, 1, 30)));
+
+        // Then
+        double rate3y = (4 + (5 - 4) / 3.0) / 100;
+        assertEquals(List.of("RATES", "CREDIT"), portfolio.books());
+        assertEquals(2, portfolio.size());
+        assertEquals(1000 * (Math.pow((1 + rate3y) / (1 + rate3y + 0.001), 3) - 1), pnl[0][0], 1e-9);
+        assertEquals(0.0, pnl[0][1], 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should return the same matrix whatever the number of workers")
+    void run_WhenParallel_ShouldMatchSequentialRun() {
+        // Given
+        Portfolio.Builder builder = Portfolio.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add("BOOK-" + i % 7, 0.25 + i % 40, (i % 3 - 1) * 1000.0 + i);
+        }
+        Portfolio portfolio = builder.build();
+        List<CurveShock> shocks = CurveShock.standardSet(GRID);
+
+        // When
+        double[][] sequential = new ScenarioEngine(1).run(GRID, RATES, portfolio, shocks);
+        ScenarioEngine parallel = new ScenarioEngine(4);
+        double[][] first = parallel.run(GRID, RATES, portfolio, shocks);
+        double[][] second = parallel.run(GRID, RATES, portfolio, shocks);
+
+        // Then
+        assertEquals(shocks.size(), sequential.length);
+        for (int s = 0; s < shocks.size(); s++) {
+            assertArrayEquals(sequential[s], first[s], 1e-9);
+            assertArrayEquals(sequential[s], second[s], 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject scenarios that do not match the curve")
+    void run_WhenShockSizeDiffers_ShouldThrowException() {
+        Portfolio portfolio = Portfolio.builder().add("RATES", 5, 1).build();
+        ScenarioEngine engine = new ScenarioEngine(1);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.run(GRID, RATES, portfolio,
+                List.of(new CurveShock("bad", new double[]{1}))));
+        assertThrows(IllegalArgumentException.class, () -> engine.run(new double[0], new double[0], portfolio, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should build parallel shifts, twists and bumps on the grid")
+    void standardSet_ShouldCoverEveryShockKind() {
+        // When
+        List<CurveShock> shocks = CurveShock.standardSet(GRID);
+
+        // Then
+        assertEquals(61 + 24 + 8 * GRID.length, shocks.size());
+        assertEquals("parallel -300bp", shocks.get(0).name());
+        CurveShock steepener = CurveShock.twist(GRID, 5, 80);
+        assertEquals("twist 5y +80bp", steepener.name());
+        assertArrayEquals(new double[]{-30, 0, 50}, steepener.shiftsBp(), 1e-9);
+        assertEquals("bump 10y -25bp", CurveShock.bump(GRID, 2, -25).name());
+    }
+}
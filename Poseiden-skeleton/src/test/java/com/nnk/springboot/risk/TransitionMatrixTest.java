@@ -0,0 +1,57 @@
+package com.nnk.springboot.risk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransitionMatrix.
+ * Tests migration counts between two rating snapshots.
+ */
+@DisplayName("TransitionMatrix Tests")
+class TransitionMatrixTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should count upgrades, downgrades, withdrawals and new ratings")
+    void between_ShouldCountMigrations() {
+        // Given
+        RatingSnapshot before = RatingSnapshot.of(JANUARY, Map.of(1, 1, 2, 9, 3, 9, 4, 12, 5, 12));
+        RatingSnapshot after = RatingSnapshot.of(FEBRUARY, Map.of(1, 1, 2, 10, 3, 8, 5, 22, 6, 3));
+
+        // When
+        TransitionMatrix matrix = TransitionMatrix.between(before, after);
+
+        // Then
+        assertEquals(1, matrix.counts()[0][0]);
+        assertEquals(1, matrix.counts()[8][9]);
+        assertEquals(1, matrix.counts()[8][7]);
+        assertEquals(1, matrix.counts()[11][21]);
+        assertEquals(1, matrix.withdrawn()[11]);
+        assertEquals(1, matrix.added()[2]);
+        assertEquals(1, matrix.upgrades());
+        assertEquals(2, matrix.downgrades());
+        assertEquals(1, matrix.unchanged());
+    }
+
+    @Test
+    @DisplayName("Should give the share of each grade moving to each grade, withdrawals included")
+    void probabilities_ShouldNormalizeRows() {
+        // Given
+        RatingSnapshot before = RatingSnapshot.of(JANUARY, Map.of(1, 5, 2, 5, 3, 5, 4, 5));
+        RatingSnapshot after = RatingSnapshot.of(FEBRUARY, Map.of(1, 5, 2, 5, 3, 6));
+
+        // When
+        double[][] probabilities = TransitionMatrix.between(before, after).probabilities();
+
+        // Then
+        assertEquals(0.5, probabilities[4][4]);
+        assertEquals(0.25, probabilities[4][5]);
+        assertEquals(0.0, probabilities[0][0]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nnk.springboot.rules;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PreTradeCheck and PreTradeRuleBook.
+ * Tests the compilation of check json, the evaluation of scopes, limits and forbidden values,
+ * and that indexing returns the same violations as checking every rule.
+ */
+@DisplayName("PreTradeRuleBook Tests")
+class PreTradeRuleBookTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PreTradeCheck<Trade> trade(int id, String json) throws Exception {
+        return PreTradeCheck.compile(id, "Rule " + id, objectMapper.readTree(json), OrderFields.TRADE);
+    }
+
+    @Test
+    @DisplayName("Should bound quantities of the scoped account only")
+    void violation_ShouldApplyLimitsInScope() throws Exception {
+        PreTradeCheck<Trade> check = trade(1, "{\"check\":\"trade\",\"account\":\"ACC-1\",\"max\":{\"buyQuantity\":100},"
+                + "\"min\":{\"buyPrice\":1}}");
+
+        assertNull(check.violation(Trade.builder().account("ACC-1").buyQuantity(100.0).build()));
+        assertEquals("Rule 1: buyQuantity 150 exceeds 100",
+                check.violation(Trade.builder().account("ACC-1").buyQuantity(150.0).build()));
+        assertEquals("Rule 1: buyPrice 0.5 is below 1",
+                check.violation(Trade.builder().account("ACC-1").buyPrice(0.5).build()));
+        assertNull(check.violation(Trade.builder().account("ACC-2").buyQuantity(150.0).build()));
+    }
+
+    @Test
+    @DisplayName("Should reject forbidden values given as a list or a single text")
+    void violation_ShouldRejectForbiddenValues() throws Exception {
+        PreTradeCheck<Trade> list = trade(1, "{\"check\":\"any\",\"book\":\"FX-LDN\",\"forbid\":{\"security\":[\"XYZ\",\"ABC\"]}}");
+        PreTradeCheck<Trade> single = trade(2, "{\"check\":\"trade\",\"forbid\":{\"security\":\"XYZ\"}}");
+
+        assertEquals("Rule 1: security ABC is forbidden",
+                list.violation(Trade.builder().book("FX-LDN").security("ABC").build()));
+        assertNull(list.violation(Trade.builder().book("FX-NY").security("ABC").build()));
+        assertNull(single.violation(Trade.builder().security("ABC").build()));
+        assertNull(single.violation(Trade.builder().build()));
+    }
+
+    @Test
+    @DisplayName("Should refuse unknown fields, wrong types and checks without constraint")
+    void compile_ShouldRefuseInvalidChecks() {
+        assertThrows(IllegalArgumentException.class, () -> trade(1, "{\"check\":\"trade\",\"max\":{\"bidQuantity\":1}}"));
+        assertThrows(IllegalArgumentException.class, () -> trade(1, "{\"check\":\"trade\",\"max\":{\"buyQuantity\":\"1\"}}"));
+        assertThrows(IllegalArgumentException.class, () -> trade(1, "{\"check\":\"trade\",\"account\":1,\"max\":{\"buyQuantity\":1}}"));
+        assertThrows(IllegalArgumentException.class, () -> trade(1, "{\"check\":\"trade\",\"account\":\"A\"}"));
+        assertThrows(IllegalArgumentException.class, () -> trade(1, "{\"check\":\"order\",\"max\":{\"buyQuantity\":1}}"));
+        assertThrows(IllegalArgumentException.class, () -> PreTradeCheck.compile(1, "r",
+                objectMapper.readTree("{\"check\":\"any\",\"max\":{\"buyQuantity\":1}}"), OrderFields.BID_LIST));
+    }
+
+    @Test
+    @DisplayName("Should tell which kinds of order a check applies to")
+    void appliesTo_ShouldFollowCheckKind() throws Exception {
+        JsonNode bid = objectMapper.readTree("{\"check\":\"bid\"}");
+        JsonNode any = objectMapper.readTree("{\"check\":\"any\"}");
+
+        assertTrue(PreTradeCheck.isCheck(bid));
+        assertFalse(PreTradeCheck.isCheck(objectMapper.readTree("{\"maxRows\":1}")));
+        assertTrue(PreTradeCheck.appliesTo(bid, OrderFields.BID_LIST));
+        assertFalse(PreTradeCheck.appliesTo(bid, OrderFields.TRADE));
+        assertTrue(PreTradeCheck.appliesTo(any, OrderFields.TRADE));
+    }
+
+    @Test
+    @DisplayName("Should find the same violations through the index as by checking every rule")
+    void violations_ShouldMatchFullScan() throws Exception {
+        List<PreTradeCheck<Trade>> checks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            checks.add(trade(i, "{\"check\":\"trade\",\"account\":\"ACC-" + i % 50 + "\",\"max\":{\"buyQuantity\":" + i + "}}"));
+        }
+        checks.add(trade(1000, "{\"check\":\"trade\",\"forbid\":{\"security\":[\"XYZ\",\"ABC\"]}}"));
+        checks.add(trade(1001, "{\"check\":\"trade\",\"book\":\"FX-LDN\",\"forbid\":{\"security\":\"ABC\"}}"));
+        checks.add(trade(1002, "{\"check\":\"trade\",\"max\":{\"sellQuantity\":1000}}"));
+        PreTradeRuleBook<Trade> book = new PreTradeRuleBook<>(OrderFields.TRADE, checks);
+
+        for (Trade order : List.of(
+                Trade.builder().account("ACC-7").buyQuantity(100.0).security("ABC").book("FX-LDN").build(),
+                Trade.builder().account("ACC-7").buyQuantity(1.0).sellQuantity(5000.0).build(),
+                Trade.builder().account("OTHER").buyQuantity(1e9).security("XYZ").build(),
+                Trade.builder().build())) {
+            List<String> expected = new ArrayList<>();
+            for (PreTradeCheck<Trade> check : checks) {
+                String violation = check.violation(order);
+                if (violation != null) {
+                    expected.add(violation);
+                }
+            }
+            assertEquals(expected.stream().sorted().toList(), book.violations(order).stream().sorted().toList());
+        }
+        assertEquals(203, book.size());
+    }
+
+    @Test
+    @DisplayName("Should check BidLists on their own fields")
+    void violations_ShouldCheckBidLists() throws Exception {
+        PreTradeRuleBook<BidList> book = new PreTradeRuleBook<>(OrderFields.BID_LIST, List.of(PreTradeCheck.compile(1,
+                "Max bid", objectMapper.readTree("{\"check\":\"bid\",\"trader\":\"T1\",\"max\":{\"bidQuantity\":10}}"),
+                OrderFields.BID_LIST)));
+
+        assertEquals(List.of("Max bid: bidQuantity 20 exceeds 10"),
+                book.violations(BidList.builder().trader("T1").bidQuantity(20.0).build()));
+        assertTrue(book.violations(BidList.builder().trader("T2").bidQuantity(20.0).build()).isEmpty());
+    }
+}
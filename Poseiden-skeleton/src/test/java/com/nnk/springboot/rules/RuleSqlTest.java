@@ -0,0 +1,117 @@
+package com.nnk.springboot.rules;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RuleSql.
+ * Tests the compilation of named parameters and the refusal of statements that are not read-only
+ * or read tables outside the allowed set.
+ */
+@DisplayName("RuleSql Tests")
+class RuleSqlTest {
+    private static final Set<String> TABLES = Set.of("trade", "bidlist", "rating");
+
+    @Test
+    @DisplayName("Should replace named parameters by placeholders and list the tables read")
+    void compile_ShouldBindNamedParameters() {
+        RuleSql sql = RuleSql.compile("select t.book, count(*) from Trade t join bidlist b on b.account = t.account"
+                + " where t.account = :account and t.buyQuantity > :min or t.book = :account group by t.book",
+                TABLES);
+
+        assertEquals("select t.book, count(*) from Trade t join bidlist b on b.account = t.account"
+                + " where t.account = ? and t.buyQuantity > ? or t.book = ? group by t.book", sql.jdbcSql());
+        assertEquals(List.of("account", "min", "account"), sql.parameters());
+        assertEquals(Set.of("trade", "bidlist"), sql.tables());
+    }
+
+    @Test
+    @DisplayName("Should leave colons inside string literals and casts alone")
+    void compile_ShouldIgnoreLiteralsAndCasts() {
+        RuleSql sql = RuleSql.compile("select book::varchar from trade, rating r where status = ':open'", TABLES);
+
+        assertEquals("select book::varchar from trade, rating r where status = ':open'", sql.jdbcSql());
+        assertTrue(sql.parameters().isEmpty());
+        assertEquals(Set.of("trade", "rating"), sql.tables());
+    }
+
+    @Test
+    @DisplayName("Should read the tables of sub-queries")
+    void compile_ShouldFollowSubQueries() {
+        RuleSql sql = RuleSql.compile("select * from (select account from bidlist) b where b.account in"
+                + " (select account from trade)", TABLES);
+
+        assertEquals(Set.of("bidlist", "trade"), sql.tables());
+    }
+
+    @Test
+    @DisplayName("Should refuse statements that write, chain or hide text")
+    void compile_ShouldRefuseNonReadOnlyStatements() {
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("delete from trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select 1 from trade; drop table trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * into copy from trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from trade -- comment", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from trade /* x */", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from trade where id = ?", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select 'open from trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select file_read('/etc/passwd') from trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("SQL 1 SQL Part 1", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile(" ", TABLES));
+    }
+
+    @Test
+    @DisplayName("Should refuse tables outside the allowed set, qualified names and table functions")
+    void compile_ShouldRefuseOtherTables() {
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from users", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from trade, users u", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from trade join \"users\" on 1 = 1", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from information_schema.tables", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from public.trade", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select * from table(x int = (1))", TABLES));
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile("select 1", TABLES));
+    }
+
+    @Test
+    @DisplayName("Should refuse TABLE, VALUES and functions running SQL held in a string")
+    void compile_WhenReadingOutsideFromClause_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select book from trade union table users", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select book from trade union values ('x')", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select query_to_xml('select * from users', true, true, '') from trade", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select Table_To_Xml('users', true, true, '') from trade", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select set_config('role', 'postgres', true) from trade", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select pg_ls_dir('.') from trade", TABLES));
+    }
+
+    @Test
+    @DisplayName("Should refuse forbidden functions written as quoted or Unicode escaped identifiers")
+    void compile_WhenFunctionIsQuoted_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> RuleSql.compile(
+                "select \"query_to_xml\"('select password from users', true, false, '') from trade", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select \"pg_read_file\"('/etc/passwd') from trade", TABLES));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleSql.compile("select U&\"\\0070g_read_file\"('/etc/passwd') from trade", TABLES));
+        assertDoesNotThrow(() -> RuleSql.compile("select \"book\", count(*) from trade group by \"book\"", TABLES));
+    }
+
+    @Test
+    @DisplayName("Should flag statements that aggregate rows")
+    void compile_ShouldFlagAggregates() {
+        assertTrue(RuleSql.compile("select book, count(*) from trade group by book", TABLES).aggregates());
+        assertTrue(RuleSql.compile("select distinct book from trade", TABLES).aggregates());
+        assertTrue(RuleSql.compile("select \"SUM\"(buy_quantity) from trade", TABLES).aggregates());
+        assertFalse(RuleSql.compile("select book, buy_quantity from trade where account = :account", TABLES)
+                .aggregates());
+    }
+}
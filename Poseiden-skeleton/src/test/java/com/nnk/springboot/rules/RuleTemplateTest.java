@@ -0,0 +1,60 @@
+package com.nnk.springboot.rules;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RuleTemplate.
+ * Tests the parsing of placeholders, the formatting of field values and the rejection of
+ * malformed templates.
+ */
+@DisplayName("RuleTemplate Tests")
+class RuleTemplateTest {
+
+    @Test
+    @DisplayName("Should replace each placeholder with the value of its field")
+    void render_ShouldReplacePlaceholders() {
+        RuleTemplate<Trade> template = RuleTemplate.compile("{{account}} bought {{ buyQuantity }} {{security}} in {{book}}",
+                OrderFields.TRADE);
+
+        assertEquals(4, template.placeholders());
+        assertEquals("ACC-1 bought 150 XYZ in FX-LDN", template.render(Trade.builder().account("ACC-1")
+                .buyQuantity(150.0).security("XYZ").book("FX-LDN").build()));
+        assertEquals("ACC-2 bought 0.25  in ", template.render(Trade.builder().account("ACC-2").buyQuantity(0.25).build()));
+    }
+
+    @Test
+    @DisplayName("Should render fields that are not checked, such as ids and dates")
+    void render_ShouldFormatIdsAndDates() {
+        RuleTemplate<BidList> template = RuleTemplate.compile("#{{id}} on {{bidListDate}}: {{commentary}}",
+                OrderFields.BID_LIST);
+
+        assertEquals("#7 on 2024-01-02T10:30: urgent", template.render(BidList.builder().id(7)
+                .bidListDate(Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 10, 30))).commentary("urgent").build()));
+    }
+
+    @Test
+    @DisplayName("Should keep a template without placeholders as it is")
+    void render_ShouldKeepLiteralTemplates() {
+        RuleTemplate<Trade> template = RuleTemplate.compile("Template 1 } {", OrderFields.TRADE);
+
+        assertEquals(0, template.placeholders());
+        assertEquals("Template 1 } {", template.render(Trade.builder().build()));
+    }
+
+    @Test
+    @DisplayName("Should reject unclosed placeholders, unknown fields and missing templates")
+    void compile_ShouldRejectMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> RuleTemplate.compile("{{account} bought", OrderFields.TRADE));
+        assertThrows(IllegalArgumentException.class, () -> RuleTemplate.compile("{{bidQuantity}}", OrderFields.TRADE));
+        assertThrows(IllegalArgumentException.class, () -> RuleTemplate.compile(null, OrderFields.BID_LIST));
+        assertDoesNotThrow(() -> RuleTemplate.compile("{{bidQuantity}}", OrderFields.BID_LIST));
+    }
+}
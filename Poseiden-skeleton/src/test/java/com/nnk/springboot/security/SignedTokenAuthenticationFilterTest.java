@@ -0,0 +1,91 @@
+package com.nnk.springboot.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SignedTokenAuthenticationFilter.
+ * Tests authentication from bearer and cookie tokens.
+ */
+@DisplayName("SignedTokenAuthenticationFilter Tests")
+class SignedTokenAuthenticationFilterTest {
+
+    private SignedTokenService tokenService;
+    private SignedTokenAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new SignedTokenService("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8),
+                3600, new TokenDenyList());
+        filter = new SignedTokenAuthenticationFilter(tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a request with a bearer token")
+    void doFilter_WithBearerToken_ShouldAuthenticate() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + tokenService.issue("user", List.of("ROLE_USER"),
+                System.currentTimeMillis() / 1000));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("user", authentication.getName());
+        assertEquals(List.of("ROLE_USER"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("Should authenticate a request with a token cookie")
+    void doFilter_WithTokenCookie_ShouldAuthenticate() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(SignedTokenAuthenticationFilter.COOKIE_NAME,
+                tokenService.issue("admin", List.of("ROLE_ADMIN"), System.currentTimeMillis() / 1000)));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertEquals("admin", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    @DisplayName("Should leave a request with an invalid token unauthenticated")
+    void doFilter_WithInvalidToken_ShouldNotAuthenticate() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer forged.token");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,94 @@
+package com.nnk.springboot.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SignedTokenService.
+ * Tests issuing, verification, tampering, expiry and revocation of tokens.
+ */
+@DisplayName("SignedTokenService Tests")
+class SignedTokenServiceTest {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private SignedTokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new SignedTokenService(SECRET, 3600, new TokenDenyList());
+    }
+
+    @Test
+    @DisplayName("Should read back the user, roles and expiry of an issued token")
+    void verify_WhenIssued_ShouldReturnClaims() {
+        // Given
+        long now = System.currentTimeMillis() / 1000;
+        String token = tokenService.issue("user.name@bank", List.of("ROLE_USER", "ROLE_ADMIN"), now);
+
+        // When
+        Optional<SignedToken> claims = tokenService.verify(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertEquals("user.name@bank", claims.get().username());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), claims.get().roles());
+        assertEquals(now + 3600, claims.get().expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose payload or signature was altered")
+    void verify_WhenTampered_ShouldReturnEmpty() {
+        // Given
+        String token = tokenService.issue("user", List.of("ROLE_USER"), System.currentTimeMillis() / 1000);
+        String elevated = token.replace("ROLE_USER", "ROLE_ADMIN");
+        SignedTokenService otherKey = new SignedTokenService("another secret of at least 32 bytes"
+                .getBytes(StandardCharsets.UTF_8), 3600, new TokenDenyList());
+
+        // When & Then
+        assertTrue(tokenService.verify(elevated).isEmpty());
+        assertTrue(otherKey.verify(token).isEmpty());
+        assertTrue(tokenService.verify("garbage").isEmpty());
+        assertTrue(tokenService.verify("a.b.c.d.e.!!").isEmpty());
+        assertTrue(tokenService.verify(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_WhenExpired_ShouldReturnEmpty() {
+        // Given
+        String token = tokenService.issue("user", List.of("ROLE_USER"), System.currentTimeMillis() / 1000 - 7200);
+
+        // When & Then
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token and accept the other tokens of the user")
+    void verify_WhenRevoked_ShouldReturnEmpty() {
+        // Given
+        long now = System.currentTimeMillis() / 1000;
+        String revoked = tokenService.issue("user", List.of("ROLE_USER"), now);
+        String other = tokenService.issue("user", List.of("ROLE_USER"), now);
+
+        // When
+        tokenService.revoke(tokenService.verify(revoked).orElseThrow());
+
+        // Then
+        assertTrue(tokenService.verify(revoked).isEmpty());
+        assertTrue(tokenService.verify(other).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should refuse a short secret")
+    void constructor_WhenSecretShort_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SignedTokenService("short".getBytes(StandardCharsets.UTF_8), 3600, new TokenDenyList()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.ApiPage;
+import com.nnk.springboot.repositories.ProjectionRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ApiService.
+ * Tests page size handling and cursor computation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApiService Tests")
+class ApiServiceTest {
+
+    @Mock
+    private ProjectionRepository projectionRepository;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
+    @InjectMocks
+    private ApiService apiService;
+
+    @Test
+    @DisplayName("Should return the id of the last row as cursor when more rows follow")
+    void findPage_WhenMoreRows_ShouldReturnNextCursor() {
+        // Given
+        List<Map<String, Object>> rows = List.of(Map.of("tradeId", 1), Map.of("tradeId", 2), Map.of("tradeId", 3));
+        when(projectionRepository.findPage(Trade.class, null, 3, List.of())).thenReturn(rows);
+
+        // When
+        ApiPage page = apiService.findPage(ApiResource.TRADE, null, 2, List.of());
+
+        // Then
+        assertEquals(2, page.data().size());
+        assertEquals(2, page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void findPage_WhenLastPage_ShouldReturnNullCursor() {
+        // Given
+        when(projectionRepository.findPage(Trade.class, 2, 3, List.of("account")))
+                .thenReturn(List.of(Map.of("tradeId", 3, "account", "ACC1")));
+
+        // When
+        ApiPage page = apiService.findPage(ApiResource.TRADE, 2, 2, List.of("account"));
+
+        // Then
+        assertEquals(1, page.data().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should apply the default and maximum page sizes")
+    void findPage_ShouldBoundLimit() {
+        // Given
+        when(projectionRepository.findPage(eq(Trade.class), any(), anyInt(), anyList())).thenReturn(List.of());
+
+        // When
+        apiService.findPage(ApiResource.TRADE, null, null, List.of());
+        apiService.findPage(ApiResource.TRADE, null, 100_000, List.of());
+
+        // Then
+        verify(projectionRepository).findPage(Trade.class, null, ApiService.DEFAULT_LIMIT + 1, List.of());
+        verify(projectionRepository).findPage(Trade.class, null, ApiService.MAX_LIMIT + 1, List.of());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive page size")
+    void findPage_WithInvalidLimit_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> apiService.findPage(ApiResource.TRADE, null, 0, List.of()));
+        verifyNoInteractions(projectionRepository);
+    }
+}
@@ -0,0 +1,107 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.ProjectionRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AutocompleteService.
+ * Tests startup loading and maintenance on write events.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutocompleteService Tests")
+class AutocompleteServiceTest {
+
+    @Mock
+    private ProjectionRepository projectionRepository;
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @InjectMocks
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        when(projectionRepository.countByValue(any(), anyString())).thenReturn(Map.of());
+        when(projectionRepository.countByValue(BidList.class, "account")).thenReturn(Map.of("ACC001", 3L, "ACC002", 1L));
+        when(projectionRepository.countByValue(Trade.class, "account")).thenReturn(Map.of("ACC002", 5L));
+        autocompleteService.run();
+    }
+
+    @Test
+    @DisplayName("Should load the values of both tables ranked by total use")
+    void run_ShouldMergeBidListAndTradeCounts() {
+        assertEquals(List.of("ACC002", "ACC001"), autocompleteService.complete(AutocompleteField.ACCOUNT, "acc", 10));
+        assertEquals(List.of(), autocompleteService.complete(AutocompleteField.BOOK, "", 10));
+        verify(projectionRepository).countByValue(Trade.class, "trader");
+    }
+
+    @Test
+    @DisplayName("Should add the values of saved entities")
+    void onSaved_ShouldAddValues() {
+        // When
+        autocompleteService.onBidListSaved(new BidListSavedEvent(
+                BidList.builder().id(1).account("ACC003").book("RATES").build(), true));
+        autocompleteService.onTradeSaved(new TradeSavedEvent(
+                Trade.builder().tradeId(1).account("ACC003").trader("Alice").build(), false));
+
+        // Then
+        assertEquals(List.of("ACC002", "ACC001", "ACC003"), autocompleteService.complete(AutocompleteField.ACCOUNT, "acc", 10));
+        assertEquals(List.of("RATES"), autocompleteService.complete(AutocompleteField.BOOK, "r", 10));
+        assertEquals(List.of("Alice"), autocompleteService.complete(AutocompleteField.TRADER, "al", 10));
+    }
+
+    @Test
+    @DisplayName("Should add the values written by a partial update of a completed field")
+    void onEntitiesUpdated_WhenCompletedField_ShouldReloadEntities() {
+        // Given
+        when(tradeRepository.findAllById(List.of(7))).thenReturn(List.of(Trade.builder().tradeId(7).book("FX").build()));
+
+        // When
+        autocompleteService.onEntitiesUpdated(new EntitiesUpdatedEvent(Trade.class, List.of(7), Set.of("book", "buyQuantity")));
+
+        // Then
+        assertEquals(List.of("FX"), autocompleteService.complete(AutocompleteField.BOOK, "f", 10));
+    }
+
+    @Test
+    @DisplayName("Should ignore updates of other fields")
+    void onEntitiesUpdated_WhenOtherField_ShouldNotReload() {
+        // When
+        autocompleteService.onEntitiesUpdated(new EntitiesUpdatedEvent(BidList.class, List.of(7), Set.of("status")));
+
+        // Then
+        verify(bidListRepository, never()).findAllById(eq(List.of(7)));
+    }
+}
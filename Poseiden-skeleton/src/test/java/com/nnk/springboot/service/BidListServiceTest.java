@@ -1,20 +1,37 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.BidListSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.BidListSavedEvent;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.sharding.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +45,21 @@ class BidListServiceTest {
     @Mock
     private BidListRepository bidListRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
+    @Mock
+    private PreTradeCheckService preTradeCheckService;
+
     @InjectMocks
     private BidListService bidListService;
 
@@ -59,6 +91,32 @@ class BidListServiceTest {
         verify(bidListRepository).save(testBidList);
     }
 
+    @Test
+    @DisplayName("Should not save a BidList rejected by the pre-trade checks")
+    void save_WhenPreTradeCheckFails_ShouldNotSave() {
+        // Given
+        doThrow(new PreTradeCheckException(List.of("Blocked security: security XYZ is forbidden")))
+                .when(preTradeCheckService).check(testBidList);
+
+        // When / Then
+        assertThrows(PreTradeCheckException.class, () -> bidListService.save(testBidList));
+        verify(bidListRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should publish a creation event when saving a new BidList")
+    void save_WhenBidListIsNew_ShouldPublishCreatedEvent() {
+        // Given
+        BidList newBidList = BidList.builder().account("New Account").type("New Type").build();
+        when(bidListRepository.save(newBidList)).thenReturn(testBidList);
+
+        // When
+        bidListService.save(newBidList);
+
+        // Then
+        verify(eventPublisher).publishEvent(new BidListSavedEvent(testBidList, true));
+    }
+
     @Test
     @DisplayName("Should find all BidLists")
     void findAll_ShouldReturnAllBidLists() {
@@ -79,6 +137,22 @@ class BidListServiceTest {
         verify(bidListRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should retrieve the list page summaries")
+    void findAllSummaries_ShouldReturnSummaries() {
+        // Given
+        List<BidListSummary> summaries = List.of(new BidListSummary(1, "Test Account", "Test Type", 100.0));
+        when(bidListRepository.findAllSummaries()).thenReturn(summaries);
+
+        // When
+        List<BidListSummary> result = bidListService.findAllSummaries();
+
+        // Then
+        assertEquals(summaries, result);
+        verify(bidListRepository).findAllSummaries();
+        verify(bidListRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should find BidList by ID")
     void findById_WhenBidListExists_ShouldReturnBidList() {
@@ -113,12 +187,69 @@ class BidListServiceTest {
     void deleteById_WhenIdValid_ShouldDeleteBidList() {
         // Given
         Integer bidListId = 1;
+        when(bidListRepository.deleteByIds(List.of(bidListId))).thenReturn(1);
+
+        // When
+        boolean deleted = bidListService.deleteById(bidListId);
+
+        // Then
+        assertTrue(deleted);
+        verify(bidListRepository).deleteByIds(List.of(bidListId));
+        verify(bidListRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should report a missing BidList on delete")
+    void deleteById_WhenNotExists_ShouldReturnFalse() {
+        // Given
+        when(bidListRepository.deleteByIds(List.of(99))).thenReturn(0);
+
+        // When & Then
+        assertFalse(bidListService.deleteById(99));
+    }
+
+    @Test
+    @DisplayName("Should delete several BidLists with one statement")
+    void deleteByIds_WhenIdsGiven_ShouldReturnDeletedCount() {
+        // Given
+        when(bidListRepository.deleteByIds(List.of(1, 2, 3))).thenReturn(2);
 
         // When
-        bidListService.deleteById(bidListId);
+        int deleted = bidListService.deleteByIds(List.of(1, 2, 3));
 
         // Then
-        verify(bidListRepository).deleteById(bidListId);
+        assertEquals(2, deleted);
+        verify(eventPublisher).publishEvent(new EntitiesDeletedEvent(BidList.class, List.of(1, 2, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not query when no BidList is selected")
+    void deleteByIds_WhenIdsEmpty_ShouldNotQuery() {
+        assertEquals(0, bidListService.deleteByIds(List.of()));
+        assertEquals(0, bidListService.deleteByIds(null));
+        verifyNoInteractions(bidListRepository);
+    }
+
+    @Test
+    @DisplayName("Should update status of several BidLists with one statement")
+    void updateStatus_WhenIdsGiven_ShouldReturnUpdatedCount() {
+        // Given
+        when(bidListRepository.updateStatusByIds(List.of(1, 2), "CLOSED")).thenReturn(2);
+
+        // When
+        int updated = bidListService.updateStatus(List.of(1, 2), " CLOSED ");
+
+        // Then
+        assertEquals(2, updated);
+        verify(bidListRepository).updateStatusByIds(List.of(1, 2), "CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should reject a status longer than 10 characters")
+    void updateStatus_WhenStatusTooLong_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bidListService.updateStatus(List.of(1), "MUCH TOO LONG STATUS"));
+        verifyNoInteractions(bidListRepository);
     }
 
     @Test
@@ -148,4 +279,159 @@ class BidListServiceTest {
         assertFalse(exists);
         verify(bidListRepository).existsById(99);
     }
+
+    @Test
+    @DisplayName("Should patch only the given fields with the expected version")
+    void patch_WhenVersionMatches_ShouldUpdateChangedFields() {
+        // Given
+        Map<String, Object> changes = Map.of("bidQuantity", 250.0);
+        when(bidListRepository.updatePartially(1, 3, changes)).thenReturn(1);
+
+        // When
+        boolean updated = bidListService.patch(1, 3, changes);
+
+        // Then
+        assertTrue(updated);
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(BidList.class, List.of(1), Set.of("bidQuantity")));
+        verify(bidListRepository).updatePartially(1, 3, changes);
+        verify(bidListRepository, never()).save(any(BidList.class));
+    }
+
+    @Test
+    @DisplayName("Should take patched values from the submitted fields of a bound BidList")
+    void patch_WithBoundValues_ShouldKeepOnlyPatchableFields() {
+        // Given
+        testBidList.setVersion(2);
+        when(bidListRepository.updatePartially(eq(1), eq(2), anyMap())).thenReturn(1);
+
+        // When
+        boolean updated = bidListService.patch(1, testBidList, List.of("account", "bidQuantity", "id", "version", "_csrf"));
+
+        // Then
+        assertTrue(updated);
+        verify(bidListRepository).updatePartially(1, 2, Map.of("account", testBidList.getAccount(),
+                "bidQuantity", testBidList.getBidQuantity()));
+    }
+
+    @Test
+    @DisplayName("Should reject fields that cannot be patched")
+    void patch_WithUnknownField_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> bidListService.patch(1, 0, Map.of("creationName", "Someone")));
+        verify(bidListRepository, never()).updatePartially(any(), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should reject patched values that fail validation")
+    @SuppressWarnings("unchecked")
+    void patch_WithInvalidValue_ShouldThrowException() {
+        // Given
+        ConstraintViolation<BidList> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("must be greater than 0");
+        when(validator.validateValue(BidList.class, "bidQuantity", -1.0)).thenReturn(Set.of(violation));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> bidListService.patch(1, 0, Map.of("bidQuantity", -1.0)));
+        verify(bidListRepository, never()).updatePartially(any(), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should return false when patching a missing BidList")
+    void patch_WhenBidListNotExists_ShouldReturnFalse() {
+        // Given
+        Map<String, Object> changes = Map.of("bidQuantity", 250.0);
+        when(bidListRepository.updatePartially(99, 0, changes)).thenReturn(0);
+        when(bidListRepository.existsById(99)).thenReturn(false);
+
+        // When
+        boolean updated = bidListService.patch(99, 0, changes);
+
+        // Then
+        assertFalse(updated);
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the BidList was modified concurrently")
+    void patch_WhenVersionIsStale_ShouldThrowOptimisticLockingFailure() {
+        // Given
+        Map<String, Object> changes = Map.of("bidQuantity", 250.0);
+        when(bidListRepository.updatePartially(1, 0, changes)).thenReturn(0);
+        when(bidListRepository.existsById(1)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bidListService.patch(1, 0, changes));
+    }
+
+    @Test
+    @DisplayName("Should run the pre-trade checks on the patched BidList and not update it when rejected")
+    void patch_WhenPreTradeCheckFails_ShouldNotUpdate() {
+        // Given
+        testBidList.setVersion(3);
+        when(preTradeCheckService.checksBidLists()).thenReturn(true);
+        when(bidListRepository.findById(1)).thenReturn(Optional.of(testBidList));
+        doThrow(new PreTradeCheckException(List.of("Max quantity: bidQuantity 250 exceeds 200")))
+                .when(preTradeCheckService).check(argThat((BidList merged) -> merged.getBidQuantity() == 250.0
+                        && merged.getAccount().equals(testBidList.getAccount())));
+
+        // When & Then
+        assertThrows(PreTradeCheckException.class, () -> bidListService.patch(1, 3, Map.of("bidQuantity", 250.0)));
+        assertEquals(100.0, testBidList.getBidQuantity());
+        verify(bidListRepository, never()).updatePartially(any(), any(), anyMap());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should patch the checked version of the BidList when no version is expected")
+    void patch_WhenPreTradeCheckPasses_ShouldUpdateCheckedVersion() {
+        // Given
+        testBidList.setVersion(3);
+        Map<String, Object> changes = Map.of("bidQuantity", 150.0);
+        when(preTradeCheckService.checksBidLists()).thenReturn(true);
+        when(bidListRepository.findById(1)).thenReturn(Optional.of(testBidList));
+        when(bidListRepository.updatePartially(1, 3, changes)).thenReturn(1);
+
+        // When
+        boolean updated = bidListService.patch(1, null, changes);
+
+        // Then
+        assertTrue(updated);
+        verify(preTradeCheckService).check(argThat((BidList merged) -> merged.getBidQuantity() == 150.0));
+    }
+
+    @Test
+    @DisplayName("Should insert a batch as new BidLists and publish an event for each")
+    void insertAll_ShouldDiscardIdsAndPublishEvents() {
+        // Given
+        BidList incoming = BidList.builder().id(42).version(3).account("Feed").type("Type").build();
+        when(bidListRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<BidList> saved = bidListService.insertAll(List.of(incoming));
+
+        // Then
+        assertEquals(1, saved.size());
+        assertNull(incoming.getId());
+        assertNull(incoming.getVersion());
+        verify(eventPublisher).publishEvent(any(BidListSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should keep and publish the shards written before a failing shard")
+    void insertAll_WhenShardFails_ShouldPublishCommittedShards() {
+        // Given
+        BidList first = BidList.builder().account("Feed").type("Type").book("B1").build();
+        BidList second = BidList.builder().account("Feed").type("Type").book("B2").build();
+        doAnswer(invocation -> "B2".equals(invocation.getArgument(0)) ? "emea" : "default").when(shardRouter).shardFor(any());
+        when(bidListRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataAccessResourceFailureException("emea is down"));
+
+        // When / Then
+        assertThrows(DataAccessResourceFailureException.class, () -> bidListService.insertAll(List.of(first, second)));
+        verify(bidListRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher).publishEvent(new BidListSavedEvent(first, true));
+        verify(eventPublisher, times(1)).publishEvent(any(BidListSavedEvent.class));
+    }
 }
@@ -0,0 +1,148 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.dto.CurvePointSummary;
+import com.nnk.springboot.dto.CurvePointVersion;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.repositories.CurvePointHistoryRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CurveHistoryService.
+ * Tests startup loading, history maintenance on write events and refresh from the database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurveHistoryService Tests")
+class CurveHistoryServiceTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    @Mock
+    private CurvePointHistoryRepository curvePointHistoryRepository;
+
+    private CurveHistoryService curveHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        curveHistoryService = new CurveHistoryService(curvePointRepository, curvePointHistoryRepository, 0);
+        when(curvePointHistoryRepository.findVersionsAfter(0)).thenReturn(List.of(
+                new CurvePointVersion(10, 1, 7, 1.0, 10.0, Timestamp.valueOf(MONDAY)),
+                new CurvePointVersion(11, 2, 7, 5.0, 20.0, null),
+                new CurvePointVersion(12, 3, 7, null, 30.0, Timestamp.valueOf(MONDAY))));
+        curveHistoryService.run();
+    }
+
+    @Test
+    @DisplayName("Should load stored versions, undated ones being valid since always")
+    void run_ShouldLoadVersions() {
+        // Then
+        assertEquals(List.of(CurveHistoryService.ALWAYS, MONDAY), curveHistoryService.versions(7));
+        assertEquals(List.of(20.0), values(curveHistoryService.asOf(7, MONDAY.minusDays(1)).orElseThrow()));
+        assertEquals(List.of(10.0, 20.0), values(curveHistoryService.latest(7).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should add the version recorded by a save and drop deleted points")
+    void onEvents_ShouldMaintainHistory() {
+        // Given
+        when(curvePointHistoryRepository.findFirstByCurvePointIdOrderByIdDesc(1)).thenReturn(Optional.of(
+                CurvePointHistory.builder().id(13).curvePointId(1).term(1.0).value(12.0)
+                        .asOfDate(Timestamp.valueOf(MONDAY.plusDays(1))).build()));
+
+        // When
+        curveHistoryService.onCurvePointSaved(new CurvePointSavedEvent(CurvePoint.builder().id(1).curveId(7).term(1.0)
+                .value(12.0).asOfDate(Timestamp.valueOf(MONDAY.plusDays(1))).build(), false));
+
+        // Then
+        assertEquals(List.of(12.0, 20.0), values(curveHistoryService.latest(7).orElseThrow()));
+
+        // When
+        curveHistoryService.onEntitiesDeleted(new EntitiesDeletedEvent(CurvePoint.class, List.of(2)));
+
+        // Then
+        assertEquals(List.of(10.0), values(curveHistoryService.asOf(7, MONDAY).orElseThrow()));
+        assertEquals(List.of(12.0), values(curveHistoryService.latest(7).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should move versions to their new curve")
+    void onEntitiesUpdated_WhenCurveChanged_ShouldMoveVersions() {
+        // Given
+        when(curvePointRepository.findAllById(List.of(1))).thenReturn(List.of(
+                CurvePoint.builder().id(1).curveId(8).term(1.0).value(10.0).asOfDate(Timestamp.valueOf(MONDAY)).build()));
+
+        // When
+        curveHistoryService.onEntitiesUpdated(new EntitiesUpdatedEvent(CurvePoint.class, List.of(1), Set.of("curveId")));
+
+        // Then
+        assertEquals(List.of(20.0), values(curveHistoryService.latest(7).orElseThrow()));
+        assertEquals(List.of(10.0), values(curveHistoryService.latest(8).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should follow versions added, points moved and deleted on another node")
+    void refresh_ShouldFollowChangesMadeElsewhere() {
+        // Given
+        when(curvePointHistoryRepository.findVersionsAfter(12)).thenReturn(List.of(
+                new CurvePointVersion(14, 1, 8, 1.0, 11.0, Timestamp.valueOf(MONDAY.plusDays(1)))));
+        when(curvePointRepository.findAllSummaries()).thenReturn(List.of(
+                new CurvePointSummary(1, 8, 1.0, 11.0), new CurvePointSummary(3, 7, null, 30.0)));
+        when(curvePointHistoryRepository.countCurveVersions()).thenReturn(3L);
+
+        // When
+        curveHistoryService.refresh();
+
+        // Then
+        assertTrue(curveHistoryService.latest(7).orElseThrow().points().isEmpty());
+        assertEquals(List.of(11.0), values(curveHistoryService.latest(8).orElseThrow()));
+        assertEquals(List.of(10.0), values(curveHistoryService.asOf(8, MONDAY).orElseThrow()));
+        verify(curvePointHistoryRepository, times(1)).findVersionsAfter(0);
+    }
+
+    @Test
+    @DisplayName("Should read the whole history again when the table holds other versions")
+    void refresh_WhenCountDiffers_ShouldReload() {
+        // Given
+        when(curvePointHistoryRepository.findVersionsAfter(12)).thenReturn(List.of());
+        when(curvePointRepository.findAllSummaries()).thenReturn(List.of(new CurvePointSummary(1, 7, 1.0, 10.0),
+                new CurvePointSummary(2, 7, 5.0, 20.0), new CurvePointSummary(3, 7, null, 30.0)));
+        when(curvePointHistoryRepository.countCurveVersions()).thenReturn(4L);
+        when(curvePointHistoryRepository.findVersionsAfter(0)).thenReturn(List.of(
+                new CurvePointVersion(10, 1, 7, 1.0, 10.0, Timestamp.valueOf(MONDAY)),
+                new CurvePointVersion(9, 2, 7, 5.0, 15.0, null),
+                new CurvePointVersion(11, 2, 7, 5.0, 20.0, Timestamp.valueOf(MONDAY)),
+                new CurvePointVersion(12, 3, 7, null, 30.0, Timestamp.valueOf(MONDAY))));
+
+        // When
+        curveHistoryService.refresh();
+
+        // Then
+        assertEquals(List.of(15.0), values(curveHistoryService.asOf(7, MONDAY.minusDays(1)).orElseThrow()));
+        assertEquals(List.of(10.0, 20.0), values(curveHistoryService.latest(7).orElseThrow()));
+    }
+
+    private static List<Double> values(CurveHistory.Snapshot snapshot) {
+        return snapshot.points().stream().map(CurveHistory.Point::value).toList();
+    }
+}
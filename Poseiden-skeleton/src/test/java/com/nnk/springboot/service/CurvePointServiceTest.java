@@ -1,17 +1,29 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointHistory;
+import com.nnk.springboot.dto.CurvePointSummary;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.repositories.CurvePointHistoryRepository;
 import com.nnk.springboot.repositories.CurvePointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +40,15 @@ class CurvePointServiceTest {
     @Mock
     private CurvePointRepository curvePointRepository;
 
+    @Mock
+    private CurvePointHistoryRepository curvePointHistoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
     @InjectMocks
     private CurvePointService curvePointService;
 
@@ -44,20 +65,66 @@ class CurvePointServiceTest {
     }
 
     @Test
-    @DisplayName("Should save CurvePoint successfully")
-    void save_WhenCurvePointValid_ShouldSaveCurvePoint() {
+    @DisplayName("Should update CurvePoint in place and record its version")
+    void save_WhenCurvePointExists_ShouldUpdateAndRecordVersion() {
         // Given
-        when(curvePointRepository.save(any(CurvePoint.class))).thenReturn(testCurvePoint);
+        Timestamp creationDate = Timestamp.valueOf("2024-01-15 09:00:00");
+        when(curvePointRepository.findById(1)).thenReturn(Optional.of(CurvePoint.builder().id(1)
+                .creationDate(creationDate).build()));
+        when(curvePointRepository.save(any(CurvePoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<CurvePointHistory> version = ArgumentCaptor.forClass(CurvePointHistory.class);
 
         // When
         CurvePoint savedCurvePoint = curvePointService.save(testCurvePoint);
 
         // Then
-        assertNotNull(savedCurvePoint);
-        assertEquals(testCurvePoint.getCurveId(), savedCurvePoint.getCurveId());
-        assertEquals(testCurvePoint.getTerm(), savedCurvePoint.getTerm());
-        assertEquals(testCurvePoint.getValue(), savedCurvePoint.getValue());
+        assertEquals(1, savedCurvePoint.getId());
+        assertNotNull(savedCurvePoint.getAsOfDate());
+        assertEquals(creationDate, savedCurvePoint.getCreationDate());
         verify(curvePointRepository).save(testCurvePoint);
+        verify(curvePointHistoryRepository).save(version.capture());
+        assertNull(version.getValue().getId());
+        assertEquals(1, version.getValue().getCurvePointId());
+        assertEquals(10.0, version.getValue().getTerm());
+        assertEquals(30.0, version.getValue().getValue());
+        assertEquals(savedCurvePoint.getAsOfDate(), version.getValue().getAsOfDate());
+        verify(eventPublisher).publishEvent(new CurvePointSavedEvent(testCurvePoint, false));
+    }
+
+    @Test
+    @DisplayName("Should create a new CurvePoint with its first version")
+    void save_WhenCurvePointNew_ShouldCreateIt() {
+        // Given
+        testCurvePoint.setId(null);
+        when(curvePointRepository.save(any(CurvePoint.class))).thenAnswer(invocation -> {
+            CurvePoint curvePoint = invocation.getArgument(0);
+            curvePoint.setId(5);
+            return curvePoint;
+        });
+
+        // When
+        CurvePoint savedCurvePoint = curvePointService.save(testCurvePoint);
+
+        // Then
+        assertNotNull(savedCurvePoint.getCreationDate());
+        verify(curvePointRepository, never()).findById(any());
+        verify(curvePointHistoryRepository).save(argThat(version -> version.getCurvePointId() == 5));
+        verify(eventPublisher).publishEvent(new CurvePointSavedEvent(testCurvePoint, true));
+    }
+
+    @Test
+    @DisplayName("Should keep the as-of date given for a version")
+    void save_WhenAsOfDateGiven_ShouldKeepIt() {
+        // Given
+        Timestamp asOfDate = Timestamp.valueOf("2024-01-16 00:00:00");
+        testCurvePoint.setAsOfDate(asOfDate);
+        when(curvePointRepository.save(any(CurvePoint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        CurvePoint savedCurvePoint = curvePointService.save(testCurvePoint);
+
+        // Then
+        assertEquals(asOfDate, savedCurvePoint.getAsOfDate());
     }
 
     @Test
@@ -80,6 +147,22 @@ class CurvePointServiceTest {
         verify(curvePointRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should retrieve the list page summaries")
+    void findAllSummaries_ShouldReturnSummaries() {
+        // Given
+        List<CurvePointSummary> summaries = List.of(new CurvePointSummary(1, 1, 10.0, 30.0));
+        when(curvePointRepository.findAllSummaries()).thenReturn(summaries);
+
+        // When
+        List<CurvePointSummary> result = curvePointService.findAllSummaries();
+
+        // Then
+        assertEquals(summaries, result);
+        verify(curvePointRepository).findAllSummaries();
+        verify(curvePointRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should find CurvePoint by ID")
     void findById_WhenCurvePointExists_ShouldReturnCurvePoint() {
@@ -114,12 +197,71 @@ class CurvePointServiceTest {
     void deleteById_WhenIdValid_ShouldDeleteCurvePoint() {
         // Given
         Integer curvePointId = 1;
+        when(curvePointRepository.deleteByIds(List.of(curvePointId))).thenReturn(1);
+
+        // When
+        boolean deleted = curvePointService.deleteById(curvePointId);
+
+        // Then
+        assertTrue(deleted);
+        verify(curvePointRepository).deleteByIds(List.of(curvePointId));
+        verify(curvePointRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should report a missing CurvePoint on delete")
+    void deleteById_WhenNotExists_ShouldReturnFalse() {
+        // Given
+        when(curvePointRepository.deleteByIds(List.of(99))).thenReturn(0);
+
+        // When & Then
+        assertFalse(curvePointService.deleteById(99));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should delete several CurvePoints with one statement")
+    void deleteByIds_WhenIdsGiven_ShouldReturnDeletedCount() {
+        // Given
+        when(curvePointRepository.deleteByIds(List.of(1, 2, 3))).thenReturn(2);
 
         // When
-        curvePointService.deleteById(curvePointId);
+        int deleted = curvePointService.deleteByIds(List.of(1, 2, 3));
 
         // Then
-        verify(curvePointRepository).deleteById(curvePointId);
+        assertEquals(2, deleted);
+        verify(curvePointHistoryRepository).deleteByCurvePointIds(List.of(1, 2, 3));
+        verify(eventPublisher).publishEvent(new EntitiesDeletedEvent(CurvePoint.class, List.of(1, 2, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not query when no CurvePoint is selected")
+    void deleteByIds_WhenIdsEmpty_ShouldNotQuery() {
+        assertEquals(0, curvePointService.deleteByIds(List.of()));
+        assertEquals(0, curvePointService.deleteByIds(null));
+        verifyNoInteractions(curvePointRepository, curvePointHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should move several CurvePoints to another curve with one statement")
+    void updateCurveId_WhenIdsGiven_ShouldReturnUpdatedCount() {
+        // Given
+        when(curvePointRepository.updateCurveIdByIds(List.of(1, 2), 7)).thenReturn(2);
+
+        // When
+        int updated = curvePointService.updateCurveId(List.of(1, 2), 7);
+
+        // Then
+        assertEquals(2, updated);
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(CurvePoint.class, List.of(1, 2), Set.of("curveId")));
+    }
+
+    @Test
+    @DisplayName("Should reject a non positive curve identifier")
+    void updateCurveId_WhenCurveIdInvalid_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> curvePointService.updateCurveId(List.of(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> curvePointService.updateCurveId(List.of(1), null));
+        verifyNoInteractions(curvePointRepository);
     }
 
     @Test
@@ -0,0 +1,226 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.DashboardEntry;
+import com.nnk.springboot.dto.DashboardSection;
+import com.nnk.springboot.dto.DashboardTotal;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.CurvePointSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardService.
+ * Tests the counters computed by the database and their maintenance on write events.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardService Tests")
+class DashboardServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 12, 0);
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        dashboardService = new DashboardService(bidListRepository, tradeRepository, curvePointRepository,
+                ratingRepository, ruleNameRepository, ShardRouter.single(), 0,
+                Clock.fixed(NOW.atZone(zone).toInstant(), zone));
+        when(bidListRepository.findDashboardTotals()).thenReturn(List.of(
+                new DashboardTotal("OPEN", 2L, 15.0), new DashboardTotal(null, 1L, null)));
+        when(tradeRepository.findDashboardTotals(at(NOW.toLocalDate().atStartOfDay()),
+                at(NOW.toLocalDate().plusDays(1).atStartOfDay()))).thenReturn(List.of(
+                new DashboardTotal("BOOK1", 1L, 1000.0), new DashboardTotal("BOOK2", 1L, 100.0)));
+        when(tradeRepository.count()).thenReturn(3L);
+        when(curvePointRepository.findDashboardTotals()).thenReturn(List.of(
+                new DashboardTotal("1", 2L), new DashboardTotal("10", 1L), new DashboardTotal("2", 1L)));
+        when(ratingRepository.findDashboardTotals()).thenReturn(List.of(
+                new DashboardTotal("Aaa", 2L), new DashboardTotal("Aa1", 1L)));
+        when(ruleNameRepository.count()).thenReturn(2L);
+        dashboardService.run();
+    }
+
+    @Test
+    @DisplayName("Should count BidLists per status with their bid quantity")
+    void bidLists_AfterStartup_ShouldGroupByStatus() {
+        // When
+        DashboardSection section = dashboardService.bidLists();
+
+        // Then
+        assertEquals(3, section.count());
+        assertEquals(List.of(new DashboardEntry("", 1, 0.0), new DashboardEntry("OPEN", 2, 15.0)), section.entries());
+    }
+
+    @Test
+    @DisplayName("Should sum today's notional per book and count every trade")
+    void trades_AfterStartup_ShouldReturnTodaysNotionalPerBook() {
+        // When
+        DashboardSection section = dashboardService.trades();
+
+        // Then
+        assertEquals(3, section.count());
+        assertEquals(List.of(new DashboardEntry("BOOK1", 1, 1000.0), new DashboardEntry("BOOK2", 1, 100.0)),
+                section.entries());
+    }
+
+    @Test
+    @DisplayName("Should count points per curve in curve id order")
+    void curvePoints_AfterStartup_ShouldGroupByCurve() {
+        // When
+        DashboardSection section = dashboardService.curvePoints();
+
+        // Then
+        assertEquals(4, section.count());
+        assertEquals(List.of("1", "2", "10"), section.entries().stream().map(DashboardEntry::key).toList());
+        assertEquals(2, section.entries().get(0).count());
+    }
+
+    @Test
+    @DisplayName("Should return the rating distribution and the number of rules")
+    void ratingsAndRules_AfterStartup_ShouldBeCounted() {
+        // Then
+        assertEquals(List.of(new DashboardEntry("Aa1", 1, 0.0), new DashboardEntry("Aaa", 2, 0.0)),
+                dashboardService.ratings().entries());
+        assertEquals(2, dashboardService.rules().count());
+    }
+
+    @Test
+    @DisplayName("Should find sections by name")
+    void section_WhenNameKnown_ShouldReturnSection() {
+        // Then
+        for (String name : DashboardService.SECTIONS) {
+            assertEquals(name, dashboardService.section(name).orElseThrow().name());
+        }
+        assertTrue(dashboardService.section("users").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should add created entities to their totals")
+    void onSaved_WhenCreated_ShouldAddToCounters() {
+        // When
+        dashboardService.onBidListSaved(new BidListSavedEvent(
+                BidList.builder().id(4).status("CLOSED").bidQuantity(10.0).build(), true));
+        dashboardService.onTradeSaved(new TradeSavedEvent(
+                Trade.builder().tradeId(13).book("BOOK2").tradeDate(at(NOW)).buyQuantity(1.0).buyPrice(5.0).build(), true));
+        dashboardService.onTradeSaved(new TradeSavedEvent(
+                Trade.builder().tradeId(14).book("BOOK3").tradeDate(at(NOW.minusDays(1))).build(), true));
+        dashboardService.onCurvePointSaved(new CurvePointSavedEvent(CurvePoint.builder().id(24).curveId(3).build(), true));
+        dashboardService.onRatingSaved(new RatingSavedEvent(Rating.builder().id(33).moodysRating("Aaa").build(), true));
+        dashboardService.onRuleNameSaved(new RuleNameSavedEvent(RuleName.builder().id(42).build(), true));
+
+        // Then
+        assertTrue(dashboardService.bidLists().entries().contains(new DashboardEntry("CLOSED", 1, 10.0)));
+        assertEquals(4, dashboardService.bidLists().count());
+        assertEquals(5, dashboardService.trades().count());
+        assertEquals(List.of(new DashboardEntry("BOOK1", 1, 1000.0), new DashboardEntry("BOOK2", 2, 105.0)),
+                dashboardService.trades().entries());
+        assertEquals(4, dashboardService.curvePoints().entries().size());
+        assertEquals(List.of(new DashboardEntry("Aa1", 1, 0.0), new DashboardEntry("Aaa", 3, 0.0)),
+                dashboardService.ratings().entries());
+        assertEquals(3, dashboardService.rules().count());
+        verify(ratingRepository, times(1)).findDashboardTotals();
+    }
+
+    @Test
+    @DisplayName("Should resync the totals from the database after an update or a delete")
+    void onChanged_ShouldResyncCounters() {
+        // Given
+        when(bidListRepository.findDashboardTotals()).thenReturn(List.of(
+                new DashboardTotal("OPEN", 1L, 5.0), new DashboardTotal("CLOSED", 1L, 10.0)));
+        when(ratingRepository.findDashboardTotals()).thenReturn(List.of(new DashboardTotal("Aaa", 2L)));
+
+        // When
+        dashboardService.onBidListSaved(new BidListSavedEvent(
+                BidList.builder().id(1).status("CLOSED").bidQuantity(10.0).build(), false));
+        dashboardService.onEntitiesDeleted(new EntitiesDeletedEvent(Rating.class, List.of(31)));
+
+        // Then
+        assertEquals(List.of(new DashboardEntry("CLOSED", 1, 10.0), new DashboardEntry("OPEN", 1, 5.0)),
+                dashboardService.bidLists().entries());
+        assertEquals(List.of(new DashboardEntry("Aaa", 2, 0.0)), dashboardService.ratings().entries());
+        assertEquals(2, dashboardService.ratings().count());
+    }
+
+    @Test
+    @DisplayName("Should resync only when a counted field was updated")
+    void onEntitiesUpdated_WhenFieldNotCounted_ShouldNotResync() {
+        // When
+        dashboardService.onEntitiesUpdated(new EntitiesUpdatedEvent(Trade.class, List.of(10), Set.of("trader")));
+
+        // Then
+        verify(tradeRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Should drop the trades of a day once it is over")
+    void trades_WhenDayOver_ShouldStartNewDay() {
+        // Given
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime tomorrow = NOW.plusDays(1);
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(zone);
+        when(clock.instant()).thenReturn(NOW.atZone(zone).toInstant(), tomorrow.atZone(zone).toInstant());
+        DashboardService service = new DashboardService(bidListRepository, tradeRepository, curvePointRepository,
+                ratingRepository, ruleNameRepository, ShardRouter.single(), 0, clock);
+        when(tradeRepository.findDashboardTotals(at(tomorrow.toLocalDate().atStartOfDay()),
+                at(tomorrow.toLocalDate().plusDays(1).atStartOfDay()))).thenReturn(List.of());
+        service.run();
+
+        // When
+        DashboardSection section = service.trades();
+
+        // Then
+        assertEquals(3, section.count());
+        assertTrue(section.entries().isEmpty());
+        verify(tradeRepository, times(2)).findDashboardTotals(at(NOW.toLocalDate().atStartOfDay()),
+                at(NOW.toLocalDate().plusDays(1).atStartOfDay()));
+    }
+
+    private static Timestamp at(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+}
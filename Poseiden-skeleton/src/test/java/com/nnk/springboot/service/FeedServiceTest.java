@@ -0,0 +1,119 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.FeedResult;
+import com.nnk.springboot.feed.FeedReader;
+import com.nnk.springboot.feed.FeedSchema;
+import com.nnk.springboot.feed.FeedWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedService.
+ * Tests batch ingestion and paged egress.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedService Tests")
+class FeedServiceTest {
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private BidListService bidListService;
+
+    @InjectMocks
+    private FeedService feedService;
+
+    @Test
+    @DisplayName("Should upsert every batch of a trade feed")
+    void ingestTrades_ShouldUpsertEachBatch() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FeedWriter<Trade> writer = new FeedWriter<>(out, FeedSchema.TRADE);
+        writer.writeBatch(List.of(Trade.builder().account("A").type("T").build(),
+                Trade.builder().account("B").type("T").build()));
+        writer.writeBatch(List.of(Trade.builder().account("C").type("T").build()));
+        List<Integer> batchSizes = new ArrayList<>();
+        when(tradeService.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<Trade> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+
+        // When
+        FeedResult result = feedService.ingestTrades(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertEquals(new FeedResult(2, 3), result);
+        assertEquals(List.of(2, 1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should insert every batch of a bid list feed")
+    void ingestBidLists_ShouldInsertEachBatch() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FeedWriter<>(out, FeedSchema.BID_LIST).writeBatch(List.of(BidList.builder().account("A").type("T").build()));
+
+        // When
+        FeedResult result = feedService.ingestBidLists(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertEquals(new FeedResult(1, 1), result);
+        verify(bidListService).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should export trades page by page in id order")
+    void exportTrades_ShouldWriteOneBatchPerPage() throws IOException {
+        // Given
+        Trade first = Trade.builder().tradeId(1).account("A").type("T").build();
+        Trade second = Trade.builder().tradeId(2).account("B").type("T").build();
+        when(tradeService.findBatchAfter(null, FeedService.BATCH_SIZE)).thenReturn(List.of(first));
+        when(tradeService.findBatchAfter(1, FeedService.BATCH_SIZE)).thenReturn(List.of(second));
+        when(tradeService.findBatchAfter(2, FeedService.BATCH_SIZE)).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        feedService.exportTrades(out);
+
+        // Then
+        FeedReader<Trade> reader = new FeedReader<>(new ByteArrayInputStream(out.toByteArray()), FeedSchema.TRADE);
+        List<Trade> batch = new ArrayList<>();
+        assertTrue(reader.readBatch(batch));
+        assertEquals(List.of(first), batch);
+        assertTrue(reader.readBatch(batch));
+        assertEquals(List.of(second), batch);
+        assertFalse(reader.readBatch(batch));
+    }
+
+    @Test
+    @DisplayName("Should export an empty feed when there are no bid lists")
+    void exportBidLists_WhenEmpty_ShouldWriteNothing() throws IOException {
+        // Given
+        when(bidListService.findBatchAfter(null, FeedService.BATCH_SIZE)).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        feedService.exportBidLists(out);
+
+        // Then
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameJson;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PreTradeCheckService.
+ * Tests the loading of checks at startup, their evaluation on trades and BidLists, and their
+ * recompilation when rules change, locally or on another node.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PreTradeCheckService Tests")
+class PreTradeCheckServiceTest {
+    private static final String MAX_QUANTITY = "{\"check\":\"trade\",\"account\":\"ACC-1\",\"max\":{\"buyQuantity\":100}}";
+    private static final String BLOCKED_SECURITY = "{\"check\":\"any\",\"book\":\"FX-LDN\",\"forbid\":{\"security\":\"XYZ\"}}";
+
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+
+    private PreTradeCheckService preTradeCheckService;
+
+    @BeforeEach
+    void setUp() {
+        preTradeCheckService = new PreTradeCheckService(ruleNameRepository, new ObjectMapper(), 0);
+    }
+
+    private RuleName rule(int id, String json) {
+        return RuleName.builder().id(id).name("Rule " + id).description("d").json(json).template("t")
+                .sqlStr("s").sqlPart("p").build();
+    }
+
+    @Test
+    @DisplayName("Should load the checks at startup and reject trades and BidLists that break them")
+    void run_ShouldCompileChecks() {
+        // Given
+        when(ruleNameRepository.findCheckJson()).thenReturn(List.of(new RuleNameJson(1, "Max quantity", MAX_QUANTITY),
+                new RuleNameJson(2, "Blocked security", BLOCKED_SECURITY), new RuleNameJson(3, "Broken", "{\"check\":")));
+
+        // When
+        preTradeCheckService.run();
+
+        // Then
+        PreTradeCheckException rejected = assertThrows(PreTradeCheckException.class, () -> preTradeCheckService
+                .check(Trade.builder().account("ACC-1").buyQuantity(150.0).book("FX-LDN").security("XYZ").build()));
+        assertEquals(2, rejected.getViolations().size());
+        assertThrows(PreTradeCheckException.class,
+                () -> preTradeCheckService.check(BidList.builder().book("FX-LDN").security("XYZ").build()));
+        assertDoesNotThrow(() -> preTradeCheckService.check(BidList.builder().account("ACC-1").bidQuantity(150.0).build()));
+        assertDoesNotThrow(() -> preTradeCheckService.check(Trade.builder().account("ACC-1").buyQuantity(50.0).build()));
+        assertEquals(Set.of(3), preTradeCheckService.invalidRules().keySet());
+    }
+
+    @Test
+    @DisplayName("Should follow rules that are saved, updated and deleted")
+    void events_ShouldRecompileChecks() {
+        // Given
+        Trade trade = Trade.builder().account("ACC-1").buyQuantity(150.0).build();
+        preTradeCheckService.onRuleNameSaved(new RuleNameSavedEvent(rule(1, MAX_QUANTITY), true));
+        assertThrows(PreTradeCheckException.class, () -> preTradeCheckService.check(trade));
+
+        // When: the limit is raised
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(rule(1, MAX_QUANTITY.replace("100", "1000"))));
+        preTradeCheckService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(1), Set.of("json")));
+
+        // Then
+        assertDoesNotThrow(() -> preTradeCheckService.check(trade));
+
+        // When: the rule is saved with an invalid check, then deleted
+        preTradeCheckService.onRuleNameSaved(new RuleNameSavedEvent(rule(1, "{\"check\":\"trade\"}"), false));
+        assertEquals(Set.of(1), preTradeCheckService.invalidRules().keySet());
+        preTradeCheckService.onEntitiesDeleted(new EntitiesDeletedEvent(RuleName.class, List.of(1)));
+
+        // Then
+        assertTrue(preTradeCheckService.invalidRules().isEmpty());
+        assertDoesNotThrow(() -> preTradeCheckService.check(trade));
+    }
+
+    @Test
+    @DisplayName("Should ignore rules without a check and template updates")
+    void events_ShouldIgnoreOtherRules() {
+        // When
+        preTradeCheckService.onRuleNameSaved(new RuleNameSavedEvent(rule(1, "Json 1"), true));
+        preTradeCheckService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(1), Set.of("template")));
+
+        // Then
+        assertTrue(preTradeCheckService.invalidRules().isEmpty());
+        assertDoesNotThrow(() -> preTradeCheckService.check(Trade.builder().account("ACC-1").buyQuantity(1e9).build()));
+        verifyNoInteractions(ruleNameRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the checks when the rules read from the database changed")
+    void refresh_ShouldFollowRulesChangedElsewhere() {
+        // Given
+        Trade trade = Trade.builder().account("ACC-1").buyQuantity(150.0).build();
+        when(ruleNameRepository.findCheckJson()).thenReturn(List.of(new RuleNameJson(1, "Max quantity", MAX_QUANTITY)));
+        preTradeCheckService.run();
+        assertTrue(preTradeCheckService.checksTrades());
+        assertFalse(preTradeCheckService.checksBidLists());
+
+        // When: another node raises the limit
+        when(ruleNameRepository.findCheckJson())
+                .thenReturn(List.of(new RuleNameJson(1, "Max quantity", MAX_QUANTITY.replace("100", "1000"))));
+        preTradeCheckService.refresh();
+
+        // Then
+        assertDoesNotThrow(() -> preTradeCheckService.check(trade));
+
+        // When: another node deletes the rule
+        when(ruleNameRepository.findCheckJson()).thenReturn(List.of());
+        preTradeCheckService.refresh();
+
+        // Then
+        assertFalse(preTradeCheckService.checksTrades());
+    }
+}
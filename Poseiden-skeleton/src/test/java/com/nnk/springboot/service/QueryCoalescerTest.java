@@ -0,0 +1,140 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.dto.CoalescingStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryCoalescer.
+ * Tests sharing of concurrent identical queries, failure propagation and counters.
+ */
+@DisplayName("QueryCoalescer Tests")
+class QueryCoalescerTest {
+    private static final int CALLERS = 8;
+
+    private final QueryCoalescer coalescer = QueryCoalescer.direct();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one query for concurrent identical calls and share its result")
+    void execute_WhenConcurrentIdenticalCalls_ShouldShareOneExecution() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Future<List<String>>> calls = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> coalescer.execute("trade.summaries", List.of(), () -> {
+                executions.incrementAndGet();
+                await(release);
+                return List.of("T1", "T2");
+            })));
+        }
+        waitForCoalesced("trade.summaries", CALLERS - 1);
+        release.countDown();
+
+        // Then
+        List<String> first = calls.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> call : calls) {
+            assertSame(first, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(List.of(new CoalescingStats("trade.summaries", CALLERS, 1, CALLERS - 1)), coalescer.stats());
+    }
+
+    @Test
+    @DisplayName("Should run calls with different arguments separately")
+    void execute_WhenDifferentArguments_ShouldNotShare() throws Exception {
+        // Given
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        // When
+        Future<String> london = executor.submit(() -> coalescer.execute("trade.summariesByBook", List.of("LDN"),
+                () -> { bothRunning.countDown(); await(bothRunning); return "LDN"; }));
+        Future<String> newYork = executor.submit(() -> coalescer.execute("trade.summariesByBook", List.of("NY"),
+                () -> { bothRunning.countDown(); await(bothRunning); return "NY"; }));
+
+        // Then
+        assertEquals("LDN", london.get(5, TimeUnit.SECONDS));
+        assertEquals("NY", newYork.get(5, TimeUnit.SECONDS));
+        assertEquals(new CoalescingStats("trade.summariesByBook", 2, 2, 0), coalescer.stats().get(0));
+    }
+
+    @Test
+    @DisplayName("Should run the query again once the previous one has completed")
+    void execute_WhenSequentialCalls_ShouldNotCache() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        int first = coalescer.execute("rating.summaries", List.of(), executions::incrementAndGet);
+        int second = coalescer.execute("rating.summaries", List.of(), executions::incrementAndGet);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure of the shared query to every caller")
+    void execute_WhenQueryFails_ShouldRethrowToWaitingCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> calls = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            calls.add(executor.submit(() -> coalescer.execute("bidList.summaries", List.of(), () -> {
+                await(release);
+                throw new IllegalStateException("database down");
+            })));
+        }
+        waitForCoalesced("bidList.summaries", 1);
+        release.countDown();
+
+        // Then
+        for (Future<Object> call : calls) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("database down", failure.getCause().getMessage());
+        }
+        assertEquals("ok", coalescer.execute("bidList.summaries", List.of(), () -> "ok"));
+    }
+
+    private void waitForCoalesced(String query, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.stats().stream().filter(stats -> stats.query().equals(query))
+                .mapToLong(CoalescingStats::coalesced).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the running query");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingNotch;
+import com.nnk.springboot.dto.RatingTransitions;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingMigrationService.
+ * Tests snapshots of the current notches and migrations between them.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingMigrationService Tests")
+class RatingMigrationServiceTest {
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private Clock clock;
+
+    private RatingMigrationService ratingMigrationService;
+
+    @BeforeEach
+    void setUp() {
+        ratingMigrationService = new RatingMigrationService(ratingService, ratingRepository, 2, clock);
+        lenient().when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(JANUARY.toInstant(ZoneOffset.UTC), FEBRUARY.toInstant(ZoneOffset.UTC),
+                MARCH.toInstant(ZoneOffset.UTC));
+        when(ratingRepository.streamNotches()).thenReturn(Stream.of(new RatingNotch(1, 5), new RatingNotch(2, 9)));
+        ratingMigrationService.run();
+    }
+
+    @Test
+    @DisplayName("Should fill missing notches and take a first snapshot at startup")
+    void run_ShouldSnapshotCurrentNotches() {
+        verify(ratingService).fillMissingNotches();
+        assertEquals(List.of(JANUARY), ratingMigrationService.snapshots());
+    }
+
+    @Test
+    @DisplayName("Should count the migrations between a snapshot and the current ratings")
+    void transitions_WhenRatingsChanged_ShouldCountMigrations() {
+        // Given
+        ratingMigrationService.onRatingSaved(new RatingSavedEvent(Rating.builder().id(1).notch(7).build(), false));
+        ratingMigrationService.onRatingSaved(new RatingSavedEvent(Rating.builder().id(3).notch(2).build(), true));
+        ratingMigrationService.onEntitiesDeleted(new EntitiesDeletedEvent(Rating.class, List.of(2)));
+
+        // When
+        RatingTransitions transitions = ratingMigrationService.transitions(JANUARY, null);
+
+        // Then
+        assertEquals(JANUARY, transitions.from());
+        assertEquals(FEBRUARY, transitions.to());
+        assertEquals(1, transitions.counts()[4][6]);
+        assertEquals(1, transitions.withdrawn()[8]);
+        assertEquals(1, transitions.added()[1]);
+        assertEquals(1, transitions.downgrades());
+        assertEquals("A+", transitions.grades().get(4));
+    }
+
+    @Test
+    @DisplayName("Should keep the latest snapshots only")
+    void snapshot_WhenLimitReached_ShouldDropOldest() {
+        // When
+        ratingMigrationService.snapshot();
+        ratingMigrationService.snapshot();
+
+        // Then
+        assertEquals(List.of(FEBRUARY, MARCH), ratingMigrationService.snapshots());
+        assertThrows(IllegalArgumentException.class, () -> ratingMigrationService.transitions(JANUARY, MARCH));
+        assertEquals(0, ratingMigrationService.transitions(FEBRUARY.plusDays(1), MARCH).downgrades());
+    }
+}
@@ -0,0 +1,190 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingOrderService.
+ * Tests single and bulk moves between sparse keys and the rebalancing of the keys.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingOrderService Tests")
+class RatingOrderServiceTest {
+    private static final int GAP = 1024;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingOrderService ratingOrderService;
+
+    @BeforeEach
+    void setUp() {
+        ratingOrderService = new RatingOrderService(ratingRepository, eventPublisher, transactionManager, GAP);
+        lenient().when(ratingRepository.existsById(anyInt())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ratingOrderService.close();
+    }
+
+    @Test
+    @DisplayName("Should give the moved rating the key halfway to the next rating")
+    void move_WhenGapAvailable_ShouldUpdateOneRow() {
+        // Given
+        when(ratingRepository.findOrderNumberById(1)).thenReturn(Optional.of(1024));
+        when(ratingRepository.countByOrderNumber(1024, List.of(3))).thenReturn(1L);
+        when(ratingRepository.findNextOrderNumber(1024, List.of(3))).thenReturn(2048);
+
+        // When
+        boolean moved = ratingOrderService.move(3, 1);
+
+        // Then
+        assertTrue(moved);
+        verify(ratingRepository).updateOrderNumber(3, 1536);
+        verify(ratingRepository, never()).findAllSummaries();
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(Rating.class, List.of(3),
+                Set.of("orderNumber")));
+    }
+
+    @Test
+    @DisplayName("Should move a rating first or last")
+    void move_WhenFirstOrLast_ShouldUseBounds() {
+        // Given
+        when(ratingRepository.findNextOrderNumber(0, List.of(3))).thenReturn(1024);
+        when(ratingRepository.findOrderNumberById(2)).thenReturn(Optional.of(3072));
+        when(ratingRepository.countByOrderNumber(3072, List.of(4))).thenReturn(1L);
+        when(ratingRepository.findNextOrderNumber(3072, List.of(4))).thenReturn(null);
+
+        // When
+        ratingOrderService.move(3, null);
+        ratingOrderService.move(4, 2);
+
+        // Then
+        verify(ratingRepository).updateOrderNumber(3, 512);
+        verify(ratingRepository).updateOrderNumber(4, 3072 + GAP);
+    }
+
+    @Test
+    @DisplayName("Should respace the keys before moving when there is no room")
+    void move_WhenNoGap_ShouldRebalanceFirst() {
+        // Given
+        when(ratingRepository.findOrderNumberById(1)).thenReturn(Optional.of(5)).thenReturn(Optional.of(1024));
+        when(ratingRepository.countByOrderNumber(anyInt(), eq(List.of(3)))).thenReturn(1L);
+        when(ratingRepository.findNextOrderNumber(5, List.of(3))).thenReturn(6);
+        when(ratingRepository.findNextOrderNumber(1024, List.of(3))).thenReturn(2048);
+        when(ratingRepository.findAllSummaries()).thenReturn(List.of(
+                new RatingSummary(1, "Aaa", "AAA", "AAA", 5, 1), new RatingSummary(2, "Aa1", "AA+", "AA+", 6, 2),
+                new RatingSummary(3, "Aa2", "AA", "AA", 7, 3)));
+
+        // When
+        ratingOrderService.move(3, 1);
+
+        // Then
+        verify(ratingRepository).updateOrderNumber(1, 1024);
+        verify(ratingRepository).updateOrderNumber(2, 2048);
+        verify(ratingRepository).updateOrderNumber(3, 3072);
+        verify(ratingRepository).updateOrderNumber(3, 1536);
+    }
+
+    @Test
+    @DisplayName("Should spread the moved ratings over the gap after the anchor, in the given order")
+    void moveAll_ShouldSpreadKeys() {
+        // Given
+        when(ratingRepository.existsById(9)).thenReturn(false);
+        when(ratingRepository.findOrderNumberById(1)).thenReturn(Optional.of(1024));
+        when(ratingRepository.countByOrderNumber(1024, List.of(4, 3))).thenReturn(1L);
+        when(ratingRepository.findNextOrderNumber(1024, List.of(4, 3))).thenReturn(2048);
+
+        // When
+        int moved = ratingOrderService.moveAll(List.of(4, 1, 3, 9, 4), 1);
+
+        // Then
+        assertEquals(2, moved);
+        verify(ratingRepository).updateOrderNumber(4, 1365);
+        verify(ratingRepository).updateOrderNumber(3, 1706);
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(Rating.class, List.of(4, 3), Set.of("orderNumber")));
+        assertEquals(0, ratingOrderService.moveAll(List.of(3), 9));
+    }
+
+    @Test
+    @DisplayName("Should only rewrite the keys that change")
+    void rebalance_ShouldSkipEvenlySpacedKeys() {
+        // Given
+        when(ratingRepository.findAllSummaries()).thenReturn(List.of(
+                new RatingSummary(1, "Aaa", "AAA", "AAA", 1024, 1), new RatingSummary(2, "Aa1", "AA+", "AA+", 1500, 2),
+                new RatingSummary(3, "Aa2", "AA", "AA", 1501, 3)));
+
+        // When
+        int changed = ratingOrderService.rebalance();
+
+        // Then
+        assertEquals(2, changed);
+        verify(ratingRepository, never()).updateOrderNumber(eq(1), anyInt());
+        verify(ratingRepository).updateOrderNumber(2, 2048);
+        verify(ratingRepository).updateOrderNumber(3, 3072);
+    }
+
+    @Test
+    @DisplayName("Should rebalance in the background when a move uses up the gap")
+    void move_WhenGapUsedUp_ShouldScheduleRebalance() {
+        // Given
+        when(ratingRepository.findOrderNumberById(1)).thenReturn(Optional.of(1024));
+        when(ratingRepository.countByOrderNumber(1024, List.of(3))).thenReturn(1L);
+        when(ratingRepository.findNextOrderNumber(1024, List.of(3))).thenReturn(1027);
+        when(ratingRepository.findAllSummaries()).thenReturn(List.of());
+
+        // When
+        ratingOrderService.move(3, 1);
+
+        // Then
+        verify(ratingRepository).updateOrderNumber(3, 1025);
+        verify(ratingRepository, timeout(1000)).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should give a new rating the key after the last one")
+    void appendKey_ShouldFollowLastKey() {
+        // Given
+        when(ratingRepository.findMaxOrderNumber()).thenReturn(4096).thenReturn(null);
+
+        // When / Then
+        assertEquals(4096 + GAP, ratingOrderService.appendKey());
+        assertEquals(GAP, ratingOrderService.appendKey());
+    }
+
+    @Test
+    @DisplayName("Should not move an unknown rating")
+    void move_WhenRatingUnknown_ShouldReturnFalse() {
+        when(ratingRepository.existsById(9)).thenReturn(false);
+
+        assertFalse(ratingOrderService.move(9, null));
+        verify(ratingRepository, never()).updateOrderNumber(anyInt(), anyInt());
+    }
+}
@@ -1,6 +1,10 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.dto.RatingSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
 import com.nnk.springboot.repositories.RatingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,10 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +36,15 @@ class RatingServiceTest {
     @Mock
     private RatingRepository ratingRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
+    @Mock
+    private RatingOrderService ratingOrderService;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -59,6 +76,23 @@ class RatingServiceTest {
         assertEquals(testRating.getSandPRating(), savedRating.getSandPRating());
         assertEquals(testRating.getFitchRating(), savedRating.getFitchRating());
         verify(ratingRepository).save(testRating);
+        verify(eventPublisher).publishEvent(new RatingSavedEvent(testRating, false));
+        verify(ratingOrderService, never()).appendKey();
+    }
+
+    @Test
+    @DisplayName("Should put a Rating saved without order number at the end of the list")
+    void save_WhenNoOrderNumber_ShouldAppendKey() {
+        // Given
+        testRating.setOrderNumber(null);
+        when(ratingOrderService.appendKey()).thenReturn(5120);
+        when(ratingRepository.save(any(Rating.class))).thenReturn(testRating);
+
+        // When
+        ratingService.save(testRating);
+
+        // Then
+        verify(ratingRepository).save(argThat(rating -> rating.getOrderNumber() == 5120));
     }
 
     @Test
@@ -82,6 +116,67 @@ class RatingServiceTest {
         verify(ratingRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should retrieve the list page summaries")
+    void findAllSummaries_ShouldReturnSummaries() {
+        // Given
+        List<RatingSummary> summaries = List.of(new RatingSummary(1, "Aaa", "AAA", "AAA", 1, 1));
+        when(ratingRepository.findAllSummaries()).thenReturn(summaries);
+
+        // When
+        List<RatingSummary> result = ratingService.findAllSummaries();
+
+        // Then
+        assertEquals(summaries, result);
+        verify(ratingRepository).findAllSummaries();
+        verify(ratingRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should place the agency ratings on the common scale when saving")
+    void save_ShouldComputeNotch() {
+        // Given
+        Rating rating = Rating.builder().moodysRating("Baa1").sandPRating("BBB").fitchRating("NR").orderNumber(3).build();
+        when(ratingRepository.save(rating)).thenReturn(rating);
+
+        // When
+        ratingService.save(rating);
+
+        // Then
+        assertEquals(9, rating.getNotch());
+    }
+
+    @Test
+    @DisplayName("Should read the summaries of a notch range")
+    void findSummariesByNotch_ShouldQueryRange() {
+        // Given
+        List<RatingSummary> summaries = List.of(new RatingSummary(2, "Aa3", "AA-", "AA-", 2, 4));
+        when(ratingRepository.findSummariesByNotchBetween(2, 10)).thenReturn(summaries);
+
+        // When
+        List<RatingSummary> result = ratingService.findSummariesByNotch(2, 10);
+
+        // Then
+        assertEquals(summaries, result);
+    }
+
+    @Test
+    @DisplayName("Should compute the notch of ratings stored without one")
+    void fillMissingNotches_ShouldSaveRatedOnly() {
+        // Given
+        Rating unrated = Rating.builder().id(2).moodysRating("NR").sandPRating("NR").fitchRating("NR").build();
+        when(ratingRepository.findByNotchIsNull()).thenReturn(List.of(testRating, unrated));
+
+        // When
+        int updated = ratingService.fillMissingNotches();
+
+        // Then
+        assertEquals(1, updated);
+        assertEquals(1, testRating.getNotch());
+        verify(ratingRepository).saveAll(List.of(testRating));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     @DisplayName("Should find Rating by ID")
     void findById_WhenRatingExists_ShouldReturnRating() {
@@ -116,12 +211,47 @@ class RatingServiceTest {
     void deleteById_WhenIdValid_ShouldDeleteRating() {
         // Given
         Integer ratingId = 1;
+        when(ratingRepository.deleteByIds(List.of(ratingId))).thenReturn(1);
 
         // When
-        ratingService.deleteById(ratingId);
+        boolean deleted = ratingService.deleteById(ratingId);
 
         // Then
-        verify(ratingRepository).deleteById(ratingId);
+        assertTrue(deleted);
+        verify(ratingRepository).deleteByIds(List.of(ratingId));
+        verify(ratingRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should report a missing Rating on delete")
+    void deleteById_WhenNotExists_ShouldReturnFalse() {
+        // Given
+        when(ratingRepository.deleteByIds(List.of(99))).thenReturn(0);
+
+        // When & Then
+        assertFalse(ratingService.deleteById(99));
+    }
+
+    @Test
+    @DisplayName("Should delete several Ratings with one statement")
+    void deleteByIds_WhenIdsGiven_ShouldReturnDeletedCount() {
+        // Given
+        when(ratingRepository.deleteByIds(List.of(1, 2, 3))).thenReturn(2);
+
+        // When
+        int deleted = ratingService.deleteByIds(List.of(1, 2, 3));
+
+        // Then
+        assertEquals(2, deleted);
+        verify(eventPublisher).publishEvent(new EntitiesDeletedEvent(Rating.class, List.of(1, 2, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not query when no Rating is selected")
+    void deleteByIds_WhenIdsEmpty_ShouldNotQuery() {
+        assertEquals(0, ratingService.deleteByIds(List.of()));
+        assertEquals(0, ratingService.deleteByIds(null));
+        verifyNoInteractions(ratingRepository);
     }
 
     @Test
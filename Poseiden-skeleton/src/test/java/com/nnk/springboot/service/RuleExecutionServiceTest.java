@@ -0,0 +1,259 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleResult;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RatingSavedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.sharding.ShardMap;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for RuleExecutionService.
+ * Tests rule execution over the schema.sql tables, row limits, and the compiled statement and
+ * result caches with their invalidation by events and expiry.
+ */
+@JdbcTest(properties = "spring.sql.init.data-locations=")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("RuleExecutionService Tests")
+class RuleExecutionServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RuleNameRepository ruleNameRepository;
+
+    private RuleExecutionService ruleExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from trade");
+        jdbcTemplate.update("insert into trade (account, type, book, buy_quantity) values"
+                + " ('ACC-1', 'BUY', 'BOOK-1', 10), ('ACC-1', 'BUY', 'BOOK-2', 20), ('ACC-2', 'SELL', 'BOOK-1', 5)");
+        ruleNameRepository = mock(RuleNameRepository.class);
+        ruleExecutionService = new RuleExecutionService(ruleNameRepository, jdbcTemplate, ShardRouter.single(),
+                transactionManager, new ObjectMapper(), 5, 1000, 16, "", 30_000);
+    }
+
+    private void givenRule(int id, String sqlStr, String sqlPart, String json) {
+        when(ruleNameRepository.findById(id)).thenReturn(Optional.of(RuleName.builder().id(id).name("Rule " + id)
+                .description("d").json(json).template("t").sqlStr(sqlStr).sqlPart(sqlPart).build()));
+    }
+
+    @Test
+    @DisplayName("Should run the SQL of a rule with its named parameters bound")
+    void run_ShouldReturnRows() {
+        // Given
+        givenRule(1, "select book, sum(buy_quantity) as total from trade", "where account = :account group by book order by book", "{}");
+
+        // When
+        RuleResult result = ruleExecutionService.run(1, Map.of("account", "ACC-1", "unused", "x")).orElseThrow();
+
+        // Then
+        assertEquals("Rule 1", result.name());
+        assertEquals(List.of("BOOK", "TOTAL"), result.columns());
+        assertEquals(2, result.rows().size());
+        assertEquals("BOOK-2", result.rows().get(1).get(0));
+        assertEquals(20.0, ((Number) result.rows().get(1).get(1)).doubleValue());
+        assertFalse(result.truncated());
+        assertFalse(result.cached());
+    }
+
+    @Test
+    @DisplayName("Should bind numbers as numbers")
+    void run_ShouldBindNumbers() {
+        // Given
+        givenRule(1, "select account from trade", "where buy_quantity >= :min", "Json 1");
+
+        // When
+        RuleResult result = ruleExecutionService.run(1, Map.of("min", "10.5")).orElseThrow();
+
+        // Then
+        assertEquals(List.of(List.of("ACC-1")), result.rows());
+    }
+
+    @Test
+    @DisplayName("Should stop at the row limit of the rule and flag the result as truncated")
+    void run_WhenMoreRowsThanLimit_ShouldTruncate() {
+        // Given
+        givenRule(1, "select trade_id from trade", "order by trade_id", "{\"maxRows\": 2}");
+
+        // When
+        RuleResult result = ruleExecutionService.run(1, Map.of()).orElseThrow();
+
+        // Then
+        assertEquals(2, result.rows().size());
+        assertTrue(result.truncated());
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown rule and refuse invalid SQL or missing parameters")
+    void run_WhenRuleCannotRun_ShouldFail() {
+        // Given
+        when(ruleNameRepository.findById(9)).thenReturn(Optional.empty());
+        givenRule(1, "SQL 1", "SQL Part 1", "Json 1");
+        givenRule(2, "select * from trade", "where account = :account", "{}");
+
+        // When / Then
+        assertTrue(ruleExecutionService.run(9, Map.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ruleExecutionService.run(1, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> ruleExecutionService.run(2, Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should refuse a database role that is not a plain identifier")
+    void constructor_WhenRoleInvalid_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RuleExecutionService(ruleNameRepository, jdbcTemplate,
+                ShardRouter.single(), transactionManager, new ObjectMapper(), 5, 1000, 16, "rules; reset role", 30_000));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start on PostgreSQL without a database role")
+    @SuppressWarnings("unchecked")
+    void constructor_WhenPostgresWithoutRole_ShouldThrowException() {
+        // Given
+        JdbcTemplate postgres = mock(JdbcTemplate.class);
+        when(postgres.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> new RuleExecutionService(ruleNameRepository, postgres,
+                ShardRouter.single(), transactionManager, new ObjectMapper(), 5, 1000, 16, "", 30_000));
+        assertDoesNotThrow(() -> new RuleExecutionService(ruleNameRepository, postgres,
+                ShardRouter.single(), transactionManager, new ObjectMapper(), 5, 1000, 16, "poseidon_rules", 30_000));
+    }
+
+    @Test
+    @DisplayName("Should serve the cached result until a table read by the rule changes")
+    void run_ShouldCacheUntilTableChanges() {
+        // Given
+        givenRule(1, "select count(*) as n from trade", "where account = :account", "{}");
+        ruleExecutionService.run(1, Map.of("account", "ACC-1"));
+        jdbcTemplate.update("insert into trade (account, type) values ('ACC-1', 'BUY')");
+
+        // When
+        RuleResult cached = ruleExecutionService.run(1, Map.of("account", "ACC-1")).orElseThrow();
+        RuleResult otherParameters = ruleExecutionService.run(1, Map.of("account", "ACC-2")).orElseThrow();
+        ruleExecutionService.onRatingSaved(new RatingSavedEvent(null, true));
+        RuleResult stillCached = ruleExecutionService.run(1, Map.of("account", "ACC-1")).orElseThrow();
+        ruleExecutionService.onTradeSaved(new TradeSavedEvent(Trade.builder().build(), true));
+        RuleResult rerun = ruleExecutionService.run(1, Map.of("account", "ACC-1")).orElseThrow();
+
+        // Then
+        assertTrue(cached.cached());
+        assertEquals(2L, ((Number) cached.rows().get(0).get(0)).longValue());
+        assertFalse(otherParameters.cached());
+        assertTrue(stillCached.cached());
+        assertFalse(rerun.cached());
+        assertEquals(3L, ((Number) rerun.rows().get(0).get(0)).longValue());
+        verify(ruleNameRepository, times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Should read the rule and run it again once the cache TTL has passed")
+    void run_WhenTtlPassed_ShouldReloadRule() {
+        // Given: another node changes the rule and a row, no local event is published
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        ruleExecutionService = new RuleExecutionService(ruleNameRepository, jdbcTemplate, ShardRouter.single(),
+                transactionManager, new ObjectMapper(), 5, 1000, 16, "", 30_000, clock);
+        givenRule(1, "select count(*) from trade", "where account = 'ACC-1'", "{}");
+        ruleExecutionService.run(1, Map.of());
+        givenRule(1, "select count(*) from trade", "where account = 'ACC-2'", "{}");
+        jdbcTemplate.update("insert into trade (account, type) values ('ACC-2', 'BUY')");
+
+        // When
+        RuleResult cached = ruleExecutionService.run(1, Map.of()).orElseThrow();
+        when(clock.millis()).thenReturn(30_000L);
+        RuleResult reloaded = ruleExecutionService.run(1, Map.of()).orElseThrow();
+
+        // Then
+        assertTrue(cached.cached());
+        assertEquals(2L, ((Number) cached.rows().get(0).get(0)).longValue());
+        assertFalse(reloaded.cached());
+        assertEquals(2L, ((Number) reloaded.rows().get(0).get(0)).longValue());
+        verify(ruleNameRepository, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse aggregates over sharded trades")
+    void run_WhenAggregatingShardedTable_ShouldThrowException() {
+        // Given
+        givenRule(1, "select book, count(*) from trade", "group by book", "{}");
+        givenRule(2, "select count(*) from rating", "", "{}");
+        try (ShardRouter sharded = new ShardRouter(new ShardMap(List.of("default", "emea"), Map.of()),
+                transactionManager)) {
+            ruleExecutionService = new RuleExecutionService(ruleNameRepository, jdbcTemplate, sharded,
+                    transactionManager, new ObjectMapper(), 5, 1000, 16, "", 30_000);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> ruleExecutionService.run(1, Map.of()));
+            assertEquals(0L, ((Number) ruleExecutionService.run(2, Map.of()).orElseThrow().rows().get(0).get(0))
+                    .longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should compile a rule again after it changed")
+    void onRuleNameChanged_ShouldEvictRule() {
+        // Given
+        givenRule(1, "select count(*) from trade", "where account = 'ACC-2'", "{}");
+        ruleExecutionService.run(1, Map.of());
+        givenRule(1, "select count(*) from trade", "where account = 'ACC-1'", "{}");
+
+        // When
+        ruleExecutionService.onRuleNameSaved(new RuleNameSavedEvent(RuleName.builder().id(1).build(), false));
+        RuleResult result = ruleExecutionService.run(1, Map.of()).orElseThrow();
+        ruleExecutionService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(1), Set.of("template")));
+
+        // Then
+        assertFalse(result.cached());
+        assertEquals(2L, ((Number) result.rows().get(0).get(0)).longValue());
+        assertEquals(0, ruleExecutionService.compiledCount());
+    }
+
+    @Test
+    @DisplayName("Should run several rules and report the error of each failing one")
+    void runAll_ShouldKeepErrorsPerRule() {
+        // Given
+        givenRule(1, "select count(*) from trade", "where book = :book", "{}");
+        givenRule(2, "delete from trade", "where 1 = 1", "{}");
+        when(ruleNameRepository.findById(3)).thenReturn(Optional.empty());
+
+        // When
+        List<RuleResult> results = ruleExecutionService.runAll(List.of(1, 2, 3), Map.of("book", "BOOK-1"));
+
+        // Then
+        assertEquals(3, results.size());
+        assertNull(results.get(0).error());
+        assertEquals(2L, ((Number) results.get(0).rows().get(0).get(0)).longValue());
+        assertNotNull(results.get(1).error());
+        assertEquals("Unknown rule", results.get(2).error());
+        assertEquals(3L, jdbcTemplate.queryForObject("select count(*) from trade", Long.class));
+    }
+}
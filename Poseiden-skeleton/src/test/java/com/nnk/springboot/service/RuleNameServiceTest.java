@@ -1,6 +1,10 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.dto.RuleNameSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
 import com.nnk.springboot.repositories.RuleNameRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,10 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +36,12 @@ class RuleNameServiceTest {
     @Mock
     private RuleNameRepository ruleNameRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
     @InjectMocks
     private RuleNameService ruleNameService;
 
@@ -61,6 +75,7 @@ class RuleNameServiceTest {
         assertEquals(testRuleName.getDescription(), savedRuleName.getDescription());
         assertEquals(testRuleName.getJson(), savedRuleName.getJson());
         verify(ruleNameRepository).save(testRuleName);
+        verify(eventPublisher).publishEvent(new RuleNameSavedEvent(testRuleName, false));
     }
 
     @Test
@@ -84,6 +99,22 @@ class RuleNameServiceTest {
         verify(ruleNameRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should retrieve the list page summaries")
+    void findAllSummaries_ShouldReturnSummaries() {
+        // Given
+        List<RuleNameSummary> summaries = List.of(new RuleNameSummary(1, "Rule", "Description", true, false, false));
+        when(ruleNameRepository.findAllSummaries()).thenReturn(summaries);
+
+        // When
+        List<RuleNameSummary> result = ruleNameService.findAllSummaries();
+
+        // Then
+        assertEquals(summaries, result);
+        verify(ruleNameRepository).findAllSummaries();
+        verify(ruleNameRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should find RuleName by ID")
     void findById_WhenRuleNameExists_ShouldReturnRuleName() {
@@ -118,12 +149,68 @@ class RuleNameServiceTest {
     void deleteById_WhenIdValid_ShouldDeleteRuleName() {
         // Given
         Integer ruleNameId = 1;
+        when(ruleNameRepository.deleteByIds(List.of(ruleNameId))).thenReturn(1);
+
+        // When
+        boolean deleted = ruleNameService.deleteById(ruleNameId);
+
+        // Then
+        assertTrue(deleted);
+        verify(ruleNameRepository).deleteByIds(List.of(ruleNameId));
+        verify(ruleNameRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should report a missing RuleName on delete")
+    void deleteById_WhenNotExists_ShouldReturnFalse() {
+        // Given
+        when(ruleNameRepository.deleteByIds(List.of(99))).thenReturn(0);
+
+        // When & Then
+        assertFalse(ruleNameService.deleteById(99));
+    }
+
+    @Test
+    @DisplayName("Should delete several RuleNames with one statement")
+    void deleteByIds_WhenIdsGiven_ShouldReturnDeletedCount() {
+        // Given
+        when(ruleNameRepository.deleteByIds(List.of(1, 2, 3))).thenReturn(2);
 
         // When
-        ruleNameService.deleteById(ruleNameId);
+        int deleted = ruleNameService.deleteByIds(List.of(1, 2, 3));
 
         // Then
-        verify(ruleNameRepository).deleteById(ruleNameId);
+        assertEquals(2, deleted);
+        verify(eventPublisher).publishEvent(new EntitiesDeletedEvent(RuleName.class, List.of(1, 2, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not query when no RuleName is selected")
+    void deleteByIds_WhenIdsEmpty_ShouldNotQuery() {
+        assertEquals(0, ruleNameService.deleteByIds(List.of()));
+        assertEquals(0, ruleNameService.deleteByIds(null));
+        verifyNoInteractions(ruleNameRepository);
+    }
+
+    @Test
+    @DisplayName("Should update template of several RuleNames with one statement")
+    void updateTemplate_WhenIdsGiven_ShouldReturnUpdatedCount() {
+        // Given
+        when(ruleNameRepository.updateTemplateByIds(List.of(1, 2), "New template")).thenReturn(2);
+
+        // When
+        int updated = ruleNameService.updateTemplate(List.of(1, 2), "New template");
+
+        // Then
+        assertEquals(2, updated);
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(RuleName.class, List.of(1, 2), Set.of("template")));
+    }
+
+    @Test
+    @DisplayName("Should reject a blank template")
+    void updateTemplate_WhenTemplateBlank_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> ruleNameService.updateTemplate(List.of(1), " "));
+        verifyNoInteractions(ruleNameRepository);
     }
 
     @Test
@@ -0,0 +1,170 @@
+package com.nnk.springboot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.RuleNameTemplate;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RuleTemplateService.
+ * Tests the compilation of templates at startup and when rules change, locally or on another
+ * node, their rendering against trades and BidLists, and the batch render over every trade.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RuleTemplateService Tests")
+class RuleTemplateServiceTest {
+    private static final String TRADE_TEMPLATE = "{{account}} bought {{buyQuantity}} {{security}}";
+
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private BidListService bidListService;
+
+    private RuleTemplateService ruleTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        ruleTemplateService = new RuleTemplateService(ruleNameRepository, tradeService, bidListService, new ObjectMapper(), 0);
+    }
+
+    private RuleName rule(int id, String template) {
+        return RuleName.builder().id(id).name("Rule " + id).description("d").json("j").template(template)
+                .sqlStr("s").sqlPart("p").build();
+    }
+
+    @Test
+    @DisplayName("Should compile the templates at startup and render them without reading the rules again")
+    void run_ShouldCompileTemplates() {
+        // Given
+        when(ruleNameRepository.findTemplates()).thenReturn(List.of(new RuleNameTemplate(1, TRADE_TEMPLATE),
+                new RuleNameTemplate(2, "{{account}}: {{bidQuantity}}")));
+        when(tradeService.findById(10)).thenReturn(Optional.of(Trade.builder().tradeId(10).account("ACC-1")
+                .buyQuantity(150.0).security("XYZ").build()));
+        when(bidListService.findById(20)).thenReturn(Optional.of(BidList.builder().id(20).account("ACC-2")
+                .bidQuantity(12.5).build()));
+
+        // When
+        ruleTemplateService.run();
+
+        // Then
+        assertEquals(Optional.of("ACC-1 bought 150 XYZ"), ruleTemplateService.renderTrade(1, 10));
+        assertEquals(Optional.of("ACC-2: 12.5"), ruleTemplateService.renderBidList(2, 20));
+        assertThrows(IllegalArgumentException.class, () -> ruleTemplateService.renderTrade(2, 10));
+        assertEquals(Optional.empty(), ruleTemplateService.renderTrade(1, 11));
+        verify(ruleNameRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should compile a rule created since startup on first use")
+    void tradeTemplate_ShouldCompileUnknownRules() {
+        // Given
+        when(ruleNameRepository.findById(3)).thenReturn(Optional.of(rule(3, TRADE_TEMPLATE)));
+        when(ruleNameRepository.findById(4)).thenReturn(Optional.empty());
+
+        // When
+        ruleTemplateService.tradeTemplate(3);
+        ruleTemplateService.tradeTemplate(3);
+
+        // Then
+        assertEquals(3, ruleTemplateService.tradeTemplate(3).orElseThrow().placeholders());
+        assertTrue(ruleTemplateService.tradeTemplate(4).isEmpty());
+        verify(ruleNameRepository, times(1)).findById(3);
+    }
+
+    @Test
+    @DisplayName("Should follow rules that are saved, updated and deleted")
+    void events_ShouldRecompileTemplates() {
+        // Given
+        Trade trade = Trade.builder().account("ACC-1").security("XYZ").build();
+        ruleTemplateService.onRuleNameSaved(new RuleNameSavedEvent(rule(1, "{{account}}"), true));
+        assertEquals("ACC-1", ruleTemplateService.tradeTemplate(1).orElseThrow().render(trade));
+
+        // When
+        ruleTemplateService.onRuleNameSaved(new RuleNameSavedEvent(rule(1, "{{security}}"), false));
+
+        // Then
+        assertEquals("XYZ", ruleTemplateService.tradeTemplate(1).orElseThrow().render(trade));
+
+        // When
+        when(ruleNameRepository.findAllById(List.of(1))).thenReturn(List.of(rule(1, "{{account}}/{{security}}")));
+        ruleTemplateService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(1), Set.of("template")));
+        ruleTemplateService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(1), Set.of("json")));
+
+        // Then
+        assertEquals("ACC-1/XYZ", ruleTemplateService.tradeTemplate(1).orElseThrow().render(trade));
+        verify(ruleNameRepository, times(1)).findAllById(any());
+
+        // When
+        ruleTemplateService.onEntitiesDeleted(new EntitiesDeletedEvent(RuleName.class, List.of(1)));
+
+        // Then
+        assertTrue(ruleTemplateService.tradeTemplate(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow templates changed and deleted on another node")
+    void refresh_ShouldFollowRulesChangedElsewhere() {
+        // Given
+        Trade trade = Trade.builder().account("ACC-1").security("XYZ").build();
+        when(ruleNameRepository.findTemplates()).thenReturn(List.of(new RuleNameTemplate(1, "{{account}}"),
+                new RuleNameTemplate(2, "{{security}}")));
+        ruleTemplateService.run();
+
+        // When: another node edits rule 1 and deletes rule 2
+        when(ruleNameRepository.findTemplates()).thenReturn(List.of(new RuleNameTemplate(1, "{{account}}/{{security}}")));
+        ruleTemplateService.refresh();
+
+        // Then
+        assertEquals("ACC-1/XYZ", ruleTemplateService.tradeTemplate(1).orElseThrow().render(trade));
+        assertTrue(ruleTemplateService.tradeTemplate(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should render a template over every trade page by page as JSON lines")
+    void renderTrades_ShouldWriteOneLinePerTrade() throws Exception {
+        // Given
+        when(ruleNameRepository.findById(1)).thenReturn(Optional.of(rule(1, "{{account}} \"{{security}}\"")));
+        when(tradeService.findBatchAfter(null, RuleTemplateService.BATCH_SIZE)).thenReturn(List.of(
+                Trade.builder().tradeId(1).account("ACC-1").security("XYZ").build(),
+                Trade.builder().tradeId(2).account("ACC-2").build()));
+        when(tradeService.findBatchAfter(2, RuleTemplateService.BATCH_SIZE)).thenReturn(List.of(
+                Trade.builder().tradeId(5).account("ACC-5").build()));
+        when(tradeService.findBatchAfter(5, RuleTemplateService.BATCH_SIZE)).thenReturn(List.of());
+        StringWriter out = new StringWriter();
+
+        // When
+        int rendered = ruleTemplateService.renderTrades(ruleTemplateService.tradeTemplate(1).orElseThrow(), out);
+
+        // Then
+        assertEquals(3, rendered);
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals(1, objectMapper.readTree(lines.get(0)).get("tradeId").asInt());
+        assertEquals("ACC-1 \"XYZ\"", objectMapper.readTree(lines.get(0)).get("text").asText());
+        assertEquals("ACC-5 \"\"", objectMapper.readTree(lines.get(2)).get("text").asText());
+    }
+}
@@ -0,0 +1,138 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.Dv01Report;
+import com.nnk.springboot.dto.ScenarioReport;
+import com.nnk.springboot.dto.TradeDv01;
+import com.nnk.springboot.dto.TradePosition;
+import com.nnk.springboot.index.CurveHistory;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScenarioService.
+ * Tests position building from trades, benchmark tenors and key-rate DV01 ladders.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScenarioService Tests")
+class ScenarioServiceTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private CurveHistoryService curveHistoryService;
+
+    private ScenarioService scenarioService;
+
+    @BeforeEach
+    void setUp() {
+        scenarioService = new ScenarioService(tradeRepository, ShardRouter.single(), curveHistoryService, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Should read the tenor at the end of the benchmark name")
+    void tenorOf_ShouldParseBenchmarkSuffix() {
+        assertEquals(10.0, scenarioService.tenorOf("UST10Y"));
+        assertEquals(0.5, scenarioService.tenorOf("EURIBOR6M"));
+        assertEquals(1.0 / 52, scenarioService.tenorOf("1w"));
+        assertEquals(1.0, scenarioService.tenorOf("SOFR"));
+        assertEquals(1.0, scenarioService.tenorOf(null));
+    }
+
+    @Test
+    @DisplayName("Should revalue the positions of every book under the standard scenarios")
+    void run_WhenCurveKnown_ShouldReturnMatrix() {
+        // Given
+        givenCurve();
+        when(tradeRepository.findPositions()).thenReturn(List.of(
+                new TradePosition("BOOK-1", "UST10Y", 1_000_000.0), new TradePosition("BOOK-2", "SOFR", -50_000.0),
+                new TradePosition("BOOK-2", "UST10Y", null)));
+
+        // When
+        ScenarioReport report = scenarioService.run(7);
+
+        // Then
+        assertEquals(MONDAY, report.asOfDate());
+        assertEquals(List.of("BOOK-1", "BOOK-2"), report.books());
+        assertEquals(report.scenarios().size(), report.pnl().length);
+        int up = report.scenarios().indexOf("parallel +100bp");
+        assertEquals(1_000_000 * (Math.pow(1.04 / 1.05, 10) - 1), report.pnl()[up][0], 1e-6);
+        assertTrue(report.pnl()[up][1] > 0);
+    }
+
+    @Test
+    @DisplayName("Should compute the DV01 ladder of every book and their total")
+    void keyRateDv01_WhenCurveKnown_ShouldReturnLadder() {
+        // Given
+        givenCurve();
+        when(tradeRepository.findPositions()).thenReturn(List.of(
+                new TradePosition("BOOK-1", "UST10Y", 1_000_000.0), new TradePosition("BOOK-2", "EUR6M", -50_000.0)));
+
+        // When
+        Dv01Report report = scenarioService.keyRateDv01(7);
+
+        // Then
+        assertEquals(List.of(1.0, 10.0), report.terms());
+        assertEquals(List.of("BOOK-1", "BOOK-2"), report.books());
+        assertEquals(1_000_000 * (Math.pow(1.04 / 1.0401, 10) - 1), report.dv01()[0][1], 1e-9);
+        assertEquals(0.0, report.dv01()[0][0]);
+        assertTrue(report.dv01()[1][0] > 0);
+        assertEquals(report.dv01()[0][1] + report.dv01()[1][1], report.total()[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should compute the DV01 ladder of one trade")
+    void keyRateDv01_WhenTradeKnown_ShouldReturnTradeLadder() {
+        // Given
+        givenCurve();
+        when(tradeRepository.findById(5)).thenReturn(Optional.of(Trade.builder().tradeId(5).book("BOOK-1")
+                .benchmark("UST10Y").buyQuantity(100.0).buyPrice(10_000.0).sellQuantity(10.0).build()));
+
+        // When
+        TradeDv01 ladder = scenarioService.keyRateDv01(7, 5);
+
+        // Then
+        assertEquals(10.0, ladder.tenor());
+        assertEquals(1_000_000.0, ladder.value());
+        assertEquals(1_000_000 * (Math.pow(1.04 / 1.0401, 10) - 1), ladder.dv01()[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown trade")
+    void keyRateDv01_WhenTradeUnknown_ShouldThrowException() {
+        givenCurve();
+        when(tradeRepository.findById(6)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> scenarioService.keyRateDv01(7, 6));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown curve")
+    void run_WhenCurveUnknown_ShouldThrowException() {
+        when(curveHistoryService.latest(8)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> scenarioService.run(8));
+        verifyNoInteractions(tradeRepository);
+    }
+
+    private void givenCurve() {
+        when(curveHistoryService.latest(7)).thenReturn(Optional.of(new CurveHistory.Snapshot(7, MONDAY, List.of(
+                new CurveHistory.Point(1, 1, 1.0, 3.0, MONDAY), new CurveHistory.Point(2, 2, 10.0, 4.0, MONDAY),
+                new CurveHistory.Point(3, 3, 30.0, null, MONDAY)))));
+    }
+}
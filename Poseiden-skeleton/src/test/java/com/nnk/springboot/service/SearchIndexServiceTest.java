@@ -0,0 +1,143 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.SearchDocument;
+import com.nnk.springboot.dto.SearchResults;
+import com.nnk.springboot.events.BidListSavedEvent;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.RuleNameSavedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
+import com.nnk.springboot.index.InvertedIndex;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SearchIndexService.
+ * Tests startup indexing, search and index maintenance on write events.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchIndexService Tests")
+class SearchIndexServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @InjectMocks
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        when(bidListRepository.streamSearchDocuments()).thenReturn(Stream.of(new SearchDocument(1, "Hedge the bond position")));
+        when(tradeRepository.streamSearchDocuments()).thenReturn(Stream.of(new SearchDocument(10, "BOND2030 Bond switch")));
+        when(ruleNameRepository.streamSearchDocuments()).thenReturn(Stream.of(new SearchDocument(100, "Max notional per book")));
+        searchIndexService.run();
+    }
+
+    @Test
+    @DisplayName("Should search every entity type indexed at startup")
+    void search_AfterStartup_ShouldReturnRankedIdsPerType() {
+        // When
+        SearchResults results = searchIndexService.search("bond", 10);
+
+        // Then
+        assertEquals(List.of(1), ids(results.bidLists()));
+        assertEquals(List.of(10), ids(results.trades()));
+        assertTrue(results.ruleNames().isEmpty());
+        assertEquals(List.of(100), ids(searchIndexService.search("notion", 10).ruleNames()));
+    }
+
+    @Test
+    @DisplayName("Should return no match for a blank query")
+    void search_WithBlankQuery_ShouldReturnEmptyResults() {
+        SearchResults results = searchIndexService.search(" ", 10);
+
+        assertTrue(results.bidLists().isEmpty());
+        assertTrue(results.trades().isEmpty());
+        assertTrue(results.ruleNames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should index saved entities")
+    void onSaved_ShouldIndexEntities() {
+        // When
+        searchIndexService.onBidListSaved(new BidListSavedEvent(BidList.builder().id(2).commentary("Client axe").build(), true));
+        searchIndexService.onTradeSaved(new TradeSavedEvent(Trade.builder().tradeId(11).security("FRA").dealName("Axe deal").build(), true));
+        searchIndexService.onRuleNameSaved(new RuleNameSavedEvent(RuleName.builder().id(101).description("Axe limit").build(), true));
+
+        // Then
+        SearchResults results = searchIndexService.search("axe", 10);
+        assertEquals(List.of(2), ids(results.bidLists()));
+        assertEquals(List.of(11), ids(results.trades()));
+        assertEquals(List.of(101), ids(results.ruleNames()));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted entities")
+    void onEntitiesDeleted_ShouldRemoveIds() {
+        // When
+        searchIndexService.onEntitiesDeleted(new EntitiesDeletedEvent(Trade.class, List.of(10)));
+
+        // Then
+        SearchResults results = searchIndexService.search("bond", 10);
+        assertTrue(results.trades().isEmpty());
+        assertEquals(List.of(1), ids(results.bidLists()));
+    }
+
+    @Test
+    @DisplayName("Should reindex entities whose searchable fields were updated")
+    void onEntitiesUpdated_WhenSearchableField_ShouldReloadEntities() {
+        // Given
+        when(ruleNameRepository.findAllById(List.of(100)))
+                .thenReturn(List.of(RuleName.builder().id(100).description("Max notional").template("Stop loss").build()));
+
+        // When
+        searchIndexService.onEntitiesUpdated(new EntitiesUpdatedEvent(RuleName.class, List.of(100), Set.of("template")));
+
+        // Then
+        assertEquals(List.of(100), ids(searchIndexService.search("stop", 10).ruleNames()));
+    }
+
+    @Test
+    @DisplayName("Should ignore updates of fields that are not searchable")
+    void onEntitiesUpdated_WhenOtherField_ShouldNotReload() {
+        // When
+        searchIndexService.onEntitiesUpdated(new EntitiesUpdatedEvent(Trade.class, List.of(10), Set.of("status")));
+
+        // Then
+        verify(tradeRepository, never()).findAllById(any());
+    }
+
+    private static List<Integer> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+}
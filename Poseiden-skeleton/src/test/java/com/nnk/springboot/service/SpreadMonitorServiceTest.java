@@ -0,0 +1,128 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.dto.SpreadReport;
+import com.nnk.springboot.dto.SpreadSnapshot;
+import com.nnk.springboot.events.BidListSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SpreadMonitorService.
+ * Tests spread statistics, depth imbalance and widest-spread alerts.
+ */
+@DisplayName("SpreadMonitorService Tests")
+class SpreadMonitorServiceTest {
+
+    private SpreadMonitorService spreadMonitorService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC);
+        spreadMonitorService = new SpreadMonitorService(clock);
+    }
+
+    private BidList quote(String security, String type, double bid, double ask, double bidQuantity, double askQuantity) {
+        return BidList.builder()
+                .id(1)
+                .account("Account")
+                .type(type)
+                .security(security)
+                .bid(bid)
+                .ask(ask)
+                .bidQuantity(bidQuantity)
+                .askQuantity(askQuantity)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should compute spread statistics and depth imbalance per security and type")
+    void onBidListSaved_WhenQuotesCreated_ShouldComputeStatistics() {
+        // When
+        spreadMonitorService.onBidListSaved(new BidListSavedEvent(quote("BOND1", "Type1", 100.0, 101.0, 30.0, 10.0), true));
+        spreadMonitorService.onBidListSaved(new BidListSavedEvent(quote("BOND1", "Type1", 100.0, 103.0, 10.0, 10.0), true));
+        spreadMonitorService.onBidListSaved(new BidListSavedEvent(quote("BOND1", "Type2", 100.0, 100.5, 10.0, 10.0), true));
+
+        // Then
+        SpreadReport report = spreadMonitorService.report();
+        assertEquals(2, report.spreads().size());
+        SpreadSnapshot widest = report.spreads().get(0);
+        assertEquals("Type1", widest.type());
+        assertEquals(2, widest.samples());
+        assertEquals(3.0, widest.lastSpread(), 1e-9);
+        assertEquals(2.0, widest.meanSpreadHour(), 1e-9);
+        assertEquals(2.0, widest.meanSpreadDay(), 1e-9);
+        assertEquals(0.0, widest.lastImbalance(), 1e-9);
+        assertEquals(0.25, widest.meanImbalanceHour(), 1e-9);
+        assertTrue(report.alerts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore updates and incomplete quotes")
+    void onBidListSaved_WhenUpdateOrIncomplete_ShouldIgnore() {
+        // When
+        spreadMonitorService.onBidListSaved(new BidListSavedEvent(quote("BOND1", "Type1", 100.0, 101.0, 1.0, 1.0), false));
+        spreadMonitorService.record(BidList.builder().account("Account").type("Type1").security("BOND1").bid(100.0).build());
+
+        // Then
+        assertTrue(spreadMonitorService.report().spreads().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should raise an alert when a spread exceeds the 99th percentile")
+    void record_WhenSpreadAboveP99_ShouldRaiseAlert() {
+        // Given
+        for (int i = 0; i < SpreadMonitorService.MIN_SAMPLES_FOR_ALERT; i++) {
+            spreadMonitorService.record(quote("BOND1", "Type1", 100.0, 101.0 + i * 0.01, 1.0, 1.0));
+        }
+        assertTrue(spreadMonitorService.report().alerts().isEmpty());
+
+        // When
+        spreadMonitorService.record(quote("BOND1", "Type1", 100.0, 110.0, 1.0, 1.0));
+
+        // Then
+        SpreadReport report = spreadMonitorService.report();
+        assertEquals(1, report.alerts().size());
+        assertEquals(10.0, report.alerts().get(0).spread(), 1e-9);
+        assertTrue(report.alerts().get(0).threshold() < 10.0);
+    }
+
+    @Test
+    @DisplayName("Should compute percentiles and alerts over the last day only")
+    void record_WhenQuotesOlderThanDay_ShouldForgetThem() {
+        // Given
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-15T10:00:00Z"));
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get().toEpochMilli());
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        SpreadMonitorService monitor = new SpreadMonitorService(clock);
+        for (int i = 0; i < SpreadMonitorService.MIN_SAMPLES_FOR_ALERT; i++) {
+            monitor.record(quote("BOND1", "Type1", 100.0, 120.0 + i * 0.01, 1.0, 1.0));
+        }
+
+        // When
+        now.set(now.get().plus(Duration.ofDays(1)).plus(Duration.ofHours(1)));
+        for (int i = 0; i < SpreadMonitorService.MIN_SAMPLES_FOR_ALERT; i++) {
+            monitor.record(quote("BOND1", "Type1", 100.0, 101.0 + i * 0.01, 1.0, 1.0));
+        }
+        monitor.record(quote("BOND1", "Type1", 100.0, 110.0, 1.0, 1.0));
+
+        // Then
+        SpreadReport report = monitor.report();
+        SpreadSnapshot snapshot = report.spreads().get(0);
+        assertEquals(SpreadMonitorService.MIN_SAMPLES_FOR_ALERT + 1, snapshot.samples());
+        assertTrue(snapshot.p50Spread() < 2.0);
+        assertEquals(1, report.alerts().size());
+        assertEquals(10.0, report.alerts().get(0).spread(), 1e-9);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradePriceSnapshot;
+import com.nnk.springboot.events.TradeSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TradeAnalyticsService.
+ * Tests the streaming VWAP/TWAP maintenance from trade events.
+ */
+@DisplayName("TradeAnalyticsService Tests")
+class TradeAnalyticsServiceTest {
+
+    private TradeAnalyticsService tradeAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC);
+        tradeAnalyticsService = new TradeAnalyticsService(clock);
+    }
+
+    private Trade trade(String security, Double buyPrice, Double buyQuantity, Double sellPrice, Double sellQuantity) {
+        return Trade.builder()
+                .account("Account")
+                .type("Type")
+                .security(security)
+                .buyPrice(buyPrice)
+                .buyQuantity(buyQuantity)
+                .sellPrice(sellPrice)
+                .sellQuantity(sellQuantity)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should compute VWAP per side for every window")
+    void onTradeSaved_WhenTradesCreated_ShouldComputeVwap() {
+        // When
+        tradeAnalyticsService.onTradeSaved(new TradeSavedEvent(trade("BOND1", 100.0, 1.0, 101.0, 2.0), true));
+        tradeAnalyticsService.onTradeSaved(new TradeSavedEvent(trade("BOND1", 102.0, 3.0, null, null), true));
+
+        // Then
+        List<TradePriceSnapshot> snapshots = tradeAnalyticsService.snapshot();
+        assertEquals(4, snapshots.size());
+        for (TradePriceSnapshot snapshot : snapshots) {
+            assertEquals("BOND1", snapshot.security());
+            assertEquals((100.0 + 306.0) / 4.0, snapshot.buyVwap(), 1e-9);
+            assertEquals(4.0, snapshot.buyVolume(), 1e-9);
+            assertEquals(101.0, snapshot.sellVwap(), 1e-9);
+            assertEquals(2.0, snapshot.sellVolume(), 1e-9);
+        }
+        assertEquals(List.of("1m", "5m", "1h", "day"), snapshots.stream().map(TradePriceSnapshot::window).toList());
+    }
+
+    @Test
+    @DisplayName("Should ignore updates of existing trades")
+    void onTradeSaved_WhenTradeUpdated_ShouldIgnoreIt() {
+        // When
+        tradeAnalyticsService.onTradeSaved(new TradeSavedEvent(trade("BOND1", 100.0, 1.0, null, null), false));
+
+        // Then
+        assertTrue(tradeAnalyticsService.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore trades without security and report missing sides as null")
+    void record_WhenDataMissing_ShouldSkipIt() {
+        // When
+        tradeAnalyticsService.record(trade(null, 100.0, 1.0, null, null));
+        tradeAnalyticsService.record(trade("BOND2", 100.0, 1.0, null, 5.0));
+
+        // Then
+        List<TradePriceSnapshot> snapshots = tradeAnalyticsService.snapshot();
+        assertEquals(4, snapshots.size());
+        assertNull(snapshots.get(0).sellVwap());
+        assertNull(snapshots.get(0).sellTwap());
+        assertEquals(100.0, snapshots.get(0).buyTwap(), 1e-9);
+    }
+}
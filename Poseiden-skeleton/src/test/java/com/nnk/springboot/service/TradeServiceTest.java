@@ -1,22 +1,39 @@
 package com.nnk.springboot.service;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeSummary;
+import com.nnk.springboot.events.EntitiesDeletedEvent;
+import com.nnk.springboot.events.EntitiesUpdatedEvent;
+import com.nnk.springboot.events.TradeSavedEvent;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.rules.PreTradeCheckException;
+import com.nnk.springboot.sharding.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +47,24 @@ class TradeServiceTest {
     @Mock
     private TradeRepository tradeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TradeSourceIndex tradeSourceIndex;
+
+    @Mock
+    private PreTradeCheckService preTradeCheckService;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single();
+
+    @Spy
+    private QueryCoalescer queryCoalescer = QueryCoalescer.direct();
+
     @InjectMocks
     private TradeService tradeService;
 
@@ -74,6 +109,19 @@ class TradeServiceTest {
         verify(tradeRepository).save(testTrade);
     }
 
+    @Test
+    @DisplayName("Should not save a Trade rejected by the pre-trade checks")
+    void save_WhenPreTradeCheckFails_ShouldNotSave() {
+        // Given
+        doThrow(new PreTradeCheckException(List.of("Max quantity: buyQuantity 100 exceeds 10")))
+                .when(preTradeCheckService).check(testTrade);
+
+        // When / Then
+        assertThrows(PreTradeCheckException.class, () -> tradeService.save(testTrade));
+        verify(tradeRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("Should delegate save to repository")
     void save_WhenCalled_ShouldDelegateToRepository() {
@@ -88,6 +136,33 @@ class TradeServiceTest {
         verify(tradeRepository).save(testTrade);
     }
 
+    @Test
+    @DisplayName("Should publish a creation event when saving a new Trade")
+    void save_WhenTradeIsNew_ShouldPublishCreatedEvent() {
+        // Given
+        Trade newTrade = Trade.builder().account("New Account").type("New Type").build();
+        when(tradeRepository.save(newTrade)).thenReturn(testTrade);
+
+        // When
+        tradeService.save(newTrade);
+
+        // Then
+        verify(eventPublisher).publishEvent(new TradeSavedEvent(testTrade, true));
+    }
+
+    @Test
+    @DisplayName("Should publish an update event when saving an existing Trade")
+    void save_WhenTradeExists_ShouldPublishUpdatedEvent() {
+        // Given
+        when(tradeRepository.save(testTrade)).thenReturn(testTrade);
+
+        // When
+        tradeService.save(testTrade);
+
+        // Then
+        verify(eventPublisher).publishEvent(new TradeSavedEvent(testTrade, false));
+    }
+
     @Test
     @DisplayName("Should find all Trades")
     void findAll_ShouldReturnAllTrades() {
@@ -109,6 +184,22 @@ class TradeServiceTest {
         verify(tradeRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should retrieve the list page summaries")
+    void findAllSummaries_ShouldReturnSummaries() {
+        // Given
+        List<TradeSummary> summaries = List.of(new TradeSummary(1, "Test Account", "Test Type", 100.0));
+        when(tradeRepository.findAllSummaries()).thenReturn(summaries);
+
+        // When
+        List<TradeSummary> result = tradeService.findAllSummaries();
+
+        // Then
+        assertEquals(summaries, result);
+        verify(tradeRepository).findAllSummaries();
+        verify(tradeRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should find Trade by ID")
     void findById_WhenTradeExists_ShouldReturnTrade() {
@@ -143,12 +234,70 @@ class TradeServiceTest {
     void deleteById_WhenIdValid_ShouldDeleteTrade() {
         // Given
         Integer tradeId = 1;
+        when(tradeRepository.deleteByIds(List.of(tradeId))).thenReturn(1);
 
         // When
-        tradeService.deleteById(tradeId);
+        boolean deleted = tradeService.deleteById(tradeId);
 
         // Then
-        verify(tradeRepository).deleteById(tradeId);
+        assertTrue(deleted);
+        verify(tradeRepository).deleteByIds(List.of(tradeId));
+        verify(tradeRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should report a missing Trade on delete")
+    void deleteById_WhenNotExists_ShouldReturnFalse() {
+        // Given
+        when(tradeRepository.deleteByIds(List.of(99))).thenReturn(0);
+
+        // When & Then
+        assertFalse(tradeService.deleteById(99));
+    }
+
+    @Test
+    @DisplayName("Should delete several Trades with one statement")
+    void deleteByIds_WhenIdsGiven_ShouldReturnDeletedCount() {
+        // Given
+        when(tradeRepository.deleteByIds(List.of(1, 2, 3))).thenReturn(2);
+
+        // When
+        int deleted = tradeService.deleteByIds(List.of(1, 2, 3));
+
+        // Then
+        assertEquals(2, deleted);
+        verify(eventPublisher).publishEvent(new EntitiesDeletedEvent(Trade.class, List.of(1, 2, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not query when no Trade is selected")
+    void deleteByIds_WhenIdsEmpty_ShouldNotQuery() {
+        assertEquals(0, tradeService.deleteByIds(List.of()));
+        assertEquals(0, tradeService.deleteByIds(null));
+        verifyNoInteractions(tradeRepository);
+    }
+
+    @Test
+    @DisplayName("Should update status of several Trades with one statement")
+    void updateStatus_WhenIdsGiven_ShouldReturnUpdatedCount() {
+        // Given
+        when(tradeRepository.updateStatusByIds(List.of(1, 2), "SETTLED")).thenReturn(2);
+
+        // When
+        int updated = tradeService.updateStatus(List.of(1, 2), "SETTLED");
+
+        // Then
+        assertEquals(2, updated);
+    }
+
+    @Test
+    @DisplayName("Should clear status when the new status is blank")
+    void updateStatus_WhenStatusBlank_ShouldClearStatus() {
+        // When
+        tradeService.updateStatus(List.of(1), "  ");
+
+        // Then
+        verify(tradeRepository).updateStatusByIds(List.of(1), null);
     }
 
     @Test
@@ -243,4 +392,221 @@ class TradeServiceTest {
         assertEquals("Pending", savedTrade.getStatus());
         verify(tradeRepository).save(currentTrade);
     }
+
+    @Test
+    @DisplayName("Should patch only the given fields with the expected version")
+    void patch_WhenVersionMatches_ShouldUpdateChangedFields() {
+        // Given
+        Map<String, Object> changes = Map.of("buyQuantity", 250.0);
+        when(tradeRepository.updatePartially(1, 3, changes)).thenReturn(1);
+
+        // When
+        boolean updated = tradeService.patch(1, 3, changes);
+
+        // Then
+        assertTrue(updated);
+        verify(eventPublisher).publishEvent(new EntitiesUpdatedEvent(Trade.class, List.of(1), Set.of("buyQuantity")));
+        verify(tradeRepository).updatePartially(1, 3, changes);
+        verify(tradeRepository, never()).save(any(Trade.class));
+    }
+
+    @Test
+    @DisplayName("Should take patched values from the submitted fields of a bound Trade")
+    void patch_WithBoundValues_ShouldKeepOnlyPatchableFields() {
+        // Given
+        testTrade.setVersion(2);
+        when(tradeRepository.updatePartially(eq(1), eq(2), anyMap())).thenReturn(1);
+
+        // When
+        boolean updated = tradeService.patch(1, testTrade, List.of("account", "buyQuantity", "tradeId", "version", "_csrf"));
+
+        // Then
+        assertTrue(updated);
+        verify(tradeRepository).updatePartially(1, 2, Map.of("account", testTrade.getAccount(),
+                "buyQuantity", testTrade.getBuyQuantity()));
+    }
+
+    @Test
+    @DisplayName("Should reject fields that cannot be patched")
+    void patch_WithUnknownField_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeService.patch(1, 0, Map.of("creationName", "Someone")));
+        verify(tradeRepository, never()).updatePartially(any(), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should reject patched values that fail validation")
+    @SuppressWarnings("unchecked")
+    void patch_WithInvalidValue_ShouldThrowException() {
+        // Given
+        ConstraintViolation<Trade> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("must be greater than 0");
+        when(validator.validateValue(Trade.class, "buyQuantity", -1.0)).thenReturn(Set.of(violation));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeService.patch(1, 0, Map.of("buyQuantity", -1.0)));
+        verify(tradeRepository, never()).updatePartially(any(), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should return false when patching a missing Trade")
+    void patch_WhenTradeNotExists_ShouldReturnFalse() {
+        // Given
+        Map<String, Object> changes = Map.of("buyQuantity", 250.0);
+        when(tradeRepository.updatePartially(99, 0, changes)).thenReturn(0);
+        when(tradeRepository.existsById(99)).thenReturn(false);
+
+        // When
+        boolean updated = tradeService.patch(99, 0, changes);
+
+        // Then
+        assertFalse(updated);
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the Trade was modified concurrently")
+    void patch_WhenVersionIsStale_ShouldThrowOptimisticLockingFailure() {
+        // Given
+        Map<String, Object> changes = Map.of("buyQuantity", 250.0);
+        when(tradeRepository.updatePartially(1, 0, changes)).thenReturn(0);
+        when(tradeRepository.existsById(1)).thenReturn(true);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> tradeService.patch(1, 0, changes));
+    }
+
+    @Test
+    @DisplayName("Should run the pre-trade checks on the patched Trade and not update it when rejected")
+    void patch_WhenPreTradeCheckFails_ShouldNotUpdate() {
+        // Given
+        testTrade.setVersion(3);
+        when(preTradeCheckService.checksTrades()).thenReturn(true);
+        when(tradeRepository.findById(1)).thenReturn(Optional.of(testTrade));
+        doThrow(new PreTradeCheckException(List.of("Max quantity: buyQuantity 250 exceeds 200")))
+                .when(preTradeCheckService).check(argThat((Trade merged) -> merged.getBuyQuantity() == 250.0
+                        && merged.getAccount().equals(testTrade.getAccount())));
+
+        // When & Then
+        assertThrows(PreTradeCheckException.class, () -> tradeService.patch(1, 3, Map.of("buyQuantity", 250.0)));
+        assertEquals(100.0, testTrade.getBuyQuantity());
+        verify(tradeRepository, never()).updatePartially(any(), any(), anyMap());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should patch the checked version of the Trade when no version is expected")
+    void patch_WhenPreTradeCheckPasses_ShouldUpdateCheckedVersion() {
+        // Given
+        testTrade.setVersion(3);
+        Map<String, Object> changes = Map.of("buyQuantity", 150.0);
+        when(preTradeCheckService.checksTrades()).thenReturn(true);
+        when(tradeRepository.findById(1)).thenReturn(Optional.of(testTrade));
+        when(tradeRepository.updatePartially(1, 3, changes)).thenReturn(1);
+
+        // When
+        boolean updated = tradeService.patch(1, null, changes);
+
+        // Then
+        assertTrue(updated);
+        verify(preTradeCheckService).check(argThat((Trade merged) -> merged.getBuyQuantity() == 150.0));
+    }
+
+    @Test
+    @DisplayName("Should insert an upstream trade without querying when the key is new")
+    void upsert_WhenKeyIsNew_ShouldInsertWithoutQuery() {
+        // Given
+        Trade incoming = Trade.builder().tradeId(42).version(3).account("ACC").type("Type").sourceListId("SRC-1").build();
+        when(tradeSourceIndex.mightExist("SRC-1", "ACC")).thenReturn(false);
+        when(tradeRepository.save(incoming)).thenReturn(incoming);
+
+        // When
+        Trade saved = tradeService.upsert(incoming);
+
+        // Then
+        assertSame(incoming, saved);
+        assertNull(incoming.getTradeId());
+        assertNull(incoming.getVersion());
+        verify(tradeRepository, never()).findBySourceListIdAndAccount(anyString(), anyString());
+        verify(tradeSourceIndex).add("SRC-1", "ACC");
+        verify(eventPublisher).publishEvent(new TradeSavedEvent(incoming, true));
+    }
+
+    @Test
+    @DisplayName("Should overwrite the stored trade when an upstream trade is replayed")
+    void upsert_WhenKeyExists_ShouldUpdateStoredTrade() {
+        // Given
+        Trade stored = Trade.builder().tradeId(7).version(2).account("ACC").type("Old").sourceListId("SRC-1")
+                .creationName("creator").build();
+        Trade incoming = Trade.builder().account("ACC").type("New").sourceListId("SRC-1").buyQuantity(10.0).build();
+        when(tradeSourceIndex.mightExist("SRC-1", "ACC")).thenReturn(true);
+        when(tradeRepository.findBySourceListIdAndAccount("SRC-1", "ACC")).thenReturn(Optional.of(stored));
+        when(tradeRepository.save(stored)).thenReturn(stored);
+
+        // When
+        Trade saved = tradeService.upsert(incoming);
+
+        // Then
+        assertSame(stored, saved);
+        assertEquals(7, stored.getTradeId());
+        assertEquals(2, stored.getVersion());
+        assertEquals("New", stored.getType());
+        assertEquals(10.0, stored.getBuyQuantity());
+        assertEquals("creator", stored.getCreationName());
+        verify(eventPublisher).publishEvent(new TradeSavedEvent(stored, false));
+    }
+
+    @Test
+    @DisplayName("Should insert when the filter reports a false positive")
+    void upsert_WhenFilterFalsePositive_ShouldInsert() {
+        // Given
+        Trade incoming = Trade.builder().account("ACC").type("Type").sourceListId("SRC-2").build();
+        when(tradeSourceIndex.mightExist("SRC-2", "ACC")).thenReturn(true);
+        when(tradeRepository.findBySourceListIdAndAccount("SRC-2", "ACC")).thenReturn(Optional.empty());
+        when(tradeRepository.save(incoming)).thenReturn(incoming);
+
+        // When
+        tradeService.upsert(incoming);
+
+        // Then
+        verify(tradeRepository).save(incoming);
+        verify(eventPublisher).publishEvent(new TradeSavedEvent(incoming, true));
+    }
+
+    @Test
+    @DisplayName("Should update the concurrently stored trade when the unique index rejects the insert")
+    void upsert_WhenInsertConflicts_ShouldUpdateWinner() {
+        // Given
+        Trade incoming = Trade.builder().account("ACC").type("New").sourceListId("SRC-3").build();
+        Trade winner = Trade.builder().tradeId(9).version(0).account("ACC").type("Old").sourceListId("SRC-3").build();
+        when(tradeSourceIndex.mightExist("SRC-3", "ACC")).thenReturn(false);
+        when(tradeRepository.save(incoming)).thenThrow(new DataIntegrityViolationException("uk_trade_source_account"));
+        when(tradeRepository.findBySourceListIdAndAccount("SRC-3", "ACC")).thenReturn(Optional.of(winner));
+        when(tradeRepository.save(winner)).thenReturn(winner);
+
+        // When
+        Trade saved = tradeService.upsert(incoming);
+
+        // Then
+        assertSame(winner, saved);
+        assertEquals("New", winner.getType());
+    }
+
+    @Test
+    @DisplayName("Should always insert trades without a source list id")
+    void upsertAll_WithoutSourceListId_ShouldInsert() {
+        // Given
+        Trade incoming = Trade.builder().account("ACC").type("Type").build();
+        when(tradeRepository.save(incoming)).thenReturn(incoming);
+
+        // When
+        List<Trade> saved = tradeService.upsertAll(List.of(incoming));
+
+        // Then
+        assertEquals(List.of(incoming), saved);
+        verifyNoInteractions(tradeSourceIndex);
+        verify(tradeRepository, never()).findBySourceListIdAndAccount(any(), any());
+    }
 }
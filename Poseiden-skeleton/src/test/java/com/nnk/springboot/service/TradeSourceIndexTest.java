@@ -0,0 +1,70 @@
+package com.nnk.springboot.service;
+
+import com.nnk.springboot.dto.TradeSourceKey;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TradeSourceIndex.
+ * Tests startup loading and key lookups.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TradeSourceIndex Tests")
+class TradeSourceIndexTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private TradeSourceIndex tradeSourceIndex;
+
+    @BeforeEach
+    void setUp() {
+        tradeSourceIndex = new TradeSourceIndex(tradeRepository, ShardRouter.single(), 1_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should report every key as possibly existing before loading")
+    void mightExist_BeforeLoading_ShouldReturnTrue() {
+        assertTrue(tradeSourceIndex.mightExist("SRC-1", "ACC"));
+    }
+
+    @Test
+    @DisplayName("Should load the stored keys at startup")
+    void run_ShouldLoadStoredKeys() {
+        // Given
+        when(tradeRepository.streamSourceKeys()).thenReturn(Stream.of(new TradeSourceKey("SRC-1", "ACC")));
+
+        // When
+        tradeSourceIndex.run();
+
+        // Then
+        assertTrue(tradeSourceIndex.mightExist("SRC-1", "ACC"));
+        assertFalse(tradeSourceIndex.mightExist("SRC-1", "OTHER"));
+        assertFalse(tradeSourceIndex.mightExist("SRC-2", "ACC"));
+    }
+
+    @Test
+    @DisplayName("Should remember keys added after startup")
+    void add_ShouldMakeKeyKnown() {
+        // Given
+        when(tradeRepository.streamSourceKeys()).thenReturn(Stream.empty());
+        tradeSourceIndex.run();
+
+        // When
+        tradeSourceIndex.add("SRC-9", "ACC");
+
+        // Then
+        assertTrue(tradeSourceIndex.mightExist("SRC-9", "ACC"));
+    }
+}
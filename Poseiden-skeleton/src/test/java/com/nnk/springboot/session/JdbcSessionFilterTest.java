@@ -0,0 +1,119 @@
+package com.nnk.springboot.session;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcSessionFilter.
+ * Tests session creation, reuse, modification and invalidation against the session store.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JdbcSessionFilter Tests")
+class JdbcSessionFilterTest {
+
+    @Mock
+    private JdbcSessionStore store;
+
+    private JdbcSessionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JdbcSessionFilter(store, 1800);
+    }
+
+    /**
+     * @return a filter chain ending with the given work on the wrapped request
+     */
+    private static MockFilterChain chain(Consumer<HttpServletRequest> work) {
+        return new MockFilterChain(new HttpServlet() {
+        }, (request, response, chain) -> work.accept((HttpServletRequest) request));
+    }
+
+    @Test
+    @DisplayName("Should store a new session and send its id in a cookie")
+    void doFilter_WhenSessionCreated_ShouldSaveAndSetCookie() throws ServletException, IOException {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), response, chain(request -> request.getSession().setAttribute("key", "value")));
+
+        // Then
+        ArgumentCaptor<SessionRecord> saved = ArgumentCaptor.forClass(SessionRecord.class);
+        verify(store).save(saved.capture());
+        assertEquals("value", saved.getValue().attributes().get("key"));
+        assertEquals(1800, saved.getValue().maxInactiveInterval());
+        assertTrue(response.getHeader("Set-Cookie").startsWith(JdbcSessionFilter.COOKIE_NAME + "=" + saved.getValue().id()));
+    }
+
+    @Test
+    @DisplayName("Should only record the access of an unmodified session")
+    void doFilter_WhenSessionRead_ShouldOnlyTouch() throws ServletException, IOException {
+        // Given
+        when(store.find("s1")).thenReturn(new SessionRecord("s1", "user", 0, System.currentTimeMillis(), 1800, false,
+                Map.of("key", "value")));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(JdbcSessionFilter.COOKIE_NAME, "s1"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(req -> assertEquals("value", req.getSession(false).getAttribute("key"))));
+
+        // Then
+        verify(store).touch(eq("s1"), anyLong());
+        verify(store, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should delete an invalidated session")
+    void doFilter_WhenSessionInvalidated_ShouldDelete() throws ServletException, IOException {
+        // Given
+        when(store.find("s1")).thenReturn(new SessionRecord("s1", "user", 0, System.currentTimeMillis(), 1800, false, Map.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(JdbcSessionFilter.COOKIE_NAME, "s1"));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(req -> req.getSession().invalidate()));
+
+        // Then
+        verify(store).delete("s1");
+        verify(store, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should move a stored session to a new id on login")
+    void changeSessionId_ShouldChangeIdInStore() throws ServletException, IOException {
+        // Given
+        when(store.find("s1")).thenReturn(new SessionRecord("s1", null, 0, System.currentTimeMillis(), 1800, false, Map.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(JdbcSessionFilter.COOKIE_NAME, "s1"));
+        String[] newId = new String[1];
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(req -> newId[0] = req.changeSessionId()));
+
+        // Then
+        verify(store).changeId("s1", newId[0]);
+        verify(store).touch(eq(newId[0]), anyLong());
+    }
+}
@@ -0,0 +1,88 @@
+package com.nnk.springboot.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcSessionRegistry.
+ * Tests session lookups by user and expiry through the session store.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JdbcSessionRegistry Tests")
+class JdbcSessionRegistryTest {
+
+    @Mock
+    private JdbcSessionStore store;
+
+    @InjectMocks
+    private JdbcSessionRegistry sessionRegistry;
+
+    @Test
+    @DisplayName("Should list the live sessions of a user by user name")
+    void getAllSessions_ShouldSkipExpiredSessions() {
+        // Given
+        when(store.findByPrincipalName("user")).thenReturn(List.of(
+                new SessionRecord("s1", "user", 0, 1_000, 1800, false, null),
+                new SessionRecord("s2", "user", 0, 2_000, 1800, true, null)));
+
+        // When
+        List<SessionInformation> live = sessionRegistry.getAllSessions(
+                User.withUsername("user").password("x").roles("USER").build(), false);
+        List<SessionInformation> all = sessionRegistry.getAllSessions("user", true);
+
+        // Then
+        assertEquals(List.of("s1"), live.stream().map(SessionInformation::getSessionId).toList());
+        assertEquals(2, all.size());
+        assertTrue(all.get(1).isExpired());
+    }
+
+    @Test
+    @DisplayName("Should write an expiry to the store")
+    void expireNow_ShouldMarkSessionExpired() {
+        // Given
+        when(store.find("s1")).thenReturn(new SessionRecord("s1", "user", 0, 1_000, 1800, false, Map.of()));
+        SessionInformation information = sessionRegistry.getSessionInformation("s1");
+
+        // When
+        information.expireNow();
+
+        // Then
+        assertTrue(information.isExpired());
+        verify(store).markExpired("s1");
+    }
+
+    @Test
+    @DisplayName("Should not track anonymous or missing sessions")
+    void getSessionInformation_WhenNoUser_ShouldReturnNull() {
+        // Given
+        when(store.find("anonymous")).thenReturn(new SessionRecord("anonymous", null, 0, 1_000, 1800, false, Map.of()));
+
+        // When & Then
+        assertNull(sessionRegistry.getSessionInformation("anonymous"));
+        assertNull(sessionRegistry.getSessionInformation("missing"));
+    }
+
+    @Test
+    @DisplayName("Should buffer last request times in the store")
+    void refreshLastRequest_ShouldTouchSession() {
+        // When
+        sessionRegistry.refreshLastRequest("s1");
+
+        // Then
+        verify(store).touch(eq("s1"), anyLong());
+        verifyNoMoreInteractions(store);
+    }
+}
@@ -0,0 +1,196 @@
+package com.nnk.springboot.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for JdbcSessionStore.
+ * Tests storage, the revision-checked near-cache, batched last-access updates and expiry over the schema.sql table.
+ */
+@JdbcTest(properties = "spring.sql.init.data-locations=")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JdbcSessionStore Tests")
+class JdbcSessionStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from http_session");
+        // Background tasks are pushed out of the test, which calls flush and sweep itself
+        store = new JdbcSessionStore(jdbcTemplate, 3_600_000, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should store a session with its attributes and read it back")
+    void save_ThenFind_ShouldReturnSession() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", "user", now, now, 1800, false, Map.of("cart", List.of(1, 2))));
+
+        // When: read by another node
+        try (JdbcSessionStore otherNode = new JdbcSessionStore(jdbcTemplate, 3_600_000, 3_600_000)) {
+            SessionRecord found = otherNode.find("s1");
+
+            // Then
+            assertNotNull(found);
+            assertEquals("user", found.principalName());
+            assertEquals(List.of(1, 2), found.attributes().get("cart"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a cached session while its revision is unchanged")
+    void find_WhenCached_ShouldNotReadAttributes() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", null, now, now, 1800, false, Map.of("key", "value")));
+        assertEquals("value", store.find("s1").attributes().get("key"));
+        jdbcTemplate.update("update http_session set attributes = null where session_id = 's1'");
+
+        // When & Then
+        assertEquals("value", store.find("s1").attributes().get("key"));
+    }
+
+    @Test
+    @DisplayName("Should see the changes, expiry and deletion made by another node on the next find")
+    void find_WhenChangedOnAnotherNode_ShouldReadAgain() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", "user", now, now, 1800, false, Map.of("flash", "saved")));
+        assertEquals("saved", store.find("s1").attributes().get("flash"));
+
+        try (JdbcSessionStore otherNode = new JdbcSessionStore(jdbcTemplate, 3_600_000, 3_600_000)) {
+            // When: the other node consumes the flash attribute
+            otherNode.save(new SessionRecord("s1", "user", now, now + 1_000, 1800, false, Map.of()));
+
+            // Then
+            assertNull(store.find("s1").attributes().get("flash"));
+            assertEquals(now + 1_000, store.find("s1").lastAccessedTime());
+
+            // When: the session registry of the other node expires the session
+            otherNode.markExpired("s1");
+
+            // Then
+            assertTrue(store.find("s1").expired());
+
+            // When: the user logs out on the other node
+            otherNode.delete("s1");
+
+            // Then
+            assertNull(store.find("s1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the expired flag set by another node when saving attributes")
+    void save_WhenExpiredOnAnotherNode_ShouldKeepFlag() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", "user", now, now, 1800, false, Map.of()));
+        SessionRecord loaded = store.find("s1");
+        try (JdbcSessionStore otherNode = new JdbcSessionStore(jdbcTemplate, 3_600_000, 3_600_000)) {
+            otherNode.markExpired("s1");
+        }
+
+        // When
+        store.save(new SessionRecord("s1", "user", now, now, 1800, loaded.expired(), Map.of("key", "value")));
+
+        // Then
+        assertTrue(store.find("s1").expired());
+    }
+
+    @Test
+    @DisplayName("Should write last-access times in a batch on flush")
+    void touch_ShouldBeWrittenOnFlush() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", null, now - 10_000, now - 10_000, 1800, false, Map.of()));
+        store.touch("s1", now);
+        store.touch("s1", now - 5_000);
+
+        // When
+        int flushed = store.flush();
+
+        // Then
+        assertEquals(1, flushed);
+        assertEquals(now, jdbcTemplate.queryForObject("select last_access_time from http_session where session_id = 's1'", Long.class));
+        assertEquals(now + 1_800_000, jdbcTemplate.queryForObject("select expiry_time from http_session where session_id = 's1'", Long.class));
+        assertEquals(0, store.flush());
+    }
+
+    @Test
+    @DisplayName("Should delete timed out sessions and keep the others")
+    void sweep_ShouldDeleteTimedOutSessions() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("old", null, now - 7_200_000, now - 7_200_000, 1800, false, Map.of()));
+        store.save(new SessionRecord("idle", null, now - 7_200_000, now - 7_200_000, 1800, false, Map.of()));
+        store.save(new SessionRecord("live", null, now, now, 1800, false, Map.of()));
+        store.touch("idle", now);
+
+        // When
+        int deleted = store.sweep();
+
+        // Then
+        assertEquals(1, deleted);
+        assertNull(store.find("old"));
+        assertNotNull(store.find("idle"));
+        assertNotNull(store.find("live"));
+    }
+
+    @Test
+    @DisplayName("Should find the sessions of a user and see them expired")
+    void markExpired_ShouldBeSeenByPrincipalLookup() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", "user", now, now, 1800, false, Map.of()));
+        store.save(new SessionRecord("s2", "other", now, now, 1800, false, Map.of()));
+
+        // When
+        store.markExpired("s1");
+
+        // Then
+        List<SessionRecord> sessions = store.findByPrincipalName("user");
+        assertEquals(1, sessions.size());
+        assertTrue(sessions.get(0).expired());
+        assertTrue(store.find("s1").expired());
+        assertEquals(List.of("other", "user"), store.findPrincipalNames().stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should move a session to a new id")
+    void changeId_ShouldKeepState() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.save(new SessionRecord("s1", "user", now, now, 1800, false, Map.of("key", "value")));
+
+        // When
+        store.changeId("s1", "s2");
+
+        // Then
+        assertNull(store.find("s1"));
+        assertEquals("value", store.find("s2").attributes().get("key"));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from http_session where session_id = 's2'", Integer.class));
+    }
+}
@@ -0,0 +1,60 @@
+package com.nnk.springboot.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardMap.
+ * Tests explicit and hashed assignment of books to shards.
+ */
+@DisplayName("ShardMap Tests")
+class ShardMapTest {
+
+    @Test
+    @DisplayName("Should send a book to its configured shard")
+    void shardFor_WhenBookMapped_ShouldReturnConfiguredShard() {
+        // Given
+        ShardMap shardMap = new ShardMap(List.of("eu", "us"), Map.of("FX-NY", "us", "FX-LDN", "eu"));
+
+        // When & Then
+        assertEquals("us", shardMap.shardFor("FX-NY"));
+        assertEquals("eu", shardMap.shardFor("FX-LDN"));
+    }
+
+    @Test
+    @DisplayName("Should send rows without a book to the default shard")
+    void shardFor_WhenBookNull_ShouldReturnFirstShard() {
+        ShardMap shardMap = new ShardMap(List.of("eu", "us"), Map.of());
+
+        assertEquals("eu", shardMap.shardFor(null));
+    }
+
+    @Test
+    @DisplayName("Should spread unmapped books over every shard, always to the same one")
+    void shardFor_WhenBookUnmapped_ShouldHashToStableShard() {
+        // Given
+        ShardMap shardMap = new ShardMap(List.of("a", "b", "c"), Map.of());
+
+        // When
+        long used = IntStream.range(0, 100)
+                .mapToObj(i -> shardMap.shardFor("Book" + i)).distinct().count();
+
+        // Then
+        assertEquals(3, used);
+        assertEquals(shardMap.shardFor("Book7"), shardMap.shardFor("Book7"));
+    }
+
+    @Test
+    @DisplayName("Should reject a book assigned to an unknown shard")
+    void constructor_WhenShardUnknown_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardMap(List.of("eu"), Map.of("FX-NY", "us")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(List.of(), Map.of()));
+    }
+}
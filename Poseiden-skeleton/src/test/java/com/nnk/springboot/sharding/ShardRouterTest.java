@@ -0,0 +1,88 @@
+package com.nnk.springboot.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShardRouter.
+ * Tests the single-shard router, the shard transactions and the merge of sorted shard results.
+ */
+@DisplayName("ShardRouter Tests")
+class ShardRouterTest {
+
+    @Test
+    @DisplayName("Should run work directly when there is a single shard")
+    void single_ShouldRunWorkOnce() {
+        // Given
+        ShardRouter router = ShardRouter.single();
+
+        // When & Then
+        assertFalse(router.isSharded());
+        assertEquals(List.of("default"), router.shards());
+        assertEquals(3, router.countOnEachShard(() -> 3));
+        assertEquals(Optional.of("row"), router.findOnEachShard(() -> Optional.of("row")));
+        assertEquals("done", router.onBook("FX-NY", () -> "done"));
+    }
+
+    @Test
+    @DisplayName("Should open a new read-only transaction on each shard for read-only work")
+    void onEachShardReadOnly_ShouldOpenReadOnlyTransactions() {
+        // Given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        // When
+        try (ShardRouter router = new ShardRouter(new ShardMap(List.of("default", "emea"), Map.of()), transactionManager)) {
+            assertEquals(List.of("default", "emea"), router.onEachShardReadOnly(ShardContext::current));
+            router.onShard("emea", () -> 1);
+        }
+
+        // Then
+        verify(transactionManager, times(3)).getTransaction(definitions.capture());
+        for (TransactionDefinition definition : definitions.getAllValues()) {
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior());
+        }
+        assertTrue(definitions.getAllValues().get(0).isReadOnly());
+        assertTrue(definitions.getAllValues().get(1).isReadOnly());
+        assertFalse(definitions.getAllValues().get(2).isReadOnly());
+    }
+
+    @Test
+    @DisplayName("Should merge sorted shard results into one sorted list")
+    void merge_ShouldInterleaveSortedLists() {
+        // When
+        List<Integer> merged = ShardRouter.merge(List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10)),
+                Comparator.naturalOrder(), -1);
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 4, 9, 10), merged);
+    }
+
+    @Test
+    @DisplayName("Should stop merging at the limit")
+    void merge_WithLimit_ShouldReturnFirstRows() {
+        List<Integer> merged = ShardRouter.merge(List.of(List.of(1, 4, 9), List.of(2, 3, 10)),
+                Comparator.naturalOrder(), 3);
+
+        assertEquals(List.of(1, 2, 3), merged);
+    }
+
+    @Test
+    @DisplayName("Should truncate the single shard result at the limit")
+    void onEachShardSorted_WhenSingle_ShouldApplyLimit() {
+        List<Integer> rows = ShardRouter.single().onEachShardSorted(() -> List.of(1, 2, 3), Comparator.naturalOrder(), 2);
+
+        assertEquals(List.of(1, 2), rows);
+    }
+}
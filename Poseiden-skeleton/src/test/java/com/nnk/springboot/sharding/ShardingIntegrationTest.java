@@ -0,0 +1,102 @@
+package com.nnk.springboot.sharding;
+
+import com.nnk.springboot.config.ShardingConfig;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.dto.TradeSummary;
+import com.nnk.springboot.service.BidListService;
+import com.nnk.springboot.service.PreTradeCheckService;
+import com.nnk.springboot.service.QueryCoalescer;
+import com.nnk.springboot.service.TradeService;
+import com.nnk.springboot.service.TradeSourceIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for sharding by book, over two in-memory H2 shards.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "poseidon.sharding.enabled=true",
+        "poseidon.sharding.initialize-schema=true",
+        "poseidon.sharding.shards[0].name=eu",
+        "poseidon.sharding.shards[0].url=jdbc:h2:mem:shard-eu;DB_CLOSE_DELAY=-1",
+        "poseidon.sharding.shards[0].username=sa",
+        "poseidon.sharding.shards[0].id-start=1",
+        "poseidon.sharding.shards[1].name=us",
+        "poseidon.sharding.shards[1].url=jdbc:h2:mem:shard-us;DB_CLOSE_DELAY=-1",
+        "poseidon.sharding.shards[1].username=sa",
+        "poseidon.sharding.shards[1].id-start=1000000000",
+        "poseidon.sharding.books.[FX-LDN]=eu",
+        "poseidon.sharding.books.[FX-NY]=us"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ShardingConfig.class, BidListService.class, TradeService.class, TradeSourceIndex.class,
+        QueryCoalescer.class, LocalValidatorFactoryBean.class})
+@DisplayName("Sharding Integration Tests")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private BidListService bidListService;
+
+    @MockBean
+    private PreTradeCheckService preTradeCheckService;
+
+    @Test
+    @DisplayName("Should store each trade on the shard of its book and read them all back")
+    void save_ShouldRouteByBookAndMergeReads() {
+        // Given
+        Trade london = tradeService.save(Trade.builder().account("LDN").type("SPOT").buyQuantity(10.0).book("FX-LDN").build());
+        Trade newYork = tradeService.save(Trade.builder().account("NY").type("SPOT").buyQuantity(20.0).book("FX-NY").build());
+
+        // When
+        List<TradeSummary> all = tradeService.findAllSummaries();
+
+        // Then
+        assertTrue(newYork.getTradeId() >= 1_000_000_000);
+        assertTrue(london.getTradeId() < 1_000_000_000);
+        assertEquals(List.of(london.getTradeId(), newYork.getTradeId()), all.stream().map(TradeSummary::tradeId).toList());
+        assertEquals("NY", tradeService.findById(newYork.getTradeId()).orElseThrow().getAccount());
+        assertEquals(List.of(london.getTradeId()),
+                tradeService.findSummariesByBook("FX-LDN").stream().map(TradeSummary::tradeId).toList());
+        assertEquals("us", shardRouter.shardFor(newYork.getBook()));
+    }
+
+    @Test
+    @DisplayName("Should update and delete bids on whichever shard holds them")
+    void updateAndDelete_ShouldFanOut() {
+        // Given
+        BidList london = bidListService.save(BidList.builder().account("LDN").type("T").bidQuantity(1.0).book("FX-LDN").build());
+        BidList newYork = bidListService.save(BidList.builder().account("NY").type("T").bidQuantity(2.0).book("FX-NY").build());
+        List<Integer> ids = List.of(london.getId(), newYork.getId());
+
+        // When
+        int updated = bidListService.updateStatus(ids, "CLOSED");
+        int deleted = bidListService.deleteByIds(ids);
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(2, deleted);
+        assertFalse(bidListService.existsById(newYork.getId()));
+    }
+}